@@ -0,0 +1,4 @@
+-- 文章定时发布时间
+ALTER TABLE `blog_article`
+  ADD COLUMN `scheduled_time` DATETIME DEFAULT NULL COMMENT '定时发布时间' AFTER `published_time`,
+  ADD KEY `idx_scheduled_time` (`scheduled_time`);
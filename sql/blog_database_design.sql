@@ -130,6 +130,7 @@ CREATE TABLE `blog_article` (
     `status` TINYINT NOT NULL DEFAULT 0 COMMENT '状态(0:草稿,1:审核中,2:已发布,3:已拒绝,4:已下架)',
     `audit_reason` VARCHAR(500) DEFAULT NULL COMMENT '审核原因',
     `published_time` DATETIME DEFAULT NULL COMMENT '发布时间',
+    `scheduled_time` DATETIME DEFAULT NULL COMMENT '定时发布时间',
     `created_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     `updated_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     `deleted` TINYINT NOT NULL DEFAULT 0 COMMENT '逻辑删除(1:已删除,0:未删除)',
@@ -143,6 +144,7 @@ CREATE TABLE `blog_article` (
     KEY `idx_like_count` (`like_count`),
     KEY `idx_created_time` (`created_time`),
     KEY `idx_article_list` (`status`, `published_time` DESC),
+    KEY `idx_scheduled_time` (`scheduled_time`),
     FULLTEXT KEY `ft_content` (`title`, `summary`, `content`) WITH PARSER ngram,
     CONSTRAINT `fk_article_user` FOREIGN KEY (`user_id`) REFERENCES `sys_user` (`id`) ON DELETE CASCADE,
     CONSTRAINT `fk_article_category` FOREIGN KEY (`category_id`) REFERENCES `blog_category` (`id`) ON DELETE SET NULL
@@ -163,6 +165,24 @@ CREATE TABLE `blog_article_tag` (
     CONSTRAINT `fk_article_tag_tag_id` FOREIGN KEY (`tag_id`) REFERENCES `blog_tag` (`id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章标签关联表';
 
+-- 6.1 文章修订历史表
+DROP TABLE IF EXISTS `blog_article_revision`;
+CREATE TABLE `blog_article_revision` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+    `article_id` BIGINT NOT NULL COMMENT '文章ID',
+    `version` INT NOT NULL COMMENT '版本号(从1递增)',
+    `revision_type` TINYINT NOT NULL COMMENT '存储类型(0:完整快照,1:相对上一版本的行级增量)',
+    `title` VARCHAR(200) NOT NULL COMMENT '文章标题',
+    `content` LONGTEXT NOT NULL COMMENT '快照内容或增量',
+    `content_length` INT NOT NULL DEFAULT 0 COMMENT '该版本完整内容长度',
+    `editor_id` BIGINT DEFAULT NULL COMMENT '修改人ID',
+    `created_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_article_version` (`article_id`, `version`),
+    KEY `idx_article_snapshot` (`article_id`, `revision_type`, `version`),
+    CONSTRAINT `fk_revision_article` FOREIGN KEY (`article_id`) REFERENCES `blog_article` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章修订历史表';
+
 -- ==================== 互动相关表 ====================
 
 -- 7. 点赞表
@@ -0,0 +1,16 @@
+-- 文章修订历史表
+CREATE TABLE IF NOT EXISTS `blog_article_revision` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+    `article_id` BIGINT NOT NULL COMMENT '文章ID',
+    `version` INT NOT NULL COMMENT '版本号(从1递增)',
+    `revision_type` TINYINT NOT NULL COMMENT '存储类型(0:完整快照,1:相对上一版本的行级增量)',
+    `title` VARCHAR(200) NOT NULL COMMENT '文章标题',
+    `content` LONGTEXT NOT NULL COMMENT '快照内容或增量',
+    `content_length` INT NOT NULL DEFAULT 0 COMMENT '该版本完整内容长度',
+    `editor_id` BIGINT DEFAULT NULL COMMENT '修改人ID',
+    `created_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    PRIMARY KEY (`id`),
+    UNIQUE KEY `uk_article_version` (`article_id`, `version`),
+    KEY `idx_article_snapshot` (`article_id`, `revision_type`, `version`),
+    CONSTRAINT `fk_revision_article` FOREIGN KEY (`article_id`) REFERENCES `blog_article` (`id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章修订历史表';
@@ -0,0 +1,181 @@
+package com.sujiu.blog.aop;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sujiu.blog.common.ResultUtils;
+import com.sujiu.blog.exception.BusinessException;
+import com.sujiu.blog.model.dto.article.ArticleVersion;
+import com.sujiu.blog.model.vo.article.ArticleVO;
+import com.sujiu.blog.service.ArticleDetailCacheService;
+import com.sujiu.blog.service.ArticleService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 文章详情响应缓存过滤器
+ * 对已发布且未加密的文章：先按版本做条件请求校验（304），再按版本和 Accept-Encoding 直接输出缓存的字节；
+ * 未命中时组装详情并序列化、压缩后写入缓存。其他文章交给控制器正常处理
+ *
+ * @author sujiu
+ */
+@Slf4j
+public class ArticleDetailCacheFilter extends OncePerRequestFilter {
+
+    /**
+     * 文章详情路径
+     */
+    private static final Pattern DETAIL_PATH = Pattern.compile("^/articles/(\\d{1,18})$");
+
+    private final ArticleService articleService;
+
+    private final ArticleDetailCacheService articleDetailCacheService;
+
+    private final ObjectMapper objectMapper;
+
+    public ArticleDetailCacheFilter(ArticleService articleService, ArticleDetailCacheService articleDetailCacheService,
+                                    ObjectMapper objectMapper) {
+        this.articleService = articleService;
+        this.articleDetailCacheService = articleDetailCacheService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Long articleId = getArticleId(request);
+        if (articleId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // 1. 只处理所有读者看到的内容都相同的文章
+        ArticleVersion version;
+        try {
+            version = articleService.getPublicArticleVersion(articleId);
+        } catch (Exception e) {
+            log.warn("查询文章版本失败，文章ID：{}", articleId, e);
+            version = null;
+        }
+        if (version == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // 2. 条件请求
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (new ServletWebRequest(request, response).checkNotModified(version.getETag(), version.getLastModified())) {
+            return;
+        }
+
+        // 3. 读取缓存，未命中时组装并写入缓存
+        String encoding = negotiateEncoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        byte[] body = articleDetailCacheService.get(articleId, version.getETag(), encoding);
+        if (body == null) {
+            ArticleVO articleVO;
+            try {
+                articleVO = articleService.getArticleDetail(articleId, null, request);
+            } catch (BusinessException e) {
+                // 版本查询之后状态发生了变化，交给控制器处理
+                filterChain.doFilter(request, response);
+                return;
+            }
+            // 浏览量取版本中已写回的值，缓存内容只由 ETag 的输入决定
+            if (version.getViewCount() != null) {
+                articleVO.setViewCount(version.getViewCount());
+            }
+            // 与 ArticleController.getArticleDetail 的响应保持一致
+            byte[] json = objectMapper.writeValueAsBytes(ResultUtils.success(articleVO, "获取成功"));
+            body = articleDetailCacheService.put(articleId, version.getETag(), json, encoding);
+        }
+
+        // 4. 直接输出字节
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!ArticleDetailCacheService.ENCODING_IDENTITY.equals(encoding)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        response.setContentLength(body.length);
+        if (!"HEAD".equals(request.getMethod())) {
+            response.getOutputStream().write(body);
+        }
+    }
+
+    /**
+     * 解析文章详情请求中的文章ID，带密码参数或非 GET/HEAD 请求返回 null
+     */
+    private Long getArticleId(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return null;
+        }
+        if (StringUtils.isNotBlank(request.getParameter("password"))) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Matcher matcher = DETAIL_PATH.matcher(path);
+        if (!matcher.matches()) {
+            return null;
+        }
+        long articleId = Long.parseLong(matcher.group(1));
+        return articleId > 0 ? articleId : null;
+    }
+
+    /**
+     * 根据 Accept-Encoding 选择内容编码，优先 gzip，其次 deflate
+     *
+     * @param acceptEncoding 请求头
+     * @return 内容编码
+     */
+    static String negotiateEncoding(String acceptEncoding) {
+        if (StringUtils.isBlank(acceptEncoding)) {
+            return ArticleDetailCacheService.ENCODING_IDENTITY;
+        }
+        boolean gzip = false;
+        boolean deflate = false;
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            String coding = parts[0].trim().toLowerCase();
+            if (isRejected(parts)) {
+                continue;
+            }
+            if (ArticleDetailCacheService.ENCODING_GZIP.equals(coding) || "*".equals(coding)) {
+                gzip = true;
+            } else if (ArticleDetailCacheService.ENCODING_DEFLATE.equals(coding)) {
+                deflate = true;
+            }
+        }
+        if (gzip) {
+            return ArticleDetailCacheService.ENCODING_GZIP;
+        }
+        return deflate ? ArticleDetailCacheService.ENCODING_DEFLATE : ArticleDetailCacheService.ENCODING_IDENTITY;
+    }
+
+    /**
+     * 是否带有 q=0
+     */
+    private static boolean isRejected(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2)) <= 0D;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,125 @@
+package com.sujiu.blog.aop;
+
+import com.sujiu.blog.service.ArticlePageService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UriUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 文章静态页过滤器
+ * 在 DispatcherServlet 之前按别名找到预渲染的静态页，条件请求校验后直接从磁盘输出：
+ * 容器支持 sendfile 时交给 Tomcat 零拷贝发送，否则用 FileChannel.transferTo 写出。
+ * 静态页不存在（未开启、未公开或尚未渲染）时交给后续处理
+ *
+ * @author sujiu
+ */
+@Slf4j
+public class ArticlePageFilter extends OncePerRequestFilter {
+
+    /**
+     * 静态页路径
+     */
+    private static final Pattern PAGE_PATH = Pattern.compile("^/pages/articles/([^/]+)\\.html$");
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ArticlePageService articlePageService;
+
+    public ArticlePageFilter(ArticlePageService articlePageService) {
+        this.articlePageService = articlePageService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Path file = getPageFile(request);
+        BasicFileAttributes attributes = null;
+        if (file != null) {
+            try {
+                attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                attributes = null;
+            }
+        }
+        if (attributes == null || !attributes.isRegularFile()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // 1. 条件请求，版本由文件大小和修改时间组成，页面重新渲染后立即变化
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        String eTag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, lastModified)) {
+            return;
+        }
+
+        // 2. 输出文件
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("text/html;charset=UTF-8");
+        response.setContentLengthLong(size);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel output = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, output);
+            }
+        }
+    }
+
+    /**
+     * 解析静态页请求对应的文件，非 GET/HEAD 请求或路径不匹配时返回 null
+     */
+    private Path getPageFile(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Matcher matcher = PAGE_PATH.matcher(path);
+        if (!matcher.matches()) {
+            return null;
+        }
+        try {
+            return articlePageService.getPageFile(UriUtils.decode(matcher.group(1), StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            log.warn("查找文章静态页失败，路径：{}", path, e);
+            return null;
+        }
+    }
+}
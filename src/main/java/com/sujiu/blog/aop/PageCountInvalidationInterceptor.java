@@ -0,0 +1,56 @@
+package com.sujiu.blog.aop;
+
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import com.sujiu.blog.mapper.ArticleMapper;
+import com.sujiu.blog.service.PageCountService;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 分页总数缓存失效拦截器
+ * 通过 Mapper 执行的插入、更新、删除按 Mapper 所属实体找到表名，使该表缓存的分页总数失效
+ *
+ * @author sujiu
+ */
+public class PageCountInvalidationInterceptor implements InnerInterceptor {
+
+    /**
+     * 只更新计数器、不改变任何筛选条件的语句，不触发失效
+     */
+    private static final Set<String> COUNTER_STATEMENTS = Collections.singleton(
+            ArticleMapper.class.getName() + ".incrementViewCount");
+
+    private final PageCountService pageCountService;
+
+    /**
+     * Mapper 命名空间到表名
+     */
+    private final Map<String, String> tables = new ConcurrentHashMap<>();
+
+    public PageCountInvalidationInterceptor(PageCountService pageCountService) {
+        this.pageCountService = pageCountService;
+    }
+
+    @Override
+    public void beforeUpdate(Executor executor, MappedStatement ms, Object parameter) {
+        if (COUNTER_STATEMENTS.contains(ms.getId())) {
+            return;
+        }
+        String namespace = ms.getId().substring(0, ms.getId().lastIndexOf('.'));
+        String table = tables.computeIfAbsent(namespace, key -> TableInfoHelper.getTableInfos().stream()
+                .filter(tableInfo -> key.equals(tableInfo.getCurrentNamespace()))
+                .map(TableInfo::getTableName)
+                .findFirst()
+                .orElse(""));
+        if (!table.isEmpty()) {
+            pageCountService.invalidate(table);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.sujiu.blog.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sujiu.blog.aop.ArticleDetailCacheFilter;
+import com.sujiu.blog.aop.ArticlePageFilter;
+import com.sujiu.blog.service.ArticleDetailCacheService;
+import com.sujiu.blog.service.ArticlePageService;
+import com.sujiu.blog.service.ArticleService;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+/**
+ * HTTP 缓存配置
+ * 文章列表接口根据响应内容生成 ETag，内容未变化时返回 304，不再重复传输响应体；
+ * 文章详情接口按文章版本做条件请求校验，并缓存序列化、压缩后的响应体；
+ * 开启静态页时，文章静态页在所有过滤器之前直接从磁盘输出
+ *
+ * @author sujiu
+ */
+@Configuration
+public class HttpCacheConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> articleListEtagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns("/articles", "/articles/cursor", "/articles/hot",
+                "/articles/recommend", "/articles/top");
+        registration.setName("articleListEtagFilter");
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ArticleDetailCacheFilter> articleDetailCacheFilter(ArticleService articleService,
+            ArticleDetailCacheService articleDetailCacheService, ObjectMapper objectMapper) {
+        FilterRegistrationBean<ArticleDetailCacheFilter> registration = new FilterRegistrationBean<>(
+                new ArticleDetailCacheFilter(articleService, articleDetailCacheService, objectMapper));
+        registration.addUrlPatterns("/articles/*");
+        registration.setName("articleDetailCacheFilter");
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ArticlePageFilter> articlePageFilter(ArticlePageService articlePageService) {
+        FilterRegistrationBean<ArticlePageFilter> registration =
+                new FilterRegistrationBean<>(new ArticlePageFilter(articlePageService));
+        registration.addUrlPatterns("/pages/articles/*");
+        registration.setName("articlePageFilter");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setEnabled(articlePageService.isEnabled());
+        return registration;
+    }
+}
@@ -3,6 +3,8 @@ package com.sujiu.blog.config;
 import com.baomidou.mybatisplus.annotation.DbType;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+import com.sujiu.blog.aop.PageCountInvalidationInterceptor;
+import com.sujiu.blog.service.PageCountService;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -22,10 +24,12 @@ public class MyBatisPlusConfig {
      * @return
      */
     @Bean
-    public MybatisPlusInterceptor mybatisPlusInterceptor() {
+    public MybatisPlusInterceptor mybatisPlusInterceptor(PageCountService pageCountService) {
         MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
         // 分页插件
         interceptor.addInnerInterceptor(new PaginationInnerInterceptor(DbType.MYSQL));
+        // 写入后使分页总数缓存失效
+        interceptor.addInnerInterceptor(new PageCountInvalidationInterceptor(pageCountService));
         return interceptor;
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.sujiu.blog.config;
+
+import com.sujiu.blog.service.SiteFeedService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 站点地图和订阅源配置
+ * 静态文件直接由资源处理器输出，按文件修改时间返回 Last-Modified 并处理 304，同时允许浏览器和 CDN 缓存
+ *
+ * @author sujiu
+ */
+@Configuration
+public class SiteFeedConfig implements WebMvcConfigurer {
+
+    /**
+     * 静态文件的输出目录
+     */
+    @Value("${article.feed.path:feeds/}")
+    private String feedPath;
+
+    /**
+     * 缓存时间（秒）
+     */
+    @Value("${article.feed.max-age:600}")
+    private long maxAge;
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        CacheControl cacheControl = CacheControl.maxAge(maxAge, TimeUnit.SECONDS).cachePublic();
+        // 路径模式不带通配符时取不到文件名，站点地图索引用通配符匹配
+        registry.addResourceHandler("/sitemap*.xml")
+                .addResourceLocations("file:" + feedPath)
+                .setCacheControl(cacheControl);
+        registry.addResourceHandler("/" + SiteFeedService.SITEMAP_DIR + "/**")
+                .addResourceLocations("file:" + feedPath + SiteFeedService.SITEMAP_DIR + "/")
+                .setCacheControl(cacheControl);
+        registry.addResourceHandler("/" + SiteFeedService.FEED_DIR + "/**")
+                .addResourceLocations("file:" + feedPath + SiteFeedService.FEED_DIR + "/")
+                .setCacheControl(cacheControl);
+    }
+}
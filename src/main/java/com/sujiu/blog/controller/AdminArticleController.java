@@ -1,5 +1,6 @@
 package com.sujiu.blog.controller;
 
+import cn.hutool.core.date.DateUtil;
 import com.sujiu.blog.annotation.RequireAdmin;
 import com.sujiu.blog.common.BaseResponse;
 import com.sujiu.blog.common.ErrorCode;
@@ -7,18 +8,29 @@ import com.sujiu.blog.common.ResultUtils;
 import com.sujiu.blog.exception.BusinessException;
 import com.sujiu.blog.model.dto.article.AdminArticleQueryRequest;
 import com.sujiu.blog.model.dto.article.ArticleAuditRequest;
+import com.sujiu.blog.model.dto.article.ArticleImportRequest;
 import com.sujiu.blog.model.dto.article.ArticleOfflineRequest;
 import com.sujiu.blog.model.vo.article.AdminArticleVO;
+import com.sujiu.blog.model.vo.article.ArticleImportVO;
 import com.sujiu.blog.model.vo.common.PageVO;
+import com.sujiu.blog.service.ArticleExportService;
+import com.sujiu.blog.service.ArticleImportService;
+import com.sujiu.blog.service.ArticlePageService;
+import com.sujiu.blog.service.ArticleRelatedService;
 import com.sujiu.blog.service.ArticleService;
+import com.sujiu.blog.service.SiteFeedService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
 import javax.annotation.Resource;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Date;
 
 /**
  * 管理员文章管理控制器
@@ -34,6 +46,21 @@ public class AdminArticleController {
     @Resource
     private ArticleService articleService;
 
+    @Resource
+    private ArticleRelatedService articleRelatedService;
+
+    @Resource
+    private SiteFeedService siteFeedService;
+
+    @Resource
+    private ArticlePageService articlePageService;
+
+    @Resource
+    private ArticleImportService articleImportService;
+
+    @Resource
+    private ArticleExportService articleExportService;
+
     /**
      * 获取所有文章列表
      *
@@ -127,4 +154,111 @@ public class AdminArticleController {
         Boolean result = articleService.deleteArticleByAdmin(articleId, request);
         return ResultUtils.success(result, "文章删除成功");
     }
+
+    /**
+     * 上传 zip 压缩包批量导入 Markdown 文章
+     * 压缩包作为原始请求体上传，不经过 multipart 解析，鉴权通过后才开始读取
+     *
+     * @param filename 压缩包文件名，仅用于进度展示
+     * @param request HTTP请求对象
+     * @return 导入任务进度
+     */
+    @Operation(summary = "导入 Markdown 压缩包", description = "管理员以 application/zip 请求体上传包含 Markdown 文件（支持 front-matter）的压缩包，后台批量导入")
+    @RequireAdmin
+    @PostMapping(value = "/import", consumes = {"application/zip", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public BaseResponse<ArticleImportVO> importArticles(@Parameter(description = "压缩包文件名")
+                                                        @RequestParam(value = "filename", required = false) String filename,
+                                                        HttpServletRequest request) throws IOException {
+        ArticleImportVO result = articleImportService.importZip(request.getInputStream(), filename, request);
+        return ResultUtils.success(result, "导入任务已开始");
+    }
+
+    /**
+     * 批量导入服务器目录中的 Markdown 文章
+     *
+     * @param articleImportRequest 目录导入请求
+     * @param request HTTP请求对象
+     * @return 导入任务进度
+     */
+    @Operation(summary = "导入服务器目录", description = "管理员导入服务器导入根目录下指定目录中的 Markdown 文件，后台批量导入")
+    @RequireAdmin
+    @PostMapping("/import/directory")
+    public BaseResponse<ArticleImportVO> importDirectory(@RequestBody ArticleImportRequest articleImportRequest,
+                                                         HttpServletRequest request) {
+        ArticleImportVO result = articleImportService.importDirectory(articleImportRequest, request);
+        return ResultUtils.success(result, "导入任务已开始");
+    }
+
+    /**
+     * 查询批量导入进度
+     *
+     * @param jobId 导入任务ID
+     * @return 导入任务进度
+     */
+    @Operation(summary = "查询导入进度", description = "查询批量导入任务的进度和失败文件")
+    @RequireAdmin
+    @GetMapping("/import/{jobId}")
+    public BaseResponse<ArticleImportVO> getImportProgress(@PathVariable String jobId) {
+        ArticleImportVO result = articleImportService.getProgress(jobId);
+        return ResultUtils.success(result, "获取成功");
+    }
+
+    /**
+     * 导出全部文章为 Markdown 压缩包
+     *
+     * @param response HTTP响应对象
+     */
+    @Operation(summary = "导出全部文章", description = "管理员以 zip 压缩包流式下载全部文章，每篇为带 front-matter 的 Markdown 文件，可重新导入")
+    @RequireAdmin
+    @GetMapping("/export")
+    public void exportArticles(HttpServletResponse response) {
+        response.setContentType("application/zip");
+        response.setHeader("Content-Disposition",
+                "attachment; filename=\"blog-articles-" + DateUtil.format(new Date(), "yyyyMMddHHmmss") + ".zip\"");
+        try {
+            articleExportService.exportZip(response.getOutputStream());
+        } catch (IOException e) {
+            // 响应已经开始输出，无法再返回错误信息，多为客户端中断下载
+            log.warn("文章导出中断：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 全量重建相关文章索引
+     *
+     * @return 索引的文章数
+     */
+    @Operation(summary = "重建相关文章索引", description = "管理员从数据库全量重建相关文章的 MinHash 索引，重建期间旧索引继续提供查询")
+    @RequireAdmin
+    @PostMapping("/related/rebuild")
+    public BaseResponse<Integer> rebuildRelatedIndex() {
+        Integer result = articleRelatedService.rebuild();
+        return ResultUtils.success(result, "相关文章索引重建成功");
+    }
+
+    /**
+     * 全量重新生成站点地图和订阅源
+     *
+     * @return 生成的文件数
+     */
+    @Operation(summary = "重新生成站点地图和订阅源", description = "管理员从数据库全量生成站点地图和 RSS/Atom 订阅源，并删除失效的文件")
+    @RequireAdmin
+    @PostMapping("/feed/rebuild")
+    public BaseResponse<Integer> rebuildSiteFeeds() {
+        Integer result = siteFeedService.rebuild();
+        return ResultUtils.success(result, "站点地图和订阅源生成成功");
+    }
+
+    /**
+     * 全量重新渲染文章静态页
+     *
+     * @return 渲染的文章数
+     */
+    @Operation(summary = "重新渲染文章静态页", description = "管理员全量重新渲染已发布文章的静态页，并删除不再公开的文章的静态页，未开启静态页时返回 0")
+    @RequireAdmin
+    @PostMapping("/pages/rebuild")
+    public BaseResponse<Integer> rebuildArticlePages() {
+        Integer result = articlePageService.rebuild();
+        return ResultUtils.success(result, "文章静态页渲染成功");
+    }
 }
@@ -7,8 +7,14 @@ import com.sujiu.blog.common.ResultUtils;
 import com.sujiu.blog.exception.BusinessException;
 import com.sujiu.blog.model.dto.article.ArticleQueryRequest;
 import com.sujiu.blog.model.dto.article.ArticleRequest;
+import com.sujiu.blog.model.vo.article.ArticleArchiveVO;
+import com.sujiu.blog.model.vo.article.ArticleProcessVO;
+import com.sujiu.blog.model.vo.article.ArticleRevisionDiffVO;
+import com.sujiu.blog.model.vo.article.ArticleRevisionVO;
 import com.sujiu.blog.model.vo.article.ArticleVO;
+import com.sujiu.blog.model.vo.common.CursorPageVO;
 import com.sujiu.blog.model.vo.common.PageVO;
+import com.sujiu.blog.service.ArticleRevisionService;
 import com.sujiu.blog.service.ArticleService;
 import com.sujiu.blog.service.LikeService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -37,6 +43,9 @@ public class ArticleController {
     @Resource
     private LikeService likeService;
 
+    @Resource
+    private ArticleRevisionService articleRevisionService;
+
     /**
      * 发布文章
      *
@@ -123,6 +132,117 @@ public class ArticleController {
         return ResultUtils.success(articleVO, "获取成功");
     }
 
+    /**
+     * 根据别名获取文章详情
+     *
+     * @param slug 文章别名
+     * @param password 文章密码（如果文章加密）
+     * @param request HTTP请求对象
+     * @return 文章详情
+     */
+    @Operation(summary = "根据别名获取文章详情", description = "通过文章别名获取文章的详细信息")
+    @GetMapping("/slug/{slug}")
+    public BaseResponse<ArticleVO> getArticleDetailBySlug(@PathVariable String slug,
+                                                          @RequestParam(required = false) String password,
+                                                          HttpServletRequest request) {
+        if (slug == null || slug.isEmpty()) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章别名不能为空");
+        }
+
+        ArticleVO articleVO = articleService.getArticleDetailBySlug(slug, password, request);
+        return ResultUtils.success(articleVO, "获取成功");
+    }
+
+    /**
+     * 获取文章发布后处理进度
+     *
+     * @param articleId 文章ID
+     * @param request HTTP请求对象
+     * @return 处理进度
+     */
+    @Operation(summary = "获取文章处理进度", description = "查询文章发布或更新后的渲染、计数和缓存处理进度，需要登录且为文章作者或管理员")
+    @RequireLogin
+    @GetMapping("/{articleId}/process")
+    public BaseResponse<ArticleProcessVO> getArticleProcessProgress(@PathVariable Long articleId,
+                                                                   HttpServletRequest request) {
+        if (articleId == null || articleId <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章ID不能为空");
+        }
+
+        ArticleProcessVO result = articleService.getArticleProcessProgress(articleId, request);
+        return ResultUtils.success(result, "获取成功");
+    }
+
+    /**
+     * 获取文章修订历史
+     *
+     * @param articleId 文章ID
+     * @param current 当前页码，默认1
+     * @param size 每页大小，默认10
+     * @param request HTTP请求对象
+     * @return 修订版本列表
+     */
+    @Operation(summary = "获取文章修订历史", description = "按版本倒序分页获取文章的修订历史，需要登录且为文章作者或管理员")
+    @RequireLogin
+    @GetMapping("/{articleId}/revisions")
+    public BaseResponse<PageVO<ArticleRevisionVO>> listArticleRevisions(@PathVariable Long articleId,
+                                                                        @RequestParam(required = false, defaultValue = "1") Integer current,
+                                                                        @RequestParam(required = false, defaultValue = "10") Integer size,
+                                                                        HttpServletRequest request) {
+        if (articleId == null || articleId <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章ID不能为空");
+        }
+
+        PageVO<ArticleRevisionVO> result = articleRevisionService.listRevisions(articleId, current, size, request);
+        return ResultUtils.success(result, "获取成功");
+    }
+
+    /**
+     * 比较文章的两个版本
+     *
+     * @param articleId 文章ID
+     * @param from 起始版本号
+     * @param to 目标版本号
+     * @param request HTTP请求对象
+     * @return 版本差异
+     */
+    @Operation(summary = "比较文章版本", description = "返回两个版本之间的行级差异（unified diff 格式），需要登录且为文章作者或管理员")
+    @RequireLogin
+    @GetMapping("/{articleId}/revisions/diff")
+    public BaseResponse<ArticleRevisionDiffVO> diffArticleRevisions(@PathVariable Long articleId,
+                                                                    @RequestParam Integer from,
+                                                                    @RequestParam Integer to,
+                                                                    HttpServletRequest request) {
+        if (articleId == null || articleId <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章ID不能为空");
+        }
+
+        ArticleRevisionDiffVO result = articleRevisionService.diffRevisions(articleId, from, to, request);
+        return ResultUtils.success(result, "获取成功");
+    }
+
+    /**
+     * 获取文章的指定版本
+     *
+     * @param articleId 文章ID
+     * @param version 版本号
+     * @param request HTTP请求对象
+     * @return 该版本的标题和内容
+     */
+    @Operation(summary = "获取文章指定版本", description = "还原文章指定版本的标题和内容，需要登录且为文章作者或管理员")
+    @RequireLogin
+    @GetMapping("/{articleId}/revisions/{version}")
+    public BaseResponse<ArticleRevisionVO> getArticleRevision(@PathVariable Long articleId,
+                                                              @PathVariable Integer version,
+                                                              HttpServletRequest request) {
+        if (articleId == null || articleId <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章ID不能为空");
+        }
+
+        ArticleRevisionVO result = articleRevisionService.getRevision(articleId, version, request);
+        return ResultUtils.success(result, "获取成功");
+    }
+
     /**
      * 获取文章列表
      *
@@ -140,6 +260,23 @@ public class ArticleController {
         return ResultUtils.success(result, "获取成功");
     }
 
+    /**
+     * 游标分页获取文章列表
+     *
+     * @param articleQueryRequest 查询请求
+     * @return 文章列表
+     */
+    @Operation(summary = "游标分页获取文章列表", description = "按置顶、发布时间倒序滚动加载文章列表，不统计总数")
+    @GetMapping("/cursor")
+    public BaseResponse<CursorPageVO<ArticleVO>> getArticleListByCursor(ArticleQueryRequest articleQueryRequest) {
+        if (articleQueryRequest == null) {
+            articleQueryRequest = new ArticleQueryRequest();
+        }
+
+        CursorPageVO<ArticleVO> result = articleService.getArticleListByCursor(articleQueryRequest);
+        return ResultUtils.success(result, "获取成功");
+    }
+
     /**
      * 获取热门文章
      *
@@ -155,6 +292,52 @@ public class ArticleController {
         return ResultUtils.success(result, "获取成功");
     }
 
+    /**
+     * 获取相关文章
+     *
+     * @param articleId 文章ID
+     * @param limit 返回数量，默认5，最多20
+     * @return 相关文章列表
+     */
+    @Operation(summary = "获取相关文章", description = "按标签和正文相似度获取相关的已发布文章")
+    @GetMapping("/{articleId}/related")
+    public BaseResponse<List<ArticleVO>> getRelatedArticles(@PathVariable Long articleId,
+                                                            @RequestParam(defaultValue = "5") Integer limit) {
+        List<ArticleVO> result = articleService.getRelatedArticles(articleId, limit);
+        return ResultUtils.success(result, "获取成功");
+    }
+
+    /**
+     * 获取文章归档
+     *
+     * @return 有已发布文章的月份及文章数，按月份倒序
+     */
+    @Operation(summary = "获取文章归档", description = "按年月统计已发布文章数")
+    @GetMapping("/archive")
+    public BaseResponse<List<ArticleArchiveVO>> getArchives() {
+        List<ArticleArchiveVO> result = articleService.getArchives();
+        return ResultUtils.success(result, "获取成功");
+    }
+
+    /**
+     * 分页获取某个月发布的文章
+     *
+     * @param year 年份
+     * @param month 月份
+     * @param current 当前页，默认1
+     * @param size 每页大小，默认10
+     * @return 文章分页
+     */
+    @Operation(summary = "获取归档文章", description = "分页获取指定年月发布的文章")
+    @GetMapping("/archive/{year}/{month}")
+    public BaseResponse<PageVO<ArticleVO>> getArchiveArticles(@PathVariable Integer year,
+                                                              @PathVariable Integer month,
+                                                              @RequestParam(defaultValue = "1") Integer current,
+                                                              @RequestParam(defaultValue = "10") Integer size) {
+        PageVO<ArticleVO> result = articleService.getArchiveArticles(year, month, current, size);
+        return ResultUtils.success(result, "获取成功");
+    }
+
     /**
      * 获取推荐文章
      *
@@ -2,6 +2,12 @@ package com.sujiu.blog.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.sujiu.blog.model.entity.Article;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.util.Date;
+import java.util.List;
 
 /**
  * 文章 Mapper
@@ -10,4 +16,84 @@ import com.sujiu.blog.model.entity.Article;
  */
 public interface ArticleMapper extends BaseMapper<Article> {
 
+    /**
+     * 累加文章浏览量（不改变更新时间）
+     *
+     * @param articleId 文章ID
+     * @param delta 增量
+     * @return 影响行数
+     */
+    @Update("UPDATE blog_article SET view_count = view_count + #{delta}, updated_time = updated_time " +
+            "WHERE id = #{articleId}")
+    int incrementViewCount(@Param("articleId") Long articleId, @Param("delta") long delta);
+
+    /**
+     * 截取正文中关键词附近的片段，用于搜索结果高亮，避免加载整篇正文
+     * 正文不超过 maxLength 时返回全文，否则从关键词前 radius 个字符开始截取 maxLength 个字符
+     *
+     * @param articleIds 文章ID列表
+     * @param keyword 关键词
+     * @param radius 关键词之前保留的字符数
+     * @param maxLength 片段最大长度
+     * @return 只包含 id 和 content（片段）的文章列表
+     */
+    @Select("<script>" +
+            "SELECT id, CASE WHEN CHAR_LENGTH(content) &lt;= #{maxLength} THEN content " +
+            "ELSE SUBSTRING(content, GREATEST(LOCATE(#{keyword}, content) - #{radius}, 1), #{maxLength}) END AS content " +
+            "FROM blog_article WHERE id IN " +
+            "<foreach collection='articleIds' item='id' open='(' separator=',' close=')'>" +
+            "#{id}" +
+            "</foreach>" +
+            "</script>")
+    List<Article> selectContentSnippets(@Param("articleIds") List<Long> articleIds, @Param("keyword") String keyword,
+                                        @Param("radius") int radius, @Param("maxLength") int maxLength);
+
+    /**
+     * 按ID顺序分批查询文章别名，包含已逻辑删除的文章（别名唯一键同样覆盖这些行）
+     *
+     * @param lastId 上一批最后一篇文章的ID
+     * @param limit 每批数量
+     * @return 只包含 id 和 slug 的文章列表
+     */
+    @Select("SELECT id, slug FROM blog_article WHERE id > #{lastId} ORDER BY id LIMIT #{limit}")
+    List<Article> selectSlugsAfter(@Param("lastId") long lastId, @Param("limit") int limit);
+
+    /**
+     * 按ID查询文章别名，包含已逻辑删除的文章
+     *
+     * @param articleIds 文章ID列表
+     * @return 只包含 id 和 slug 的文章列表
+     */
+    @Select("<script>" +
+            "SELECT id, slug FROM blog_article WHERE id IN " +
+            "<foreach collection='articleIds' item='id' open='(' separator=',' close=')'>" +
+            "#{id}" +
+            "</foreach>" +
+            "</script>")
+    List<Article> selectSlugsByIds(@Param("articleIds") List<Long> articleIds);
+
+    /**
+     * 按别名查询文章ID，包含已逻辑删除的文章
+     *
+     * @param slug 文章别名
+     * @return 文章ID，不存在时返回 null
+     */
+    @Select("SELECT id FROM blog_article WHERE slug = #{slug} LIMIT 1")
+    Long selectIdBySlug(@Param("slug") String slug);
+
+    /**
+     * 查询文章详情中引用的作者、分类和标签的最近更新时间，用于推进详情版本
+     * 逻辑删除同样会推进更新时间，因此不过滤已删除的记录
+     *
+     * @param articleId 文章ID
+     * @return 最近更新时间，均不存在时返回 null
+     */
+    @Select("SELECT MAX(updated_time) FROM (" +
+            "SELECT u.updated_time FROM blog_article a JOIN sys_user u ON u.id = a.user_id WHERE a.id = #{articleId} " +
+            "UNION ALL " +
+            "SELECT c.updated_time FROM blog_article a JOIN blog_category c ON c.id = a.category_id WHERE a.id = #{articleId} " +
+            "UNION ALL " +
+            "SELECT t.updated_time FROM blog_article_tag r JOIN blog_tag t ON t.id = r.tag_id WHERE r.article_id = #{articleId}" +
+            ") related")
+    Date selectRelatedUpdateTime(@Param("articleId") Long articleId);
 }
@@ -0,0 +1,13 @@
+package com.sujiu.blog.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.sujiu.blog.model.entity.ArticleRevision;
+
+/**
+ * 文章修订版本 Mapper
+ *
+ * @author sujiu
+ */
+public interface ArticleRevisionMapper extends BaseMapper<ArticleRevision> {
+
+}
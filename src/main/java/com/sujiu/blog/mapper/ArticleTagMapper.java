@@ -2,6 +2,10 @@ package com.sujiu.blog.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.sujiu.blog.model.entity.ArticleTag;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 文章标签关联 Mapper
@@ -10,4 +14,17 @@ import com.sujiu.blog.model.entity.ArticleTag;
  */
 public interface ArticleTagMapper extends BaseMapper<ArticleTag> {
 
+    /**
+     * 单条多值 INSERT 批量插入文章标签关联，主键需预先生成
+     *
+     * @param articleTags 文章标签关联列表（不能为空）
+     * @return 插入行数
+     */
+    @Insert("<script>" +
+            "INSERT INTO blog_article_tag (id, article_id, tag_id, created_time) VALUES " +
+            "<foreach collection='articleTags' item='item' separator=','>" +
+            "(#{item.id}, #{item.articleId}, #{item.tagId}, #{item.createTime})" +
+            "</foreach>" +
+            "</script>")
+    int insertBatch(@Param("articleTags") List<ArticleTag> articleTags);
 }
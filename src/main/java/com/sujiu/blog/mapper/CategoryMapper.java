@@ -2,6 +2,8 @@ package com.sujiu.blog.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.sujiu.blog.model.entity.Category;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
 
 /**
  * 分类 Mapper
@@ -10,4 +12,14 @@ import com.sujiu.blog.model.entity.Category;
  */
 public interface CategoryMapper extends BaseMapper<Category> {
 
+    /**
+     * 按已发布文章重新统计分类的文章数量（与存储过程 UpdateCategoryArticleCount 口径一致）
+     *
+     * @param categoryId 分类ID
+     * @return 更新行数
+     */
+    @Update("UPDATE blog_category SET article_count = (" +
+            "SELECT COUNT(*) FROM blog_article WHERE category_id = #{categoryId} AND deleted = 0 AND status = 2) " +
+            "WHERE id = #{categoryId}")
+    int refreshArticleCount(@Param("categoryId") Long categoryId);
 }
@@ -2,6 +2,8 @@ package com.sujiu.blog.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.sujiu.blog.model.entity.Tag;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
 
 /**
  * 标签 Mapper
@@ -10,4 +12,15 @@ import com.sujiu.blog.model.entity.Tag;
  */
 public interface TagMapper extends BaseMapper<Tag> {
 
+    /**
+     * 按已发布文章重新统计标签的文章数量（与存储过程 UpdateTagArticleCount 口径一致）
+     *
+     * @param tagId 标签ID
+     * @return 更新行数
+     */
+    @Update("UPDATE blog_tag SET article_count = (" +
+            "SELECT COUNT(*) FROM blog_article_tag at JOIN blog_article a ON at.article_id = a.id " +
+            "WHERE at.tag_id = #{tagId} AND a.deleted = 0 AND a.status = 2) " +
+            "WHERE id = #{tagId}")
+    int refreshArticleCount(@Param("tagId") Long tagId);
 }
@@ -0,0 +1,26 @@
+package com.sujiu.blog.model.dto.article;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import javax.validation.constraints.NotBlank;
+import java.io.Serializable;
+
+/**
+ * 服务器目录导入请求
+ *
+ * @author sujiu
+ */
+@Data
+@Schema(description = "服务器目录导入请求")
+public class ArticleImportRequest implements Serializable {
+
+    /**
+     * 待导入的目录，相对于配置的导入根目录
+     */
+    @NotBlank(message = "导入目录不能为空")
+    @Schema(description = "待导入的目录，相对于配置的导入根目录", required = true)
+    private String directory;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -3,6 +3,7 @@ package com.sujiu.blog.model.dto.article;
 import com.sujiu.blog.common.PageRequest;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.io.Serializable;
+import java.util.List;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
@@ -28,6 +29,18 @@ public class ArticleQueryRequest extends PageRequest implements Serializable {
     @Schema(description = "标签ID")
     private Long tagId;
 
+    /**
+     * 标签ID列表（多标签筛选）
+     */
+    @Schema(description = "标签ID列表，可与 tagId 同时使用")
+    private List<Long> tagIds;
+
+    /**
+     * 多标签匹配方式
+     */
+    @Schema(description = "多标签匹配方式：any-包含任一标签（默认），all-包含全部标签")
+    private String tagMode;
+
     /**
      * 作者ID
      */
@@ -70,5 +83,11 @@ public class ArticleQueryRequest extends PageRequest implements Serializable {
     @Schema(description = "排序方式：asc-升序，desc-降序")
     private String sortOrder;
 
+    /**
+     * 游标（游标分页时使用）
+     */
+    @Schema(description = "游标：上一页返回的 nextCursor，首页不传")
+    private String cursor;
+
     private static final long serialVersionUID = 1L;
 }
@@ -1,6 +1,7 @@
 package com.sujiu.blog.model.dto.article;
 
 import java.io.Serializable;
+import java.util.Date;
 import java.util.List;
 import lombok.Data;
 
@@ -77,5 +78,10 @@ public class ArticleRequest implements Serializable {
      */
     private Integer status;
 
+    /**
+     * 定时发布时间（可选），需晚于当前时间；设置后文章进入审核中状态，到期自动发布
+     */
+    private Date scheduledTime;
+
     private static final long serialVersionUID = 1L;
 }
@@ -0,0 +1,36 @@
+package com.sujiu.blog.model.dto.article;
+
+import java.io.Serializable;
+import lombok.Data;
+
+/**
+ * 文章版本信息
+ * 用于条件请求校验和详情响应缓存
+ *
+ * @author sujiu
+ */
+@Data
+public class ArticleVersion implements Serializable {
+
+    /**
+     * 文章ID
+     */
+    private Long articleId;
+
+    /**
+     * 强 ETag（含引号）
+     */
+    private String eTag;
+
+    /**
+     * 最后修改时间（毫秒），取文章和其引用的作者、分类、标签中最近的更新时间
+     */
+    private Long lastModified;
+
+    /**
+     * 已写回数据库的浏览量，缓存的详情按该值输出，与 ETag 保持一致
+     */
+    private Integer viewCount;
+
+    private static final long serialVersionUID = 1L;
+}
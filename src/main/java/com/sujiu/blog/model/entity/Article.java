@@ -130,6 +130,11 @@ public class Article implements Serializable {
      */
     private Date publishedTime;
 
+    /**
+     * 定时发布时间，到期后自动发布，为空表示没有定时发布
+     */
+    private Date scheduledTime;
+
     /**
      * 创建时间
      */
@@ -0,0 +1,69 @@
+package com.sujiu.blog.model.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import java.io.Serializable;
+import java.util.Date;
+import lombok.Data;
+
+/**
+ * 文章修订版本实体
+ *
+ * @author sujiu
+ */
+@TableName(value = "blog_article_revision")
+@Data
+public class ArticleRevision implements Serializable {
+
+    /**
+     * 主键ID
+     */
+    @TableId(type = IdType.ASSIGN_ID)
+    private Long id;
+
+    /**
+     * 文章ID
+     */
+    private Long articleId;
+
+    /**
+     * 版本号，从1开始递增
+     */
+    private Integer version;
+
+    /**
+     * 存储类型(0:完整快照,1:相对上一版本的行级增量)
+     */
+    private Integer revisionType;
+
+    /**
+     * 文章标题
+     */
+    private String title;
+
+    /**
+     * 快照内容或增量
+     */
+    private String content;
+
+    /**
+     * 该版本完整内容的长度
+     */
+    private Integer contentLength;
+
+    /**
+     * 修改人ID
+     */
+    private Long editorId;
+
+    /**
+     * 创建时间
+     */
+    @TableField("created_time")
+    private Date createTime;
+
+    @TableField(exist = false)
+    private static final long serialVersionUID = 1L;
+}
@@ -136,6 +136,12 @@ public class AdminArticleVO implements Serializable {
     @Schema(description = "发布时间")
     private Date publishedTime;
 
+    /**
+     * 定时发布时间
+     */
+    @Schema(description = "定时发布时间")
+    private Date scheduledTime;
+
     /**
      * 创建时间
      */
@@ -0,0 +1,30 @@
+package com.sujiu.blog.model.vo.article;
+
+import java.io.Serializable;
+import lombok.Data;
+
+/**
+ * 文章归档（按发布月份统计）
+ *
+ * @author sujiu
+ */
+@Data
+public class ArticleArchiveVO implements Serializable {
+
+    /**
+     * 年份
+     */
+    private Integer year;
+
+    /**
+     * 月份（1-12）
+     */
+    private Integer month;
+
+    /**
+     * 当月发布的文章数
+     */
+    private Integer count;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,25 @@
+package com.sujiu.blog.model.vo.article;
+
+import java.io.Serializable;
+import lombok.Data;
+
+/**
+ * 导入失败的文件
+ *
+ * @author sujiu
+ */
+@Data
+public class ArticleImportFailureVO implements Serializable {
+
+    /**
+     * 文件路径（压缩包内路径或相对于导入目录的路径）
+     */
+    private String path;
+
+    /**
+     * 失败原因
+     */
+    private String reason;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,72 @@
+package com.sujiu.blog.model.vo.article;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * 文章批量导入进度
+ *
+ * @author sujiu
+ */
+@Data
+public class ArticleImportVO implements Serializable {
+
+    /**
+     * 导入任务ID
+     */
+    private String jobId;
+
+    /**
+     * 任务状态：PROCESSING-导入中，COMPLETED-已完成，FAILED-失败
+     */
+    private String status;
+
+    /**
+     * 导入来源（压缩包文件名或目录）
+     */
+    private String source;
+
+    /**
+     * 已读取的 Markdown 文件数
+     */
+    private Integer readCount;
+
+    /**
+     * 已处理完成（成功或失败）的文件数
+     */
+    private Integer processedCount;
+
+    /**
+     * 导入成功的文章数
+     */
+    private Integer successCount;
+
+    /**
+     * 导入失败的文件数
+     */
+    private Integer failureCount;
+
+    /**
+     * 失败的文件及原因，只保留前若干条
+     */
+    private List<ArticleImportFailureVO> failures;
+
+    /**
+     * 任务失败原因
+     */
+    private String errorMessage;
+
+    /**
+     * 开始时间
+     */
+    private Date startTime;
+
+    /**
+     * 结束时间
+     */
+    private Date finishTime;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,52 @@
+package com.sujiu.blog.model.vo.article;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * 文章发布后处理进度
+ *
+ * @author sujiu
+ */
+@Data
+public class ArticleProcessVO implements Serializable {
+
+    /**
+     * 文章ID
+     */
+    private Long articleId;
+
+    /**
+     * 处理状态：PENDING-等待处理，PROCESSING-处理中，COMPLETED-已完成，FAILED-失败
+     */
+    private String status;
+
+    /**
+     * 当前阶段：render-渲染与统计，counter-标签分类计数，index-位图索引，cache-缓存失效
+     */
+    private String stage;
+
+    /**
+     * 已完成的阶段
+     */
+    private List<String> completedStages;
+
+    /**
+     * 当前阶段的尝试次数
+     */
+    private Integer attempt;
+
+    /**
+     * 失败原因
+     */
+    private String errorMessage;
+
+    /**
+     * 更新时间
+     */
+    private Date updateTime;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,55 @@
+package com.sujiu.blog.model.vo.article;
+
+import java.io.Serializable;
+import lombok.Data;
+
+/**
+ * 文章两个版本的差异
+ *
+ * @author sujiu
+ */
+@Data
+public class ArticleRevisionDiffVO implements Serializable {
+
+    /**
+     * 文章ID
+     */
+    private Long articleId;
+
+    /**
+     * 起始版本号
+     */
+    private Integer fromVersion;
+
+    /**
+     * 目标版本号
+     */
+    private Integer toVersion;
+
+    /**
+     * 起始版本标题
+     */
+    private String fromTitle;
+
+    /**
+     * 目标版本标题
+     */
+    private String toTitle;
+
+    /**
+     * 新增行数
+     */
+    private Integer addedLines;
+
+    /**
+     * 删除行数
+     */
+    private Integer deletedLines;
+
+    /**
+     * 统一差异格式（unified diff）的内容差异
+     */
+    private String diff;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -0,0 +1,56 @@
+package com.sujiu.blog.model.vo.article;
+
+import java.io.Serializable;
+import java.util.Date;
+import lombok.Data;
+
+/**
+ * 文章修订版本
+ *
+ * @author sujiu
+ */
+@Data
+public class ArticleRevisionVO implements Serializable {
+
+    /**
+     * 文章ID
+     */
+    private Long articleId;
+
+    /**
+     * 版本号
+     */
+    private Integer version;
+
+    /**
+     * 存储类型(0:完整快照,1:增量)
+     */
+    private Integer revisionType;
+
+    /**
+     * 文章标题
+     */
+    private String title;
+
+    /**
+     * 该版本的完整内容，仅查询单个版本时返回
+     */
+    private String content;
+
+    /**
+     * 内容长度
+     */
+    private Integer contentLength;
+
+    /**
+     * 修改人ID
+     */
+    private Long editorId;
+
+    /**
+     * 创建时间
+     */
+    private Date createTime;
+
+    private static final long serialVersionUID = 1L;
+}
@@ -118,6 +118,11 @@ public class ArticleVO implements Serializable {
      */
     private Date publishedTime;
 
+    /**
+     * 定时发布时间
+     */
+    private Date scheduledTime;
+
     /**
      * 创建时间
      */
@@ -128,6 +133,26 @@ public class ArticleVO implements Serializable {
      */
     private Date updateTime;
 
+    /**
+     * 上一篇（更早发布的文章）
+     */
+    private NavInfo prev;
+
+    /**
+     * 下一篇（更晚发布的文章）
+     */
+    private NavInfo next;
+
+    /**
+     * 同分类的上一篇
+     */
+    private NavInfo categoryPrev;
+
+    /**
+     * 同分类的下一篇
+     */
+    private NavInfo categoryNext;
+
     @Data
     public static class AuthorInfo implements Serializable {
         private Long id;
@@ -154,5 +179,14 @@ public class ArticleVO implements Serializable {
         private static final long serialVersionUID = 1L;
     }
 
+    @Data
+    public static class NavInfo implements Serializable {
+        private Long id;
+        private String title;
+        private String slug;
+        private Date publishedTime;
+        private static final long serialVersionUID = 1L;
+    }
+
     private static final long serialVersionUID = 1L;
 }
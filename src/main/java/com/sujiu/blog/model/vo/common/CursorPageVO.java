@@ -0,0 +1,57 @@
+package com.sujiu.blog.model.vo.common;
+
+import java.io.Serializable;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * 游标分页响应
+ *
+ * @author sujiu
+ */
+@Data
+public class CursorPageVO<T> implements Serializable {
+
+    /**
+     * 数据列表
+     */
+    private List<T> records;
+
+    /**
+     * 下一页游标，没有更多数据时为空
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有更多数据
+     */
+    private Boolean hasMore;
+
+    /**
+     * 每页大小
+     */
+    private Long size;
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 默认构造函数
+     */
+    public CursorPageVO() {
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param records 数据列表
+     * @param nextCursor 下一页游标
+     * @param hasMore 是否还有更多数据
+     * @param size 每页大小
+     */
+    public CursorPageVO(List<T> records, String nextCursor, Boolean hasMore, Long size) {
+        this.records = records;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.size = size;
+    }
+}
@@ -0,0 +1,55 @@
+package com.sujiu.blog.service;
+
+import com.sujiu.blog.model.vo.article.ArticleArchiveVO;
+import com.sujiu.blog.model.vo.common.PageVO;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 文章归档索引服务
+ * 在内存中维护已发布文章的发布时间线和每个月的文章数，归档统计和按月列表不再扫描文章表
+ *
+ * @author sujiu
+ */
+public interface ArticleArchiveService {
+
+    /**
+     * 索引是否已加载完成
+     *
+     * @return 是否可用
+     */
+    boolean isReady();
+
+    /**
+     * 按数据库中已提交的数据刷新一篇文章的归档位置
+     *
+     * @param articleId 文章ID
+     */
+    void refreshArticle(Long articleId);
+
+    /**
+     * 批量刷新文章的归档位置
+     *
+     * @param articleIds 文章ID列表
+     */
+    void refreshArticles(Collection<Long> articleIds);
+
+    /**
+     * 所有有文章的月份及文章数，按月份倒序
+     *
+     * @return 归档列表
+     */
+    List<ArticleArchiveVO> listArchives();
+
+    /**
+     * 分页查询某个月发布的文章ID，按发布时间、ID倒序
+     *
+     * @param year 年份
+     * @param month 月份（1-12）
+     * @param current 当前页
+     * @param size 每页大小
+     * @return 当前页的文章ID及当月文章总数
+     */
+    PageVO<Long> pageArticleIds(int year, int month, int current, int size);
+}
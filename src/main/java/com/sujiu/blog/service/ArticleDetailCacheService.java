@@ -0,0 +1,53 @@
+package com.sujiu.blog.service;
+
+/**
+ * 文章详情响应缓存服务
+ * 按文章版本缓存序列化后的响应体及其 gzip、deflate 压缩版本，总大小按字节数限制
+ *
+ * @author sujiu
+ */
+public interface ArticleDetailCacheService {
+
+    /**
+     * 不压缩
+     */
+    String ENCODING_IDENTITY = "identity";
+
+    /**
+     * gzip 压缩
+     */
+    String ENCODING_GZIP = "gzip";
+
+    /**
+     * deflate 压缩
+     */
+    String ENCODING_DEFLATE = "deflate";
+
+    /**
+     * 获取缓存的响应体
+     *
+     * @param articleId 文章ID
+     * @param eTag 文章版本
+     * @param encoding 内容编码：identity、gzip、deflate
+     * @return 响应体，版本不一致或未缓存时返回 null
+     */
+    byte[] get(Long articleId, String eTag, String encoding);
+
+    /**
+     * 缓存响应体，同时生成压缩版本
+     *
+     * @param articleId 文章ID
+     * @param eTag 文章版本
+     * @param body 序列化后的响应体
+     * @param encoding 需要返回的内容编码
+     * @return 指定编码的响应体
+     */
+    byte[] put(Long articleId, String eTag, byte[] body, String encoding);
+
+    /**
+     * 移除文章的缓存
+     *
+     * @param articleId 文章ID
+     */
+    void evict(Long articleId);
+}
@@ -0,0 +1,22 @@
+package com.sujiu.blog.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 文章导出服务
+ *
+ * @author sujiu
+ */
+public interface ArticleExportService {
+
+    /**
+     * 按主键分批读取全部文章，以带 front-matter 的 Markdown 文件写入 zip 并直接输出到流，
+     * 内存中最多持有一批文章，导出的文件可以通过批量导入重新导入
+     *
+     * @param outputStream 输出流，调用方负责关闭
+     * @return 导出的文章数
+     * @throws IOException 写出失败（如客户端断开）
+     */
+    int exportZip(OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,43 @@
+package com.sujiu.blog.service;
+
+import com.sujiu.blog.model.dto.article.ArticleImportRequest;
+import com.sujiu.blog.model.vo.article.ArticleImportVO;
+import javax.servlet.http.HttpServletRequest;
+import java.io.InputStream;
+
+/**
+ * 文章批量导入服务
+ * 流式读取 zip 压缩包或服务器目录中带 front-matter 的 Markdown 文件，并行解析渲染后按批写入数据库，
+ * 同一时间只执行一个导入任务
+ *
+ * @author sujiu
+ */
+public interface ArticleImportService {
+
+    /**
+     * 导入上传的 zip 压缩包
+     *
+     * @param input zip 压缩包内容，读取完毕后由调用方关闭
+     * @param filename 压缩包文件名，可为空
+     * @param request HTTP请求对象
+     * @return 导入任务进度
+     */
+    ArticleImportVO importZip(InputStream input, String filename, HttpServletRequest request);
+
+    /**
+     * 导入服务器目录
+     *
+     * @param articleImportRequest 目录导入请求
+     * @param request HTTP请求对象
+     * @return 导入任务进度
+     */
+    ArticleImportVO importDirectory(ArticleImportRequest articleImportRequest, HttpServletRequest request);
+
+    /**
+     * 查询导入任务进度
+     *
+     * @param jobId 导入任务ID
+     * @return 导入任务进度
+     */
+    ArticleImportVO getProgress(String jobId);
+}
@@ -0,0 +1,50 @@
+package com.sujiu.blog.service;
+
+import com.sujiu.blog.model.vo.article.ArticleVO;
+
+import java.util.Collection;
+
+/**
+ * 文章上下篇导航索引服务
+ * 在内存中按发布时间维护全站和每个分类的已发布文章时间线，详情页的上一篇、下一篇不再查询文章表
+ *
+ * @author sujiu
+ */
+public interface ArticleNavigationService {
+
+    /**
+     * 索引是否已加载完成
+     *
+     * @return 是否可用
+     */
+    boolean isReady();
+
+    /**
+     * 按数据库中已提交的数据刷新一篇文章的导航位置
+     *
+     * @param articleId 文章ID
+     */
+    void refreshArticle(Long articleId);
+
+    /**
+     * 批量刷新文章的导航位置
+     *
+     * @param articleIds 文章ID列表
+     */
+    void refreshArticles(Collection<Long> articleIds);
+
+    /**
+     * 填充文章的上一篇、下一篇及同分类的上一篇、下一篇，文章不在索引中时不填充
+     *
+     * @param articleVO 文章详情
+     */
+    void fillNavigation(ArticleVO articleVO);
+
+    /**
+     * 文章当前相邻文章的版本标记，相邻文章变化或其标题、别名修改后随之变化，用于详情响应的 ETag
+     *
+     * @param articleId 文章ID
+     * @return 版本标记
+     */
+    String getNavigationTag(Long articleId);
+}
@@ -0,0 +1,41 @@
+package com.sujiu.blog.service;
+
+import java.nio.file.Path;
+
+/**
+ * 文章静态页服务
+ * 把已发布的公开文章预渲染为静态 HTML 文件，匿名读者直接读取文件，不经过 Spring MVC 和数据库
+ *
+ * @author sujiu
+ */
+public interface ArticlePageService {
+
+    /**
+     * 是否开启静态页
+     *
+     * @return 是否开启
+     */
+    boolean isEnabled();
+
+    /**
+     * 按数据库中已提交的数据重新渲染一篇文章，文章不再公开时删除静态页
+     *
+     * @param articleId 文章ID
+     */
+    void refreshArticle(Long articleId);
+
+    /**
+     * 按别名查找静态页文件，别名索引加载完成后只查内存
+     *
+     * @param slug 文章别名
+     * @return 静态页文件，未开启或别名不存在时返回 null，文件不一定存在
+     */
+    Path getPageFile(String slug);
+
+    /**
+     * 全量重新渲染所有公开文章，并删除不再公开的文章的静态页
+     *
+     * @return 渲染的文章数
+     */
+    int rebuild();
+}
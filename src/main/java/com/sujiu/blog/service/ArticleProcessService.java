@@ -0,0 +1,41 @@
+package com.sujiu.blog.service;
+
+import com.sujiu.blog.model.vo.article.ArticleProcessVO;
+
+import java.util.Collection;
+
+/**
+ * 文章发布后处理服务
+ * 文章写入后，由有界线程池按阶段异步完成渲染与统计、标签分类计数、位图索引刷新、缓存失效，每个阶段失败时重试
+ *
+ * @author sujiu
+ */
+public interface ArticleProcessService {
+
+    String STATUS_PENDING = "PENDING";
+
+    String STATUS_PROCESSING = "PROCESSING";
+
+    String STATUS_COMPLETED = "COMPLETED";
+
+    String STATUS_FAILED = "FAILED";
+
+    /**
+     * 提交文章的后处理任务，事务中调用时在提交后执行
+     * 同一篇文章的任务串行执行，处理期间的新提交会合并为一次重新处理
+     *
+     * @param articleId 文章ID
+     * @param render 是否需要重新渲染内容和统计字数
+     * @param previousTagIds 变更前关联、变更后已移除的标签ID，用于重新计数，没有时传 null
+     * @param previousCategoryId 变更前的分类ID，没有时传 null
+     */
+    void submit(Long articleId, boolean render, Collection<Long> previousTagIds, Long previousCategoryId);
+
+    /**
+     * 获取文章的后处理进度
+     *
+     * @param articleId 文章ID
+     * @return 处理进度，没有记录时返回 null
+     */
+    ArticleProcessVO getProgress(Long articleId);
+}
@@ -0,0 +1,43 @@
+package com.sujiu.blog.service;
+
+import java.util.List;
+
+/**
+ * 相关文章服务
+ * 在内存中为每篇已发布文章维护标签和正文片段的 MinHash 签名，按 LSH 分段建立桶索引，
+ * 查询时只对同桶的候选文章估算相似度，不访问数据库
+ *
+ * @author sujiu
+ */
+public interface ArticleRelatedService {
+
+    /**
+     * 索引是否已加载完成
+     *
+     * @return 是否可用
+     */
+    boolean isReady();
+
+    /**
+     * 按数据库中已提交的数据刷新一篇文章的签名，文章未发布或已删除时移出索引
+     *
+     * @param articleId 文章ID
+     */
+    void refreshArticle(Long articleId);
+
+    /**
+     * 查询相关文章ID，按相似度倒序
+     *
+     * @param articleId 文章ID
+     * @param limit 返回数量
+     * @return 文章ID列表，文章不在索引中时为空
+     */
+    List<Long> listRelatedArticleIds(Long articleId, int limit);
+
+    /**
+     * 全量重建索引，签名计算并行执行，重建期间旧索引继续提供查询
+     *
+     * @return 索引的文章数
+     */
+    int rebuild();
+}
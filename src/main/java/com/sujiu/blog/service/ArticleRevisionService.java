@@ -0,0 +1,63 @@
+package com.sujiu.blog.service;
+
+import com.sujiu.blog.model.vo.article.ArticleRevisionDiffVO;
+import com.sujiu.blog.model.vo.article.ArticleRevisionVO;
+import com.sujiu.blog.model.vo.common.PageVO;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * 文章修订历史服务
+ * 每隔若干版本保存一次完整快照，其余版本只保存相对上一版本的行级增量，
+ * 还原任意版本最多从最近的快照应用一个快照间隔内的增量
+ *
+ * @author sujiu
+ */
+public interface ArticleRevisionService {
+
+    /**
+     * 记录文章的新版本，标题和内容都未变化时不记录
+     * 需要在文章写入的事务中调用
+     *
+     * @param articleId 文章ID
+     * @param previousTitle 修改前的标题，新建文章时传 null
+     * @param previousContent 修改前的内容，新建文章时传 null；文章还没有修订历史时作为第一个版本保存
+     * @param title 修改后的标题
+     * @param content 修改后的内容
+     * @param editorId 修改人ID
+     */
+    void recordRevision(Long articleId, String previousTitle, String previousContent,
+                        String title, String content, Long editorId);
+
+    /**
+     * 分页获取文章的修订历史（按版本倒序，不含内容）
+     *
+     * @param articleId 文章ID
+     * @param current 当前页码
+     * @param size 每页大小
+     * @param request HTTP请求对象
+     * @return 修订版本列表
+     */
+    PageVO<ArticleRevisionVO> listRevisions(Long articleId, Integer current, Integer size, HttpServletRequest request);
+
+    /**
+     * 还原文章的指定版本
+     *
+     * @param articleId 文章ID
+     * @param version 版本号
+     * @param request HTTP请求对象
+     * @return 该版本的标题和完整内容
+     */
+    ArticleRevisionVO getRevision(Long articleId, Integer version, HttpServletRequest request);
+
+    /**
+     * 比较文章的两个版本
+     *
+     * @param articleId 文章ID
+     * @param fromVersion 起始版本号
+     * @param toVersion 目标版本号
+     * @param request HTTP请求对象
+     * @return 版本差异
+     */
+    ArticleRevisionDiffVO diffRevisions(Long articleId, Integer fromVersion, Integer toVersion, HttpServletRequest request);
+}
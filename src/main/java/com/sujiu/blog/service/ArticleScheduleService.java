@@ -0,0 +1,34 @@
+package com.sujiu.blog.service;
+
+import java.util.Date;
+
+/**
+ * 文章定时发布服务
+ * 待发布的文章保存在内存时间轮中，启动时从数据库重建；添加、取消和到期触发都是 O(1)，不轮询文章表
+ *
+ * @author sujiu
+ */
+public interface ArticleScheduleService {
+
+    /**
+     * 安排文章在指定时间发布，已有的安排会被替换；事务中调用时在提交后生效
+     *
+     * @param articleId 文章ID
+     * @param scheduledTime 发布时间
+     */
+    void schedule(Long articleId, Date scheduledTime);
+
+    /**
+     * 取消文章的定时发布；事务中调用时在提交后生效
+     *
+     * @param articleId 文章ID
+     */
+    void cancel(Long articleId);
+
+    /**
+     * 等待发布的文章数
+     *
+     * @return 文章数
+     */
+    int getPendingCount();
+}
@@ -7,9 +7,13 @@ import com.sujiu.blog.model.dto.article.ArticleAuditRequest;
 import com.sujiu.blog.model.dto.article.ArticleOfflineRequest;
 import com.sujiu.blog.model.dto.article.ArticleQueryRequest;
 import com.sujiu.blog.model.dto.article.ArticleRequest;
+import com.sujiu.blog.model.dto.article.ArticleVersion;
 import com.sujiu.blog.model.entity.Article;
 import com.sujiu.blog.model.vo.article.AdminArticleVO;
+import com.sujiu.blog.model.vo.article.ArticleArchiveVO;
+import com.sujiu.blog.model.vo.article.ArticleProcessVO;
 import com.sujiu.blog.model.vo.article.ArticleVO;
+import com.sujiu.blog.model.vo.common.CursorPageVO;
 import com.sujiu.blog.model.vo.common.PageVO;
 
 import javax.servlet.http.HttpServletRequest;
@@ -92,6 +96,25 @@ public interface ArticleService extends IService<Article> {
      */
     ArticleVO getArticleDetail(Long articleId, String password, HttpServletRequest request);
 
+    /**
+     * 根据别名获取文章详情
+     *
+     * @param slug 文章别名
+     * @param password 文章密码（如果文章加密）
+     * @param request HTTP请求对象
+     * @return 文章详情
+     */
+    ArticleVO getArticleDetailBySlug(String slug, String password, HttpServletRequest request);
+
+    /**
+     * 获取文章发布后处理进度（作者或管理员）
+     *
+     * @param articleId 文章ID
+     * @param request HTTP请求对象
+     * @return 处理进度
+     */
+    ArticleProcessVO getArticleProcessProgress(Long articleId, HttpServletRequest request);
+
     /**
      * 检查用户是否有权限操作文章
      *
@@ -101,6 +124,15 @@ public interface ArticleService extends IService<Article> {
      */
     Boolean hasPermission(Long articleId, Long userId);
 
+    /**
+     * 获取公开文章的版本信息，只查询版本相关字段
+     * 只有已发布且未加密的文章对所有读者返回相同内容，其他文章返回 null
+     *
+     * @param articleId 文章ID
+     * @return 版本信息
+     */
+    ArticleVersion getPublicArticleVersion(Long articleId);
+
     /**
      * 获取文章列表
      *
@@ -109,6 +141,14 @@ public interface ArticleService extends IService<Article> {
      */
     PageVO<ArticleVO> getArticleList(ArticleQueryRequest articleQueryRequest);
 
+    /**
+     * 游标分页获取文章列表（不统计总数）
+     *
+     * @param articleQueryRequest 查询请求，cursor 为上一页返回的 nextCursor
+     * @return 文章列表
+     */
+    CursorPageVO<ArticleVO> getArticleListByCursor(ArticleQueryRequest articleQueryRequest);
+
     /**
      * 获取热门文章
      *
@@ -118,6 +158,33 @@ public interface ArticleService extends IService<Article> {
      */
     List<ArticleVO> getHotArticles(Integer limit, Integer days);
 
+    /**
+     * 获取相关文章
+     *
+     * @param articleId 文章ID
+     * @param limit 返回数量
+     * @return 相关文章列表，按相似度倒序
+     */
+    List<ArticleVO> getRelatedArticles(Long articleId, Integer limit);
+
+    /**
+     * 获取文章归档：有已发布文章的月份及文章数
+     *
+     * @return 归档列表，按月份倒序
+     */
+    List<ArticleArchiveVO> getArchives();
+
+    /**
+     * 分页获取某个月发布的文章
+     *
+     * @param year 年份
+     * @param month 月份（1-12）
+     * @param current 当前页
+     * @param size 每页大小
+     * @return 文章分页，按发布时间倒序
+     */
+    PageVO<ArticleVO> getArchiveArticles(Integer year, Integer month, Integer current, Integer size);
+
     /**
      * 获取推荐文章
      *
@@ -133,6 +200,11 @@ public interface ArticleService extends IService<Article> {
      */
     List<ArticleVO> getTopArticles();
 
+    /**
+     * 异步重建首页文章快照（置顶、推荐和首页列表）
+     */
+    void refreshHomepageSnapshot();
+
     /**
      * 增加文章浏览量
      *
@@ -162,6 +234,15 @@ public interface ArticleService extends IService<Article> {
      */
     Boolean auditArticle(Long articleId, ArticleAuditRequest articleAuditRequest, HttpServletRequest request);
 
+    /**
+     * 发布到期的定时发布文章，状态流转和副作用与审核通过相同
+     * 文章已取消定时、改期或已被审核时跳过
+     *
+     * @param articleId 文章ID
+     * @return 是否发布
+     */
+    Boolean publishScheduledArticle(Long articleId);
+
     /**
      * 管理员下架文章
      *
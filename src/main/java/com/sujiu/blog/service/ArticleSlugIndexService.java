@@ -0,0 +1,36 @@
+package com.sujiu.blog.service;
+
+/**
+ * 文章别名索引服务
+ * 在内存中维护别名到文章ID的映射，用于别名唯一性校验和按别名查找文章，数据库唯一键仍是最终约束
+ *
+ * @author sujiu
+ */
+public interface ArticleSlugIndexService {
+
+    /**
+     * 按别名查找文章ID
+     *
+     * @param slug 文章别名
+     * @return 文章ID，不存在时返回 null
+     */
+    Long getArticleId(String slug);
+
+    /**
+     * 别名是否可用
+     *
+     * @param slug 文章别名
+     * @param articleId 当前文章ID（更新时传入，别名属于该文章时视为可用），新建时传 null
+     * @return 是否可用
+     */
+    boolean isAvailable(String slug, Long articleId);
+
+    /**
+     * 登记文章别名，事务中调用时在提交后生效
+     *
+     * @param slug 新别名
+     * @param oldSlug 原别名，没有时传 null
+     * @param articleId 文章ID
+     */
+    void register(String slug, String oldSlug, Long articleId);
+}
@@ -0,0 +1,61 @@
+package com.sujiu.blog.service;
+
+import com.sujiu.blog.model.vo.common.PageVO;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 文章标签位图索引服务
+ * 在内存中为每个标签、分类维护已发布文章的压缩位图，以及每篇文章的标签集合，
+ * 标签筛选时用位图求交并集得到结果，数据库只需按主键取回当前页
+ *
+ * @author sujiu
+ */
+public interface ArticleTagIndexService {
+
+    /**
+     * 索引是否已加载完成
+     *
+     * @return 是否可用
+     */
+    boolean isReady();
+
+    /**
+     * 按数据库中已提交的数据刷新一篇文章的索引（状态、分类、置顶、发布时间和标签）
+     *
+     * @param articleId 文章ID
+     */
+    void refreshArticle(Long articleId);
+
+    /**
+     * 批量刷新文章的索引，用两次 IN 查询取代逐篇查询
+     *
+     * @param articleIds 文章ID列表
+     */
+    void refreshArticles(Collection<Long> articleIds);
+
+    /**
+     * 查询匹配标签的已发布文章ID
+     *
+     * @param tagIds 标签ID列表
+     * @param matchAll true-包含全部标签，false-包含任一标签
+     * @param categoryId 分类ID，不限时传 null
+     * @return 文章ID列表
+     */
+    List<Long> listArticleIds(List<Long> tagIds, boolean matchAll, Long categoryId);
+
+    /**
+     * 分页查询匹配标签的已发布文章ID，按置顶、发布时间、ID倒序
+     *
+     * @param tagIds 标签ID列表
+     * @param matchAll true-包含全部标签，false-包含任一标签
+     * @param categoryId 分类ID，不限时传 null
+     * @param isTop 是否置顶，不限时传 null
+     * @param current 当前页
+     * @param size 每页大小
+     * @return 当前页的文章ID及总数
+     */
+    PageVO<Long> pageArticleIds(List<Long> tagIds, boolean matchAll, Long categoryId, Boolean isTop,
+                                int current, int size);
+}
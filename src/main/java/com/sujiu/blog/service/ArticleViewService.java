@@ -0,0 +1,32 @@
+package com.sujiu.blog.service;
+
+/**
+ * 文章浏览量服务
+ * 浏览量先在内存中累加，再由定时任务合并写回数据库
+ *
+ * @author sujiu
+ */
+public interface ArticleViewService {
+
+    /**
+     * 记录一次浏览
+     *
+     * @param articleId 文章ID
+     */
+    void increment(Long articleId);
+
+    /**
+     * 获取尚未写回数据库的浏览量
+     *
+     * @param articleId 文章ID
+     * @return 待写回的增量
+     */
+    long getPendingCount(Long articleId);
+
+    /**
+     * 将内存中的浏览量增量写回数据库
+     *
+     * @return 本次写回的文章数
+     */
+    int flush();
+}
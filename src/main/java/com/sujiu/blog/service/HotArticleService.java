@@ -0,0 +1,62 @@
+package com.sujiu.blog.service;
+
+import java.util.List;
+
+/**
+ * 热门文章排行服务
+ * 根据浏览、点赞、评论事件为每篇文章维护随时间衰减的热度分数，并定期生成前 K 名快照
+ *
+ * @author sujiu
+ */
+public interface HotArticleService {
+
+    /**
+     * 记录一次浏览
+     *
+     * @param articleId 文章ID
+     */
+    void recordView(Long articleId);
+
+    /**
+     * 记录点赞或取消点赞
+     *
+     * @param articleId 文章ID
+     * @param liked true-点赞，false-取消点赞
+     */
+    void recordLike(Long articleId, boolean liked);
+
+    /**
+     * 记录一条评论
+     *
+     * @param articleId 文章ID
+     */
+    void recordComment(Long articleId);
+
+    /**
+     * 从排行中移除文章（下架、删除等）
+     *
+     * @param articleId 文章ID
+     */
+    void removeArticle(Long articleId);
+
+    /**
+     * 获取热门文章ID
+     *
+     * @param limit 返回数量
+     * @param days 只返回最近多少天内发布的文章，不超过统计窗口
+     * @return 按热度倒序的文章ID
+     */
+    List<Long> getHotArticleIds(int limit, int days);
+
+    /**
+     * 排行是否已完成初始化
+     *
+     * @return 是否可用
+     */
+    boolean isReady();
+
+    /**
+     * 重新生成排行快照
+     */
+    void refresh();
+}
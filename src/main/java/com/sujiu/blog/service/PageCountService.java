@@ -0,0 +1,36 @@
+package com.sujiu.blog.service;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+
+import java.util.function.BiFunction;
+
+/**
+ * 分页总数缓存服务
+ * 按表和规范化后的筛选条件缓存分页查询的 COUNT 结果，短时间内翻页、刷新不再重复统计；
+ * 表发生写入后该表的缓存全部失效。可选开启估算模式，统计代价过高时用 EXPLAIN 的估算行数作为总数
+ *
+ * @author sujiu
+ */
+public interface PageCountService {
+
+    /**
+     * 分页查询，总数优先取缓存
+     *
+     * @param table 查询的表名，用于写入后失效
+     * @param page 分页参数
+     * @param queryWrapper 查询条件
+     * @param pager 实际执行分页查询的方法，如 this::page
+     * @param <T> 实体类型
+     * @return 分页结果，总数可能来自缓存或估算
+     */
+    <T> Page<T> page(String table, Page<T> page, QueryWrapper<T> queryWrapper,
+                     BiFunction<Page<T>, QueryWrapper<T>, Page<T>> pager);
+
+    /**
+     * 使表的所有缓存总数失效
+     *
+     * @param table 表名
+     */
+    void invalidate(String table);
+}
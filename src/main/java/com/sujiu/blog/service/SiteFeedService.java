@@ -0,0 +1,50 @@
+package com.sujiu.blog.service;
+
+import java.util.Collection;
+
+/**
+ * 站点地图和订阅源服务
+ * 站点地图索引和按发布月份分段的站点地图、全站 RSS/Atom、分类和作者的 RSS 以静态文件形式输出，
+ * 文章变更时只标记受影响的文件，由后台线程合并后重写
+ *
+ * @author sujiu
+ */
+public interface SiteFeedService {
+
+    /**
+     * 站点地图索引文件名
+     */
+    String SITEMAP_INDEX = "sitemap.xml";
+
+    /**
+     * 分段站点地图目录
+     */
+    String SITEMAP_DIR = "sitemaps";
+
+    /**
+     * 订阅源目录
+     */
+    String FEED_DIR = "feed";
+
+    /**
+     * 按数据库中已提交的数据标记一篇文章影响的站点地图分段和订阅源，等待后台重写
+     *
+     * @param articleId 文章ID
+     * @param previousCategoryIds 变更前的分类ID，没有时传空集合
+     */
+    void markArticleChanged(Long articleId, Collection<Long> previousCategoryIds);
+
+    /**
+     * 立即重写所有已标记的文件
+     *
+     * @return 重写（含删除）的文件数
+     */
+    int flush();
+
+    /**
+     * 从数据库全量重新生成所有文件，并删除不再需要的文件
+     *
+     * @return 生成的文件数
+     */
+    int rebuild();
+}
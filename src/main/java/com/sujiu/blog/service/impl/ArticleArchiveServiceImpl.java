@@ -0,0 +1,221 @@
+package com.sujiu.blog.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.sujiu.blog.mapper.ArticleMapper;
+import com.sujiu.blog.model.entity.Article;
+import com.sujiu.blog.model.vo.article.ArticleArchiveVO;
+import com.sujiu.blog.model.vo.common.PageVO;
+import com.sujiu.blog.service.ArticleArchiveService;
+import com.sujiu.blog.utils.ArticleTimeline;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.Resource;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 文章归档索引服务实现
+ * 时间线保存所有已发布文章，某个月的文章是时间线上的一段连续区间；
+ * 每个月的文章数单独计数，随文章进出时间线增减，统计和分页都不需要遍历整个月
+ *
+ * @author sujiu
+ */
+@Service
+@Slf4j
+public class ArticleArchiveServiceImpl implements ArticleArchiveService {
+
+    /**
+     * 每批加载的行数
+     */
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    @Resource
+    private ArticleMapper articleMapper;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final ArticleTimeline timeline = new ArticleTimeline();
+
+    /**
+     * 年月（yyyyMM）到文章数，按月份倒序，没有文章的月份不保留
+     */
+    private final NavigableMap<Integer, Integer> monthCounts = new TreeMap<>(Comparator.reverseOrder());
+
+    /**
+     * 加载期间发生变更的文章，加载完成后重新刷新
+     */
+    private final Set<Long> changedDuringLoad = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean ready;
+
+    /**
+     * 启动后分批加载已发布文章的发布时间
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            int count = 0;
+            long lastId = 0L;
+            while (true) {
+                QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+                queryWrapper.select("id", "status", "published_time")
+                           .eq("status", 2)
+                           .gt("id", lastId)
+                           .orderByAsc("id")
+                           .last("LIMIT " + LOAD_BATCH_SIZE);
+                List<Article> articles = articleMapper.selectList(queryWrapper);
+                withWriteLock(() -> articles.forEach(this::applyArticle));
+                count += articles.size();
+                if (articles.size() < LOAD_BATCH_SIZE) {
+                    break;
+                }
+                lastId = articles.get(articles.size() - 1).getId();
+            }
+
+            ready = true;
+            // 加载期间读到的可能是旧数据，重新刷新这些文章
+            refreshArticles(new ArrayList<>(changedDuringLoad));
+            changedDuringLoad.clear();
+            log.info("文章归档索引加载完成，文章数：{}，月份数：{}", count, monthCounts.size());
+        } catch (Exception e) {
+            log.error("文章归档索引加载失败，归档查询将回退到数据库", e);
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void refreshArticle(Long articleId) {
+        if (articleId != null) {
+            refreshArticles(Collections.singletonList(articleId));
+        }
+    }
+
+    @Override
+    public void refreshArticles(Collection<Long> articleIds) {
+        if (articleIds == null || articleIds.isEmpty()) {
+            return;
+        }
+        if (!ready) {
+            changedDuringLoad.addAll(articleIds);
+        }
+
+        QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("id", "status", "published_time").in("id", articleIds);
+        Map<Long, Article> articles = articleMapper.selectList(queryWrapper).stream()
+                .collect(Collectors.toMap(Article::getId, article -> article));
+        withWriteLock(() -> {
+            for (Long articleId : articleIds) {
+                Article article = articles.get(articleId);
+                if (article == null) {
+                    removeArticle(articleId);
+                } else {
+                    applyArticle(article);
+                }
+            }
+        });
+    }
+
+    @Override
+    public List<ArticleArchiveVO> listArchives() {
+        lock.readLock().lock();
+        try {
+            List<ArticleArchiveVO> archives = new ArrayList<>(monthCounts.size());
+            for (Map.Entry<Integer, Integer> entry : monthCounts.entrySet()) {
+                ArticleArchiveVO archive = new ArticleArchiveVO();
+                archive.setYear(entry.getKey() / 100);
+                archive.setMonth(entry.getKey() % 100);
+                archive.setCount(entry.getValue());
+                archives.add(archive);
+            }
+            return archives;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public PageVO<Long> pageArticleIds(int year, int month, int current, int size) {
+        ZonedDateTime start = LocalDate.of(year, month, 1).atStartOfDay(ZoneId.systemDefault());
+        long fromTime = start.toInstant().toEpochMilli();
+        long toTime = start.plusMonths(1).toInstant().toEpochMilli();
+        long offset = (long) (Math.max(current, 1) - 1) * size;
+
+        lock.readLock().lock();
+        try {
+            int total = monthCounts.getOrDefault(year * 100 + month, 0);
+            List<Long> records = offset >= total ? Collections.emptyList()
+                    : timeline.list(fromTime, toTime, (int) offset, size);
+            return new PageVO<>(records, (long) total, current, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 已发布且有发布时间的文章放入对应月份，其他状态移出，调用方持有写锁
+     */
+    private void applyArticle(Article article) {
+        if (!Integer.valueOf(2).equals(article.getStatus()) || article.getPublishedTime() == null) {
+            removeArticle(article.getId());
+            return;
+        }
+        long publishedTime = article.getPublishedTime().getTime();
+        Long previous = timeline.put(article.getId(), publishedTime);
+        if (previous != null) {
+            decrement(monthOf(previous));
+        }
+        monthCounts.merge(monthOf(publishedTime), 1, Integer::sum);
+    }
+
+    /**
+     * 调用方持有写锁
+     */
+    private void removeArticle(Long articleId) {
+        Long previous = timeline.remove(articleId);
+        if (previous != null) {
+            decrement(monthOf(previous));
+        }
+    }
+
+    private void decrement(int yearMonth) {
+        monthCounts.computeIfPresent(yearMonth, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * 发布时间所在的年月（yyyyMM），按服务器时区划分
+     */
+    private static int monthOf(long publishedTime) {
+        ZonedDateTime time = Instant.ofEpochMilli(publishedTime).atZone(ZoneId.systemDefault());
+        return time.getYear() * 100 + time.getMonthValue();
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.sujiu.blog.service.impl;
+
+import com.sujiu.blog.service.ArticleDetailCacheService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 文章详情响应缓存服务实现
+ * 使用按访问顺序排列的 LinkedHashMap 做 LRU，按三种编码的字节数之和计算占用
+ *
+ * @author sujiu
+ */
+@Service
+@Slf4j
+public class ArticleDetailCacheServiceImpl implements ArticleDetailCacheService {
+
+    /**
+     * 缓存总字节数上限
+     */
+    @Value("${article.detail-cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    /**
+     * 单篇文章的最大缓存字节数，超出时不缓存
+     */
+    @Value("${article.detail-cache.max-entry-bytes:4194304}")
+    private long maxEntryBytes;
+
+    private final LinkedHashMap<Long, CachedBody> cache = new LinkedHashMap<>(64, 0.75f, true);
+
+    /**
+     * 当前占用字节数
+     */
+    private long usedBytes;
+
+    @Override
+    public byte[] get(Long articleId, String eTag, String encoding) {
+        if (articleId == null || eTag == null) {
+            return null;
+        }
+        synchronized (this) {
+            CachedBody cachedBody = cache.get(articleId);
+            if (cachedBody == null || !cachedBody.eTag.equals(eTag)) {
+                return null;
+            }
+            return cachedBody.get(encoding);
+        }
+    }
+
+    @Override
+    public byte[] put(Long articleId, String eTag, byte[] body, String encoding) {
+        // 压缩在锁外完成
+        CachedBody cachedBody = new CachedBody(eTag, body, compress(body, true), compress(body, false));
+        if (articleId == null || eTag == null || cachedBody.weight > maxEntryBytes) {
+            return cachedBody.get(encoding);
+        }
+
+        synchronized (this) {
+            CachedBody previous = cache.put(articleId, cachedBody);
+            if (previous != null) {
+                usedBytes -= previous.weight;
+            }
+            usedBytes += cachedBody.weight;
+
+            // 按最近最少使用淘汰，直到总字节数回到上限以内
+            Iterator<Map.Entry<Long, CachedBody>> iterator = cache.entrySet().iterator();
+            while (usedBytes > maxBytes && iterator.hasNext()) {
+                Map.Entry<Long, CachedBody> eldest = iterator.next();
+                usedBytes -= eldest.getValue().weight;
+                iterator.remove();
+            }
+        }
+        log.debug("缓存文章详情响应，文章ID：{}，字节数：{}，缓存总字节数：{}", articleId, cachedBody.weight, usedBytes);
+        return cachedBody.get(encoding);
+    }
+
+    @Override
+    public void evict(Long articleId) {
+        if (articleId == null) {
+            return;
+        }
+        synchronized (this) {
+            CachedBody previous = cache.remove(articleId);
+            if (previous != null) {
+                usedBytes -= previous.weight;
+            }
+        }
+    }
+
+    /**
+     * 压缩响应体
+     *
+     * @param body 原始内容
+     * @param gzip true-gzip，false-deflate（zlib 格式）
+     * @return 压缩后的内容
+     */
+    private static byte[] compress(byte[] body, boolean gzip) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (OutputStream out = gzip ? new GZIPOutputStream(buffer) : new DeflaterOutputStream(buffer)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * 某个版本的响应体
+     */
+    private static final class CachedBody {
+
+        private final String eTag;
+
+        private final byte[] identity;
+
+        private final byte[] gzip;
+
+        private final byte[] deflate;
+
+        private final long weight;
+
+        private CachedBody(String eTag, byte[] identity, byte[] gzip, byte[] deflate) {
+            this.eTag = eTag;
+            this.identity = identity;
+            this.gzip = gzip;
+            this.deflate = deflate;
+            this.weight = (long) identity.length + gzip.length + deflate.length;
+        }
+
+        private byte[] get(String encoding) {
+            if (ENCODING_GZIP.equals(encoding)) {
+                return gzip;
+            }
+            if (ENCODING_DEFLATE.equals(encoding)) {
+                return deflate;
+            }
+            return identity;
+        }
+    }
+}
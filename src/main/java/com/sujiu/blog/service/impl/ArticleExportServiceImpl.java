@@ -0,0 +1,173 @@
+package com.sujiu.blog.service.impl;
+
+import cn.hutool.core.date.DateUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.sujiu.blog.mapper.ArticleMapper;
+import com.sujiu.blog.mapper.ArticleTagMapper;
+import com.sujiu.blog.mapper.CategoryMapper;
+import com.sujiu.blog.mapper.TagMapper;
+import com.sujiu.blog.mapper.UserMapper;
+import com.sujiu.blog.model.entity.Article;
+import com.sujiu.blog.model.entity.ArticleTag;
+import com.sujiu.blog.model.entity.Category;
+import com.sujiu.blog.model.entity.Tag;
+import com.sujiu.blog.model.entity.User;
+import com.sujiu.blog.service.ArticleExportService;
+import com.sujiu.blog.utils.FrontMatter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.Resource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 文章导出服务实现
+ * 按主键 keyset 分批读取，每批只多查一次标签关联和作者；标签、分类数量有限，导出开始时一次性加载为字典。
+ * 每写完一批就刷新输出流，客户端可以立即开始接收数据
+ *
+ * @author sujiu
+ */
+@Service
+@Slf4j
+public class ArticleExportServiceImpl implements ArticleExportService {
+
+    private static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+    @Resource
+    private ArticleMapper articleMapper;
+
+    @Resource
+    private ArticleTagMapper articleTagMapper;
+
+    @Resource
+    private TagMapper tagMapper;
+
+    @Resource
+    private CategoryMapper categoryMapper;
+
+    @Resource
+    private UserMapper userMapper;
+
+    /**
+     * 每批读取的文章数，正文较大，批次不宜过大
+     */
+    @Value("${article.export.batch-size:100}")
+    private int batchSize;
+
+    @Override
+    public int exportZip(OutputStream outputStream) throws IOException {
+        long startTime = System.currentTimeMillis();
+        Map<Long, String> tagNames = tagMapper.selectList(null).stream()
+                .collect(Collectors.toMap(Tag::getId, Tag::getName));
+        Map<Long, String> categoryNames = categoryMapper.selectList(null).stream()
+                .collect(Collectors.toMap(Category::getId, Category::getName));
+
+        int count = 0;
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(outputStream), StandardCharsets.UTF_8);
+        long lastId = 0L;
+        while (true) {
+            QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+            queryWrapper.select("id", "user_id", "category_id", "title", "slug", "summary", "content", "cover_image",
+                            "is_top", "is_original", "source_url", "status", "published_time", "created_time",
+                            "updated_time")
+                       .gt("id", lastId)
+                       .orderByAsc("id")
+                       .last("LIMIT " + batchSize);
+            List<Article> articles = articleMapper.selectList(queryWrapper);
+            if (!articles.isEmpty()) {
+                Map<Long, List<String>> articleTags = listTagNames(articles, tagNames);
+                Map<Long, String> authors = listAuthorNames(articles);
+                for (Article article : articles) {
+                    writeArticle(zip, article, articleTags.getOrDefault(article.getId(), Collections.emptyList()),
+                            categoryNames.get(article.getCategoryId()), authors.get(article.getAuthorId()));
+                }
+                count += articles.size();
+                zip.flush();
+            }
+            if (articles.size() < batchSize) {
+                break;
+            }
+            lastId = articles.get(articles.size() - 1).getId();
+        }
+        zip.finish();
+        zip.flush();
+        log.info("文章导出完成，文章数：{}，耗时：{}ms", count, System.currentTimeMillis() - startTime);
+        return count;
+    }
+
+    /**
+     * 属性名与批量导入识别的名称一致，非发布状态的文章标记为草稿
+     */
+    private void writeArticle(ZipOutputStream zip, Article article, List<String> tags, String category,
+                              String author) throws IOException {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("title", article.getTitle());
+        attributes.put("slug", article.getSlug());
+        attributes.put("date", format(article.getPublishedTime() != null
+                ? article.getPublishedTime() : article.getCreateTime()));
+        attributes.put("updated", format(article.getUpdateTime()));
+        attributes.put("author", author);
+        attributes.put("category", category);
+        attributes.put("tags", tags.isEmpty() ? null : tags);
+        attributes.put("summary", StringUtils.defaultIfBlank(article.getSummary(), null));
+        attributes.put("cover", StringUtils.defaultIfBlank(article.getCoverImage(), null));
+        attributes.put("top", Boolean.TRUE.equals(article.getIsTop()) ? true : null);
+        attributes.put("original", Boolean.FALSE.equals(article.getIsOriginal()) ? false : null);
+        attributes.put("source", StringUtils.defaultIfBlank(article.getSourceUrl(), null));
+        attributes.put("draft", Integer.valueOf(2).equals(article.getStatus()) ? null : true);
+
+        ZipEntry entry = new ZipEntry("articles/" + article.getSlug() + ".md");
+        if (article.getUpdateTime() != null) {
+            entry.setTime(article.getUpdateTime().getTime());
+        }
+        zip.putNextEntry(entry);
+        zip.write(FrontMatter.format(attributes, article.getContent()).getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private Map<Long, List<String>> listTagNames(List<Article> articles, Map<Long, String> tagNames) {
+        QueryWrapper<ArticleTag> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("article_id", "tag_id")
+                   .in("article_id", articles.stream().map(Article::getId).collect(Collectors.toList()))
+                   .orderByAsc("id");
+        Map<Long, List<String>> result = new HashMap<>();
+        for (ArticleTag relation : articleTagMapper.selectList(queryWrapper)) {
+            String name = tagNames.get(relation.getTagId());
+            if (name != null) {
+                result.computeIfAbsent(relation.getArticleId(), key -> new ArrayList<>()).add(name);
+            }
+        }
+        return result;
+    }
+
+    private Map<Long, String> listAuthorNames(List<Article> articles) {
+        Set<Long> authorIds = articles.stream().map(Article::getAuthorId).collect(Collectors.toSet());
+        QueryWrapper<User> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("id", "username", "nickname").in("id", authorIds);
+        Map<Long, String> result = new HashMap<>();
+        for (User user : userMapper.selectList(queryWrapper)) {
+            result.put(user.getId(), StringUtils.defaultIfBlank(user.getNickname(), user.getUsername()));
+        }
+        return result;
+    }
+
+    private static String format(Date date) {
+        return date == null ? null : DateUtil.format(date, DATE_FORMAT);
+    }
+}
@@ -0,0 +1,1011 @@
+package com.sujiu.blog.service.impl;
+
+import cn.hutool.cache.Cache;
+import cn.hutool.cache.CacheUtil;
+import cn.hutool.core.util.IdUtil;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
+import com.sujiu.blog.common.ErrorCode;
+import com.sujiu.blog.exception.BusinessException;
+import com.sujiu.blog.mapper.CategoryMapper;
+import com.sujiu.blog.mapper.TagMapper;
+import com.sujiu.blog.model.dto.article.ArticleImportRequest;
+import com.sujiu.blog.model.entity.Category;
+import com.sujiu.blog.model.entity.Tag;
+import com.sujiu.blog.model.entity.User;
+import com.sujiu.blog.model.vo.article.ArticleImportFailureVO;
+import com.sujiu.blog.model.vo.article.ArticleImportVO;
+import com.sujiu.blog.service.ArticleArchiveService;
+import com.sujiu.blog.service.ArticleImportService;
+import com.sujiu.blog.service.ArticleNavigationService;
+import com.sujiu.blog.service.ArticlePageService;
+import com.sujiu.blog.service.ArticleRelatedService;
+import com.sujiu.blog.service.ArticleService;
+import com.sujiu.blog.service.ArticleSlugIndexService;
+import com.sujiu.blog.service.ArticleTagIndexService;
+import com.sujiu.blog.service.PageCountService;
+import com.sujiu.blog.service.SiteFeedService;
+import com.sujiu.blog.service.UserService;
+import com.sujiu.blog.utils.FrontMatter;
+import com.sujiu.blog.utils.NetUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.servlet.http.HttpServletRequest;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * 文章批量导入服务实现
+ * 导入线程逐个读取文件交给解析线程池，解析、渲染后进入批量写入器，写满一批后在一个事务中用 JDBC 批量插入文章和标签关联；
+ * 同时在途的文件数由信号量限制，内存占用只与批大小和在途文件数有关，与压缩包大小无关。
+ * 分类和标签按名称在内存字典中解析，不存在时创建；一批写入失败时逐篇重试，定位出失败的文件
+ *
+ * @author sujiu
+ */
+@Service
+@Slf4j
+public class ArticleImportServiceImpl implements ArticleImportService {
+
+    public static final String STATUS_PROCESSING = "PROCESSING";
+
+    public static final String STATUS_COMPLETED = "COMPLETED";
+
+    public static final String STATUS_FAILED = "FAILED";
+
+    private static final String INSERT_ARTICLE_SQL = "INSERT INTO blog_article (id, user_id, category_id, title, slug, "
+            + "summary, content, content_html, cover_image, is_top, is_recommend, is_original, source_url, view_count, "
+            + "like_count, comment_count, word_count, reading_time, status, published_time, created_time, updated_time, "
+            + "deleted) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, 0, 0, 0, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String INSERT_ARTICLE_TAG_SQL =
+            "INSERT INTO blog_article_tag (id, article_id, tag_id, created_time) VALUES (?, ?, ?, ?)";
+
+    private static final int MAX_TITLE_LENGTH = 200;
+
+    private static final int MAX_SLUG_LENGTH = 200;
+
+    private static final int MAX_NAME_LENGTH = 50;
+
+    @Resource
+    private JdbcTemplate jdbcTemplate;
+
+    @Resource
+    private TransactionTemplate transactionTemplate;
+
+    @Resource
+    private TagMapper tagMapper;
+
+    @Resource
+    private CategoryMapper categoryMapper;
+
+    @Resource
+    private ArticleService articleService;
+
+    @Resource
+    private UserService userService;
+
+    @Resource
+    private ArticleSlugIndexService articleSlugIndexService;
+
+    @Resource
+    private ArticleTagIndexService articleTagIndexService;
+
+    @Resource
+    private ArticleRelatedService articleRelatedService;
+
+    @Resource
+    private ArticleArchiveService articleArchiveService;
+
+    @Resource
+    private ArticleNavigationService articleNavigationService;
+
+    @Resource
+    private PageCountService pageCountService;
+
+    @Resource
+    private SiteFeedService siteFeedService;
+
+    @Resource
+    private ArticlePageService articlePageService;
+
+    /**
+     * 每批写入的文章数
+     */
+    @Value("${article.import.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * 每批待写入文章正文和 HTML 的最大字节数，与文章数任一达到上限即写入
+     */
+    @Value("${article.import.batch-bytes:33554432}")
+    private long batchBytes;
+
+    /**
+     * 解析渲染线程数
+     */
+    @Value("${article.import.workers:4}")
+    private int workers;
+
+    /**
+     * 同时在途（已读取未写入）的最大文件数
+     */
+    @Value("${article.import.max-in-flight:64}")
+    private int maxInFlight;
+
+    /**
+     * 单个 Markdown 文件的最大字节数
+     */
+    @Value("${article.import.max-file-bytes:5242880}")
+    private long maxFileBytes;
+
+    /**
+     * 上传压缩包的最大字节数
+     */
+    @Value("${article.import.max-archive-bytes:524288000}")
+    private long maxArchiveBytes;
+
+    /**
+     * 进度中保留的失败记录数
+     */
+    @Value("${article.import.max-failures:1000}")
+    private int maxFailures;
+
+    /**
+     * 允许目录导入的根目录，为空时不允许目录导入
+     */
+    @Value("${article.import.base-dir:}")
+    private String baseDir;
+
+    /**
+     * 保留进度的导入任务数
+     */
+    @Value("${article.import.progress-capacity:20}")
+    private int progressCapacity;
+
+    private final AtomicReference<ImportJob> runningJob = new AtomicReference<>();
+
+    private Cache<String, ImportJob> jobs;
+
+    private ExecutorService jobExecutor;
+
+    private ThreadPoolExecutor workerPool;
+
+    @PostConstruct
+    public void init() {
+        jobs = CacheUtil.newLRUCache(progressCapacity);
+        jobExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "article-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threadIndex = new AtomicInteger();
+        // 在途文件数已由信号量限制，队列不会无限增长
+        workerPool = new ThreadPoolExecutor(workers, workers, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "article-import-worker-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        workerPool.shutdownNow();
+    }
+
+    @Override
+    public ArticleImportVO importZip(InputStream input, String filename, HttpServletRequest request) {
+        if (input == null) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "请选择要导入的压缩包");
+        }
+        if (request.getContentLengthLong() > maxArchiveBytes) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "压缩包超过大小限制");
+        }
+        User user = userService.getCurrentLoginUser(request);
+
+        // 请求结束后无法再读取请求体，先转存到临时文件，边写边检查大小
+        Path archive;
+        long size;
+        try {
+            archive = Files.createTempFile("article-import-", ".zip");
+        } catch (IOException e) {
+            log.error("创建导入临时文件失败", e);
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "压缩包保存失败");
+        }
+        try {
+            size = copyLimited(input, archive);
+        } catch (IOException e) {
+            deleteQuietly(archive);
+            log.error("保存导入压缩包失败", e);
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "压缩包保存失败");
+        }
+        if (size < 0) {
+            deleteQuietly(archive);
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "压缩包超过大小限制");
+        }
+        if (size == 0) {
+            deleteQuietly(archive);
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "请选择要导入的压缩包");
+        }
+        String source = StringUtils.defaultIfBlank(filename, archive.getFileName().toString());
+        return start(source, user.getId(), job -> readZip(archive, job), archive);
+    }
+
+    @Override
+    public ArticleImportVO importDirectory(ArticleImportRequest articleImportRequest, HttpServletRequest request) {
+        if (articleImportRequest == null || StringUtils.isBlank(articleImportRequest.getDirectory())) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "导入目录不能为空");
+        }
+        if (StringUtils.isBlank(baseDir)) {
+            throw new BusinessException(ErrorCode.OPERATION_ERROR, "未配置服务器导入根目录");
+        }
+        Path base = Paths.get(baseDir).toAbsolutePath().normalize();
+        Path directory = base.resolve(articleImportRequest.getDirectory()).normalize();
+        if (!directory.startsWith(base)) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "导入目录不在允许的范围内");
+        }
+        if (!Files.isDirectory(directory)) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "导入目录不存在");
+        }
+        User user = userService.getCurrentLoginUser(request);
+        return start(articleImportRequest.getDirectory(), user.getId(), job -> readDirectory(directory, job), null);
+    }
+
+    @Override
+    public ArticleImportVO getProgress(String jobId) {
+        if (StringUtils.isBlank(jobId)) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "导入任务ID不能为空");
+        }
+        ImportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new BusinessException(ErrorCode.NOT_FOUND_ERROR, "导入任务不存在或已过期");
+        }
+        return job.toVO();
+    }
+
+    private ArticleImportVO start(String source, Long authorId, ImportSource reader, Path temporaryFile) {
+        ImportJob job = new ImportJob(IdUtil.fastSimpleUUID(), source, authorId);
+        if (!runningJob.compareAndSet(null, job)) {
+            deleteQuietly(temporaryFile);
+            throw new BusinessException(ErrorCode.OPERATION_ERROR, "已有导入任务正在执行");
+        }
+        jobs.put(job.id, job);
+        try {
+            jobExecutor.execute(() -> run(job, reader, temporaryFile));
+        } catch (RejectedExecutionException e) {
+            runningJob.set(null);
+            deleteQuietly(temporaryFile);
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "导入任务提交失败");
+        }
+        log.info("开始导入文章，任务ID：{}，来源：{}，操作人ID：{}", job.id, source, authorId);
+        return job.toVO();
+    }
+
+    private void run(ImportJob job, ImportSource reader, Path temporaryFile) {
+        try {
+            job.writer = new BatchWriter(job, loadDictionary());
+            try {
+                reader.read(job);
+            } finally {
+                // 读取中途失败时，已读取的文件仍然处理完并写入
+                job.awaitWorkers();
+                job.writer.flush();
+            }
+            job.status = STATUS_COMPLETED;
+        } catch (Exception e) {
+            log.error("文章导入失败，任务ID：{}", job.id, e);
+            job.errorMessage = e.getMessage();
+            job.status = STATUS_FAILED;
+        } finally {
+            job.finishTime = new Date();
+            deleteQuietly(temporaryFile);
+            if (job.successCount.get() > 0) {
+                afterImport(job);
+            }
+            runningJob.set(null);
+            log.info("文章导入结束，任务ID：{}，成功：{}，失败：{}", job.id, job.successCount.get(), job.failureCount.get());
+        }
+    }
+
+    /**
+     * 按中央目录读取压缩包条目，跳过目录、非 Markdown 文件和系统生成的隐藏文件
+     * 每个条目单独打开，超过大小限制的条目按声明大小直接拒绝，或读到上限即停止，不解压剩余内容
+     */
+    private void readZip(Path archive, ImportJob job) throws IOException {
+        try (ZipFile zip = new ZipFile(archive.toFile(), StandardCharsets.UTF_8)) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.isDirectory() || !isMarkdown(entry.getName())) {
+                    continue;
+                }
+                if (entry.getSize() > maxFileBytes) {
+                    submit(job, entry.getName(), null);
+                    continue;
+                }
+                try (InputStream input = zip.getInputStream(entry)) {
+                    submit(job, entry.getName(), readLimited(input));
+                }
+            }
+        }
+    }
+
+    /**
+     * 惰性遍历目录树，同一时间只持有在途文件的内容
+     */
+    private void readDirectory(Path directory, ImportJob job) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            Iterator<Path> iterator = paths.filter(Files::isRegularFile).iterator();
+            while (iterator.hasNext()) {
+                Path file = iterator.next();
+                String path = directory.relativize(file).toString().replace('\\', '/');
+                if (!isMarkdown(path)) {
+                    continue;
+                }
+                try (InputStream input = Files.newInputStream(file)) {
+                    submit(job, path, readLimited(input));
+                } catch (IOException e) {
+                    job.readCount.incrementAndGet();
+                    job.fail(path, "读取文件失败：" + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * 交给解析线程池，在途文件数达到上限时阻塞读取
+     *
+     * @param content 文件内容，超过大小限制时为 null
+     */
+    private void submit(ImportJob job, String path, byte[] content) {
+        job.readCount.incrementAndGet();
+        if (content == null) {
+            job.fail(path, "文件超过大小限制");
+            return;
+        }
+        job.permits.acquireUninterruptibly();
+        try {
+            workerPool.execute(() -> {
+                try {
+                    job.writer.add(parse(path, new String(content, StandardCharsets.UTF_8)));
+                } catch (IllegalArgumentException e) {
+                    job.fail(path, e.getMessage());
+                } catch (Exception e) {
+                    log.warn("解析导入文件失败，任务ID：{}，文件：{}", job.id, path, e);
+                    job.fail(path, "解析失败：" + e.getMessage());
+                } finally {
+                    job.permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            job.permits.release();
+            job.fail(path, "导入线程池已关闭");
+        }
+    }
+
+    /**
+     * 解析 front-matter 并渲染正文
+     *
+     * @throws IllegalArgumentException 文件内容不合法
+     */
+    ImportedArticle parse(String path, String text) {
+        FrontMatter frontMatter = FrontMatter.parse(text);
+        String content = frontMatter.getBody().replaceFirst("^\\s*\\n", "");
+        if (StringUtils.isBlank(content)) {
+            throw new IllegalArgumentException("文章内容为空");
+        }
+
+        ImportedArticle article = new ImportedArticle();
+        article.path = path;
+        article.title = frontMatter.getString("title");
+        if (article.title == null) {
+            article.title = firstHeading(content);
+        }
+        if (article.title == null) {
+            String filename = path.substring(path.lastIndexOf('/') + 1);
+            article.title = filename.substring(0, filename.lastIndexOf('.'));
+        }
+        if (article.title.length() > MAX_TITLE_LENGTH) {
+            throw new IllegalArgumentException("文章标题长度超过" + MAX_TITLE_LENGTH + "字符");
+        }
+        article.slug = frontMatter.getString("slug");
+        if (article.slug != null && !article.slug.matches("^[a-z0-9-]+$")) {
+            throw new IllegalArgumentException("文章别名只能包含小写字母、数字和连字符");
+        }
+        article.summary = frontMatter.getString("summary", "description", "excerpt");
+        article.coverImage = frontMatter.getString("cover", "cover_image", "image");
+        if (article.coverImage != null && !NetUtils.isHttpUrl(article.coverImage)) {
+            throw new IllegalArgumentException("封面图片只能是 http 或 https 链接");
+        }
+        article.categoryName = frontMatter.getString("category", "categories");
+        article.tagNames = frontMatter.getStringList("tags");
+        for (String name : article.categoryName == null ? article.tagNames
+                : concat(article.categoryName, article.tagNames)) {
+            if (name.length() > MAX_NAME_LENGTH) {
+                throw new IllegalArgumentException("分类或标签名称【" + name + "】超过" + MAX_NAME_LENGTH + "字符");
+            }
+        }
+        article.isTop = Boolean.TRUE.equals(frontMatter.getBoolean("top", "sticky"));
+        Boolean original = frontMatter.getBoolean("original");
+        article.isOriginal = original == null || original;
+        article.sourceUrl = frontMatter.getString("source", "source_url");
+        if (article.sourceUrl != null && !NetUtils.isHttpUrl(article.sourceUrl)) {
+            throw new IllegalArgumentException("原文链接只能是 http 或 https 链接");
+        }
+        article.status = Boolean.TRUE.equals(frontMatter.getBoolean("draft")) ? 0 : 2;
+
+        Date now = new Date();
+        Date date = frontMatter.getDate("date");
+        Date updated = frontMatter.getDate("updated", "lastmod");
+        article.createTime = date == null ? now : date;
+        article.updateTime = updated == null ? article.createTime : updated;
+        article.publishedTime = article.status == 2 ? article.createTime : null;
+
+        article.content = content;
+        article.contentHtml = articleService.markdownToHtml(content);
+        article.wordCount = articleService.calculateWordCount(content);
+        article.readingTime = articleService.calculateReadingTime(article.wordCount);
+        return article;
+    }
+
+    /**
+     * 导入完成后统一刷新计数、索引和首页快照，不再逐篇提交发布后处理
+     */
+    private void afterImport(ImportJob job) {
+        try {
+            job.touchedTagIds.forEach(tagMapper::refreshArticleCount);
+            job.touchedCategoryIds.forEach(categoryMapper::refreshArticleCount);
+            articleService.refreshHomepageSnapshot();
+        } catch (Exception e) {
+            log.error("导入后刷新计数失败，任务ID：{}", job.id, e);
+        }
+        try {
+            articleRelatedService.rebuild();
+        } catch (Exception e) {
+            log.warn("导入后重建相关文章索引失败，任务ID：{}", job.id, e);
+        }
+        try {
+            siteFeedService.rebuild();
+        } catch (Exception e) {
+            log.warn("导入后生成站点地图和订阅源失败，任务ID：{}", job.id, e);
+        }
+        try {
+            articlePageService.rebuild();
+        } catch (Exception e) {
+            log.warn("导入后渲染文章静态页失败，任务ID：{}", job.id, e);
+        }
+    }
+
+    private Dictionary loadDictionary() {
+        Dictionary dictionary = new Dictionary();
+        for (Tag tag : tagMapper.selectList(null)) {
+            dictionary.tags.put(tag.getName(), tag);
+            dictionary.tagSlugs.add(tag.getSlug());
+        }
+        for (Category category : categoryMapper.selectList(null)) {
+            dictionary.categories.put(category.getName(), category);
+            dictionary.categorySlugs.add(category.getSlug());
+        }
+        return dictionary;
+    }
+
+    /**
+     * 最多读取 maxFileBytes 字节，超过时立即停止读取并返回 null，剩余内容由调用方关闭流丢弃
+     */
+    private byte[] readLimited(InputStream input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            total += read;
+            if (total > maxFileBytes) {
+                return null;
+            }
+            output.write(buffer, 0, read);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * 将请求体写入临时文件，超过压缩包大小限制时停止读取并返回 -1
+     */
+    private long copyLimited(InputStream input, Path target) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        int read;
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(target))) {
+            while ((read = input.read(buffer)) != -1) {
+                total += read;
+                if (total > maxArchiveBytes) {
+                    return -1;
+                }
+                output.write(buffer, 0, read);
+            }
+        }
+        return total;
+    }
+
+    private static boolean isMarkdown(String path) {
+        String lower = path.toLowerCase();
+        if (!lower.endsWith(".md") && !lower.endsWith(".markdown")) {
+            return false;
+        }
+        // 跳过 macOS 资源文件和隐藏文件
+        for (String segment : path.split("/")) {
+            if (segment.startsWith(".") || "__MACOSX".equals(segment)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String firstHeading(String content) {
+        for (String line : content.split("\n", 50)) {
+            String trimmed = line.trim();
+            if (trimmed.startsWith("# ")) {
+                String heading = trimmed.substring(2).trim();
+                return heading.isEmpty() ? null : heading;
+            }
+        }
+        return null;
+    }
+
+    private static List<String> concat(String first, List<String> rest) {
+        List<String> result = new ArrayList<>(rest.size() + 1);
+        result.add(first);
+        result.addAll(rest);
+        return result;
+    }
+
+    /**
+     * 由名称生成分类、标签别名，无法生成或已被占用时使用前缀加ID
+     */
+    private static String nameToSlug(String name, String prefix, Long id, Set<String> taken) {
+        String slug = name.toLowerCase()
+                .replaceAll("[^a-z0-9\\s-]", "")
+                .trim()
+                .replaceAll("[\\s-]+", "-");
+        if (slug.isEmpty() || taken.contains(slug)) {
+            slug = prefix + id;
+        }
+        return slug;
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("删除导入临时文件失败：{}", file, e);
+        }
+    }
+
+    /**
+     * 导入来源
+     */
+    @FunctionalInterface
+    private interface ImportSource {
+
+        void read(ImportJob job) throws IOException;
+    }
+
+    /**
+     * 解析后的文章，分类、标签和别名由写入器解析
+     */
+    static final class ImportedArticle {
+
+        String path;
+
+        Long id;
+
+        String title;
+
+        String slug;
+
+        String summary;
+
+        String content;
+
+        String contentHtml;
+
+        String coverImage;
+
+        String categoryName;
+
+        Long categoryId;
+
+        List<String> tagNames;
+
+        List<Long> tagIds;
+
+        boolean isTop;
+
+        boolean isOriginal;
+
+        String sourceUrl;
+
+        int wordCount;
+
+        int readingTime;
+
+        int status;
+
+        Date publishedTime;
+
+        Date createTime;
+
+        Date updateTime;
+    }
+
+    /**
+     * 分类、标签的名称字典，只在写入器中访问
+     */
+    private static final class Dictionary {
+
+        final Map<String, Tag> tags = new HashMap<>();
+
+        final Set<String> tagSlugs = new HashSet<>();
+
+        final Map<String, Category> categories = new HashMap<>();
+
+        final Set<String> categorySlugs = new HashSet<>();
+    }
+
+    /**
+     * 导入任务状态
+     */
+    private final class ImportJob {
+
+        final String id;
+
+        final String source;
+
+        final Long authorId;
+
+        final Date startTime = new Date();
+
+        final AtomicInteger readCount = new AtomicInteger();
+
+        final AtomicInteger processedCount = new AtomicInteger();
+
+        final AtomicInteger successCount = new AtomicInteger();
+
+        final AtomicInteger failureCount = new AtomicInteger();
+
+        final List<ArticleImportFailureVO> failures = Collections.synchronizedList(new ArrayList<>());
+
+        final Semaphore permits = new Semaphore(maxInFlight);
+
+        final Set<Long> touchedTagIds = ConcurrentHashMap.newKeySet();
+
+        final Set<Long> touchedCategoryIds = ConcurrentHashMap.newKeySet();
+
+        volatile String status = STATUS_PROCESSING;
+
+        volatile String errorMessage;
+
+        volatile Date finishTime;
+
+        BatchWriter writer;
+
+        ImportJob(String id, String source, Long authorId) {
+            this.id = id;
+            this.source = source;
+            this.authorId = authorId;
+        }
+
+        void fail(String path, String reason) {
+            failureCount.incrementAndGet();
+            processedCount.incrementAndGet();
+            synchronized (failures) {
+                if (failures.size() < maxFailures) {
+                    ArticleImportFailureVO failure = new ArticleImportFailureVO();
+                    failure.setPath(path);
+                    failure.setReason(reason);
+                    failures.add(failure);
+                }
+            }
+        }
+
+        /**
+         * 等待所有在途文件处理完成
+         */
+        void awaitWorkers() {
+            permits.acquireUninterruptibly(maxInFlight);
+            permits.release(maxInFlight);
+        }
+
+        ArticleImportVO toVO() {
+            ArticleImportVO vo = new ArticleImportVO();
+            vo.setJobId(id);
+            vo.setStatus(status);
+            vo.setSource(source);
+            vo.setReadCount(readCount.get());
+            vo.setProcessedCount(processedCount.get());
+            vo.setSuccessCount(successCount.get());
+            vo.setFailureCount(failureCount.get());
+            synchronized (failures) {
+                vo.setFailures(new ArrayList<>(failures));
+            }
+            vo.setErrorMessage(errorMessage);
+            vo.setStartTime(startTime);
+            vo.setFinishTime(finishTime);
+            return vo;
+        }
+    }
+
+    /**
+     * 批量写入器，方法互斥执行，字典和别名去重不需要额外同步
+     */
+    private final class BatchWriter {
+
+        private final ImportJob job;
+
+        private final Dictionary dictionary;
+
+        private final List<ImportedArticle> pending = new ArrayList<>();
+
+        /**
+         * 本批已占用但尚未登记到别名索引的别名
+         */
+        private final Set<String> pendingSlugs = new HashSet<>();
+
+        /**
+         * 本批正文和 HTML 占用的字节数（按 UTF-16 估算）
+         */
+        private long pendingBytes;
+
+        BatchWriter(ImportJob job, Dictionary dictionary) {
+            this.job = job;
+            this.dictionary = dictionary;
+        }
+
+        synchronized void add(ImportedArticle article) {
+            try {
+                resolve(article);
+            } catch (IllegalArgumentException e) {
+                job.fail(article.path, e.getMessage());
+                return;
+            }
+            pending.add(article);
+            pendingSlugs.add(article.slug);
+            pendingBytes += 2L * (article.content.length() + article.contentHtml.length());
+            if (pending.size() >= batchSize || pendingBytes >= batchBytes) {
+                flush();
+            }
+        }
+
+        synchronized void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<ImportedArticle> batch = new ArrayList<>(pending);
+            pending.clear();
+            pendingSlugs.clear();
+            pendingBytes = 0;
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(batch));
+                committed(batch);
+            } catch (Exception e) {
+                // 整批回滚后逐篇写入，找出失败的文件
+                log.warn("批量写入文章失败，逐篇重试，任务ID：{}，批大小：{}", job.id, batch.size(), e);
+                for (ImportedArticle article : batch) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> insert(Collections.singletonList(article)));
+                        committed(Collections.singletonList(article));
+                    } catch (Exception ex) {
+                        job.fail(article.path, ex instanceof DuplicateKeyException ? "文章别名已存在"
+                                : "写入失败：" + ex.getMessage());
+                    }
+                }
+            }
+        }
+
+        /**
+         * 分配ID，解析分类、标签和别名
+         */
+        private void resolve(ImportedArticle article) {
+            article.id = IdWorker.getId();
+            article.categoryId = article.categoryName == null ? null : resolveCategory(article.categoryName);
+            article.tagIds = new ArrayList<>(article.tagNames.size());
+            for (String name : article.tagNames) {
+                Long tagId = resolveTag(name);
+                if (!article.tagIds.contains(tagId)) {
+                    article.tagIds.add(tagId);
+                }
+            }
+
+            if (article.slug != null) {
+                if (!isSlugAvailable(article.slug)) {
+                    throw new IllegalArgumentException("文章别名【" + article.slug + "】已存在");
+                }
+                return;
+            }
+            String base = StringUtils.left(articleService.generateSlug(article.title), MAX_SLUG_LENGTH - 20);
+            String slug = base;
+            for (int i = 2; !isSlugAvailable(slug); i++) {
+                slug = i <= 100 ? base + "-" + i : base + "-" + article.id;
+            }
+            article.slug = slug;
+        }
+
+        private boolean isSlugAvailable(String slug) {
+            return !pendingSlugs.contains(slug) && articleSlugIndexService.isAvailable(slug, null);
+        }
+
+        private Long resolveCategory(String name) {
+            Category category = dictionary.categories.get(name);
+            if (category == null) {
+                category = new Category();
+                category.setId(IdWorker.getId());
+                category.setName(name);
+                category.setSlug(nameToSlug(name, "category-", category.getId(), dictionary.categorySlugs));
+                category.setParentId(0L);
+                category.setSortOrder(0);
+                category.setArticleCount(0);
+                category.setStatus(1);
+                category.setCreateTime(new Date());
+                category.setUpdateTime(new Date());
+                try {
+                    categoryMapper.insert(category);
+                } catch (DuplicateKeyException e) {
+                    throw new IllegalArgumentException("分类【" + name + "】创建失败，名称或别名与已删除的分类冲突");
+                }
+                dictionary.categories.put(name, category);
+                dictionary.categorySlugs.add(category.getSlug());
+                log.info("导入时创建分类：{}，任务ID：{}", name, job.id);
+            }
+            if (category.getStatus() == null || category.getStatus() != 1) {
+                throw new IllegalArgumentException("分类【" + name + "】已被禁用");
+            }
+            return category.getId();
+        }
+
+        private Long resolveTag(String name) {
+            Tag tag = dictionary.tags.get(name);
+            if (tag == null) {
+                tag = new Tag();
+                tag.setId(IdWorker.getId());
+                tag.setName(name);
+                tag.setSlug(nameToSlug(name, "tag-", tag.getId(), dictionary.tagSlugs));
+                tag.setArticleCount(0);
+                tag.setStatus(1);
+                tag.setCreateTime(new Date());
+                tag.setUpdateTime(new Date());
+                try {
+                    tagMapper.insert(tag);
+                } catch (DuplicateKeyException e) {
+                    throw new IllegalArgumentException("标签【" + name + "】创建失败，名称或别名与已删除的标签冲突");
+                }
+                dictionary.tags.put(name, tag);
+                dictionary.tagSlugs.add(tag.getSlug());
+                log.info("导入时创建标签：{}，任务ID：{}", name, job.id);
+            }
+            if (tag.getStatus() == null || tag.getStatus() != 1) {
+                throw new IllegalArgumentException("标签【" + name + "】已被禁用");
+            }
+            return tag.getId();
+        }
+
+        private void insert(List<ImportedArticle> batch) {
+            jdbcTemplate.batchUpdate(INSERT_ARTICLE_SQL, batch, batch.size(), (ps, article) -> {
+                ps.setLong(1, article.id);
+                ps.setLong(2, job.authorId);
+                ps.setObject(3, article.categoryId, Types.BIGINT);
+                ps.setString(4, article.title);
+                ps.setString(5, article.slug);
+                ps.setString(6, article.summary);
+                ps.setString(7, article.content);
+                ps.setString(8, article.contentHtml);
+                ps.setString(9, article.coverImage);
+                ps.setBoolean(10, article.isTop);
+                ps.setBoolean(11, article.isOriginal);
+                ps.setString(12, article.sourceUrl);
+                ps.setInt(13, article.wordCount);
+                ps.setInt(14, article.readingTime);
+                ps.setInt(15, article.status);
+                ps.setTimestamp(16, toTimestamp(article.publishedTime));
+                ps.setTimestamp(17, toTimestamp(article.createTime));
+                ps.setTimestamp(18, toTimestamp(article.updateTime));
+            });
+
+            List<long[]> relations = new ArrayList<>();
+            for (ImportedArticle article : batch) {
+                for (Long tagId : article.tagIds) {
+                    relations.add(new long[]{article.id, tagId});
+                }
+            }
+            if (!relations.isEmpty()) {
+                Timestamp now = new Timestamp(System.currentTimeMillis());
+                jdbcTemplate.batchUpdate(INSERT_ARTICLE_TAG_SQL, relations, relations.size(), (ps, relation) -> {
+                    ps.setLong(1, IdWorker.getId());
+                    ps.setLong(2, relation[0]);
+                    ps.setLong(3, relation[1]);
+                    ps.setTimestamp(4, now);
+                });
+            }
+        }
+
+        /**
+         * 提交后登记别名、记录进度并刷新标签位图索引
+         */
+        private void committed(List<ImportedArticle> batch) {
+            List<Long> articleIds = new ArrayList<>(batch.size());
+            for (ImportedArticle article : batch) {
+                articleSlugIndexService.register(article.slug, null, article.id);
+                articleIds.add(article.id);
+                if (article.categoryId != null) {
+                    job.touchedCategoryIds.add(article.categoryId);
+                }
+                job.touchedTagIds.addAll(article.tagIds);
+            }
+            job.successCount.addAndGet(batch.size());
+            job.processedCount.addAndGet(batch.size());
+            // 批量写入不经过 Mapper，手动使文章分页总数失效
+            pageCountService.invalidate("blog_article");
+            try {
+                articleTagIndexService.refreshArticles(articleIds);
+            } catch (Exception e) {
+                log.warn("导入后刷新标签位图索引失败，任务ID：{}", job.id, e);
+            }
+            try {
+                articleArchiveService.refreshArticles(articleIds);
+            } catch (Exception e) {
+                log.warn("导入后刷新归档索引失败，任务ID：{}", job.id, e);
+            }
+            try {
+                articleNavigationService.refreshArticles(articleIds);
+            } catch (Exception e) {
+                log.warn("导入后刷新导航索引失败，任务ID：{}", job.id, e);
+            }
+        }
+
+        private Timestamp toTimestamp(Date date) {
+            return date == null ? null : new Timestamp(date.getTime());
+        }
+    }
+}
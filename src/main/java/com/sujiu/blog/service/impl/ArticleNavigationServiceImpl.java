@@ -0,0 +1,294 @@
+package com.sujiu.blog.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.sujiu.blog.mapper.ArticleMapper;
+import com.sujiu.blog.model.entity.Article;
+import com.sujiu.blog.model.vo.article.ArticleVO;
+import com.sujiu.blog.service.ArticleNavigationService;
+import com.sujiu.blog.utils.ArticleTimeline;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 文章上下篇导航索引服务实现
+ * 全站一条时间线，每个分类一条时间线，另存每篇已发布文章的标题、别名等摘要；
+ * 上一篇、下一篇是时间线上的相邻节点，定位和组装摘要都是 O(log n)，不查询数据库
+ *
+ * @author sujiu
+ */
+@Service
+@Slf4j
+public class ArticleNavigationServiceImpl implements ArticleNavigationService {
+
+    /**
+     * 每批加载的行数
+     */
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    /**
+     * 索引中的字段
+     */
+    private static final String[] COLUMNS = {"id", "status", "category_id", "title", "slug", "published_time",
+            "updated_time"};
+
+    @Resource
+    private ArticleMapper articleMapper;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final ArticleTimeline timeline = new ArticleTimeline();
+
+    /**
+     * 分类ID到分类内的时间线，没有文章的分类不保留
+     */
+    private final Map<Long, ArticleTimeline> categoryTimelines = new HashMap<>();
+
+    /**
+     * 已发布文章的摘要
+     */
+    private final Map<Long, Summary> summaries = new HashMap<>();
+
+    /**
+     * 加载期间发生变更的文章，加载完成后重新刷新
+     */
+    private final Set<Long> changedDuringLoad = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean ready;
+
+    /**
+     * 启动后分批加载已发布文章
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            long lastId = 0L;
+            while (true) {
+                QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+                queryWrapper.select(COLUMNS)
+                           .eq("status", 2)
+                           .gt("id", lastId)
+                           .orderByAsc("id")
+                           .last("LIMIT " + LOAD_BATCH_SIZE);
+                List<Article> articles = articleMapper.selectList(queryWrapper);
+                withWriteLock(() -> articles.forEach(this::applyArticle));
+                if (articles.size() < LOAD_BATCH_SIZE) {
+                    break;
+                }
+                lastId = articles.get(articles.size() - 1).getId();
+            }
+
+            ready = true;
+            // 加载期间读到的可能是旧数据，重新刷新这些文章
+            refreshArticles(new ArrayList<>(changedDuringLoad));
+            changedDuringLoad.clear();
+            log.info("文章导航索引加载完成，文章数：{}，分类数：{}", summaries.size(), categoryTimelines.size());
+        } catch (Exception e) {
+            log.error("文章导航索引加载失败，详情页将不返回上下篇", e);
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void refreshArticle(Long articleId) {
+        if (articleId != null) {
+            refreshArticles(Collections.singletonList(articleId));
+        }
+    }
+
+    @Override
+    public void refreshArticles(Collection<Long> articleIds) {
+        if (articleIds == null || articleIds.isEmpty()) {
+            return;
+        }
+        if (!ready) {
+            changedDuringLoad.addAll(articleIds);
+        }
+
+        QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select(COLUMNS).in("id", articleIds);
+        Map<Long, Article> articles = articleMapper.selectList(queryWrapper).stream()
+                .collect(Collectors.toMap(Article::getId, article -> article));
+        withWriteLock(() -> {
+            for (Long articleId : articleIds) {
+                Article article = articles.get(articleId);
+                if (article == null) {
+                    removeArticle(articleId);
+                } else {
+                    applyArticle(article);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void fillNavigation(ArticleVO articleVO) {
+        if (!ready || articleVO == null || articleVO.getId() == null) {
+            return;
+        }
+        long articleId = articleVO.getId();
+        lock.readLock().lock();
+        try {
+            Summary summary = summaries.get(articleId);
+            if (summary == null) {
+                return;
+            }
+            articleVO.setPrev(navInfo(timeline.older(articleId)));
+            articleVO.setNext(navInfo(timeline.newer(articleId)));
+            ArticleTimeline categoryTimeline = categoryTimelines.get(summary.categoryId);
+            if (categoryTimeline != null) {
+                articleVO.setCategoryPrev(navInfo(categoryTimeline.older(articleId)));
+                articleVO.setCategoryNext(navInfo(categoryTimeline.newer(articleId)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String getNavigationTag(Long articleId) {
+        if (!ready || articleId == null) {
+            return "0";
+        }
+        lock.readLock().lock();
+        try {
+            Summary summary = summaries.get(articleId);
+            if (summary == null) {
+                return "0";
+            }
+            ArticleTimeline categoryTimeline = categoryTimelines.get(summary.categoryId);
+            long hash = 1;
+            hash = 31 * hash + neighborHash(timeline.older(articleId));
+            hash = 31 * hash + neighborHash(timeline.newer(articleId));
+            if (categoryTimeline != null) {
+                hash = 31 * hash + neighborHash(categoryTimeline.older(articleId));
+                hash = 31 * hash + neighborHash(categoryTimeline.newer(articleId));
+            }
+            return Long.toHexString(hash);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 已发布且有发布时间的文章放入时间线，其他状态移出，调用方持有写锁
+     */
+    private void applyArticle(Article article) {
+        if (!Integer.valueOf(2).equals(article.getStatus()) || article.getPublishedTime() == null) {
+            removeArticle(article.getId());
+            return;
+        }
+        Summary previous = summaries.get(article.getId());
+        if (previous != null && !Objects.equals(previous.categoryId, article.getCategoryId())) {
+            removeFromCategory(previous.categoryId, article.getId());
+        }
+
+        Summary summary = new Summary(article);
+        summaries.put(article.getId(), summary);
+        timeline.put(article.getId(), summary.publishedTime);
+        if (summary.categoryId != null) {
+            categoryTimelines.computeIfAbsent(summary.categoryId, key -> new ArticleTimeline())
+                    .put(article.getId(), summary.publishedTime);
+        }
+    }
+
+    /**
+     * 调用方持有写锁
+     */
+    private void removeArticle(Long articleId) {
+        Summary previous = summaries.remove(articleId);
+        if (previous != null) {
+            timeline.remove(articleId);
+            removeFromCategory(previous.categoryId, articleId);
+        }
+    }
+
+    private void removeFromCategory(Long categoryId, Long articleId) {
+        ArticleTimeline categoryTimeline = categoryId == null ? null : categoryTimelines.get(categoryId);
+        if (categoryTimeline != null) {
+            categoryTimeline.remove(articleId);
+            if (categoryTimeline.size() == 0) {
+                categoryTimelines.remove(categoryId);
+            }
+        }
+    }
+
+    /**
+     * 调用方持有读锁
+     */
+    private ArticleVO.NavInfo navInfo(Long articleId) {
+        Summary summary = articleId == null ? null : summaries.get(articleId);
+        if (summary == null) {
+            return null;
+        }
+        ArticleVO.NavInfo navInfo = new ArticleVO.NavInfo();
+        navInfo.setId(articleId);
+        navInfo.setTitle(summary.title);
+        navInfo.setSlug(summary.slug);
+        navInfo.setPublishedTime(new Date(summary.publishedTime));
+        return navInfo;
+    }
+
+    /**
+     * 调用方持有读锁
+     */
+    private long neighborHash(Long articleId) {
+        Summary summary = articleId == null ? null : summaries.get(articleId);
+        return summary == null ? 0 : articleId * 31 + summary.updateTime;
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 导航中展示的文章摘要
+     */
+    private static final class Summary {
+
+        private final Long categoryId;
+
+        private final String title;
+
+        private final String slug;
+
+        private final long publishedTime;
+
+        /**
+         * 更新时间，标题或别名修改后变化
+         */
+        private final long updateTime;
+
+        private Summary(Article article) {
+            this.categoryId = article.getCategoryId();
+            this.title = article.getTitle();
+            this.slug = article.getSlug();
+            this.publishedTime = article.getPublishedTime().getTime();
+            this.updateTime = article.getUpdateTime() != null ? article.getUpdateTime().getTime() : 0L;
+        }
+    }
+}
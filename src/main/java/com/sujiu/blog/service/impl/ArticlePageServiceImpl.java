@@ -0,0 +1,372 @@
+package com.sujiu.blog.service.impl;
+
+import cn.hutool.core.date.DateUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.sujiu.blog.common.ErrorCode;
+import com.sujiu.blog.exception.BusinessException;
+import com.sujiu.blog.mapper.ArticleMapper;
+import com.sujiu.blog.mapper.ArticleTagMapper;
+import com.sujiu.blog.mapper.CategoryMapper;
+import com.sujiu.blog.mapper.TagMapper;
+import com.sujiu.blog.mapper.UserMapper;
+import com.sujiu.blog.model.entity.Article;
+import com.sujiu.blog.model.entity.ArticleTag;
+import com.sujiu.blog.model.entity.Category;
+import com.sujiu.blog.model.entity.Tag;
+import com.sujiu.blog.model.entity.User;
+import com.sujiu.blog.service.ArticlePageService;
+import com.sujiu.blog.service.ArticleSlugIndexService;
+import com.sujiu.blog.utils.NetUtils;
+import freemarker.cache.StrongCacheStorage;
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import freemarker.template.TemplateException;
+import freemarker.template.TemplateExceptionHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 文章静态页服务实现
+ * 模板在启动时编译一次并常驻缓存，之后不再检查模板更新；静态页按文章ID命名，别名变化不会留下旧文件。
+ * 渲染结果先写入临时文件再原子替换，读取方不会看到写了一半的页面
+ *
+ * @author sujiu
+ */
+@Service
+@Slf4j
+public class ArticlePageServiceImpl implements ArticlePageService {
+
+    private static final String TEMPLATE_NAME = "article.ftlh";
+
+    private static final String PAGE_SUFFIX = ".html";
+
+    private static final String[] PAGE_COLUMNS = {"id", "user_id", "category_id", "title", "slug", "summary",
+            "content_html", "cover_image", "is_original", "source_url", "word_count", "reading_time", "status",
+            "password", "published_time", "updated_time"};
+
+    @Resource
+    private ArticleMapper articleMapper;
+
+    @Resource
+    private ArticleTagMapper articleTagMapper;
+
+    @Resource
+    private TagMapper tagMapper;
+
+    @Resource
+    private CategoryMapper categoryMapper;
+
+    @Resource
+    private UserMapper userMapper;
+
+    @Resource
+    private ArticleSlugIndexService articleSlugIndexService;
+
+    /**
+     * 是否开启静态页
+     */
+    @Value("${article.ssr.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * 静态页的输出目录
+     */
+    @Value("${article.ssr.path:pages/}")
+    private String path;
+
+    /**
+     * 全量渲染时每批读取的文章数，正文较大，批次不宜过大
+     */
+    @Value("${article.ssr.batch-size:50}")
+    private int batchSize;
+
+    /**
+     * 前台站点地址，用于规范链接和分类、标签链接
+     */
+    @Value("${article.feed.site-url:http://localhost:8101}")
+    private String siteUrl;
+
+    @Value("${article.feed.title:博客}")
+    private String siteTitle;
+
+    private Template template;
+
+    private Path pageDir;
+
+    private ExecutorService renderExecutor;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    /**
+     * 全量渲染期间单独刷新过的文章，渲染结束后重新刷新，避免被当作失效页面删除
+     */
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() throws IOException {
+        Configuration configuration = new Configuration(Configuration.VERSION_2_3_31);
+        configuration.setClassForTemplateLoading(ArticlePageServiceImpl.class, "/templates/ssr");
+        configuration.setDefaultEncoding(StandardCharsets.UTF_8.name());
+        configuration.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
+        configuration.setLogTemplateExceptions(false);
+        // 编译后的模板常驻内存，不再检查模板文件是否变化
+        configuration.setCacheStorage(new StrongCacheStorage());
+        configuration.setTemplateUpdateDelayMilliseconds(Long.MAX_VALUE);
+        template = configuration.getTemplate(TEMPLATE_NAME);
+
+        pageDir = Paths.get(path).toAbsolutePath().normalize().resolve("articles");
+        renderExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "article-page-render");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderExecutor.shutdownNow();
+    }
+
+    /**
+     * 应用启动后在后台全量渲染，不阻塞启动
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            renderExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (Exception e) {
+                    log.error("文章静态页渲染失败", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("文章静态页渲染线程已关闭");
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void refreshArticle(Long articleId) {
+        if (!enabled || articleId == null) {
+            return;
+        }
+        if (rebuilding.get()) {
+            changedDuringRebuild.add(articleId);
+        }
+        QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select(PAGE_COLUMNS).eq("id", articleId);
+        Article article = articleMapper.selectOne(queryWrapper);
+        try {
+            if (isPublic(article)) {
+                renderAll(Collections.singletonList(article));
+            } else {
+                Files.deleteIfExists(pageFile(articleId));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Path getPageFile(String slug) {
+        if (!enabled) {
+            return null;
+        }
+        Long articleId = articleSlugIndexService.getArticleId(slug);
+        return articleId == null ? null : pageFile(articleId);
+    }
+
+    @Override
+    public int rebuild() {
+        if (!enabled) {
+            return 0;
+        }
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new BusinessException(ErrorCode.OPERATION_ERROR, "文章静态页正在渲染，请稍后再试");
+        }
+        long startTime = System.currentTimeMillis();
+        Set<Long> rendered = new HashSet<>();
+        try {
+            changedDuringRebuild.clear();
+            long lastId = 0L;
+            while (true) {
+                QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+                queryWrapper.select(PAGE_COLUMNS)
+                           .eq("status", 2)
+                           .and(wrapper -> wrapper.isNull("password").or().eq("password", ""))
+                           .gt("id", lastId)
+                           .orderByAsc("id")
+                           .last("LIMIT " + batchSize);
+                List<Article> articles = articleMapper.selectList(queryWrapper);
+                if (!articles.isEmpty()) {
+                    renderAll(articles);
+                    articles.forEach(article -> rendered.add(article.getId()));
+                }
+                if (articles.size() < batchSize) {
+                    break;
+                }
+                lastId = articles.get(articles.size() - 1).getId();
+            }
+            deleteStale(rendered);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            rebuilding.set(false);
+        }
+
+        for (Long articleId : changedDuringRebuild) {
+            refreshArticle(articleId);
+        }
+        changedDuringRebuild.clear();
+        log.info("文章静态页渲染完成，文章数：{}，耗时：{}ms", rendered.size(), System.currentTimeMillis() - startTime);
+        return rendered.size();
+    }
+
+    /**
+     * 渲染一批文章，作者、分类、标签各通过一次 IN 查询取回
+     */
+    private void renderAll(List<Article> articles) throws IOException {
+        Set<Long> authorIds = articles.stream().map(Article::getAuthorId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, User> authors = authorIds.isEmpty() ? Collections.emptyMap()
+                : userMapper.selectBatchIds(authorIds).stream()
+                        .collect(Collectors.toMap(User::getId, Function.identity()));
+        Set<Long> categoryIds = articles.stream().map(Article::getCategoryId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, Category> categories = categoryIds.isEmpty() ? Collections.emptyMap()
+                : categoryMapper.selectBatchIds(categoryIds).stream()
+                        .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        QueryWrapper<ArticleTag> tagQuery = new QueryWrapper<>();
+        tagQuery.select("article_id", "tag_id")
+                .in("article_id", articles.stream().map(Article::getId).collect(Collectors.toList()))
+                .orderByAsc("id");
+        Map<Long, List<Long>> articleTagIds = articleTagMapper.selectList(tagQuery).stream()
+                .collect(Collectors.groupingBy(ArticleTag::getArticleId,
+                        Collectors.mapping(ArticleTag::getTagId, Collectors.toList())));
+        Set<Long> tagIds = articleTagIds.values().stream().flatMap(List::stream).collect(Collectors.toSet());
+        Map<Long, Tag> tags = tagIds.isEmpty() ? Collections.emptyMap()
+                : tagMapper.selectBatchIds(tagIds).stream().collect(Collectors.toMap(Tag::getId, Function.identity()));
+
+        for (Article article : articles) {
+            // 修改正文后尚未渲染的文章保留原静态页，由后处理渲染完成后刷新
+            if (article.getContentHtml() == null) {
+                continue;
+            }
+            Map<String, Object> model = new HashMap<>();
+            model.put("article", article);
+            model.put("siteTitle", siteTitle);
+            model.put("siteUrl", siteUrl);
+            model.put("canonicalUrl", siteUrl + "/article/" + article.getSlug());
+            // 作者填写的链接只输出 http(s) 协议，历史数据中的 javascript: 等链接不进入页面
+            if (NetUtils.isHttpUrl(article.getCoverImage())) {
+                model.put("coverImage", article.getCoverImage());
+            }
+            if (NetUtils.isHttpUrl(article.getSourceUrl())) {
+                model.put("sourceUrl", article.getSourceUrl());
+            }
+            User author = authors.get(article.getAuthorId());
+            if (author != null) {
+                model.put("author", StringUtils.defaultIfBlank(author.getNickname(), author.getUsername()));
+            }
+            Category category = categories.get(article.getCategoryId());
+            if (category != null) {
+                model.put("category", category);
+            }
+            model.put("tags", articleTagIds.getOrDefault(article.getId(), Collections.emptyList()).stream()
+                    .map(tags::get).filter(Objects::nonNull).collect(Collectors.toList()));
+            if (article.getPublishedTime() != null) {
+                model.put("publishedTime", DateUtil.format(article.getPublishedTime(), "yyyy-MM-dd'T'HH:mm:ssXXX"));
+                model.put("publishedDate", DateUtil.formatDate(article.getPublishedTime()));
+            }
+            writePage(pageFile(article.getId()), model);
+        }
+    }
+
+    private void writePage(Path target, Map<String, Object> model) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (Writer writer = new OutputStreamWriter(new BufferedOutputStream(Files.newOutputStream(temp)),
+                    StandardCharsets.UTF_8)) {
+                template.process(model, writer);
+            } catch (TemplateException e) {
+                throw new IOException("文章静态页模板渲染失败：" + e.getMessage(), e);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 删除本次没有渲染、期间也没有单独刷新的静态页
+     */
+    private void deleteStale(Set<Long> rendered) throws IOException {
+        if (!Files.isDirectory(pageDir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(pageDir)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                String id = StringUtils.removeEnd(file.getFileName().toString(), PAGE_SUFFIX);
+                if (!StringUtils.isNumeric(id) || id.length() > 18) {
+                    continue;
+                }
+                long articleId = Long.parseLong(id);
+                if (!rendered.contains(articleId) && !changedDuringRebuild.contains(articleId)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private boolean isPublic(Article article) {
+        return article != null && Integer.valueOf(2).equals(article.getStatus())
+                && StringUtils.isEmpty(article.getPassword());
+    }
+
+    private Path pageFile(Long articleId) {
+        return pageDir.resolve(articleId + PAGE_SUFFIX);
+    }
+}
@@ -0,0 +1,606 @@
+package com.sujiu.blog.service.impl;
+
+import cn.hutool.cache.Cache;
+import cn.hutool.cache.CacheUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
+import com.sujiu.blog.mapper.ArticleMapper;
+import com.sujiu.blog.mapper.ArticleTagMapper;
+import com.sujiu.blog.mapper.CategoryMapper;
+import com.sujiu.blog.mapper.TagMapper;
+import com.sujiu.blog.model.entity.Article;
+import com.sujiu.blog.model.entity.ArticleTag;
+import com.sujiu.blog.model.vo.article.ArticleProcessVO;
+import com.sujiu.blog.service.ArticleArchiveService;
+import com.sujiu.blog.service.ArticleDetailCacheService;
+import com.sujiu.blog.service.ArticleNavigationService;
+import com.sujiu.blog.service.ArticlePageService;
+import com.sujiu.blog.service.ArticleProcessService;
+import com.sujiu.blog.service.ArticleRelatedService;
+import com.sujiu.blog.service.ArticleService;
+import com.sujiu.blog.service.ArticleTagIndexService;
+import com.sujiu.blog.service.SiteFeedService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 文章发布后处理服务实现
+ * 每篇文章同一时间最多一个处理任务，阶段按顺序执行，失败的阶段按指数退避延迟重试，已完成的阶段不重复执行；
+ * 多次重试仍失败或被线程池拒绝的文章由定期执行的补偿任务重新提交；已发布但没有渲染结果的文章只在启动时全表查询一次，
+ * 运行期间产生的未完成任务都记录在失败列表中
+ *
+ * @author sujiu
+ */
+@Service
+@Slf4j
+public class ArticleProcessServiceImpl implements ArticleProcessService {
+
+    /**
+     * 渲染 HTML、统计字数和阅读时间
+     */
+    public static final String STAGE_RENDER = "render";
+
+    /**
+     * 重新统计标签和分类的文章数量
+     */
+    public static final String STAGE_COUNTER = "counter";
+
+    /**
+     * 刷新文章标签位图索引、相关文章索引、归档索引和上下篇导航索引
+     */
+    public static final String STAGE_INDEX = "index";
+
+    /**
+     * 失效详情缓存、重建首页快照和文章静态页，标记需要重写的站点地图和订阅源
+     */
+    public static final String STAGE_CACHE = "cache";
+
+    /**
+     * 补偿任务每批查询的文章数
+     */
+    private static final int REPAIR_BATCH_SIZE = 500;
+
+    @Resource
+    private ArticleMapper articleMapper;
+
+    @Resource
+    private ArticleTagMapper articleTagMapper;
+
+    @Resource
+    private TagMapper tagMapper;
+
+    @Resource
+    private CategoryMapper categoryMapper;
+
+    @Resource
+    private ArticleDetailCacheService articleDetailCacheService;
+
+    @Resource
+    private ArticleTagIndexService articleTagIndexService;
+
+    @Resource
+    private ArticleRelatedService articleRelatedService;
+
+    @Resource
+    private ArticleArchiveService articleArchiveService;
+
+    @Resource
+    private ArticleNavigationService articleNavigationService;
+
+    @Resource
+    private SiteFeedService siteFeedService;
+
+    @Resource
+    private ArticlePageService articlePageService;
+
+    /**
+     * 文章服务依赖本服务提交任务，这里延迟注入以避免循环依赖
+     */
+    @Resource
+    @Lazy
+    private ArticleService articleService;
+
+    @Value("${article.process.core-size:2}")
+    private int coreSize;
+
+    @Value("${article.process.max-size:4}")
+    private int maxSize;
+
+    /**
+     * 等待队列容量，队列满时任务转入失败列表，由补偿任务重新提交，不占用提交线程
+     */
+    @Value("${article.process.queue-capacity:1000}")
+    private int queueCapacity;
+
+    /**
+     * 每个阶段的最大尝试次数
+     */
+    @Value("${article.process.max-attempts:3}")
+    private int maxAttempts;
+
+    /**
+     * 首次重试的延迟（毫秒），之后每次翻倍
+     */
+    @Value("${article.process.retry-delay:1000}")
+    private long retryDelay;
+
+    /**
+     * 保留处理进度的文章数
+     */
+    @Value("${article.process.progress-capacity:1000}")
+    private int progressCapacity;
+
+    /**
+     * 失败任务补偿的执行间隔（毫秒），小于等于 0 时只在启动时执行一次
+     */
+    @Value("${article.process.repair-interval:300000}")
+    private long repairInterval;
+
+    /**
+     * 等待处理或处理中的文章
+     */
+    private final Map<Long, ArticleTask> tasks = new ConcurrentHashMap<>();
+
+    /**
+     * 多次重试仍失败的文章及其未完成的处理内容，下次提交或补偿时并入新的任务
+     */
+    private final Map<Long, ArticleTask> failedTasks = new ConcurrentHashMap<>();
+
+    private Cache<Long, ArticleProcessVO> progressCache;
+
+    private ThreadPoolExecutor workerPool;
+
+    private ScheduledExecutorService retryScheduler;
+
+    @PostConstruct
+    public void init() {
+        progressCache = CacheUtil.newLRUCache(progressCapacity);
+        AtomicInteger threadIndex = new AtomicInteger();
+        workerPool = new ThreadPoolExecutor(coreSize, Math.max(coreSize, maxSize), 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "article-process-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "article-process-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retryScheduler.shutdownNow();
+        workerPool.shutdown();
+    }
+
+    @Override
+    public void submit(Long articleId, boolean render, Collection<Long> previousTagIds, Long previousCategoryId) {
+        if (articleId == null) {
+            return;
+        }
+        Collection<Long> previousCategoryIds = previousCategoryId == null ? null
+                : Collections.singletonList(previousCategoryId);
+        Runnable action = () -> enqueue(articleId, render, previousTagIds, previousCategoryIds);
+        // 事务提交后再处理，保证读到的是已提交的数据
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @Override
+    public ArticleProcessVO getProgress(Long articleId) {
+        return articleId == null ? null : progressCache.get(articleId);
+    }
+
+    /**
+     * 启动后执行一次完整补偿，之后按间隔定期重新提交失败任务
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRepair() {
+        try {
+            retryScheduler.execute(this::repair);
+            if (repairInterval > 0) {
+                retryScheduler.scheduleWithFixedDelay(this::repairFailed, repairInterval, repairInterval,
+                        TimeUnit.MILLISECONDS);
+            }
+        } catch (RejectedExecutionException e) {
+            log.warn("文章后处理补偿任务启动失败，应用关闭中");
+        }
+    }
+
+    /**
+     * 重新提交多次重试仍失败的文章，以及已发布但没有渲染结果、当前也没有在处理的文章
+     * 未渲染的文章需要全表查询，只在启动时执行，补上上次运行结束时未完成的任务
+     */
+    public void repair() {
+        repairFailed();
+        try {
+            int unrenderedCount = 0;
+            long lastId = 0L;
+            while (true) {
+                QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+                queryWrapper.select("id")
+                           .eq("status", 2)
+                           .isNull("content_html")
+                           .gt("id", lastId)
+                           .orderByAsc("id")
+                           .last("LIMIT " + REPAIR_BATCH_SIZE);
+                List<Article> articles = articleMapper.selectList(queryWrapper);
+                for (Article article : articles) {
+                    if (!tasks.containsKey(article.getId())) {
+                        enqueue(article.getId(), true, null, null);
+                        unrenderedCount++;
+                    }
+                }
+                if (articles.size() < REPAIR_BATCH_SIZE) {
+                    break;
+                }
+                lastId = articles.get(articles.size() - 1).getId();
+            }
+            if (unrenderedCount > 0) {
+                log.info("文章后处理补偿，重新提交未渲染文章：{}", unrenderedCount);
+            }
+        } catch (Exception e) {
+            log.error("文章后处理补偿失败", e);
+        }
+    }
+
+    /**
+     * 重新提交多次重试仍失败或被线程池拒绝的文章，只读取内存中的失败列表
+     */
+    private void repairFailed() {
+        try {
+            int failedCount = 0;
+            for (Long articleId : new ArrayList<>(failedTasks.keySet())) {
+                // 失败时未完成的处理内容在任务开始时并入
+                enqueue(articleId, false, null, null);
+                failedCount++;
+            }
+            if (failedCount > 0) {
+                log.info("文章后处理补偿，重新提交失败文章：{}", failedCount);
+            }
+        } catch (Exception e) {
+            // 异常会终止定期执行，这里只记录
+            log.error("文章后处理补偿失败", e);
+        }
+    }
+
+    /**
+     * 合并到文章的待处理任务，没有任务时新建并派发
+     */
+    private void enqueue(Long articleId, boolean render, Collection<Long> previousTagIds,
+                         Collection<Long> previousCategoryIds) {
+        boolean[] created = new boolean[1];
+        tasks.compute(articleId, (key, task) -> {
+            if (task == null) {
+                task = new ArticleTask();
+                created[0] = true;
+            } else {
+                // 已有任务在排队或处理中，由其结束后重新处理
+                task.pending = true;
+            }
+            task.merge(render, previousTagIds, previousCategoryIds);
+            return task;
+        });
+        if (created[0]) {
+            updateProgress(articleId, STATUS_PENDING, null, Collections.emptyList(), 0, null);
+            dispatch(articleId);
+        }
+    }
+
+    /**
+     * 派发文章的待处理任务，线程池拒绝时整个任务转入失败列表
+     */
+    private void dispatch(Long articleId) {
+        if (execute(() -> start(articleId))) {
+            return;
+        }
+        tasks.computeIfPresent(articleId, (key, task) -> {
+            deferFailed(articleId, task);
+            return null;
+        });
+        updateProgress(articleId, STATUS_FAILED, null, Collections.emptyList(), 0, "处理队列已满，等待补偿任务重新提交");
+    }
+
+    /**
+     * 未完成的处理内容并入失败列表，等待下次提交或补偿任务
+     */
+    private void deferFailed(Long articleId, ArticleTask remaining) {
+        failedTasks.merge(articleId, remaining, (previous, current) -> {
+            current.merge(previous.render, previous.tagIds, previous.categoryIds);
+            return current;
+        });
+    }
+
+    /**
+     * 取出文章累积的处理内容并开始执行，上次失败未完成的处理内容一并执行
+     */
+    private void start(Long articleId) {
+        ProcessJob[] job = new ProcessJob[1];
+        tasks.computeIfPresent(articleId, (key, task) -> {
+            ArticleTask failed = failedTasks.remove(articleId);
+            if (failed != null) {
+                task.merge(failed.render, failed.tagIds, failed.categoryIds);
+            }
+            job[0] = new ProcessJob(articleId, task);
+            task.reset();
+            return task;
+        });
+        if (job[0] != null) {
+            runStages(job[0]);
+        }
+    }
+
+    /**
+     * 从当前阶段开始顺序执行，失败时安排延迟重试后返回
+     */
+    private void runStages(ProcessJob job) {
+        while (job.stageIndex < job.stages.size()) {
+            String stage = job.stages.get(job.stageIndex);
+            updateProgress(job.articleId, STATUS_PROCESSING, stage, job.completedStages, job.attempt, null);
+            try {
+                runStage(stage, job);
+            } catch (Exception e) {
+                if (job.attempt < maxAttempts) {
+                    long delay = retryDelay << (job.attempt - 1);
+                    log.warn("文章后处理阶段执行失败，{} 毫秒后重试，文章ID：{}，阶段：{}，第 {} 次",
+                            delay, job.articleId, stage, job.attempt, e);
+                    updateProgress(job.articleId, STATUS_PROCESSING, stage, job.completedStages, job.attempt,
+                            e.getMessage());
+                    job.attempt++;
+                    scheduleRetry(job, delay);
+                    return;
+                }
+                log.error("文章后处理失败，等待补偿任务重新提交，文章ID：{}，阶段：{}", job.articleId, stage, e);
+                updateProgress(job.articleId, STATUS_FAILED, stage, job.completedStages, job.attempt, e.getMessage());
+                deferFailed(job.articleId, job.remaining());
+                finish(job.articleId);
+                return;
+            }
+            job.completedStages.add(stage);
+            job.stageIndex++;
+            job.attempt = 1;
+        }
+        updateProgress(job.articleId, STATUS_COMPLETED, null, job.completedStages, 0, null);
+        finish(job.articleId);
+    }
+
+    private void runStage(String stage, ProcessJob job) {
+        switch (stage) {
+            case STAGE_RENDER:
+                renderArticle(job.articleId);
+                break;
+            case STAGE_COUNTER:
+                refreshCounters(job);
+                break;
+            case STAGE_INDEX:
+                articleTagIndexService.refreshArticle(job.articleId);
+                articleRelatedService.refreshArticle(job.articleId);
+                articleArchiveService.refreshArticle(job.articleId);
+                articleNavigationService.refreshArticle(job.articleId);
+                break;
+            case STAGE_CACHE:
+                articleDetailCacheService.evict(job.articleId);
+                articleService.refreshHomepageSnapshot();
+                articlePageService.refreshArticle(job.articleId);
+                siteFeedService.markArticleChanged(job.articleId, job.categoryIds);
+                break;
+            default:
+                throw new IllegalStateException("未知的处理阶段：" + stage);
+        }
+    }
+
+    /**
+     * 按已提交的最新内容渲染 HTML 并统计字数，文章已删除时跳过
+     */
+    private void renderArticle(Long articleId) {
+        QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("id", "content").eq("id", articleId);
+        Article article = articleMapper.selectOne(queryWrapper);
+        if (article == null) {
+            return;
+        }
+
+        Integer wordCount = articleService.calculateWordCount(article.getContent());
+        Article updateArticle = new Article();
+        updateArticle.setWordCount(wordCount);
+        updateArticle.setReadingTime(articleService.calculateReadingTime(wordCount));
+        updateArticle.setContentHtml(articleService.markdownToHtml(article.getContent()));
+        // 渲染结果只由正文决定，未渲染时详情按正文读取时渲染，写回派生字段不推进更新时间（覆盖 ON UPDATE CURRENT_TIMESTAMP）
+        UpdateWrapper<Article> updateWrapper = new UpdateWrapper<>();
+        updateWrapper.eq("id", articleId).setSql("updated_time = updated_time");
+        articleMapper.update(updateArticle, updateWrapper);
+    }
+
+    /**
+     * 重新统计文章当前及变更前关联的标签、分类的文章数量
+     * 按 COUNT 重新计算而不是增减，重试时结果不变
+     */
+    private void refreshCounters(ProcessJob job) {
+        Set<Long> tagIds = new LinkedHashSet<>(job.tagIds);
+        QueryWrapper<ArticleTag> tagQuery = new QueryWrapper<>();
+        tagQuery.select("tag_id").eq("article_id", job.articleId);
+        for (Object tagId : articleTagMapper.selectObjs(tagQuery)) {
+            tagIds.add(((Number) tagId).longValue());
+        }
+
+        Set<Long> categoryIds = new LinkedHashSet<>(job.categoryIds);
+        QueryWrapper<Article> articleQuery = new QueryWrapper<>();
+        articleQuery.select("id", "category_id").eq("id", job.articleId);
+        Article article = articleMapper.selectOne(articleQuery);
+        if (article != null && article.getCategoryId() != null) {
+            categoryIds.add(article.getCategoryId());
+        }
+
+        tagIds.forEach(tagMapper::refreshArticleCount);
+        categoryIds.forEach(categoryMapper::refreshArticleCount);
+    }
+
+    private void scheduleRetry(ProcessJob job, long delay) {
+        try {
+            retryScheduler.schedule(() -> {
+                if (!execute(() -> runStages(job))) {
+                    String stage = job.stages.get(job.stageIndex);
+                    updateProgress(job.articleId, STATUS_FAILED, stage, job.completedStages, job.attempt,
+                            "处理队列已满，等待补偿任务重新提交");
+                    deferFailed(job.articleId, job.remaining());
+                    finish(job.articleId);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 应用关闭中
+            finish(job.articleId);
+        }
+    }
+
+    /**
+     * 结束文章的本轮处理，期间有新的提交时重新处理
+     */
+    private void finish(Long articleId) {
+        boolean[] rerun = new boolean[1];
+        tasks.computeIfPresent(articleId, (key, task) -> {
+            if (task.pending) {
+                rerun[0] = true;
+                return task;
+            }
+            return null;
+        });
+        if (rerun[0]) {
+            dispatch(articleId);
+        }
+    }
+
+    /**
+     * 提交到线程池，队列已满或线程池已关闭时返回 false，任何情况下都不在提交线程中执行
+     */
+    private boolean execute(Runnable runnable) {
+        try {
+            workerPool.execute(runnable);
+            return true;
+        } catch (RejectedExecutionException e) {
+            log.warn("文章后处理线程池已满或已关闭，任务等待补偿任务重新提交");
+            return false;
+        }
+    }
+
+    private void updateProgress(Long articleId, String status, String stage, List<String> completedStages,
+                                int attempt, String errorMessage) {
+        ArticleProcessVO progress = new ArticleProcessVO();
+        progress.setArticleId(articleId);
+        progress.setStatus(status);
+        progress.setStage(stage);
+        progress.setCompletedStages(new ArrayList<>(completedStages));
+        progress.setAttempt(attempt);
+        progress.setErrorMessage(errorMessage);
+        progress.setUpdateTime(new Date());
+        progressCache.put(articleId, progress);
+    }
+
+    /**
+     * 文章累积的待处理内容，只在 tasks.compute 中读写
+     */
+    private static final class ArticleTask {
+
+        private boolean render;
+
+        private final Set<Long> tagIds = new LinkedHashSet<>();
+
+        private final Set<Long> categoryIds = new LinkedHashSet<>();
+
+        /**
+         * 排队或处理期间是否有新的提交
+         */
+        private boolean pending;
+
+        private void merge(boolean render, Collection<Long> previousTagIds, Collection<Long> previousCategoryIds) {
+            this.render |= render;
+            if (previousTagIds != null) {
+                tagIds.addAll(previousTagIds);
+            }
+            if (previousCategoryIds != null) {
+                categoryIds.addAll(previousCategoryIds);
+            }
+        }
+
+        private void reset() {
+            render = false;
+            tagIds.clear();
+            categoryIds.clear();
+            pending = false;
+        }
+    }
+
+    /**
+     * 一轮处理的执行状态，重试时从失败的阶段继续
+     */
+    private static final class ProcessJob {
+
+        private final Long articleId;
+
+        private final List<String> stages;
+
+        private final Set<Long> tagIds;
+
+        private final Set<Long> categoryIds;
+
+        private final List<String> completedStages = new ArrayList<>();
+
+        private int stageIndex;
+
+        private int attempt = 1;
+
+        private ProcessJob(Long articleId, ArticleTask task) {
+            this.articleId = articleId;
+            this.stages = task.render
+                    ? Arrays.asList(STAGE_RENDER, STAGE_COUNTER, STAGE_INDEX, STAGE_CACHE)
+                    : Arrays.asList(STAGE_COUNTER, STAGE_INDEX, STAGE_CACHE);
+            this.tagIds = new LinkedHashSet<>(task.tagIds);
+            this.categoryIds = new LinkedHashSet<>(task.categoryIds);
+        }
+
+        /**
+         * 本轮失败后尚未完成的处理内容，渲染阶段已完成时不再重新渲染
+         */
+        private ArticleTask remaining() {
+            ArticleTask task = new ArticleTask();
+            task.merge(stages.contains(STAGE_RENDER) && !completedStages.contains(STAGE_RENDER), tagIds, categoryIds);
+            return task;
+        }
+    }
+}
@@ -0,0 +1,469 @@
+package com.sujiu.blog.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.sujiu.blog.common.ErrorCode;
+import com.sujiu.blog.exception.BusinessException;
+import com.sujiu.blog.mapper.ArticleMapper;
+import com.sujiu.blog.mapper.ArticleTagMapper;
+import com.sujiu.blog.model.entity.Article;
+import com.sujiu.blog.model.entity.ArticleTag;
+import com.sujiu.blog.service.ArticleRelatedService;
+import com.sujiu.blog.utils.MinHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 相关文章服务实现
+ * 标签签名 16 个哈希、每段 2 行；正文签名 64 个哈希，特征为归一化后标题和正文的 4 字符片段，每段 2 行。
+ * 任一段完全相同的文章成为候选，候选按 标签权重 × 标签相似度 + (1 - 标签权重) × 正文相似度 排序。
+ * 全量重建时分批读取文章，每批的签名在 fork/join 线程池中并行计算并写入新索引，完成后整体替换
+ *
+ * @author sujiu
+ */
+@Service
+@Slf4j
+public class ArticleRelatedServiceImpl implements ArticleRelatedService {
+
+    /**
+     * 重建时每批读取的文章数，正文较大，批次不宜过大
+     */
+    private static final int REBUILD_BATCH_SIZE = 200;
+
+    /**
+     * 单个 fork/join 任务直接计算的文章数
+     */
+    private static final int FORK_THRESHOLD = 8;
+
+    private static final int TAG_HASHES = 16;
+
+    private static final int TAG_ROWS_PER_BAND = 2;
+
+    private static final int CONTENT_HASHES = 64;
+
+    private static final int CONTENT_ROWS_PER_BAND = 2;
+
+    /**
+     * 正文段编号的起始值，与标签段的桶键区分开
+     */
+    private static final int CONTENT_BAND_OFFSET = 1 << 16;
+
+    private static final int SHINGLE_SIZE = 4;
+
+    /**
+     * 参与计算片段的最大字符数，长文只取开头部分
+     */
+    private static final int MAX_SHINGLE_CHARS = 20000;
+
+    private static final MinHash TAG_MIN_HASH = new MinHash(TAG_HASHES, 0x5eed0001L);
+
+    private static final MinHash CONTENT_MIN_HASH = new MinHash(CONTENT_HASHES, 0x5eed0002L);
+
+    @Resource
+    private ArticleMapper articleMapper;
+
+    @Resource
+    private ArticleTagMapper articleTagMapper;
+
+    /**
+     * 标签相似度的权重，其余为正文相似度
+     */
+    @Value("${article.related.tag-weight:0.5}")
+    private double tagWeight;
+
+    /**
+     * 每次查询最多评估的候选文章数
+     */
+    @Value("${article.related.max-candidates:2000}")
+    private int maxCandidates;
+
+    /**
+     * 重建时计算签名的并行度，0 表示 CPU 核数
+     */
+    @Value("${article.related.parallelism:0}")
+    private int parallelism;
+
+    private volatile Index index = new Index();
+
+    private volatile boolean ready;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    /**
+     * 重建期间发生变更的文章，新索引替换后重新刷新
+     */
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 串行化对当前索引的增量修改和索引替换
+     */
+    private final Object writeLock = new Object();
+
+    private ForkJoinPool signaturePool;
+
+    @PostConstruct
+    public void init() {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        signaturePool = new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("article-related-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        signaturePool.shutdown();
+    }
+
+    /**
+     * 启动后全量构建索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("相关文章索引加载失败，相关文章查询将返回空列表", e);
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void refreshArticle(Long articleId) {
+        if (articleId == null) {
+            return;
+        }
+        if (rebuilding.get()) {
+            changedDuringRebuild.add(articleId);
+        }
+
+        QueryWrapper<Article> articleQuery = new QueryWrapper<>();
+        articleQuery.select("id", "title", "content", "status").eq("id", articleId);
+        Article article = articleMapper.selectOne(articleQuery);
+        if (article == null || !Integer.valueOf(2).equals(article.getStatus())) {
+            synchronized (writeLock) {
+                index.remove(articleId);
+            }
+            return;
+        }
+
+        QueryWrapper<ArticleTag> tagQuery = new QueryWrapper<>();
+        tagQuery.select("tag_id").eq("article_id", articleId);
+        List<Long> tagIds = articleTagMapper.selectObjs(tagQuery).stream()
+                .map(tagId -> ((Number) tagId).longValue())
+                .collect(Collectors.toList());
+        Signature signature = computeSignature(article, tagIds);
+        synchronized (writeLock) {
+            index.put(articleId, signature);
+        }
+    }
+
+    @Override
+    public List<Long> listRelatedArticleIds(Long articleId, int limit) {
+        Index current = index;
+        Signature source = articleId == null ? null : current.signatures.get(articleId);
+        if (source == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        // 按段收集候选，正文段在前，避免热门标签的大桶占满候选上限
+        Set<Long> candidates = new HashSet<>();
+        collect:
+        for (long bandKey : source.bandKeys) {
+            Set<Long> bucket = current.buckets.get(bandKey);
+            if (bucket == null) {
+                continue;
+            }
+            for (Long candidate : bucket) {
+                if (candidates.size() >= maxCandidates) {
+                    break collect;
+                }
+                if (!candidate.equals(articleId)) {
+                    candidates.add(candidate);
+                }
+            }
+        }
+
+        // 小顶堆保留得分最高的 limit 篇，同分时较新的文章（ID 较大）优先
+        Comparator<ScoredArticle> order = Comparator.<ScoredArticle>comparingDouble(scored -> scored.score)
+                .thenComparingLong(scored -> scored.articleId);
+        PriorityQueue<ScoredArticle> heap = new PriorityQueue<>(limit + 1, order);
+        for (Long candidate : candidates) {
+            Signature target = current.signatures.get(candidate);
+            if (target == null) {
+                continue;
+            }
+            double score = score(source, target);
+            if (score <= 0) {
+                continue;
+            }
+            heap.offer(new ScoredArticle(candidate, score));
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+
+        List<ScoredArticle> selected = new ArrayList<>(heap);
+        selected.sort(order.reversed());
+        return selected.stream().map(scored -> scored.articleId).collect(Collectors.toList());
+    }
+
+    @Override
+    public int rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new BusinessException(ErrorCode.OPERATION_ERROR, "相关文章索引正在重建");
+        }
+        try {
+            long startTime = System.currentTimeMillis();
+            Index rebuilt = new Index();
+            long lastId = 0L;
+            while (true) {
+                QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+                queryWrapper.select("id", "title", "content", "status")
+                           .eq("status", 2)
+                           .gt("id", lastId)
+                           .orderByAsc("id")
+                           .last("LIMIT " + REBUILD_BATCH_SIZE);
+                List<Article> articles = articleMapper.selectList(queryWrapper);
+                if (!articles.isEmpty()) {
+                    Map<Long, List<Long>> tagIds = listTagIds(articles);
+                    signaturePool.invoke(new SignatureTask(articles, 0, articles.size(), tagIds, rebuilt));
+                }
+                if (articles.size() < REBUILD_BATCH_SIZE) {
+                    break;
+                }
+                lastId = articles.get(articles.size() - 1).getId();
+            }
+
+            synchronized (writeLock) {
+                index = rebuilt;
+            }
+            ready = true;
+            log.info("相关文章索引重建完成，文章数：{}，桶数：{}，耗时：{}ms", rebuilt.signatures.size(),
+                    rebuilt.buckets.size(), System.currentTimeMillis() - startTime);
+            return rebuilt.signatures.size();
+        } finally {
+            rebuilding.set(false);
+            // 重建期间读到的可能是旧数据，重新刷新这些文章
+            for (Long articleId : new ArrayList<>(changedDuringRebuild)) {
+                changedDuringRebuild.remove(articleId);
+                try {
+                    refreshArticle(articleId);
+                } catch (Exception e) {
+                    log.warn("刷新相关文章索引失败，文章ID：{}", articleId, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 批量查询文章的标签ID
+     */
+    private Map<Long, List<Long>> listTagIds(List<Article> articles) {
+        QueryWrapper<ArticleTag> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("article_id", "tag_id")
+                   .in("article_id", articles.stream().map(Article::getId).collect(Collectors.toList()));
+        Map<Long, List<Long>> tagIds = new HashMap<>();
+        for (ArticleTag relation : articleTagMapper.selectList(queryWrapper)) {
+            tagIds.computeIfAbsent(relation.getArticleId(), key -> new ArrayList<>()).add(relation.getTagId());
+        }
+        return tagIds;
+    }
+
+    private double score(Signature source, Signature target) {
+        double score = 0;
+        if (source.tags != null && target.tags != null) {
+            score += tagWeight * MinHash.similarity(source.tags, target.tags);
+        }
+        if (source.content != null && target.content != null) {
+            score += (1 - tagWeight) * MinHash.similarity(source.content, target.content);
+        }
+        return score;
+    }
+
+    /**
+     * 计算文章的标签签名、正文签名和桶键，特征为空的签名不参与分桶
+     */
+    static Signature computeSignature(Article article, Collection<Long> tagIds) {
+        int[] tags = null;
+        if (tagIds != null && !tagIds.isEmpty()) {
+            tags = TAG_MIN_HASH.newSignature();
+            for (Long tagId : tagIds) {
+                TAG_MIN_HASH.add(tags, MinHash.mix(tagId));
+            }
+        }
+
+        int[] content = null;
+        CharSequence text = normalize(article.getTitle(), article.getContent());
+        if (text.length() > 0) {
+            content = CONTENT_MIN_HASH.newSignature();
+            int shingleSize = Math.min(SHINGLE_SIZE, text.length());
+            for (int i = 0; i + shingleSize <= text.length(); i++) {
+                CONTENT_MIN_HASH.add(content, MinHash.hash(text, i, i + shingleSize));
+            }
+        }
+
+        long[] contentKeys = content == null ? new long[0]
+                : MinHash.bandKeys(content, CONTENT_ROWS_PER_BAND, CONTENT_BAND_OFFSET);
+        long[] tagKeys = tags == null ? new long[0] : MinHash.bandKeys(tags, TAG_ROWS_PER_BAND, 0);
+        long[] bandKeys = new long[contentKeys.length + tagKeys.length];
+        System.arraycopy(contentKeys, 0, bandKeys, 0, contentKeys.length);
+        System.arraycopy(tagKeys, 0, bandKeys, contentKeys.length, tagKeys.length);
+        return new Signature(tags, content, bandKeys);
+    }
+
+    /**
+     * 只保留字母和数字并转为小写，去掉 Markdown 标记和空白对片段的干扰
+     */
+    private static CharSequence normalize(String title, String content) {
+        StringBuilder text = new StringBuilder();
+        for (String part : new String[]{title, content}) {
+            if (part == null) {
+                continue;
+            }
+            for (int i = 0; i < part.length() && text.length() < MAX_SHINGLE_CHARS; i++) {
+                char c = part.charAt(i);
+                if (Character.isLetterOrDigit(c)) {
+                    text.append(Character.toLowerCase(c));
+                }
+            }
+        }
+        return text;
+    }
+
+    /**
+     * 文章签名
+     */
+    static final class Signature {
+
+        /**
+         * 标签签名，无标签时为 null
+         */
+        final int[] tags;
+
+        /**
+         * 正文签名，无正文时为 null
+         */
+        final int[] content;
+
+        final long[] bandKeys;
+
+        Signature(int[] tags, int[] content, long[] bandKeys) {
+            this.tags = tags;
+            this.content = content;
+            this.bandKeys = bandKeys;
+        }
+    }
+
+    /**
+     * 签名和 LSH 桶，桶的修改在 compute 中完成，并行写入不同文章时不会丢失
+     */
+    private static final class Index {
+
+        final Map<Long, Signature> signatures = new ConcurrentHashMap<>();
+
+        final Map<Long, Set<Long>> buckets = new ConcurrentHashMap<>();
+
+        void put(Long articleId, Signature signature) {
+            remove(articleId);
+            signatures.put(articleId, signature);
+            for (long bandKey : signature.bandKeys) {
+                buckets.compute(bandKey, (key, bucket) -> {
+                    Set<Long> result = bucket == null ? ConcurrentHashMap.newKeySet() : bucket;
+                    result.add(articleId);
+                    return result;
+                });
+            }
+        }
+
+        void remove(Long articleId) {
+            Signature previous = signatures.remove(articleId);
+            if (previous == null) {
+                return;
+            }
+            for (long bandKey : previous.bandKeys) {
+                buckets.computeIfPresent(bandKey, (key, bucket) -> {
+                    bucket.remove(articleId);
+                    return bucket.isEmpty() ? null : bucket;
+                });
+            }
+        }
+    }
+
+    /**
+     * 并行计算一批文章的签名并写入索引
+     */
+    private static final class SignatureTask extends RecursiveAction {
+
+        private final List<Article> articles;
+
+        private final int from;
+
+        private final int to;
+
+        private final Map<Long, List<Long>> tagIds;
+
+        private final Index target;
+
+        SignatureTask(List<Article> articles, int from, int to, Map<Long, List<Long>> tagIds, Index target) {
+            this.articles = articles;
+            this.from = from;
+            this.to = to;
+            this.tagIds = tagIds;
+            this.target = target;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= FORK_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    Article article = articles.get(i);
+                    target.put(article.getId(), computeSignature(article, tagIds.get(article.getId())));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SignatureTask(articles, from, middle, tagIds, target),
+                    new SignatureTask(articles, middle, to, tagIds, target));
+        }
+    }
+
+    private static final class ScoredArticle {
+
+        private final Long articleId;
+
+        private final double score;
+
+        ScoredArticle(Long articleId, double score) {
+            this.articleId = articleId;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.sujiu.blog.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.sujiu.blog.common.ErrorCode;
+import com.sujiu.blog.constant.UserConstant;
+import com.sujiu.blog.exception.BusinessException;
+import com.sujiu.blog.mapper.ArticleMapper;
+import com.sujiu.blog.mapper.ArticleRevisionMapper;
+import com.sujiu.blog.model.entity.Article;
+import com.sujiu.blog.model.entity.ArticleRevision;
+import com.sujiu.blog.model.entity.User;
+import com.sujiu.blog.model.vo.article.ArticleRevisionDiffVO;
+import com.sujiu.blog.model.vo.article.ArticleRevisionVO;
+import com.sujiu.blog.model.vo.common.PageVO;
+import com.sujiu.blog.service.ArticleRevisionService;
+import com.sujiu.blog.service.UserService;
+import com.sujiu.blog.utils.LineDiff;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.Resource;
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 文章修订历史服务实现
+ *
+ * @author sujiu
+ */
+@Service
+@Slf4j
+public class ArticleRevisionServiceImpl implements ArticleRevisionService {
+
+    /**
+     * 完整快照
+     */
+    private static final int TYPE_SNAPSHOT = 0;
+
+    /**
+     * 行级增量
+     */
+    private static final int TYPE_DELTA = 1;
+
+    /**
+     * 差异输出的上下文行数
+     */
+    private static final int DIFF_CONTEXT_LINES = 3;
+
+    @Resource
+    private ArticleRevisionMapper articleRevisionMapper;
+
+    @Resource
+    private ArticleMapper articleMapper;
+
+    @Resource
+    private UserService userService;
+
+    /**
+     * 快照间隔：每条增量链（含快照）最多包含的版本数
+     */
+    @Value("${article.revision.snapshot-interval:10}")
+    private int snapshotInterval;
+
+    @Override
+    public void recordRevision(Long articleId, String previousTitle, String previousContent,
+                               String title, String content, Long editorId) {
+        if (articleId == null) {
+            return;
+        }
+        if (content == null) {
+            content = "";
+        }
+
+        // 1. 锁定读取最新的增量链，文章行锁已保证同一文章的写入串行，这里读到的是已提交的最新版本
+        List<ArticleRevision> chain = loadChain(articleId, null, true);
+        if (chain.isEmpty()) {
+            boolean changed = previousContent != null
+                    && !(Objects.equals(previousTitle, title) && previousContent.equals(content));
+            if (!changed) {
+                insertRevision(articleId, 1, TYPE_SNAPSHOT, title, content, content.length(), editorId);
+                return;
+            }
+            // 功能上线前已存在的文章，先把修改前的内容保存为第一个版本
+            chain = new ArrayList<>();
+            chain.add(insertRevision(articleId, 1, TYPE_SNAPSHOT, previousTitle, previousContent,
+                    previousContent.length(), null));
+        }
+
+        // 2. 还原最新版本，内容和标题都未变化时不记录
+        ArticleRevision head = chain.get(chain.size() - 1);
+        List<String> headLines = reconstruct(chain, head.getVersion());
+        List<String> lines = LineDiff.splitLines(content);
+        if (Objects.equals(head.getTitle(), title) && headLines.equals(lines)) {
+            return;
+        }
+
+        // 3. 计算相对最新版本的增量；链已达到快照间隔，或增量累计已不小于全文时改存快照
+        String delta = LineDiff.encodeDelta(LineDiff.diff(headLines, lines), lines);
+        long chainDeltaLength = delta.length();
+        for (ArticleRevision revision : chain) {
+            if (revision.getRevisionType() == TYPE_DELTA) {
+                chainDeltaLength += revision.getContent().length();
+            }
+        }
+        int version = head.getVersion() + 1;
+        if (chain.size() >= snapshotInterval || chainDeltaLength >= content.length()) {
+            insertRevision(articleId, version, TYPE_SNAPSHOT, title, content, content.length(), editorId);
+        } else {
+            insertRevision(articleId, version, TYPE_DELTA, title, delta, content.length(), editorId);
+        }
+    }
+
+    @Override
+    public PageVO<ArticleRevisionVO> listRevisions(Long articleId, Integer current, Integer size,
+                                                   HttpServletRequest request) {
+        checkPermission(articleId, request);
+        if (current == null || current <= 0) {
+            current = 1;
+        }
+        if (size == null || size <= 0) {
+            size = 10;
+        }
+        if (size > 50) {
+            size = 50;
+        }
+
+        // 列表不返回内容，只查询元数据
+        QueryWrapper<ArticleRevision> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("id", "article_id", "version", "revision_type", "title", "content_length",
+                        "editor_id", "created_time")
+                .eq("article_id", articleId)
+                .orderByDesc("version");
+        IPage<ArticleRevision> page = articleRevisionMapper.selectPage(new Page<>(current, size), queryWrapper);
+
+        List<ArticleRevisionVO> records = page.getRecords().stream()
+                .map(this::toRevisionVO)
+                .collect(Collectors.toList());
+        return new PageVO<>(records, page.getTotal(), current, size);
+    }
+
+    @Override
+    public ArticleRevisionVO getRevision(Long articleId, Integer version, HttpServletRequest request) {
+        if (version == null || version <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "版本号不能为空");
+        }
+        checkPermission(articleId, request);
+
+        List<ArticleRevision> chain = loadChain(articleId, version, false);
+        ArticleRevision revision = findRevision(chain, version);
+        ArticleRevisionVO revisionVO = toRevisionVO(revision);
+        revisionVO.setContent(LineDiff.joinLines(reconstruct(chain, version)));
+        return revisionVO;
+    }
+
+    @Override
+    public ArticleRevisionDiffVO diffRevisions(Long articleId, Integer fromVersion, Integer toVersion,
+                                               HttpServletRequest request) {
+        if (fromVersion == null || fromVersion <= 0 || toVersion == null || toVersion <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "版本号不能为空");
+        }
+        checkPermission(articleId, request);
+
+        // 两个版本在同一条增量链上时只读取一次
+        int later = Math.max(fromVersion, toVersion);
+        int earlier = Math.min(fromVersion, toVersion);
+        List<ArticleRevision> laterChain = loadChain(articleId, later, false);
+        List<ArticleRevision> earlierChain = !laterChain.isEmpty() && laterChain.get(0).getVersion() <= earlier
+                ? laterChain : loadChain(articleId, earlier, false);
+
+        List<ArticleRevision> fromChain = fromVersion == later ? laterChain : earlierChain;
+        List<ArticleRevision> toChain = toVersion == later ? laterChain : earlierChain;
+        ArticleRevision fromRevision = findRevision(fromChain, fromVersion);
+        ArticleRevision toRevision = findRevision(toChain, toVersion);
+        List<String> fromLines = reconstruct(fromChain, fromVersion);
+        List<String> toLines = reconstruct(toChain, toVersion);
+
+        List<LineDiff.Edit> edits = LineDiff.diff(fromLines, toLines);
+        int addedLines = 0;
+        int deletedLines = 0;
+        for (LineDiff.Edit edit : edits) {
+            if (edit.getType() == LineDiff.Type.INSERT) {
+                addedLines += edit.getCount();
+            } else if (edit.getType() == LineDiff.Type.DELETE) {
+                deletedLines += edit.getCount();
+            }
+        }
+
+        ArticleRevisionDiffVO diffVO = new ArticleRevisionDiffVO();
+        diffVO.setArticleId(articleId);
+        diffVO.setFromVersion(fromVersion);
+        diffVO.setToVersion(toVersion);
+        diffVO.setFromTitle(fromRevision.getTitle());
+        diffVO.setToTitle(toRevision.getTitle());
+        diffVO.setAddedLines(addedLines);
+        diffVO.setDeletedLines(deletedLines);
+        diffVO.setDiff(LineDiff.toUnifiedDiff(edits, fromLines, toLines, DIFF_CONTEXT_LINES));
+        return diffVO;
+    }
+
+    /**
+     * 读取从最近的快照到指定版本的增量链
+     *
+     * @param articleId 文章ID
+     * @param version 截止版本号，null 表示最新版本
+     * @param forUpdate 是否加锁读取
+     * @return 按版本升序的修订记录，没有快照时为空
+     */
+    private List<ArticleRevision> loadChain(Long articleId, Integer version, boolean forUpdate) {
+        QueryWrapper<ArticleRevision> snapshotWrapper = new QueryWrapper<>();
+        snapshotWrapper.select("version")
+                .eq("article_id", articleId)
+                .eq("revision_type", TYPE_SNAPSHOT)
+                .le(version != null, "version", version)
+                .orderByDesc("version")
+                .last("LIMIT 1");
+        ArticleRevision snapshot = articleRevisionMapper.selectOne(snapshotWrapper);
+        if (snapshot == null) {
+            return Collections.emptyList();
+        }
+
+        QueryWrapper<ArticleRevision> chainWrapper = new QueryWrapper<>();
+        chainWrapper.eq("article_id", articleId)
+                .ge("version", snapshot.getVersion())
+                .le(version != null, "version", version)
+                .orderByAsc("version");
+        if (forUpdate) {
+            chainWrapper.last("FOR UPDATE");
+        }
+        return new ArrayList<>(articleRevisionMapper.selectList(chainWrapper));
+    }
+
+    /**
+     * 从链上的快照开始依次应用增量，还原到指定版本
+     */
+    private List<String> reconstruct(List<ArticleRevision> chain, int version) {
+        List<String> lines = null;
+        for (ArticleRevision revision : chain) {
+            if (revision.getVersion() > version) {
+                break;
+            }
+            if (revision.getRevisionType() == TYPE_SNAPSHOT) {
+                lines = LineDiff.splitLines(revision.getContent());
+            } else if (lines != null) {
+                try {
+                    lines = LineDiff.applyDelta(lines, revision.getContent());
+                } catch (IllegalArgumentException e) {
+                    log.error("文章修订历史还原失败，文章ID：{}，版本：{}", revision.getArticleId(), revision.getVersion(), e);
+                    throw new BusinessException(ErrorCode.SYSTEM_ERROR, "修订历史已损坏");
+                }
+            }
+        }
+        if (lines == null) {
+            throw new BusinessException(ErrorCode.NOT_FOUND_ERROR, "版本不存在");
+        }
+        return lines;
+    }
+
+    private ArticleRevision findRevision(List<ArticleRevision> chain, int version) {
+        for (ArticleRevision revision : chain) {
+            if (revision.getVersion() == version) {
+                return revision;
+            }
+        }
+        throw new BusinessException(ErrorCode.NOT_FOUND_ERROR, "版本不存在");
+    }
+
+    private ArticleRevision insertRevision(Long articleId, int version, int revisionType, String title,
+                                           String content, int contentLength, Long editorId) {
+        ArticleRevision revision = new ArticleRevision();
+        revision.setArticleId(articleId);
+        revision.setVersion(version);
+        revision.setRevisionType(revisionType);
+        revision.setTitle(title);
+        revision.setContent(content);
+        revision.setContentLength(contentLength);
+        revision.setEditorId(editorId);
+        revision.setCreateTime(new Date());
+        try {
+            articleRevisionMapper.insert(revision);
+        } catch (DuplicateKeyException e) {
+            throw new BusinessException(ErrorCode.OPERATION_ERROR, "文章正在被其他请求修改，请重试");
+        }
+        return revision;
+    }
+
+    /**
+     * 只有文章作者和管理员可以查看修订历史
+     */
+    private void checkPermission(Long articleId, HttpServletRequest request) {
+        if (articleId == null || articleId <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章ID不能为空");
+        }
+        User currentUser = userService.getCurrentLoginUser(request);
+        Article article = articleMapper.selectById(articleId);
+        if (article == null) {
+            throw new BusinessException(ErrorCode.NOT_FOUND_ERROR, "文章不存在");
+        }
+        if (!article.getAuthorId().equals(currentUser.getId())
+                && !UserConstant.ADMIN_ROLE.equals(currentUser.getRole())) {
+            throw new BusinessException(ErrorCode.FORBIDDEN_ERROR, "无权限查看此文章的修订历史");
+        }
+    }
+
+    private ArticleRevisionVO toRevisionVO(ArticleRevision revision) {
+        ArticleRevisionVO revisionVO = new ArticleRevisionVO();
+        BeanUtils.copyProperties(revision, revisionVO);
+        // 列表和详情都不直接返回存储内容（可能是增量）
+        revisionVO.setContent(null);
+        return revisionVO;
+    }
+}
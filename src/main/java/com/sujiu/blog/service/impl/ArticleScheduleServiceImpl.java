@@ -0,0 +1,191 @@
+package com.sujiu.blog.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.sujiu.blog.mapper.ArticleMapper;
+import com.sujiu.blog.model.entity.Article;
+import com.sujiu.blog.service.ArticleScheduleService;
+import com.sujiu.blog.service.ArticleService;
+import com.sujiu.blog.utils.HashedTimingWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章定时发布服务实现
+ * 到期任务在独立线程中执行与审核通过相同的状态流转，失败时按指数退避重新放入时间轮
+ *
+ * @author sujiu
+ */
+@Service
+@Slf4j
+public class ArticleScheduleServiceImpl implements ArticleScheduleService {
+
+    @Resource
+    private ArticleMapper articleMapper;
+
+    /**
+     * 与文章服务相互依赖，延迟注入
+     */
+    @Resource
+    @Lazy
+    private ArticleService articleService;
+
+    /**
+     * 时间轮刻度（毫秒），发布最多延迟一个刻度
+     */
+    @Value("${article.schedule.tick-millis:1000}")
+    private long tickMillis;
+
+    /**
+     * 时间轮槽位数
+     */
+    @Value("${article.schedule.wheel-size:512}")
+    private int wheelSize;
+
+    /**
+     * 发布失败时的最大尝试次数
+     */
+    @Value("${article.schedule.max-attempts:3}")
+    private int maxAttempts;
+
+    /**
+     * 首次重试延迟（毫秒），之后逐次翻倍
+     */
+    @Value("${article.schedule.retry-delay:5000}")
+    private long retryDelay;
+
+    /**
+     * 每篇文章当前的定时任务
+     */
+    private final Map<Long, HashedTimingWheel.Timeout> tasks = new ConcurrentHashMap<>();
+
+    private ExecutorService publishExecutor;
+
+    private HashedTimingWheel timingWheel;
+
+    @PostConstruct
+    public void init() {
+        publishExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "article-schedule-publisher");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        timingWheel = new HashedTimingWheel(tickMillis, wheelSize, publishExecutor, "article-schedule-wheel");
+        timingWheel.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timingWheel.stop();
+        publishExecutor.shutdown();
+    }
+
+    /**
+     * 启动后从数据库重建时间轮，只读取带定时发布时间的审核中文章（走 scheduled_time 索引）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+            queryWrapper.select("id", "scheduled_time")
+                    .isNotNull("scheduled_time")
+                    .eq("status", 1);
+            List<Article> articles = articleMapper.selectList(queryWrapper);
+            for (Article article : articles) {
+                long deadline = article.getScheduledTime().getTime();
+                // 加载期间发生的安排或取消以写入方为准
+                tasks.computeIfAbsent(article.getId(), id -> timingWheel.schedule(() -> fire(id, 1), deadline));
+            }
+            log.info("定时发布任务加载完成，文章数：{}", articles.size());
+        } catch (Exception e) {
+            log.error("定时发布任务加载失败", e);
+        }
+    }
+
+    @Override
+    public void schedule(Long articleId, Date scheduledTime) {
+        if (articleId == null || scheduledTime == null) {
+            return;
+        }
+        long deadline = scheduledTime.getTime();
+        afterCommit(() -> tasks.compute(articleId, (id, previous) -> {
+            if (previous != null) {
+                previous.cancel();
+            }
+            return timingWheel.schedule(() -> fire(id, 1), deadline);
+        }));
+    }
+
+    @Override
+    public void cancel(Long articleId) {
+        if (articleId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            HashedTimingWheel.Timeout timeout = tasks.remove(articleId);
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        });
+    }
+
+    @Override
+    public int getPendingCount() {
+        return timingWheel.size();
+    }
+
+    /**
+     * 到期发布，文章已被取消、改期或提前审核时由发布方法跳过
+     */
+    private void fire(Long articleId, int attempt) {
+        // 只移除已到期的任务，执行期间新安排的任务保留
+        tasks.computeIfPresent(articleId, (id, timeout) -> timeout.isExpired() ? null : timeout);
+        try {
+            if (articleService.publishScheduledArticle(articleId)) {
+                log.info("定时发布文章成功，文章ID：{}", articleId);
+            }
+        } catch (Exception e) {
+            if (attempt >= maxAttempts) {
+                log.error("定时发布文章失败，已达到最大尝试次数，文章ID：{}", articleId, e);
+                return;
+            }
+            long deadline = System.currentTimeMillis() + (retryDelay << (attempt - 1));
+            log.warn("定时发布文章失败，将在 {} 毫秒后重试，文章ID：{}", deadline - System.currentTimeMillis(), articleId, e);
+            tasks.computeIfAbsent(articleId, id -> timingWheel.schedule(() -> fire(id, attempt + 1), deadline));
+        }
+    }
+
+    /**
+     * 事务提交后执行，回滚时不修改时间轮
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
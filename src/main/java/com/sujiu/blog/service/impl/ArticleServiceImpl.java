@@ -1,7 +1,12 @@
 package com.sujiu.blog.service.impl;
 
+import cn.hutool.cache.Cache;
+import cn.hutool.cache.CacheUtil;
 import cn.hutool.core.util.StrUtil;
+import cn.hutool.crypto.digest.DigestUtil;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
+import com.baomidou.mybatisplus.core.toolkit.IdWorker;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.sujiu.blog.common.ErrorCode;
@@ -17,30 +22,67 @@ import com.sujiu.blog.model.dto.article.ArticleAuditRequest;
 import com.sujiu.blog.model.dto.article.ArticleOfflineRequest;
 import com.sujiu.blog.model.dto.article.ArticleQueryRequest;
 import com.sujiu.blog.model.dto.article.ArticleRequest;
+import com.sujiu.blog.model.dto.article.ArticleVersion;
 import com.sujiu.blog.model.entity.Article;
 import com.sujiu.blog.model.entity.ArticleTag;
 import com.sujiu.blog.model.entity.Category;
 import com.sujiu.blog.model.entity.Tag;
 import com.sujiu.blog.model.entity.User;
 import com.sujiu.blog.model.vo.article.AdminArticleVO;
+import com.sujiu.blog.model.vo.article.ArticleArchiveVO;
+import com.sujiu.blog.model.vo.article.ArticleProcessVO;
 import com.sujiu.blog.model.vo.article.ArticleVO;
+import com.sujiu.blog.model.vo.common.CursorPageVO;
 import com.sujiu.blog.model.vo.common.PageVO;
+import com.sujiu.blog.service.ArticleArchiveService;
+import com.sujiu.blog.service.ArticleDetailCacheService;
+import com.sujiu.blog.service.ArticleNavigationService;
+import com.sujiu.blog.service.ArticleProcessService;
+import com.sujiu.blog.service.ArticleRelatedService;
+import com.sujiu.blog.service.ArticleRevisionService;
+import com.sujiu.blog.service.ArticleScheduleService;
 import com.sujiu.blog.service.ArticleService;
+import com.sujiu.blog.service.ArticleSlugIndexService;
+import com.sujiu.blog.service.ArticleTagIndexService;
+import com.sujiu.blog.service.ArticleViewService;
+import com.sujiu.blog.service.HotArticleService;
+import com.sujiu.blog.service.PageCountService;
+import com.sujiu.blog.utils.ArticleCursorUtils;
+import com.sujiu.blog.utils.ArticleQueryUtils;
+import com.sujiu.blog.utils.MarkdownUtils;
+import com.sujiu.blog.utils.NetUtils;
+import com.sujiu.blog.utils.WordCountUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.BeanUtils;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.annotation.PreDestroy;
 import javax.annotation.Resource;
 import javax.servlet.http.HttpServletRequest;
 import java.text.Normalizer;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -73,22 +115,97 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
     @Resource
     private com.sujiu.blog.service.TagService tagService;
 
+    @Resource
+    private ArticleViewService articleViewService;
+
+    @Resource
+    private HotArticleService hotArticleService;
+
+    @Resource
+    private ArticleDetailCacheService articleDetailCacheService;
+
+    @Resource
+    private ArticleSlugIndexService articleSlugIndexService;
+
+    @Resource
+    private ArticleProcessService articleProcessService;
+
+    @Resource
+    private ArticleTagIndexService articleTagIndexService;
+
+    @Resource
+    private ArticleRevisionService articleRevisionService;
+
+    @Resource
+    private ArticleScheduleService articleScheduleService;
+
+    @Resource
+    private ArticleRelatedService articleRelatedService;
+
+    @Resource
+    private ArticleArchiveService articleArchiveService;
+
+    @Resource
+    private ArticleNavigationService articleNavigationService;
+
+    @Resource
+    private PageCountService pageCountService;
+
 
 
     /**
-     * 中文字符正则
+     * 平均阅读速度（字/分钟）
      */
-    private static final Pattern CHINESE_PATTERN = Pattern.compile("[\\u4e00-\\u9fa5]");
+    private static final int READING_SPEED = 200;
 
     /**
-     * 英文单词正则
+     * Markdown 渲染缓存容量
      */
-    private static final Pattern WORD_PATTERN = Pattern.compile("\\b\\w+\\b");
+    private static final int MARKDOWN_CACHE_CAPACITY = 256;
 
     /**
-     * 平均阅读速度（字/分钟）
+     * 单条渲染结果的最大缓存长度（字符），超出时不缓存
      */
-    private static final int READING_SPEED = 200;
+    private static final int MARKDOWN_CACHE_MAX_LENGTH = 512 * 1024;
+
+    /**
+     * 游标分页每页最大数量
+     */
+    private static final int MAX_CURSOR_PAGE_SIZE = 50;
+
+    /**
+     * 首页快照中推荐文章的数量
+     */
+    private static final int HOMEPAGE_RECOMMEND_SIZE = 20;
+
+    /**
+     * 首页快照中默认列表第一页的数量
+     */
+    private static final int HOMEPAGE_PAGE_SIZE = 20;
+
+    /**
+     * Markdown 渲染缓存（键为内容的 SHA-256）
+     */
+    private final Cache<String, String> markdownRenderCache = CacheUtil.newLRUCache(MARKDOWN_CACHE_CAPACITY);
+
+    /**
+     * 首页列表快照，为空表示尚未生成
+     */
+    private volatile HomepageSnapshot homepageSnapshot;
+
+    /**
+     * 是否已有等待执行的快照重建任务，用于合并短时间内的多次变更
+     */
+    private final AtomicBoolean homepageRefreshPending = new AtomicBoolean(false);
+
+    /**
+     * 首页快照重建线程
+     */
+    private final ExecutorService homepageRefreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "homepage-snapshot-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -99,7 +216,7 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
         }
 
         // 2. 获取当前登录用户（已验证权限）
-        User user = getCurrentLoginUser(request);
+        User user = userService.getCurrentLoginUser(request);
         Long userId = user.getId();
 
         // 5. 详细参数校验
@@ -128,6 +245,13 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章状态不正确");
         }
 
+        // 定时发布校验，到期前保持审核中状态
+        Date scheduledTime = articleRequest.getScheduledTime();
+        if (scheduledTime != null) {
+            scheduledTime = validateScheduledTime(scheduledTime, status);
+            status = 1;
+        }
+
         // 分类校验
         if (categoryId != null) {
             Category category = categoryMapper.selectById(categoryId);
@@ -149,6 +273,10 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             }
         }
 
+        // 链接校验
+        validateHttpUrl(articleRequest.getCoverImage(), "封面图片");
+        validateHttpUrl(articleRequest.getSourceUrl(), "原文链接");
+
         // 6. 生成或校验别名
         if (StringUtils.isBlank(slug)) {
             slug = generateSlug(title);
@@ -160,29 +288,22 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
         }
 
         // 检查别名是否重复
-        QueryWrapper<Article> slugQuery = new QueryWrapper<>();
-        slugQuery.eq("slug", slug);
-        Article existingArticle = this.getOne(slugQuery);
-        if (existingArticle != null) {
+        if (!articleSlugIndexService.isAvailable(slug, null)) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章别名已存在");
         }
 
-        // 7. 计算文章统计信息
-        Integer wordCount = calculateWordCount(content);
-        Integer readingTime = calculateReadingTime(wordCount);
-        String contentHtml = markdownToHtml(content);
-
-        // 8. 创建文章
+        // 7. 创建文章（HTML 渲染和字数统计在提交后异步完成）
         Article article = new Article();
         BeanUtils.copyProperties(articleRequest, article);
         article.setSlug(slug);
+        article.setScheduledTime(scheduledTime);
         article.setAuthorId(userId);
-        article.setWordCount(wordCount);
-        article.setReadingTime(readingTime);
-        article.setContentHtml(contentHtml);
+        article.setWordCount(0);
+        article.setReadingTime(0);
         article.setViewCount(0);
         article.setLikeCount(0);
         article.setCommentCount(0);
+        article.setStatus(status);
         article.setCreateTime(new Date());
         article.setUpdateTime(new Date());
 
@@ -202,29 +323,31 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             article.setIsOriginal(true);
         }
 
-        // 9. 保存文章
-        boolean saveResult = this.save(article);
+        // 8. 保存文章
+        boolean saveResult;
+        try {
+            saveResult = this.save(article);
+        } catch (DuplicateKeyException e) {
+            // 并发写入同一别名时由数据库唯一键兜底
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章别名已存在");
+        }
         if (!saveResult) {
             throw new BusinessException(ErrorCode.SYSTEM_ERROR, "文章保存失败");
         }
+        articleSlugIndexService.register(slug, null, article.getId());
+        articleRevisionService.recordRevision(article.getId(), null, null, title, content, userId);
+        if (scheduledTime != null) {
+            articleScheduleService.schedule(article.getId(), scheduledTime);
+        }
 
-        // 10. 保存文章标签关联
+        // 9. 保存文章标签关联
         if (tagIds != null && !tagIds.isEmpty()) {
-            List<ArticleTag> articleTags = new ArrayList<>();
-            for (Long tagId : tagIds) {
-                ArticleTag articleTag = new ArticleTag();
-                articleTag.setArticleId(article.getId());
-                articleTag.setTagId(tagId);
-                articleTag.setCreateTime(new Date());
-                articleTags.add(articleTag);
-            }
-            
-            // 批量保存
-            for (ArticleTag articleTag : articleTags) {
-                articleTagMapper.insert(articleTag);
-            }
+            saveArticleTags(article.getId(), tagIds);
         }
 
+        // 10. 提交后处理：渲染、统计、计数和缓存失效
+        articleProcessService.submit(article.getId(), true, null, null);
+
         log.info("用户发布文章成功，用户ID：{}，文章ID：{}，标题：{}", userId, article.getId(), title);
 
         // 11. 构建返回结果
@@ -237,31 +360,8 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             return 0;
         }
 
-        // 移除Markdown标记
-        String plainText = content
-                .replaceAll("```[\\s\\S]*?```", "") // 代码块
-                .replaceAll("`[^`]*`", "") // 行内代码
-                .replaceAll("!\\[.*?\\]\\(.*?\\)", "") // 图片
-                .replaceAll("\\[.*?\\]\\(.*?\\)", "") // 链接
-                .replaceAll("[#*_~`>-]", "") // 其他Markdown标记
-                .replaceAll("\\s+", " ") // 多个空白字符替换为单个空格
-                .trim();
-
-        // 统计中文字符
-        int chineseCount = 0;
-        java.util.regex.Matcher chineseMatcher = CHINESE_PATTERN.matcher(plainText);
-        while (chineseMatcher.find()) {
-            chineseCount++;
-        }
-
-        // 统计英文单词
-        int englishWordCount = 0;
-        java.util.regex.Matcher wordMatcher = WORD_PATTERN.matcher(plainText);
-        while (wordMatcher.find()) {
-            englishWordCount++;
-        }
-
-        return chineseCount + englishWordCount;
+        // 单遍扫描统计中文字符和英文单词（跳过代码、图片和链接）
+        return WordCountUtils.countWords(content);
     }
 
     @Override
@@ -277,18 +377,16 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
         if (StringUtils.isBlank(markdown)) {
             return "";
         }
-        
-        // 简单的Markdown转HTML实现
-        // 在实际项目中，建议使用专业的Markdown解析库如flexmark-java
-        String html = markdown
-                .replaceAll("### (.*)", "<h3>$1</h3>")
-                .replaceAll("## (.*)", "<h2>$1</h2>")
-                .replaceAll("# (.*)", "<h1>$1</h1>")
-                .replaceAll("\\*\\*(.*?)\\*\\*", "<strong>$1</strong>")
-                .replaceAll("\\*(.*?)\\*", "<em>$1</em>")
-                .replaceAll("`(.*?)`", "<code>$1</code>")
-                .replaceAll("\\n", "<br>");
-        
+
+        // 内容未变化时直接复用上次的渲染结果
+        String contentHash = DigestUtil.sha256Hex(markdown);
+        String html = markdownRenderCache.get(contentHash);
+        if (html == null) {
+            html = MarkdownUtils.toHtml(markdown);
+            if (html.length() <= MARKDOWN_CACHE_MAX_LENGTH) {
+                markdownRenderCache.put(contentHash, html);
+            }
+        }
         return html;
     }
 
@@ -327,8 +425,20 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             // 确保不以连字符结尾
             slug = slug.replaceAll("-$", "");
         }
-        
-        return slug;
+
+        // 别名已被占用时追加数字后缀
+        if (articleSlugIndexService.isAvailable(slug, null)) {
+            return slug;
+        }
+        for (int suffix = 2; ; suffix++) {
+            String suffixText = "-" + suffix;
+            String base = slug.length() + suffixText.length() > 100
+                    ? slug.substring(0, 100 - suffixText.length()) : slug;
+            String candidate = base + suffixText;
+            if (articleSlugIndexService.isAvailable(candidate, null)) {
+                return candidate;
+            }
+        }
     }
 
     @Override
@@ -343,7 +453,7 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
         }
 
         // 2. 获取当前登录用户（已验证权限）
-        User currentUser = getCurrentLoginUser(request);
+        User currentUser = userService.getCurrentLoginUser(request);
         Long userId = currentUser.getId();
 
         // 3. 检查文章是否存在
@@ -353,7 +463,7 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
         }
 
         // 4. 检查权限
-        if (!hasPermission(articleId, userId)) {
+        if (!hasPermission(existingArticle, currentUser)) {
             throw new BusinessException(ErrorCode.FORBIDDEN_ERROR, "无权限操作此文章");
         }
 
@@ -382,6 +492,17 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章状态不正确");
         }
 
+        // 定时发布校验：设置定时发布时进入审核中状态；未设置但修改了状态时取消已有的定时发布
+        Date scheduledTime = articleRequest.getScheduledTime();
+        if (scheduledTime != null) {
+            if (existingArticle.getStatus() == 2) {
+                throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章已发布，不能设置定时发布");
+            }
+            scheduledTime = validateScheduledTime(scheduledTime, status != null ? status : 2);
+            status = 1;
+        }
+        boolean cancelSchedule = scheduledTime == null && status != null && existingArticle.getScheduledTime() != null;
+
         // 分类校验
         if (categoryId != null) {
             Category category = categoryMapper.selectById(categoryId);
@@ -403,6 +524,10 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             }
         }
 
+        // 链接校验
+        validateHttpUrl(articleRequest.getCoverImage(), "封面图片");
+        validateHttpUrl(articleRequest.getSourceUrl(), "原文链接");
+
         // 6. 处理别名
         if (StringUtils.isNotBlank(slug)) {
             // 校验别名格式
@@ -411,10 +536,7 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             }
 
             // 检查别名是否重复（排除当前文章）
-            QueryWrapper<Article> slugQuery = new QueryWrapper<>();
-            slugQuery.eq("slug", slug).ne("id", articleId);
-            Article duplicateArticle = this.getOne(slugQuery);
-            if (duplicateArticle != null) {
+            if (!articleSlugIndexService.isAvailable(slug, articleId)) {
                 throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章别名已存在");
             }
         }
@@ -434,14 +556,8 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             updateArticle.setSummary(articleRequest.getSummary());
         }
         if (StringUtils.isNotBlank(content)) {
+            // 统计信息和 HTML 在提交后异步重新计算，期间详情按新内容读取时渲染
             updateArticle.setContent(content);
-            // 重新计算统计信息
-            Integer wordCount = calculateWordCount(content);
-            Integer readingTime = calculateReadingTime(wordCount);
-            String contentHtml = markdownToHtml(content);
-            updateArticle.setWordCount(wordCount);
-            updateArticle.setReadingTime(readingTime);
-            updateArticle.setContentHtml(contentHtml);
         }
         if (StringUtils.isNotBlank(articleRequest.getCoverImage())) {
             updateArticle.setCoverImage(articleRequest.getCoverImage());
@@ -471,42 +587,64 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
                 updateArticle.setPublishedTime(new Date());
             }
         }
+        if (scheduledTime != null) {
+            updateArticle.setScheduledTime(scheduledTime);
+        }
 
         updateArticle.setUpdateTime(new Date());
 
-        // 8. 保存文章更新
-        boolean updateResult = this.updateById(updateArticle);
+        // 8. 保存文章更新，内容变化时同时清除旧的渲染结果，详情内容只由正文和更新时间决定
+        UpdateWrapper<Article> updateWrapper = new UpdateWrapper<>();
+        updateWrapper.eq("id", articleId);
+        if (StringUtils.isNotBlank(content)) {
+            updateWrapper.set("content_html", null);
+        }
+        boolean updateResult;
+        try {
+            updateResult = this.update(updateArticle, updateWrapper);
+        } catch (DuplicateKeyException e) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章别名已存在");
+        }
         if (!updateResult) {
             throw new BusinessException(ErrorCode.SYSTEM_ERROR, "文章更新失败");
         }
+        if (StringUtils.isNotBlank(slug)) {
+            articleSlugIndexService.register(slug, existingArticle.getSlug(), articleId);
+        }
+        if (scheduledTime != null) {
+            articleScheduleService.schedule(articleId, scheduledTime);
+        } else if (cancelSchedule) {
+            // updateById 不更新空字段，单独清除定时发布时间
+            UpdateWrapper<Article> clearScheduleWrapper = new UpdateWrapper<>();
+            clearScheduleWrapper.eq("id", articleId).set("scheduled_time", null);
+            this.update(clearScheduleWrapper);
+            articleScheduleService.cancel(articleId);
+        }
+        if (StringUtils.isNotBlank(title) || StringUtils.isNotBlank(content)) {
+            articleRevisionService.recordRevision(articleId, existingArticle.getTitle(), existingArticle.getContent(),
+                    StringUtils.isNotBlank(title) ? title : existingArticle.getTitle(),
+                    StringUtils.isNotBlank(content) ? content : existingArticle.getContent(), userId);
+        }
 
         // 9. 更新标签关联
+        List<Long> removedTagIds = null;
         if (tagIds != null) {
-            // 删除原有标签关联
-            QueryWrapper<ArticleTag> deleteQuery = new QueryWrapper<>();
-            deleteQuery.eq("article_id", articleId);
-            articleTagMapper.delete(deleteQuery);
-
-            // 添加新的标签关联
-            if (!tagIds.isEmpty()) {
-                List<ArticleTag> articleTags = new ArrayList<>();
-                for (Long tagId : tagIds) {
-                    ArticleTag articleTag = new ArticleTag();
-                    articleTag.setArticleId(articleId);
-                    articleTag.setTagId(tagId);
-                    articleTag.setCreateTime(new Date());
-                    articleTags.add(articleTag);
-                }
+            removedTagIds = saveArticleTags(articleId, tagIds);
+        }
 
-                for (ArticleTag articleTag : articleTags) {
-                    articleTagMapper.insert(articleTag);
-                }
-            }
+        // 不再是已发布状态时移出热门排行
+        if (status != null && status != 2) {
+            hotArticleService.removeArticle(articleId);
         }
 
+        // 10. 提交后处理：内容变化时重新渲染，并重新计数、失效缓存
+        Long previousCategoryId = categoryId != null && !Objects.equals(categoryId, existingArticle.getCategoryId())
+                ? existingArticle.getCategoryId() : null;
+        articleProcessService.submit(articleId, StringUtils.isNotBlank(content), removedTagIds, previousCategoryId);
+
         log.info("用户更新文章成功，用户ID：{}，文章ID：{}", userId, articleId);
 
-        // 10. 获取更新后的文章信息
+        // 11. 获取更新后的文章信息
         Article updatedArticle = this.getById(articleId);
         return buildArticleVO(updatedArticle);
     }
@@ -520,7 +658,7 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
         }
 
         // 2. 获取当前登录用户（已验证权限）
-        User currentUser = getCurrentLoginUser(request);
+        User currentUser = userService.getCurrentLoginUser(request);
         Long userId = currentUser.getId();
 
         // 3. 检查文章是否存在
@@ -530,7 +668,7 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
         }
 
         // 4. 检查权限
-        if (!hasPermission(articleId, userId)) {
+        if (!hasPermission(article, currentUser)) {
             throw new BusinessException(ErrorCode.FORBIDDEN_ERROR, "无权限删除此文章");
         }
 
@@ -541,10 +679,19 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
         }
 
         // 6. 删除文章标签关联
+        List<Long> articleTagIds = listArticleTagIds(articleId);
         QueryWrapper<ArticleTag> deleteQuery = new QueryWrapper<>();
         deleteQuery.eq("article_id", articleId);
         articleTagMapper.delete(deleteQuery);
 
+        if (article.getScheduledTime() != null) {
+            articleScheduleService.cancel(articleId);
+        }
+        hotArticleService.removeArticle(articleId);
+        articleDetailCacheService.evict(articleId);
+        refreshHomepageAfterCommit();
+        articleProcessService.submit(articleId, false, articleTagIds, article.getCategoryId());
+
         log.info("用户删除文章成功，用户ID：{}，文章ID：{}", userId, articleId);
         return true;
     }
@@ -553,23 +700,81 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
      * 构建文章VO
      */
     private ArticleVO buildArticleVO(Article article) {
-        ArticleVO articleVO = new ArticleVO();
-        BeanUtils.copyProperties(article, articleVO);
-        
-        // 设置作者信息
-        User author = userMapper.selectById(article.getAuthorId());
-        if (author != null) {
-            ArticleVO.AuthorInfo authorInfo = new ArticleVO.AuthorInfo();
-            authorInfo.setId(author.getId());
-            authorInfo.setUsername(author.getUsername());
-            authorInfo.setNickname(author.getNickname());
-            authorInfo.setAvatar(author.getAvatar());
-            articleVO.setAuthor(authorInfo);
-        }
-        
-        // 设置分类信息
-        if (article.getCategoryId() != null) {
-            Category category = categoryMapper.selectById(article.getCategoryId());
+        return buildArticleVOList(Collections.singletonList(article)).get(0);
+    }
+
+    /**
+     * 批量构建文章VO
+     * 作者、分类、标签各通过一次 IN 查询取回，再在内存中组装，避免逐篇查询
+     *
+     * @param articles 文章列表
+     * @return 文章VO列表（顺序与入参一致）
+     */
+    private List<ArticleVO> buildArticleVOList(List<Article> articles) {
+        if (articles == null || articles.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // 1. 批量查询作者
+        Set<Long> authorIds = articles.stream()
+                .map(Article::getAuthorId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, User> userMap = authorIds.isEmpty() ? Collections.emptyMap()
+                : userMapper.selectBatchIds(authorIds).stream()
+                        .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        // 2. 批量查询分类
+        Set<Long> categoryIds = articles.stream()
+                .map(Article::getCategoryId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Category> categoryMap = categoryIds.isEmpty() ? Collections.emptyMap()
+                : categoryMapper.selectBatchIds(categoryIds).stream()
+                        .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        // 3. 批量查询文章标签关联及标签
+        List<Long> articleIds = articles.stream()
+                .map(Article::getId)
+                .collect(Collectors.toList());
+        QueryWrapper<ArticleTag> tagQuery = new QueryWrapper<>();
+        tagQuery.in("article_id", articleIds);
+        Map<Long, List<Long>> articleTagIdMap = articleTagMapper.selectList(tagQuery).stream()
+                .collect(Collectors.groupingBy(ArticleTag::getArticleId,
+                        Collectors.mapping(ArticleTag::getTagId, Collectors.toList())));
+        Set<Long> tagIds = articleTagIdMap.values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toSet());
+        Map<Long, Tag> tagMap = tagIds.isEmpty() ? Collections.emptyMap()
+                : tagMapper.selectBatchIds(tagIds).stream()
+                        .collect(Collectors.toMap(Tag::getId, Function.identity()));
+
+        // 4. 内存组装
+        List<ArticleVO> articleVOs = new ArrayList<>(articles.size());
+        for (Article article : articles) {
+            ArticleVO articleVO = new ArticleVO();
+            BeanUtils.copyProperties(article, articleVO);
+
+            // 合并尚未写回数据库的浏览量
+            long pendingViews = articleViewService.getPendingCount(article.getId());
+            if (pendingViews > 0) {
+                int viewCount = article.getViewCount() != null ? article.getViewCount() : 0;
+                articleVO.setViewCount((int) (viewCount + pendingViews));
+            }
+
+            // 设置作者信息
+            User author = userMap.get(article.getAuthorId());
+            if (author != null) {
+                ArticleVO.AuthorInfo authorInfo = new ArticleVO.AuthorInfo();
+                authorInfo.setId(author.getId());
+                authorInfo.setUsername(author.getUsername());
+                authorInfo.setNickname(author.getNickname());
+                authorInfo.setAvatar(author.getAvatar());
+                articleVO.setAuthor(authorInfo);
+            }
+
+            // 设置分类信息
+            Category category = article.getCategoryId() != null ? categoryMap.get(article.getCategoryId()) : null;
             if (category != null) {
                 ArticleVO.CategoryInfo categoryInfo = new ArticleVO.CategoryInfo();
                 categoryInfo.setId(category.getId());
@@ -577,32 +782,28 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
                 categoryInfo.setSlug(category.getSlug());
                 articleVO.setCategory(categoryInfo);
             }
-        }
-        
-        // 设置标签信息
-        QueryWrapper<ArticleTag> tagQuery = new QueryWrapper<>();
-        tagQuery.eq("article_id", article.getId());
-        List<ArticleTag> articleTags = articleTagMapper.selectList(tagQuery);
-        
-        if (!articleTags.isEmpty()) {
-            List<Long> tagIds = articleTags.stream()
-                    .map(ArticleTag::getTagId)
-                    .collect(Collectors.toList());
-            
-            List<Tag> tags = tagMapper.selectBatchIds(tagIds);
-            List<ArticleVO.TagInfo> tagInfos = tags.stream().map(tag -> {
-                ArticleVO.TagInfo tagInfo = new ArticleVO.TagInfo();
-                tagInfo.setId(tag.getId());
-                tagInfo.setName(tag.getName());
-                tagInfo.setSlug(tag.getSlug());
-                tagInfo.setColor(tag.getColor());
-                return tagInfo;
-            }).collect(Collectors.toList());
-            
-            articleVO.setTags(tagInfos);
+
+            // 设置标签信息
+            List<Long> articleTagIds = articleTagIdMap.get(article.getId());
+            if (articleTagIds != null && !articleTagIds.isEmpty()) {
+                List<ArticleVO.TagInfo> tagInfos = articleTagIds.stream()
+                        .map(tagMap::get)
+                        .filter(Objects::nonNull)
+                        .map(tag -> {
+                            ArticleVO.TagInfo tagInfo = new ArticleVO.TagInfo();
+                            tagInfo.setId(tag.getId());
+                            tagInfo.setName(tag.getName());
+                            tagInfo.setSlug(tag.getSlug());
+                            tagInfo.setColor(tag.getColor());
+                            return tagInfo;
+                        }).collect(Collectors.toList());
+                articleVO.setTags(tagInfos);
+            }
+
+            articleVOs.add(articleVO);
         }
 
-        return articleVO;
+        return articleVOs;
     }
 
     @Override
@@ -622,8 +823,8 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
         if (article.getStatus() == 0) {
             // 草稿状态，需要检查权限
             try {
-                User currentUser = getCurrentLoginUser(request);
-                if (!hasPermission(articleId, currentUser.getId())) {
+                User currentUser = userService.getCurrentLoginUser(request);
+                if (!hasPermission(article, currentUser)) {
                     throw new BusinessException(ErrorCode.FORBIDDEN_ERROR, "文章不存在或无权限访问");
                 }
             } catch (BusinessException e) {
@@ -635,8 +836,8 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
         } else if (article.getStatus() == 1) {
             // 审核中状态，需要检查权限
             try {
-                User currentUser = getCurrentLoginUser(request);
-                if (!hasPermission(articleId, currentUser.getId())) {
+                User currentUser = userService.getCurrentLoginUser(request);
+                if (!hasPermission(article, currentUser)) {
                     throw new BusinessException(ErrorCode.FORBIDDEN_ERROR, "文章正在审核中");
                 }
             } catch (BusinessException e) {
@@ -654,8 +855,84 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             }
         }
 
-        // 5. 构建返回结果（不再自动增加浏览量）
-        return buildArticleVO(article);
+        // 5. 后处理尚未渲染或多次重试仍失败时，读取时渲染，数据库中的结果由后处理补偿任务写回
+        if (article.getContentHtml() == null && article.getContent() != null) {
+            Integer wordCount = calculateWordCount(article.getContent());
+            article.setContentHtml(markdownToHtml(article.getContent()));
+            article.setWordCount(wordCount);
+            article.setReadingTime(calculateReadingTime(wordCount));
+        }
+
+        // 6. 构建返回结果（不再自动增加浏览量），上下篇从导航索引中取
+        ArticleVO articleVO = buildArticleVO(article);
+        articleNavigationService.fillNavigation(articleVO);
+        return articleVO;
+    }
+
+    @Override
+    public ArticleVO getArticleDetailBySlug(String slug, String password, HttpServletRequest request) {
+        if (StringUtils.isBlank(slug)) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章别名不能为空");
+        }
+
+        Long articleId = articleSlugIndexService.getArticleId(slug);
+        if (articleId == null) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章不存在");
+        }
+        return getArticleDetail(articleId, password, request);
+    }
+
+    @Override
+    public ArticleProcessVO getArticleProcessProgress(Long articleId, HttpServletRequest request) {
+        if (articleId == null || articleId <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章ID不能为空");
+        }
+
+        User currentUser = userService.getCurrentLoginUser(request);
+        if (!hasPermission(this.getById(articleId), currentUser)) {
+            throw new BusinessException(ErrorCode.FORBIDDEN_ERROR, "无权限查看此文章");
+        }
+
+        ArticleProcessVO progress = articleProcessService.getProgress(articleId);
+        if (progress == null) {
+            throw new BusinessException(ErrorCode.NOT_FOUND_ERROR, "没有该文章的处理记录");
+        }
+        return progress;
+    }
+
+    @Override
+    public ArticleVersion getPublicArticleVersion(Long articleId) {
+        if (articleId == null || articleId <= 0) {
+            return null;
+        }
+
+        // 只查询版本相关字段
+        QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("id", "status", "password", "updated_time", "view_count", "like_count", "comment_count")
+                   .eq("id", articleId);
+        Article article = this.getOne(queryWrapper);
+
+        // 需要权限校验或密码的文章不参与缓存
+        if (article == null || article.getStatus() != 2 || StringUtils.isNotBlank(article.getPassword())
+                || article.getUpdateTime() == null) {
+            return null;
+        }
+
+        // 版本由详情的全部输入组成：文章ID、文章及作者、分类、标签的最近更新时间、已写回的计数器和相邻文章
+        // 缓存的详情使用同一个已写回的浏览量，未写回的浏览量随写回周期推进版本
+        long lastModified = article.getUpdateTime().getTime();
+        Date relatedUpdateTime = baseMapper.selectRelatedUpdateTime(articleId);
+        if (relatedUpdateTime != null) {
+            lastModified = Math.max(lastModified, relatedUpdateTime.getTime());
+        }
+        ArticleVersion version = new ArticleVersion();
+        version.setArticleId(articleId);
+        version.setETag("\"" + articleId + "-" + lastModified + "-" + article.getViewCount() + "-"
+                + article.getLikeCount() + "-" + article.getCommentCount() + "-"
+                + articleNavigationService.getNavigationTag(articleId) + "\"");
+        version.setLastModified(lastModified);
+        version.setViewCount(article.getViewCount());
+        return version;
     }
 
     @Override
@@ -670,70 +947,269 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             return false;
         }
 
-        // 2. 获取用户信息
+        // 2. 文章作者有权限，无需再查询用户
+        if (article.getAuthorId().equals(userId)) {
+            return true;
+        }
+
+        // 3. 获取用户信息
         User user = userMapper.selectById(userId);
-        if (user == null) {
+        return hasPermission(article, user);
+    }
+
+    /**
+     * 检查用户对文章的操作权限，直接使用调用方已加载的文章和用户，不再查询数据库
+     *
+     * @param article 文章
+     * @param user 用户
+     * @return 是否有权限
+     */
+    private boolean hasPermission(Article article, User user) {
+        if (article == null || user == null) {
             return false;
         }
 
-        // 3. 检查权限
         // 文章作者有权限
-        if (article.getAuthorId().equals(userId)) {
+        if (article.getAuthorId().equals(user.getId())) {
             return true;
         }
 
         // 管理员有权限
-        if ("admin".equals(user.getRole())) {
-            return true;
-        }
-
-        return false;
+        return UserConstant.ADMIN_ROLE.equals(user.getRole());
     }
 
-    /**
-     * 获取当前登录用户（已验证权限）
-     *
-     * @param request HTTP请求对象
-     * @return 当前登录用户
-     */
-    private User getCurrentLoginUser(HttpServletRequest request) {
-        if (request == null) {
+    @Override
+    public PageVO<ArticleVO> getArticleList(ArticleQueryRequest articleQueryRequest) {
+        if (articleQueryRequest == null) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "请求参数为空");
         }
 
-        // 获取当前登录用户
-        Object userObj = request.getSession().getAttribute(UserConstant.USER_LOGIN_STATE);
-        User currentUser = (User) userObj;
-
-        if (currentUser == null || currentUser.getId() == null) {
-            throw new BusinessException(ErrorCode.NOT_LOGIN_ERROR, "用户未登录");
+        // 首页默认列表直接读取快照
+        HomepageSnapshot snapshot = homepageSnapshot;
+        if (snapshot != null && isHomepageQuery(articleQueryRequest)) {
+            List<ArticleVO> records = snapshot.firstPage.subList(0,
+                Math.min(articleQueryRequest.getSize(), snapshot.firstPage.size()));
+            return new PageVO<>(records, snapshot.total, articleQueryRequest.getCurrent(), articleQueryRequest.getSize());
         }
 
-        // 从数据库查询最新的用户信息
-        Long userId = currentUser.getId();
-        User user = userMapper.selectById(userId);
+        // 标签筛选由位图索引求出当前页的文章ID和总数，数据库只按主键取回当前页
+        List<Long> tagIds = resolveTagIds(articleQueryRequest);
+        if (isTagIndexQuery(articleQueryRequest, tagIds)) {
+            PageVO<Long> idPage = articleTagIndexService.pageArticleIds(tagIds, isMatchAllTags(articleQueryRequest),
+                articleQueryRequest.getCategoryId(), articleQueryRequest.getIsTop(),
+                articleQueryRequest.getCurrent(), articleQueryRequest.getSize());
+            List<ArticleVO> articleVOs = buildArticleVOList(listPublishedArticlesByIds(idPage.getRecords()));
+            return new PageVO<>(articleVOs, idPage.getTotal(),
+                articleQueryRequest.getCurrent(), articleQueryRequest.getSize());
+        }
 
-        if (user == null) {
-            throw new BusinessException(ErrorCode.NOT_LOGIN_ERROR, "用户不存在");
+        // 构建查询条件
+        QueryWrapper<Article> queryWrapper = ArticleQueryUtils.listQueryWrapper();
+        if (!applyArticleListFilters(queryWrapper, articleQueryRequest)) {
+            // 如果没有找到相关文章，返回空结果
+            return new PageVO<>(new ArrayList<>(), 0L, articleQueryRequest.getCurrent(), articleQueryRequest.getSize());
         }
 
-        // 检查用户状态
-        if (user.getStatus() != 1) {
-            throw new BusinessException(ErrorCode.FORBIDDEN_ERROR, "账号已被禁用");
+        // 排序
+        String sortField = articleQueryRequest.getSortField();
+        String sortOrder = articleQueryRequest.getSortOrder();
+
+        if (StringUtils.isNotBlank(sortField)) {
+            boolean isAsc = "asc".equalsIgnoreCase(sortOrder);
+
+            switch (sortField) {
+                case "publishedTime":
+                    if (isAsc) {
+                        queryWrapper.orderByAsc("published_time");
+                    } else {
+                        queryWrapper.orderByDesc("published_time");
+                    }
+                    break;
+                case "viewCount":
+                    if (isAsc) {
+                        queryWrapper.orderByAsc("view_count");
+                    } else {
+                        queryWrapper.orderByDesc("view_count");
+                    }
+                    break;
+                case "likeCount":
+                    if (isAsc) {
+                        queryWrapper.orderByAsc("like_count");
+                    } else {
+                        queryWrapper.orderByDesc("like_count");
+                    }
+                    break;
+                default:
+                    // 默认按发布时间倒序
+                    queryWrapper.orderByDesc("published_time");
+                    break;
+            }
+        } else {
+            // 默认排序：置顶文章在前，然后按发布时间倒序
+            queryWrapper.orderByDesc("is_top", "published_time");
         }
 
-        return user;
+        // 分页查询，总数按筛选条件缓存
+        Page<Article> page = new Page<>(articleQueryRequest.getCurrent(), articleQueryRequest.getSize());
+        Page<Article> articlePage = pageCountService.page("blog_article", page, queryWrapper, this::page);
+
+        // 转换为VO
+        List<ArticleVO> articleVOs = buildArticleVOList(articlePage.getRecords());
+
+        return new PageVO<>(articleVOs, articlePage.getTotal(),
+            articleQueryRequest.getCurrent(), articleQueryRequest.getSize());
     }
 
     @Override
-    public PageVO<ArticleVO> getArticleList(ArticleQueryRequest articleQueryRequest) {
+    public CursorPageVO<ArticleVO> getArticleListByCursor(ArticleQueryRequest articleQueryRequest) {
         if (articleQueryRequest == null) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "请求参数为空");
         }
 
-        // 构建查询条件
-        QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+        // 游标分页只支持默认排序：置顶在前，然后按发布时间、ID倒序
+        String sortField = articleQueryRequest.getSortField();
+        if (StringUtils.isNotBlank(sortField) && !"publishedTime".equals(sortField)) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "游标分页仅支持按发布时间排序");
+        }
+        if (StringUtils.isNotBlank(sortField) && "asc".equalsIgnoreCase(articleQueryRequest.getSortOrder())) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "游标分页仅支持倒序");
+        }
 
+        int size = articleQueryRequest.getSize();
+        if (size <= 0 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "每页大小必须在1-" + MAX_CURSOR_PAGE_SIZE + "之间");
+        }
+
+        ArticleCursorUtils.ArticleCursor cursor = null;
+        if (StringUtils.isNotBlank(articleQueryRequest.getCursor())) {
+            cursor = ArticleCursorUtils.decode(articleQueryRequest.getCursor());
+            if (cursor == null) {
+                throw new BusinessException(ErrorCode.PARAMS_ERROR, "游标无效");
+            }
+        }
+
+        // 按置顶分段查询，每段内部在 (published_time, id) 上定位，避免跨段的 OR 条件导致无法使用索引
+        List<Article> articles = new ArrayList<>(size + 1);
+        boolean startFromTop = cursor == null || cursor.isTop();
+        if (startFromTop && !Boolean.FALSE.equals(articleQueryRequest.getIsTop())) {
+            articles.addAll(listArticleSegment(articleQueryRequest, true, cursor, size + 1));
+        }
+        if (articles.size() <= size && !Boolean.TRUE.equals(articleQueryRequest.getIsTop())) {
+            // 从置顶段进入非置顶段时从头开始
+            ArticleCursorUtils.ArticleCursor segmentCursor = cursor != null && !cursor.isTop() ? cursor : null;
+            articles.addAll(listArticleSegment(articleQueryRequest, false, segmentCursor, size + 1 - articles.size()));
+        }
+
+        // 多取一条用于判断是否还有下一页，不需要COUNT查询
+        boolean hasMore = articles.size() > size;
+        if (hasMore) {
+            articles = articles.subList(0, size);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            Article last = articles.get(articles.size() - 1);
+            nextCursor = ArticleCursorUtils.encode(Boolean.TRUE.equals(last.getIsTop()),
+                last.getPublishedTime().getTime(), last.getId());
+        }
+
+        return new CursorPageVO<>(buildArticleVOList(articles), nextCursor, hasMore, (long) size);
+    }
+
+    /**
+     * 查询置顶或非置顶段内游标之后的文章
+     *
+     * @param articleQueryRequest 查询请求
+     * @param isTop 是否置顶段
+     * @param cursor 段内游标，为空时从段首开始
+     * @param limit 查询数量
+     * @return 文章列表
+     */
+    private List<Article> listArticleSegment(ArticleQueryRequest articleQueryRequest, boolean isTop,
+                                             ArticleCursorUtils.ArticleCursor cursor, int limit) {
+        QueryWrapper<Article> queryWrapper = ArticleQueryUtils.listQueryWrapper();
+        if (!applyArticleListFilters(queryWrapper, articleQueryRequest)) {
+            return Collections.emptyList();
+        }
+
+        queryWrapper.eq("is_top", isTop)
+                   .isNotNull("published_time");
+
+        // (published_time, id) < (游标发布时间, 游标ID)
+        if (cursor != null) {
+            Date publishedTime = new Date(cursor.getPublishedTime());
+            Long id = cursor.getId();
+            queryWrapper.and(wrapper -> wrapper
+                .lt("published_time", publishedTime)
+                .or(w -> w.eq("published_time", publishedTime).lt("id", id))
+            );
+        }
+
+        queryWrapper.orderByDesc("published_time", "id")
+                   .last("LIMIT " + limit);
+        return this.list(queryWrapper);
+    }
+
+    /**
+     * 保存文章标签关联
+     * 与已有关联做差集，只删除被移除的标签、插入新增的标签，新增部分用一条多值 INSERT 写入，
+     * 标签未变化时不产生任何写操作
+     *
+     * @param articleId 文章ID
+     * @param tagIds 新的标签ID列表
+     * @return 被移除的标签ID
+     */
+    private List<Long> saveArticleTags(Long articleId, List<Long> tagIds) {
+        Set<Long> existingTagIds = new HashSet<>(listArticleTagIds(articleId));
+        Set<Long> newTagIds = new LinkedHashSet<>(tagIds);
+
+        List<Long> removedTagIds = existingTagIds.stream()
+                .filter(tagId -> !newTagIds.contains(tagId))
+                .collect(Collectors.toList());
+        if (!removedTagIds.isEmpty()) {
+            QueryWrapper<ArticleTag> deleteQuery = new QueryWrapper<>();
+            deleteQuery.eq("article_id", articleId).in("tag_id", removedTagIds);
+            articleTagMapper.delete(deleteQuery);
+        }
+
+        Date now = new Date();
+        List<ArticleTag> addedArticleTags = new ArrayList<>();
+        for (Long tagId : newTagIds) {
+            if (existingTagIds.contains(tagId)) {
+                continue;
+            }
+            ArticleTag articleTag = new ArticleTag();
+            articleTag.setId(IdWorker.getId(articleTag));
+            articleTag.setArticleId(articleId);
+            articleTag.setTagId(tagId);
+            articleTag.setCreateTime(now);
+            addedArticleTags.add(articleTag);
+        }
+        if (!addedArticleTags.isEmpty()) {
+            articleTagMapper.insertBatch(addedArticleTags);
+        }
+        return removedTagIds;
+    }
+
+    /**
+     * 查询文章关联的标签ID
+     */
+    private List<Long> listArticleTagIds(Long articleId) {
+        QueryWrapper<ArticleTag> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("tag_id").eq("article_id", articleId);
+        return articleTagMapper.selectObjs(queryWrapper).stream()
+                .map(tagId -> ((Number) tagId).longValue())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 应用文章列表的公共筛选条件
+     *
+     * @param queryWrapper 查询条件
+     * @param articleQueryRequest 查询请求
+     * @return 是否可能有结果，标签下没有文章时返回 false
+     */
+    private boolean applyArticleListFilters(QueryWrapper<Article> queryWrapper, ArticleQueryRequest articleQueryRequest) {
         // 只查询已发布的文章（对外接口）
         queryWrapper.eq("status", 2);
 
@@ -775,72 +1251,84 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
         }
 
         // 标签筛选（需要关联查询）
-        if (articleQueryRequest.getTagId() != null) {
-            QueryWrapper<ArticleTag> tagQuery = new QueryWrapper<>();
-            tagQuery.eq("tag_id", articleQueryRequest.getTagId());
-            List<ArticleTag> articleTags = articleTagMapper.selectList(tagQuery);
-
-            if (!articleTags.isEmpty()) {
-                List<Long> articleIds = articleTags.stream()
-                    .map(ArticleTag::getArticleId)
-                    .collect(Collectors.toList());
-                queryWrapper.in("id", articleIds);
-            } else {
-                // 如果没有找到相关文章，返回空结果
-                return new PageVO<>(new ArrayList<>(), 0L, articleQueryRequest.getCurrent(), articleQueryRequest.getSize());
+        List<Long> tagIds = resolveTagIds(articleQueryRequest);
+        if (!tagIds.isEmpty()) {
+            List<Long> articleIds = listArticleIdsByTags(tagIds, isMatchAllTags(articleQueryRequest),
+                articleQueryRequest.getCategoryId());
+            if (articleIds.isEmpty()) {
+                return false;
             }
+            queryWrapper.in("id", articleIds);
         }
 
-        // 排序
-        String sortField = articleQueryRequest.getSortField();
-        String sortOrder = articleQueryRequest.getSortOrder();
-
-        if (StringUtils.isNotBlank(sortField)) {
-            boolean isAsc = "asc".equalsIgnoreCase(sortOrder);
+        return true;
+    }
 
-            switch (sortField) {
-                case "publishedTime":
-                    if (isAsc) {
-                        queryWrapper.orderByAsc("published_time");
-                    } else {
-                        queryWrapper.orderByDesc("published_time");
-                    }
-                    break;
-                case "viewCount":
-                    if (isAsc) {
-                        queryWrapper.orderByAsc("view_count");
-                    } else {
-                        queryWrapper.orderByDesc("view_count");
-                    }
-                    break;
-                case "likeCount":
-                    if (isAsc) {
-                        queryWrapper.orderByAsc("like_count");
-                    } else {
-                        queryWrapper.orderByDesc("like_count");
-                    }
-                    break;
-                default:
-                    // 默认按发布时间倒序
-                    queryWrapper.orderByDesc("published_time");
-                    break;
-            }
-        } else {
-            // 默认排序：置顶文章在前，然后按发布时间倒序
-            queryWrapper.orderByDesc("is_top", "published_time");
+    /**
+     * 合并 tagId 和 tagIds 两个筛选参数
+     */
+    private List<Long> resolveTagIds(ArticleQueryRequest articleQueryRequest) {
+        Set<Long> tagIds = new LinkedHashSet<>();
+        if (articleQueryRequest.getTagId() != null) {
+            tagIds.add(articleQueryRequest.getTagId());
+        }
+        if (articleQueryRequest.getTagIds() != null) {
+            articleQueryRequest.getTagIds().stream().filter(Objects::nonNull).forEach(tagIds::add);
         }
+        return new ArrayList<>(tagIds);
+    }
 
-        // 分页查询
-        Page<Article> page = new Page<>(articleQueryRequest.getCurrent(), articleQueryRequest.getSize());
-        Page<Article> articlePage = this.page(page, queryWrapper);
+    private boolean isMatchAllTags(ArticleQueryRequest articleQueryRequest) {
+        return "all".equalsIgnoreCase(articleQueryRequest.getTagMode());
+    }
 
-        // 转换为VO
-        List<ArticleVO> articleVOs = articlePage.getRecords().stream()
-            .map(this::buildArticleVO)
+    /**
+     * 查询匹配标签的已发布文章ID，位图索引可用时不访问数据库
+     */
+    private List<Long> listArticleIdsByTags(List<Long> tagIds, boolean matchAll, Long categoryId) {
+        if (articleTagIndexService.isReady()) {
+            return articleTagIndexService.listArticleIds(tagIds, matchAll, categoryId);
+        }
+
+        QueryWrapper<ArticleTag> tagQuery = new QueryWrapper<>();
+        tagQuery.select("article_id").in("tag_id", tagIds).groupBy("article_id");
+        if (matchAll) {
+            tagQuery.having("COUNT(DISTINCT tag_id) = {0}", tagIds.size());
+        }
+        return articleTagMapper.selectObjs(tagQuery).stream()
+            .map(articleId -> ((Number) articleId).longValue())
             .collect(Collectors.toList());
+    }
 
-        return new PageVO<>(articleVOs, articlePage.getTotal(),
-            articleQueryRequest.getCurrent(), articleQueryRequest.getSize());
+    /**
+     * 是否可以完全由位图索引完成筛选和排序：只有标签、分类、置顶条件，默认排序
+     */
+    private boolean isTagIndexQuery(ArticleQueryRequest request, List<Long> tagIds) {
+        return !tagIds.isEmpty()
+            && articleTagIndexService.isReady()
+            && request.getAuthorId() == null
+            && StringUtils.isBlank(request.getKeyword())
+            && (request.getStatus() == null || request.getStatus() == 2)
+            && request.getIsRecommend() == null
+            && StringUtils.isBlank(request.getSortField());
+    }
+
+    /**
+     * 按主键批量查询已发布文章，保持传入的顺序
+     */
+    private List<Article> listPublishedArticlesByIds(List<Long> articleIds) {
+        if (articleIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        QueryWrapper<Article> queryWrapper = ArticleQueryUtils.listQueryWrapper();
+        queryWrapper.in("id", articleIds);
+        Map<Long, Article> articleMap = this.list(queryWrapper).stream()
+            .filter(article -> Integer.valueOf(2).equals(article.getStatus()))
+            .collect(Collectors.toMap(Article::getId, Function.identity()));
+        return articleIds.stream()
+            .map(articleMap::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
     }
 
     @Override
@@ -852,21 +1340,108 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             days = 7;
         }
 
+        // 排行未初始化完成时退回数据库排序
+        if (!hotArticleService.isReady()) {
+            return getHotArticlesFromDatabase(limit, days);
+        }
+
+        // 从热度排行快照中读取文章ID，再按主键批量查询
+        List<Long> articleIds = hotArticleService.getHotArticleIds(limit, days);
+        return buildArticleVOList(listPublishedArticlesByIds(articleIds));
+    }
+
+    @Override
+    public List<ArticleVO> getRelatedArticles(Long articleId, Integer limit) {
+        if (articleId == null || articleId <= 0) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章ID不能为空");
+        }
+        if (limit == null || limit <= 0) {
+            limit = 5;
+        }
+        limit = Math.min(limit, 20);
+
+        // 索引只包含已发布文章，未加载完成或文章不在索引中时返回空列表
+        List<Long> articleIds = articleRelatedService.listRelatedArticleIds(articleId, limit);
+        return buildArticleVOList(listPublishedArticlesByIds(articleIds));
+    }
+
+    @Override
+    public List<ArticleArchiveVO> getArchives() {
+        if (articleArchiveService.isReady()) {
+            return articleArchiveService.listArchives();
+        }
+
+        // 归档索引未加载完成时按月份分组统计
+        QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("YEAR(published_time) AS year", "MONTH(published_time) AS month", "COUNT(*) AS count")
+                   .eq("status", 2)
+                   .isNotNull("published_time")
+                   .groupBy("YEAR(published_time)", "MONTH(published_time)")
+                   .orderByDesc("year", "month");
+        List<ArticleArchiveVO> archives = new ArrayList<>();
+        for (Map<String, Object> row : this.listMaps(queryWrapper)) {
+            ArticleArchiveVO archive = new ArticleArchiveVO();
+            archive.setYear(((Number) row.get("year")).intValue());
+            archive.setMonth(((Number) row.get("month")).intValue());
+            archive.setCount(((Number) row.get("count")).intValue());
+            archives.add(archive);
+        }
+        return archives;
+    }
+
+    @Override
+    public PageVO<ArticleVO> getArchiveArticles(Integer year, Integer month, Integer current, Integer size) {
+        if (year == null || year < 1970 || year > 9999) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "年份不合法");
+        }
+        if (month == null || month < 1 || month > 12) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "月份必须在1-12之间");
+        }
+        if (current == null || current <= 0) {
+            current = 1;
+        }
+        if (size == null || size <= 0 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "每页大小必须在1-" + MAX_CURSOR_PAGE_SIZE + "之间");
+        }
+
+        // 归档索引求出当前页的文章ID和当月总数，数据库只按主键取回当前页
+        if (articleArchiveService.isReady()) {
+            PageVO<Long> idPage = articleArchiveService.pageArticleIds(year, month, current, size);
+            List<ArticleVO> articleVOs = buildArticleVOList(listPublishedArticlesByIds(idPage.getRecords()));
+            return new PageVO<>(articleVOs, idPage.getTotal(), current, size);
+        }
+
+        LocalDateTime start = LocalDate.of(year, month, 1).atStartOfDay();
+        QueryWrapper<Article> queryWrapper = ArticleQueryUtils.listQueryWrapper();
+        queryWrapper.eq("status", 2)
+                   .ge("published_time", Date.from(start.atZone(ZoneId.systemDefault()).toInstant()))
+                   .lt("published_time", Date.from(start.plusMonths(1).atZone(ZoneId.systemDefault()).toInstant()))
+                   .orderByDesc("published_time", "id");
+        Page<Article> articlePage = this.page(new Page<>(current, size), queryWrapper);
+        return new PageVO<>(buildArticleVOList(articlePage.getRecords()), articlePage.getTotal(), current, size);
+    }
+
+    /**
+     * 按累计浏览量、点赞数从数据库查询热门文章
+     *
+     * @param limit 返回数量
+     * @param days 统计天数
+     * @return 热门文章列表
+     */
+    private List<ArticleVO> getHotArticlesFromDatabase(int limit, int days) {
         // 计算时间范围
         LocalDateTime endTime = LocalDateTime.now();
         LocalDateTime startTime = endTime.minusDays(days);
         Date startDate = Date.from(startTime.atZone(ZoneId.systemDefault()).toInstant());
 
-        QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+        QueryWrapper<Article> queryWrapper = ArticleQueryUtils.listQueryWrapper();
         queryWrapper.eq("status", 2) // 只查询已发布的文章
                    .ge("published_time", startDate) // 在指定天数内发布的
                    .orderByDesc("view_count", "like_count", "published_time") // 按浏览量、点赞数、发布时间排序
                    .last("LIMIT " + limit);
 
         List<Article> articles = this.list(queryWrapper);
-        return articles.stream()
-            .map(this::buildArticleVO)
-            .collect(Collectors.toList());
+        return buildArticleVOList(articles);
     }
 
     @Override
@@ -875,41 +1450,143 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             limit = 10;
         }
 
-        QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+        HomepageSnapshot snapshot = homepageSnapshot;
+        if (snapshot != null && limit <= HOMEPAGE_RECOMMEND_SIZE) {
+            return snapshot.recommendArticles.subList(0, Math.min(limit, snapshot.recommendArticles.size()));
+        }
+        if (snapshot == null) {
+            refreshHomepageSnapshot();
+        }
+
+        return buildArticleVOList(listRecommendArticles(limit));
+    }
+
+    @Override
+    public List<ArticleVO> getTopArticles() {
+        HomepageSnapshot snapshot = homepageSnapshot;
+        if (snapshot != null) {
+            return snapshot.topArticles;
+        }
+        refreshHomepageSnapshot();
+
+        return buildArticleVOList(listTopArticles());
+    }
+
+    /**
+     * 查询推荐文章
+     */
+    private List<Article> listRecommendArticles(int limit) {
+        QueryWrapper<Article> queryWrapper = ArticleQueryUtils.listQueryWrapper();
         queryWrapper.eq("status", 2) // 只查询已发布的文章
                    .eq("is_recommend", true) // 推荐文章
                    .orderByDesc("published_time") // 按发布时间倒序
                    .last("LIMIT " + limit);
 
-        List<Article> articles = this.list(queryWrapper);
-        return articles.stream()
-            .map(this::buildArticleVO)
-            .collect(Collectors.toList());
+        return this.list(queryWrapper);
     }
 
-    @Override
-    public List<ArticleVO> getTopArticles() {
-        QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+    /**
+     * 查询置顶文章
+     */
+    private List<Article> listTopArticles() {
+        QueryWrapper<Article> queryWrapper = ArticleQueryUtils.listQueryWrapper();
         queryWrapper.eq("status", 2) // 只查询已发布的文章
                    .eq("is_top", true) // 置顶文章
                    .orderByDesc("published_time"); // 按发布时间倒序
 
-        List<Article> articles = this.list(queryWrapper);
-        return articles.stream()
-            .map(this::buildArticleVO)
-            .collect(Collectors.toList());
+        return this.list(queryWrapper);
+    }
+
+    /**
+     * 是否为首页默认列表查询：无筛选条件、默认排序、第一页
+     */
+    private boolean isHomepageQuery(ArticleQueryRequest request) {
+        return request.getCurrent() == 1
+            && request.getSize() > 0 && request.getSize() <= HOMEPAGE_PAGE_SIZE
+            && request.getCategoryId() == null
+            && request.getTagId() == null
+            && (request.getTagIds() == null || request.getTagIds().isEmpty())
+            && request.getAuthorId() == null
+            && StringUtils.isBlank(request.getKeyword())
+            && (request.getStatus() == null || request.getStatus() == 2)
+            && request.getIsTop() == null
+            && request.getIsRecommend() == null
+            && StringUtils.isBlank(request.getSortField());
+    }
+
+    /**
+     * 在当前事务提交后重建首页快照，没有事务时立即重建
+     */
+    private void refreshHomepageAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshHomepageSnapshot();
+                }
+            });
+        } else {
+            refreshHomepageSnapshot();
+        }
+    }
+
+    /**
+     * 异步重建首页快照，已有等待中的任务时直接合并
+     * 同时定时执行，用于刷新快照中的浏览量、点赞数等统计字段
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${article.homepage.refresh-interval:60000}")
+    public void refreshHomepageSnapshot() {
+        if (!homepageRefreshPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            homepageRefreshExecutor.execute(() -> {
+                homepageRefreshPending.set(false);
+                try {
+                    homepageSnapshot = buildHomepageSnapshot();
+                } catch (Exception e) {
+                    log.error("首页文章快照重建失败，继续使用旧快照", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            homepageRefreshPending.set(false);
+        }
+    }
+
+    /**
+     * 查询并组装首页快照
+     */
+    private HomepageSnapshot buildHomepageSnapshot() {
+        List<ArticleVO> topArticles = buildArticleVOList(listTopArticles());
+        List<ArticleVO> recommendArticles = buildArticleVOList(listRecommendArticles(HOMEPAGE_RECOMMEND_SIZE));
+
+        // 与 getArticleList 默认查询一致：置顶在前，然后按发布时间倒序
+        QueryWrapper<Article> queryWrapper = ArticleQueryUtils.listQueryWrapper();
+        queryWrapper.eq("status", 2)
+                   .orderByDesc("is_top", "published_time");
+        Page<Article> articlePage = this.page(new Page<>(1, HOMEPAGE_PAGE_SIZE), queryWrapper);
+        List<ArticleVO> firstPage = buildArticleVOList(articlePage.getRecords());
+
+        return new HomepageSnapshot(topArticles, recommendArticles, firstPage, articlePage.getTotal());
+    }
+
+    @PreDestroy
+    public void shutdownHomepageRefresh() {
+        homepageRefreshExecutor.shutdownNow();
     }
 
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public Boolean addArticleView(Long articleId, HttpServletRequest request) {
         // 1. 参数校验
         if (articleId == null || articleId <= 0) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章ID不能为空");
         }
 
-        // 2. 检查文章是否存在
-        Article article = this.getById(articleId);
+        // 2. 检查文章是否存在（只查询状态字段）
+        QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("id", "status").eq("id", articleId);
+        Article article = this.getOne(queryWrapper);
         if (article == null) {
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章不存在");
         }
@@ -919,20 +1596,14 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章未发布");
         }
 
-        // 4. 直接增加浏览量（简化实现）
-        Article updateArticle = new Article();
-        updateArticle.setId(articleId);
-        updateArticle.setViewCount(article.getViewCount() + 1);
-        updateArticle.setUpdateTime(new Date());
-
-        boolean updateResult = this.updateById(updateArticle);
-        if (!updateResult) {
-            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "浏览量更新失败");
-        }
+        // 4. 记录到内存计数器，由定时任务合并写回数据库
+        articleViewService.increment(articleId);
+        hotArticleService.recordView(articleId);
 
         // 5. 记录日志
         String ipAddress = getClientIpAddress(request);
-        log.info("文章浏览量增加成功，文章ID：{}，IP：{}，新浏览量：{}", articleId, ipAddress, article.getViewCount() + 1);
+        log.debug("文章浏览量增加成功，文章ID：{}，IP：{}，待写回浏览量：{}",
+                articleId, ipAddress, articleViewService.getPendingCount(articleId));
 
         return true;
     }
@@ -969,7 +1640,7 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
         }
 
         // 2. 构建查询条件
-        QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+        QueryWrapper<Article> queryWrapper = ArticleQueryUtils.listQueryWrapper();
 
         // 关键词搜索（标题、摘要）
         String keyword = adminArticleQueryRequest.getKeyword();
@@ -1039,9 +1710,9 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             queryWrapper.orderByDesc("created_time");
         }
 
-        // 3. 分页查询
+        // 3. 分页查询，总数按筛选条件缓存
         Page<Article> page = new Page<>(adminArticleQueryRequest.getCurrent(), adminArticleQueryRequest.getSize());
-        Page<Article> articlePage = this.page(page, queryWrapper);
+        Page<Article> articlePage = pageCountService.page("blog_article", page, queryWrapper, this::page);
 
         // 4. 转换为VO
         List<AdminArticleVO> adminArticleVOList = articlePage.getRecords().stream()
@@ -1084,26 +1755,110 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "文章不在审核状态");
         }
 
-        // 5. 更新文章状态
+        // 5. 更新文章状态，审核通过时以当前时间发布
+        boolean result = completeAudit(articleId, status, articleAuditRequest.getAuditReason(), new Date());
+        if (!result) {
+            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "文章审核失败");
+        }
+
+        // 审核结果覆盖定时发布
+        if (article.getScheduledTime() != null) {
+            articleScheduleService.cancel(articleId);
+        }
+
+        return true;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Boolean publishScheduledArticle(Long articleId) {
+        if (articleId == null || articleId <= 0) {
+            return false;
+        }
+
+        // 已取消、改期或已被审核的文章跳过
+        Article article = this.getById(articleId);
+        if (article == null || article.getStatus() != 1 || article.getScheduledTime() == null) {
+            return false;
+        }
+
+        // 时间轮提前触发（如库中时间与内存时间不一致）时按库中时间重新安排，避免任务丢失
+        if (article.getScheduledTime().getTime() > System.currentTimeMillis()) {
+            articleScheduleService.schedule(articleId, article.getScheduledTime());
+            return false;
+        }
+
+        // 发布时间取定时发布时间，与作者设置的一致
+        return completeAudit(articleId, 2, article.getAuditReason(), article.getScheduledTime());
+    }
+
+    /**
+     * 审核中的文章转为已发布或已拒绝，同时清除定时发布时间，并失效详情缓存、刷新首页、提交发布后处理
+     * 以状态仍为审核中作为更新条件，人工审核与定时发布并发时只有一方生效
+     *
+     * @param articleId 文章ID
+     * @param status 目标状态（2:已发布,3:已拒绝）
+     * @param auditReason 审核原因
+     * @param publishedTime 发布时间，仅在发布时使用
+     * @return 是否更新成功
+     */
+    private boolean completeAudit(Long articleId, Integer status, String auditReason, Date publishedTime) {
         Article updateArticle = new Article();
-        updateArticle.setId(articleId);
         updateArticle.setStatus(status);
-        updateArticle.setAuditReason(articleAuditRequest.getAuditReason());
+        updateArticle.setAuditReason(auditReason);
         updateArticle.setUpdateTime(new Date());
-
-        // 如果审核通过，设置发布时间
         if (status == 2) {
-            updateArticle.setPublishedTime(new Date());
+            updateArticle.setPublishedTime(publishedTime);
         }
 
-        boolean result = this.updateById(updateArticle);
-        if (!result) {
-            throw new BusinessException(ErrorCode.SYSTEM_ERROR, "文章审核失败");
+        UpdateWrapper<Article> updateWrapper = new UpdateWrapper<>();
+        updateWrapper.eq("id", articleId)
+                .eq("status", 1)
+                .set("scheduled_time", null);
+        if (!this.update(updateArticle, updateWrapper)) {
+            return false;
         }
 
+        articleDetailCacheService.evict(articleId);
+        refreshHomepageAfterCommit();
+        articleProcessService.submit(articleId, false, null, null);
         return true;
     }
 
+    /**
+     * 校验作者填写的链接，只允许 http 和 https 协议，空值不校验
+     *
+     * @param url  链接
+     * @param name 字段名称
+     */
+    private void validateHttpUrl(String url, String name) {
+        if (StringUtils.isBlank(url)) {
+            return;
+        }
+        if (!NetUtils.isHttpUrl(url)) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, name + "只能是 http 或 https 链接");
+        }
+    }
+
+    /**
+     * 校验定时发布时间，并截断到整秒
+     * scheduled_time 为 DATETIME 类型，MySQL 会对毫秒四舍五入，截断后入库时间与时间轮的到期时间一致
+     *
+     * @param scheduledTime 定时发布时间
+     * @param status 请求的文章状态
+     * @return 截断到整秒的定时发布时间
+     */
+    private Date validateScheduledTime(Date scheduledTime, Integer status) {
+        if (status != 2) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "只有发布状态的文章可以设置定时发布");
+        }
+        Date truncated = new Date(scheduledTime.getTime() - Math.floorMod(scheduledTime.getTime(), 1000L));
+        if (!truncated.after(new Date())) {
+            throw new BusinessException(ErrorCode.PARAMS_ERROR, "定时发布时间必须晚于当前时间");
+        }
+        return truncated;
+    }
+
     @Override
     public Boolean offlineArticle(Long articleId, ArticleOfflineRequest articleOfflineRequest, HttpServletRequest request) {
         // 1. 参数校验
@@ -1146,6 +1901,11 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
             throw new BusinessException(ErrorCode.SYSTEM_ERROR, "文章下架失败");
         }
 
+        hotArticleService.removeArticle(articleId);
+        articleDetailCacheService.evict(articleId);
+        refreshHomepageAfterCommit();
+        articleProcessService.submit(articleId, false, null, null);
+
         return true;
     }
 
@@ -1173,10 +1933,19 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
         }
 
         // 5. 删除文章标签关联
+        List<Long> articleTagIds = listArticleTagIds(articleId);
         QueryWrapper<ArticleTag> deleteQuery = new QueryWrapper<>();
         deleteQuery.eq("article_id", articleId);
         articleTagMapper.delete(deleteQuery);
 
+        if (article.getScheduledTime() != null) {
+            articleScheduleService.cancel(articleId);
+        }
+        hotArticleService.removeArticle(articleId);
+        articleDetailCacheService.evict(articleId);
+        refreshHomepageAfterCommit();
+        articleProcessService.submit(articleId, false, articleTagIds, article.getCategoryId());
+
         return true;
     }
 
@@ -1245,4 +2014,26 @@ public class ArticleServiceImpl extends ServiceImpl<ArticleMapper, Article> impl
 
         return adminArticleVO;
     }
+
+    /**
+     * 首页列表快照，生成后不再修改
+     */
+    private static final class HomepageSnapshot {
+
+        private final List<ArticleVO> topArticles;
+
+        private final List<ArticleVO> recommendArticles;
+
+        private final List<ArticleVO> firstPage;
+
+        private final long total;
+
+        private HomepageSnapshot(List<ArticleVO> topArticles, List<ArticleVO> recommendArticles,
+                                 List<ArticleVO> firstPage, long total) {
+            this.topArticles = Collections.unmodifiableList(topArticles);
+            this.recommendArticles = Collections.unmodifiableList(recommendArticles);
+            this.firstPage = Collections.unmodifiableList(firstPage);
+            this.total = total;
+        }
+    }
 }
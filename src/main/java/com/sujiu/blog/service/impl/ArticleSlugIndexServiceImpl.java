@@ -0,0 +1,142 @@
+package com.sujiu.blog.service.impl;
+
+import com.sujiu.blog.mapper.ArticleMapper;
+import com.sujiu.blog.model.entity.Article;
+import com.sujiu.blog.service.ArticleSlugIndexService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 文章别名索引服务实现
+ * 启动后分批加载全部文章别名（包含已逻辑删除的文章，它们仍占用唯一键），加载完成前回退到数据库查询；
+ * 加载期间修改过别名的文章在加载完成前按数据库重新登记，避免批次中读到的旧别名留在索引中
+ *
+ * @author sujiu
+ */
+@Service
+@Slf4j
+public class ArticleSlugIndexServiceImpl implements ArticleSlugIndexService {
+
+    /**
+     * 每批加载的文章数
+     */
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    @Resource
+    private ArticleMapper articleMapper;
+
+    private final Map<String, Long> slugIndex = new ConcurrentHashMap<>();
+
+    /**
+     * 加载期间登记过别名的文章，加载完成前重新读取
+     */
+    private final Set<Long> changedDuringLoad = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean ready;
+
+    /**
+     * 启动后加载别名索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            long lastId = 0L;
+            int count = 0;
+            while (true) {
+                List<Article> articles = articleMapper.selectSlugsAfter(lastId, LOAD_BATCH_SIZE);
+                for (Article article : articles) {
+                    if (StringUtils.isNotBlank(article.getSlug())) {
+                        // 加载期间发生的写入以写入方为准
+                        slugIndex.putIfAbsent(article.getSlug(), article.getId());
+                    }
+                    lastId = article.getId();
+                }
+                count += articles.size();
+                if (articles.size() < LOAD_BATCH_SIZE) {
+                    break;
+                }
+            }
+
+            // 批次中可能读到改名前的别名，按数据库重新登记；重新读取期间又有登记时继续处理
+            while (!changedDuringLoad.isEmpty()) {
+                List<Long> articleIds = new ArrayList<>(changedDuringLoad);
+                changedDuringLoad.removeAll(articleIds);
+                reload(articleIds);
+            }
+            ready = true;
+            log.info("文章别名索引加载完成，文章数：{}", count);
+        } catch (Exception e) {
+            log.error("文章别名索引加载失败，别名查询将回退到数据库", e);
+        }
+    }
+
+    /**
+     * 移除文章在索引中的全部别名，再按数据库中的当前别名登记
+     */
+    private void reload(List<Long> articleIds) {
+        List<Article> articles = articleMapper.selectSlugsByIds(articleIds);
+        slugIndex.values().removeAll(articleIds);
+        for (Article article : articles) {
+            if (StringUtils.isNotBlank(article.getSlug())) {
+                slugIndex.put(article.getSlug(), article.getId());
+            }
+        }
+    }
+
+    @Override
+    public Long getArticleId(String slug) {
+        if (StringUtils.isBlank(slug)) {
+            return null;
+        }
+        if (!ready) {
+            return articleMapper.selectIdBySlug(slug);
+        }
+        return slugIndex.get(slug);
+    }
+
+    @Override
+    public boolean isAvailable(String slug, Long articleId) {
+        Long ownerId = getArticleId(slug);
+        return ownerId == null || ownerId.equals(articleId);
+    }
+
+    @Override
+    public void register(String slug, String oldSlug, Long articleId) {
+        if (StringUtils.isBlank(slug) || articleId == null) {
+            return;
+        }
+        Runnable action = () -> {
+            // 先登记再修改索引，加载结束前一定会重新读取这篇文章
+            if (!ready) {
+                changedDuringLoad.add(articleId);
+            }
+            if (oldSlug != null && !oldSlug.equals(slug)) {
+                slugIndex.remove(oldSlug, articleId);
+            }
+            slugIndex.put(slug, articleId);
+        };
+        // 事务回滚时不登记，避免索引中出现数据库里不存在的别名
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package com.sujiu.blog.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.sujiu.blog.mapper.ArticleMapper;
+import com.sujiu.blog.mapper.ArticleTagMapper;
+import com.sujiu.blog.model.entity.Article;
+import com.sujiu.blog.model.entity.ArticleTag;
+import com.sujiu.blog.model.vo.common.PageVO;
+import com.sujiu.blog.service.ArticleTagIndexService;
+import com.sujiu.blog.utils.CompressedBitmap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 文章标签位图索引服务实现
+ * 文章ID是稀疏的雪花ID，先映射为按出现顺序分配的连续序号，位图中存储序号；
+ * 标签、分类位图包含所有状态的文章，查询时再与已发布位图求交
+ *
+ * @author sujiu
+ */
+@Service
+@Slf4j
+public class ArticleTagIndexServiceImpl implements ArticleTagIndexService {
+
+    /**
+     * 每批加载的行数
+     */
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private static final CompressedBitmap EMPTY = new CompressedBitmap();
+
+    @Resource
+    private ArticleMapper articleMapper;
+
+    @Resource
+    private ArticleTagMapper articleTagMapper;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 文章ID到位图序号的映射，序号不复用
+     */
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+
+    /**
+     * 序号到文章ID
+     */
+    private long[] articleIds = new long[1024];
+
+    /**
+     * 序号到发布时间（毫秒），未发布为 0
+     */
+    private long[] publishedTimes = new long[1024];
+
+    private final CompressedBitmap publishedBitmap = new CompressedBitmap();
+
+    private final CompressedBitmap topBitmap = new CompressedBitmap();
+
+    private final Map<Long, CompressedBitmap> tagBitmaps = new HashMap<>();
+
+    private final Map<Long, CompressedBitmap> categoryBitmaps = new HashMap<>();
+
+    /**
+     * 文章到标签集合
+     */
+    private final Map<Long, Set<Long>> articleTags = new HashMap<>();
+
+    /**
+     * 文章到分类
+     */
+    private final Map<Long, Long> articleCategories = new HashMap<>();
+
+    /**
+     * 加载期间发生变更的文章，加载完成后重新刷新
+     */
+    private final Set<Long> changedDuringLoad = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 按置顶之外的默认顺序排列：发布时间倒序，其次ID倒序
+     */
+    private final Comparator<Integer> newestFirst = (a, b) -> {
+        int compare = Long.compare(publishedTimes[b], publishedTimes[a]);
+        return compare != 0 ? compare : Long.compare(articleIds[b], articleIds[a]);
+    };
+
+    private volatile boolean ready;
+
+    /**
+     * 启动后分批加载文章和标签关联
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            int articleCount = 0;
+            long lastId = 0L;
+            while (true) {
+                QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+                queryWrapper.select("id", "status", "category_id", "is_top", "published_time")
+                           .gt("id", lastId)
+                           .orderByAsc("id")
+                           .last("LIMIT " + LOAD_BATCH_SIZE);
+                List<Article> articles = articleMapper.selectList(queryWrapper);
+                withWriteLock(() -> articles.forEach(article -> applyArticle(article, null)));
+                articleCount += articles.size();
+                if (articles.size() < LOAD_BATCH_SIZE) {
+                    break;
+                }
+                lastId = articles.get(articles.size() - 1).getId();
+            }
+
+            int tagCount = 0;
+            lastId = 0L;
+            while (true) {
+                QueryWrapper<ArticleTag> queryWrapper = new QueryWrapper<>();
+                queryWrapper.select("id", "article_id", "tag_id")
+                           .gt("id", lastId)
+                           .orderByAsc("id")
+                           .last("LIMIT " + LOAD_BATCH_SIZE);
+                List<ArticleTag> relations = articleTagMapper.selectList(queryWrapper);
+                withWriteLock(() -> relations.forEach(relation -> addTag(relation.getArticleId(), relation.getTagId())));
+                tagCount += relations.size();
+                if (relations.size() < LOAD_BATCH_SIZE) {
+                    break;
+                }
+                lastId = relations.get(relations.size() - 1).getId();
+            }
+
+            ready = true;
+            // 加载期间读到的可能是旧数据，重新刷新这些文章
+            for (Long articleId : new ArrayList<>(changedDuringLoad)) {
+                refreshArticle(articleId);
+            }
+            changedDuringLoad.clear();
+            log.info("文章标签位图索引加载完成，文章数：{}，标签关联数：{}", articleCount, tagCount);
+        } catch (Exception e) {
+            log.error("文章标签位图索引加载失败，标签筛选将回退到数据库查询", e);
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void refreshArticle(Long articleId) {
+        if (articleId == null) {
+            return;
+        }
+        if (!ready) {
+            changedDuringLoad.add(articleId);
+        }
+
+        QueryWrapper<Article> articleQuery = new QueryWrapper<>();
+        articleQuery.select("id", "status", "category_id", "is_top", "published_time").eq("id", articleId);
+        Article article = articleMapper.selectOne(articleQuery);
+        if (article == null) {
+            withWriteLock(() -> removeArticle(articleId));
+            return;
+        }
+
+        QueryWrapper<ArticleTag> tagQuery = new QueryWrapper<>();
+        tagQuery.select("tag_id").eq("article_id", articleId);
+        Set<Long> tagIds = articleTagMapper.selectObjs(tagQuery).stream()
+                .map(tagId -> ((Number) tagId).longValue())
+                .collect(Collectors.toSet());
+        withWriteLock(() -> applyArticle(article, tagIds));
+    }
+
+    @Override
+    public void refreshArticles(Collection<Long> articleIds) {
+        if (articleIds == null || articleIds.isEmpty()) {
+            return;
+        }
+        if (!ready) {
+            changedDuringLoad.addAll(articleIds);
+        }
+
+        QueryWrapper<Article> articleQuery = new QueryWrapper<>();
+        articleQuery.select("id", "status", "category_id", "is_top", "published_time").in("id", articleIds);
+        Map<Long, Article> articles = articleMapper.selectList(articleQuery).stream()
+                .collect(Collectors.toMap(Article::getId, article -> article));
+
+        QueryWrapper<ArticleTag> tagQuery = new QueryWrapper<>();
+        tagQuery.select("article_id", "tag_id").in("article_id", articleIds);
+        Map<Long, Set<Long>> tagIds = new HashMap<>();
+        for (ArticleTag relation : articleTagMapper.selectList(tagQuery)) {
+            tagIds.computeIfAbsent(relation.getArticleId(), key -> new HashSet<>()).add(relation.getTagId());
+        }
+
+        withWriteLock(() -> {
+            for (Long articleId : articleIds) {
+                Article article = articles.get(articleId);
+                if (article == null) {
+                    removeArticle(articleId);
+                } else {
+                    applyArticle(article, tagIds.getOrDefault(articleId, Collections.emptySet()));
+                }
+            }
+        });
+    }
+
+    @Override
+    public List<Long> listArticleIds(List<Long> tagIds, boolean matchAll, Long categoryId) {
+        lock.readLock().lock();
+        try {
+            CompressedBitmap matched = match(tagIds, matchAll, categoryId);
+            List<Long> result = new ArrayList<>(matched.cardinality());
+            matched.forEach(ordinal -> result.add(articleIds[ordinal]));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public PageVO<Long> pageArticleIds(List<Long> tagIds, boolean matchAll, Long categoryId, Boolean isTop,
+                                       int current, int size) {
+        lock.readLock().lock();
+        try {
+            CompressedBitmap matched = match(tagIds, matchAll, categoryId);
+            CompressedBitmap top = Boolean.FALSE.equals(isTop) ? EMPTY : matched.and(topBitmap);
+            CompressedBitmap rest = Boolean.TRUE.equals(isTop) ? EMPTY : matched.andNot(topBitmap);
+            int topCount = top.cardinality();
+            long total = (long) topCount + rest.cardinality();
+
+            // 置顶文章在前，其余在后，各自按发布时间倒序
+            long offset = (long) (Math.max(current, 1) - 1) * size;
+            List<Long> records = new ArrayList<>(size);
+            if (offset < topCount) {
+                records.addAll(selectPage(top, (int) offset, size));
+            }
+            if (records.size() < size && offset + records.size() < total) {
+                long restOffset = Math.max(0L, offset - topCount);
+                records.addAll(selectPage(rest, (int) restOffset, size - records.size()));
+            }
+            return new PageVO<>(records, total, current, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 标签位图按交集或并集合并，再与已发布位图、分类位图求交，调用方持有读锁
+     */
+    private CompressedBitmap match(List<Long> tagIds, boolean matchAll, Long categoryId) {
+        List<CompressedBitmap> bitmaps = new LinkedHashSet<>(tagIds).stream()
+                .map(tagId -> tagBitmaps.getOrDefault(tagId, EMPTY))
+                .collect(Collectors.toList());
+        CompressedBitmap matched;
+        if (matchAll) {
+            // 从元素最少的位图开始求交，中间结果尽快变小
+            bitmaps.sort(Comparator.comparingInt(CompressedBitmap::cardinality));
+            matched = CompressedBitmap.and(bitmaps);
+        } else {
+            matched = CompressedBitmap.or(bitmaps);
+        }
+        matched = matched.and(publishedBitmap);
+        if (categoryId != null) {
+            matched = matched.and(categoryBitmaps.getOrDefault(categoryId, EMPTY));
+        }
+        return matched;
+    }
+
+    /**
+     * 按发布时间倒序取第 offset 条起的 limit 篇文章ID，用容量为 offset + limit 的堆做部分排序
+     */
+    private List<Long> selectPage(CompressedBitmap bitmap, int offset, int limit) {
+        int cardinality = bitmap.cardinality();
+        if (offset >= cardinality || limit <= 0) {
+            return Collections.emptyList();
+        }
+        int capacity = (int) Math.min((long) offset + limit, cardinality);
+        // 堆顶是已选出的文章中最旧的一篇
+        PriorityQueue<Integer> heap = new PriorityQueue<>(capacity + 1, newestFirst.reversed());
+        bitmap.forEach(ordinal -> {
+            if (heap.size() < capacity) {
+                heap.offer(ordinal);
+            } else if (newestFirst.compare(ordinal, heap.peek()) < 0) {
+                heap.poll();
+                heap.offer(ordinal);
+            }
+        });
+
+        Integer[] selected = heap.toArray(new Integer[0]);
+        Arrays.sort(selected, newestFirst);
+        List<Long> result = new ArrayList<>(limit);
+        for (int i = offset; i < selected.length; i++) {
+            result.add(articleIds[selected[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * 更新文章的状态、置顶、发布时间、分类和标签，tagIds 为 null 时不修改标签，调用方持有写锁
+     */
+    private void applyArticle(Article article, Collection<Long> tagIds) {
+        Long articleId = article.getId();
+        int ordinal = ordinalOf(articleId);
+
+        if (Integer.valueOf(2).equals(article.getStatus())) {
+            publishedBitmap.add(ordinal);
+        } else {
+            publishedBitmap.remove(ordinal);
+        }
+        if (Boolean.TRUE.equals(article.getIsTop())) {
+            topBitmap.add(ordinal);
+        } else {
+            topBitmap.remove(ordinal);
+        }
+        publishedTimes[ordinal] = article.getPublishedTime() == null ? 0L : article.getPublishedTime().getTime();
+
+        Long previousCategoryId = article.getCategoryId() == null
+                ? articleCategories.remove(articleId)
+                : articleCategories.put(articleId, article.getCategoryId());
+        if (previousCategoryId != null && !previousCategoryId.equals(article.getCategoryId())) {
+            removeFrom(categoryBitmaps, previousCategoryId, ordinal);
+        }
+        if (article.getCategoryId() != null) {
+            categoryBitmaps.computeIfAbsent(article.getCategoryId(), key -> new CompressedBitmap()).add(ordinal);
+        }
+
+        if (tagIds != null) {
+            Set<Long> previousTagIds = articleTags.getOrDefault(articleId, Collections.emptySet());
+            for (Long tagId : previousTagIds) {
+                if (!tagIds.contains(tagId)) {
+                    removeFrom(tagBitmaps, tagId, ordinal);
+                }
+            }
+            for (Long tagId : tagIds) {
+                tagBitmaps.computeIfAbsent(tagId, key -> new CompressedBitmap()).add(ordinal);
+            }
+            if (tagIds.isEmpty()) {
+                articleTags.remove(articleId);
+            } else {
+                articleTags.put(articleId, new HashSet<>(tagIds));
+            }
+        }
+    }
+
+    /**
+     * 添加一条标签关联，调用方持有写锁
+     */
+    private void addTag(Long articleId, Long tagId) {
+        if (articleId == null || tagId == null) {
+            return;
+        }
+        int ordinal = ordinalOf(articleId);
+        tagBitmaps.computeIfAbsent(tagId, key -> new CompressedBitmap()).add(ordinal);
+        articleTags.computeIfAbsent(articleId, key -> new HashSet<>()).add(tagId);
+    }
+
+    /**
+     * 从所有位图中移除文章（已删除），序号保留不复用，调用方持有写锁
+     */
+    private void removeArticle(Long articleId) {
+        Integer ordinal = ordinals.get(articleId);
+        if (ordinal == null) {
+            return;
+        }
+        publishedBitmap.remove(ordinal);
+        topBitmap.remove(ordinal);
+        Long categoryId = articleCategories.remove(articleId);
+        if (categoryId != null) {
+            removeFrom(categoryBitmaps, categoryId, ordinal);
+        }
+        Set<Long> tagIds = articleTags.remove(articleId);
+        if (tagIds != null) {
+            tagIds.forEach(tagId -> removeFrom(tagBitmaps, tagId, ordinal));
+        }
+    }
+
+    private int ordinalOf(Long articleId) {
+        Integer ordinal = ordinals.get(articleId);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        int next = ordinals.size();
+        if (next == articleIds.length) {
+            articleIds = Arrays.copyOf(articleIds, next * 2);
+            publishedTimes = Arrays.copyOf(publishedTimes, next * 2);
+        }
+        articleIds[next] = articleId;
+        ordinals.put(articleId, next);
+        return next;
+    }
+
+    private static void removeFrom(Map<Long, CompressedBitmap> bitmaps, Long key, int ordinal) {
+        CompressedBitmap bitmap = bitmaps.get(key);
+        if (bitmap != null) {
+            bitmap.remove(ordinal);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.sujiu.blog.service.impl;
+
+import com.baomidou.mybatisplus.extension.toolkit.SqlHelper;
+import com.sujiu.blog.mapper.ArticleMapper;
+import com.sujiu.blog.model.entity.Article;
+import com.sujiu.blog.service.ArticleViewService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 文章浏览量服务实现
+ *
+ * @author sujiu
+ */
+@Service
+@Slf4j
+public class ArticleViewServiceImpl implements ArticleViewService {
+
+    private static final Log BATCH_LOG = LogFactory.getLog(ArticleViewServiceImpl.class);
+
+    /**
+     * 每篇文章的待写回浏览量
+     */
+    private final Map<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+
+    /**
+     * 累加浏览量时持有读锁，移除已归零的计数时持有写锁，避免累加到已移除的计数上
+     */
+    private final ReentrantReadWriteLock pruneLock = new ReentrantReadWriteLock();
+
+    /**
+     * 批量写回的批大小
+     */
+    @Value("${article.view.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    @Override
+    public void increment(Long articleId) {
+        if (articleId == null) {
+            return;
+        }
+        pruneLock.readLock().lock();
+        try {
+            pendingViews.computeIfAbsent(articleId, key -> new LongAdder()).increment();
+        } finally {
+            pruneLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long getPendingCount(Long articleId) {
+        if (articleId == null) {
+            return 0L;
+        }
+        LongAdder adder = pendingViews.get(articleId);
+        return adder != null ? adder.sum() : 0L;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${article.view.flush-interval:5000}")
+    public synchronized int flush() {
+        if (pendingViews.isEmpty()) {
+            return 0;
+        }
+
+        // 1. 取出每篇文章的增量（只扣减已读取的部分，并发写入的增量留到下一轮）
+        List<long[]> deltas = new ArrayList<>();
+        for (Map.Entry<Long, LongAdder> entry : pendingViews.entrySet()) {
+            long delta = entry.getValue().sum();
+            if (delta > 0) {
+                entry.getValue().add(-delta);
+                deltas.add(new long[]{entry.getKey(), delta});
+            }
+        }
+        if (deltas.isEmpty()) {
+            prune();
+            return 0;
+        }
+
+        // 2. 每篇文章一条 UPDATE，以 JDBC 批处理写回
+        try {
+            SqlHelper.executeBatch(Article.class, BATCH_LOG, deltas, flushBatchSize,
+                    (sqlSession, delta) -> sqlSession.getMapper(ArticleMapper.class)
+                            .incrementViewCount(delta[0], delta[1]));
+        } catch (Exception e) {
+            // 写回失败时把增量放回内存，等待下一轮重试
+            for (long[] delta : deltas) {
+                pendingViews.computeIfAbsent(delta[0], key -> new LongAdder()).add(delta[1]);
+            }
+            log.error("文章浏览量写回失败，待重试文章数：{}", deltas.size(), e);
+            return 0;
+        }
+
+        prune();
+        log.debug("文章浏览量写回完成，文章数：{}", deltas.size());
+        return deltas.size();
+    }
+
+    /**
+     * 移除写回后已归零的计数，只保留写回期间又有浏览的文章，计数表不随浏览过的文章数增长
+     */
+    private void prune() {
+        pruneLock.writeLock().lock();
+        try {
+            pendingViews.values().removeIf(adder -> adder.sum() == 0);
+        } finally {
+            pruneLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 应用关闭前写回剩余浏览量
+     */
+    @PreDestroy
+    public void drain() {
+        int flushed = flush();
+        log.info("应用关闭，已写回 {} 篇文章的浏览量", flushed);
+    }
+}
@@ -3,16 +3,15 @@ package com.sujiu.blog.service.impl;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.sujiu.blog.common.ErrorCode;
-import com.sujiu.blog.constant.UserConstant;
 import com.sujiu.blog.exception.BusinessException;
 import com.sujiu.blog.mapper.ArticleMapper;
 import com.sujiu.blog.mapper.CategoryMapper;
-import com.sujiu.blog.mapper.UserMapper;
 import com.sujiu.blog.model.dto.category.CategoryRequest;
 import com.sujiu.blog.model.entity.Category;
 import com.sujiu.blog.model.entity.User;
 import com.sujiu.blog.model.vo.category.CategoryVO;
 import com.sujiu.blog.service.CategoryService;
+import com.sujiu.blog.service.UserService;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.BeanUtils;
@@ -36,43 +35,11 @@ import java.util.stream.Collectors;
 public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> implements CategoryService {
 
     @Resource
-    private UserMapper userMapper;
+    private UserService userService;
 
     @Resource
     private ArticleMapper articleMapper;
 
-    /**
-     * 获取当前登录用户
-     */
-    private User getCurrentLoginUser(HttpServletRequest request) {
-        if (request == null) {
-            throw new BusinessException(ErrorCode.PARAMS_ERROR, "请求参数为空");
-        }
-
-        // 获取当前登录用户
-        Object userObj = request.getSession().getAttribute(UserConstant.USER_LOGIN_STATE);
-        User currentUser = (User) userObj;
-
-        if (currentUser == null || currentUser.getId() == null) {
-            throw new BusinessException(ErrorCode.NOT_LOGIN_ERROR, "用户未登录");
-        }
-
-        // 从数据库查询最新的用户信息
-        Long userId = currentUser.getId();
-        User user = userMapper.selectById(userId);
-
-        if (user == null) {
-            throw new BusinessException(ErrorCode.NOT_LOGIN_ERROR, "用户不存在");
-        }
-
-        // 检查用户状态
-        if (user.getStatus() != 1) {
-            throw new BusinessException(ErrorCode.FORBIDDEN_ERROR, "账号已被禁用");
-        }
-
-        return user;
-    }
-
     @Override
     @Transactional(rollbackFor = Exception.class)
     public CategoryVO createCategory(CategoryRequest categoryRequest, HttpServletRequest request) {
@@ -82,7 +49,7 @@ public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> i
         }
 
         // 2. 获取当前登录用户（权限已通过@RequireAdmin验证）
-        User user = getCurrentLoginUser(request);
+        User user = userService.getCurrentLoginUser(request);
 
         // 3. 详细参数校验
         validateCategoryRequest(categoryRequest, false);
@@ -146,7 +113,7 @@ public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> i
         }
 
         // 2. 获取当前登录用户（权限已通过@RequireAdmin验证）
-        User user = getCurrentLoginUser(request);
+        User user = userService.getCurrentLoginUser(request);
 
         // 3. 检查分类是否存在
         Category existingCategory = this.getById(categoryId);
@@ -211,7 +178,7 @@ public class CategoryServiceImpl extends ServiceImpl<CategoryMapper, Category> i
         }
 
         // 2. 获取当前登录用户（权限已通过@RequireAdmin验证）
-        User user = getCurrentLoginUser(request);
+        User user = userService.getCurrentLoginUser(request);
 
         // 3. 检查分类是否存在
         Category category = this.getById(categoryId);
@@ -4,7 +4,6 @@ import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.sujiu.blog.common.ErrorCode;
-import com.sujiu.blog.constant.UserConstant;
 import com.sujiu.blog.exception.BusinessException;
 import com.sujiu.blog.mapper.ArticleMapper;
 import com.sujiu.blog.mapper.CommentMapper;
@@ -24,6 +23,9 @@ import com.sujiu.blog.model.vo.comment.AdminCommentVO;
 import com.sujiu.blog.model.vo.comment.CommentVO;
 import com.sujiu.blog.model.vo.common.PageVO;
 import com.sujiu.blog.service.CommentService;
+import com.sujiu.blog.service.HotArticleService;
+import com.sujiu.blog.service.PageCountService;
+import com.sujiu.blog.service.UserService;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.BeanUtils;
@@ -56,37 +58,14 @@ public class CommentServiceImpl extends ServiceImpl<CommentMapper, Comment> impl
     @Resource
     private LikeMapper likeMapper;
 
-    /**
-     * 获取当前登录用户
-     */
-    private User getCurrentLoginUser(HttpServletRequest request) {
-        if (request == null) {
-            throw new BusinessException(ErrorCode.PARAMS_ERROR, "请求参数为空");
-        }
-
-        // 获取当前登录用户
-        Object userObj = request.getSession().getAttribute(UserConstant.USER_LOGIN_STATE);
-        User currentUser = (User) userObj;
-
-        if (currentUser == null || currentUser.getId() == null) {
-            throw new BusinessException(ErrorCode.NOT_LOGIN_ERROR, "用户未登录");
-        }
-
-        // 从数据库查询最新的用户信息
-        Long userId = currentUser.getId();
-        User user = userMapper.selectById(userId);
-
-        if (user == null) {
-            throw new BusinessException(ErrorCode.NOT_LOGIN_ERROR, "用户不存在");
-        }
+    @Resource
+    private HotArticleService hotArticleService;
 
-        // 检查用户状态
-        if (user.getStatus() != 1) {
-            throw new BusinessException(ErrorCode.FORBIDDEN_ERROR, "账号已被禁用");
-        }
+    @Resource
+    private UserService userService;
 
-        return user;
-    }
+    @Resource
+    private PageCountService pageCountService;
 
     /**
      * 获取当前登录用户（可选）
@@ -97,7 +76,7 @@ public class CommentServiceImpl extends ServiceImpl<CommentMapper, Comment> impl
         }
 
         try {
-            return getCurrentLoginUser(request);
+            return userService.getCurrentLoginUser(request);
         } catch (BusinessException e) {
             return null;
         }
@@ -112,7 +91,7 @@ public class CommentServiceImpl extends ServiceImpl<CommentMapper, Comment> impl
         }
 
         // 2. 获取当前登录用户
-        User user = getCurrentLoginUser(request);
+        User user = userService.getCurrentLoginUser(request);
 
         // 3. 详细参数校验
         validateCommentRequest(commentRequest);
@@ -173,8 +152,9 @@ public class CommentServiceImpl extends ServiceImpl<CommentMapper, Comment> impl
             throw new BusinessException(ErrorCode.OPERATION_ERROR, "评论发表失败");
         }
 
-        // 9. 更新文章评论数量
+        // 9. 更新文章评论数量和热度
         updateArticleCommentCount(commentRequest.getArticleId(), 1);
+        hotArticleService.recordComment(commentRequest.getArticleId());
 
         // 10. 记录日志
         log.info("用户 {} 在文章 {} 发表了评论：{}", user.getId(), commentRequest.getArticleId(), comment.getId());
@@ -192,7 +172,7 @@ public class CommentServiceImpl extends ServiceImpl<CommentMapper, Comment> impl
         }
 
         // 2. 获取当前登录用户
-        User user = getCurrentLoginUser(request);
+        User user = userService.getCurrentLoginUser(request);
 
         // 3. 检查评论是否存在
         Comment comment = this.getById(commentId);
@@ -280,7 +260,7 @@ public class CommentServiceImpl extends ServiceImpl<CommentMapper, Comment> impl
         }
 
         // 2. 获取当前登录用户
-        User user = getCurrentLoginUser(request);
+        User user = userService.getCurrentLoginUser(request);
 
         // 3. 检查评论是否存在
         Comment comment = this.getById(commentId);
@@ -323,7 +303,7 @@ public class CommentServiceImpl extends ServiceImpl<CommentMapper, Comment> impl
         }
 
         // 2. 获取当前登录用户
-        User user = getCurrentLoginUser(request);
+        User user = userService.getCurrentLoginUser(request);
 
         // 3. 检查评论是否存在
         Comment comment = this.getById(commentId);
@@ -721,9 +701,9 @@ public class CommentServiceImpl extends ServiceImpl<CommentMapper, Comment> impl
             queryWrapper.orderByDesc("created_time");
         }
 
-        // 3. 分页查询
+        // 3. 分页查询，总数按筛选条件缓存
         Page<Comment> page = new Page<>(adminCommentQueryRequest.getCurrent(), adminCommentQueryRequest.getSize());
-        Page<Comment> commentPage = this.page(page, queryWrapper);
+        Page<Comment> commentPage = pageCountService.page("blog_comment", page, queryWrapper, this::page);
 
         // 4. 转换为VO
         List<AdminCommentVO> adminCommentVOList = commentPage.getRecords().stream()
@@ -751,7 +731,7 @@ public class CommentServiceImpl extends ServiceImpl<CommentMapper, Comment> impl
         }
 
         // 2. 获取当前操作用户
-        User currentUser = getCurrentLoginUser(request);
+        User currentUser = userService.getCurrentLoginUser(request);
         log.info("管理员 {} 审核评论 {}，状态：{}，原因：{}",
             currentUser.getId(), commentId, status, commentAuditRequest.getAuditReason());
 
@@ -789,7 +769,7 @@ public class CommentServiceImpl extends ServiceImpl<CommentMapper, Comment> impl
         }
 
         // 2. 获取当前操作用户
-        User currentUser = getCurrentLoginUser(request);
+        User currentUser = userService.getCurrentLoginUser(request);
         log.info("管理员 {} 删除评论 {}", currentUser.getId(), commentId);
 
         // 3. 检查评论是否存在
@@ -242,17 +242,10 @@ public class DashboardServiceImpl implements DashboardService {
      */
     private Long getViewTotalCount() {
         QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
-        queryWrapper.eq("status", 2); // 只统计已发布的文章
-
-        List<Article> articles = articleMapper.selectList(queryWrapper);
-        if (articles == null || articles.isEmpty()) {
-            return 0L;
-        }
+        queryWrapper.select("IFNULL(SUM(view_count), 0)")
+                   .eq("status", 2); // 只统计已发布的文章
 
-        return articles.stream()
-                .filter(article -> article != null)
-                .mapToLong(article -> article.getViewCount() != null ? article.getViewCount() : 0)
-                .sum();
+        return sumArticleColumn(queryWrapper);
     }
 
     // ==================== 私有方法：今日统计 ====================
@@ -371,13 +364,11 @@ public class DashboardServiceImpl implements DashboardService {
         Date endTime = Date.from(date.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
 
         QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
-        queryWrapper.lt("created_time", endTime)
+        queryWrapper.select("IFNULL(SUM(view_count), 0)")
+                   .lt("created_time", endTime)
                    .eq("status", 2); // 只统计已发布的文章
 
-        List<Article> articles = articleMapper.selectList(queryWrapper);
-        return articles.stream()
-                .mapToLong(article -> article.getViewCount() != null ? article.getViewCount() : 0)
-                .sum();
+        return sumArticleColumn(queryWrapper);
     }
 
     /**
@@ -387,13 +378,11 @@ public class DashboardServiceImpl implements DashboardService {
         Date endTime = Date.from(date.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant());
 
         QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
-        queryWrapper.lt("created_time", endTime)
+        queryWrapper.select("IFNULL(SUM(like_count), 0)")
+                   .lt("created_time", endTime)
                    .eq("status", 2); // 只统计已发布的文章
 
-        List<Article> articles = articleMapper.selectList(queryWrapper);
-        return articles.stream()
-                .mapToLong(article -> article.getLikeCount() != null ? article.getLikeCount() : 0)
-                .sum();
+        return sumArticleColumn(queryWrapper);
     }
 
     /**
@@ -446,4 +435,15 @@ public class DashboardServiceImpl implements DashboardService {
     private Long getTotalViewsByDate(LocalDate date) {
         return getTotalViewCountByDate(date);
     }
+
+    /**
+     * 执行只有一列求和结果的文章查询，由数据库完成聚合，不加载文章行
+     */
+    private Long sumArticleColumn(QueryWrapper<Article> queryWrapper) {
+        List<Object> results = articleMapper.selectObjs(queryWrapper);
+        if (results == null || results.isEmpty() || results.get(0) == null) {
+            return 0L;
+        }
+        return ((Number) results.get(0)).longValue();
+    }
 }
@@ -0,0 +1,202 @@
+package com.sujiu.blog.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.sujiu.blog.mapper.ArticleMapper;
+import com.sujiu.blog.model.entity.Article;
+import com.sujiu.blog.service.HotArticleService;
+import com.sujiu.blog.utils.HotRanking;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 热门文章排行服务实现
+ *
+ * @author sujiu
+ */
+@Service
+@Slf4j
+public class HotArticleServiceImpl implements HotArticleService {
+
+    /**
+     * 每次批量查询发布时间的文章数
+     */
+    private static final int RESOLVE_BATCH_SIZE = 500;
+
+    @Resource
+    private ArticleMapper articleMapper;
+
+    /**
+     * 统计窗口（天），只有窗口内发布的文章参与排行
+     */
+    @Value("${article.hot.window-days:7}")
+    private int windowDays;
+
+    /**
+     * 热度半衰期（小时）
+     */
+    @Value("${article.hot.half-life-hours:24}")
+    private double halfLifeHours;
+
+    /**
+     * 快照保留的文章数（K）
+     */
+    @Value("${article.hot.capacity:200}")
+    private int capacity;
+
+    @Value("${article.hot.view-weight:1}")
+    private double viewWeight;
+
+    @Value("${article.hot.like-weight:5}")
+    private double likeWeight;
+
+    @Value("${article.hot.comment-weight:10}")
+    private double commentWeight;
+
+    private HotRanking ranking;
+
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void init() {
+        long halfLifeMillis = (long) (halfLifeHours * TimeUnit.HOURS.toMillis(1));
+        ranking = new HotRanking(halfLifeMillis, capacity);
+    }
+
+    /**
+     * 启动后用数据库中的累计数据初始化排行
+     * 累计数据没有事件时间，按发布时间与当前时间的中点折算
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long now = System.currentTimeMillis();
+        long windowStart = getWindowStart(now);
+        try {
+            QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+            queryWrapper.select("id", "published_time", "view_count", "like_count", "comment_count")
+                       .eq("status", 2)
+                       .ge("published_time", new Date(windowStart));
+            List<Article> articles = articleMapper.selectList(queryWrapper);
+            for (Article article : articles) {
+                long publishedTime = article.getPublishedTime().getTime();
+                double score = nullToZero(article.getViewCount()) * viewWeight
+                        + nullToZero(article.getLikeCount()) * likeWeight
+                        + nullToZero(article.getCommentCount()) * commentWeight;
+                ranking.setPublishedTime(article.getId(), publishedTime);
+                ranking.add(article.getId(), score, publishedTime + (now - publishedTime) / 2);
+            }
+            ranking.rebuild(now, windowStart);
+            ready = true;
+            log.info("热门文章排行初始化完成，文章数：{}", articles.size());
+        } catch (Exception e) {
+            log.error("热门文章排行初始化失败，将在下次刷新时重试", e);
+        }
+    }
+
+    @Override
+    public void recordView(Long articleId) {
+        record(articleId, viewWeight);
+    }
+
+    @Override
+    public void recordLike(Long articleId, boolean liked) {
+        record(articleId, liked ? likeWeight : -likeWeight);
+    }
+
+    @Override
+    public void recordComment(Long articleId) {
+        record(articleId, commentWeight);
+    }
+
+    @Override
+    public void removeArticle(Long articleId) {
+        if (articleId != null) {
+            ranking.remove(articleId);
+        }
+    }
+
+    @Override
+    public List<Long> getHotArticleIds(int limit, int days) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        long now = System.currentTimeMillis();
+        long publishedAfter = Math.max(getWindowStart(now), now - TimeUnit.DAYS.toMillis(days));
+        return ranking.top(limit, publishedAfter);
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${article.hot.refresh-interval:10000}")
+    public void refresh() {
+        if (!ready) {
+            warmUp();
+            return;
+        }
+        resolvePublishedTimes();
+        long now = System.currentTimeMillis();
+        ranking.rebuild(now, getWindowStart(now));
+        log.debug("热门文章排行已刷新，跟踪文章数：{}", ranking.size());
+    }
+
+    private void record(Long articleId, double weight) {
+        if (articleId == null) {
+            return;
+        }
+        ranking.add(articleId, weight, System.currentTimeMillis());
+    }
+
+    /**
+     * 批量补齐事件中新出现文章的发布时间，未发布的文章直接移除
+     */
+    private void resolvePublishedTimes() {
+        Set<Long> unresolvedIds = ranking.getUnresolvedIds();
+        if (unresolvedIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(unresolvedIds);
+        try {
+            for (int from = 0; from < ids.size(); from += RESOLVE_BATCH_SIZE) {
+                List<Long> batch = ids.subList(from, Math.min(from + RESOLVE_BATCH_SIZE, ids.size()));
+                QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+                queryWrapper.select("id", "status", "published_time").in("id", batch);
+                List<Article> articles = articleMapper.selectList(queryWrapper);
+                for (Article article : articles) {
+                    if (Integer.valueOf(2).equals(article.getStatus()) && article.getPublishedTime() != null) {
+                        ranking.setPublishedTime(article.getId(), article.getPublishedTime().getTime());
+                        unresolvedIds.remove(article.getId());
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.error("查询热门文章发布时间失败，待下次刷新重试", e);
+            return;
+        }
+        // 不存在或未发布的文章
+        unresolvedIds.forEach(ranking::remove);
+    }
+
+    private long getWindowStart(long now) {
+        return now - TimeUnit.DAYS.toMillis(windowDays);
+    }
+
+    private static int nullToZero(Integer value) {
+        return value != null ? value : 0;
+    }
+}
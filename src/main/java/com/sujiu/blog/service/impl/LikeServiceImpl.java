@@ -11,6 +11,7 @@ import com.sujiu.blog.mapper.UserMapper;
 import com.sujiu.blog.model.entity.Article;
 import com.sujiu.blog.model.entity.Like;
 import com.sujiu.blog.model.entity.User;
+import com.sujiu.blog.service.HotArticleService;
 import com.sujiu.blog.service.LikeService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -35,6 +36,9 @@ public class LikeServiceImpl extends ServiceImpl<LikeMapper, Like> implements Li
     @Resource
     private ArticleMapper articleMapper;
 
+    @Resource
+    private HotArticleService hotArticleService;
+
     /**
      * 文章类型常量
      */
@@ -126,6 +130,7 @@ public class LikeServiceImpl extends ServiceImpl<LikeMapper, Like> implements Li
         // 手动更新点赞数
         if (TARGET_TYPE_ARTICLE.equals(targetType)) {
             updateArticleLikeCount(targetId);
+            hotArticleService.recordLike(targetId, true);
         }
 
         log.info("用户点赞成功，用户ID：{}，目标ID：{}，目标类型：{}", userId, targetId, targetType);
@@ -167,6 +172,7 @@ public class LikeServiceImpl extends ServiceImpl<LikeMapper, Like> implements Li
         // 手动更新点赞数
         if (TARGET_TYPE_ARTICLE.equals(targetType)) {
             updateArticleLikeCount(targetId);
+            hotArticleService.recordLike(targetId, false);
         }
 
         log.info("用户取消点赞成功，用户ID：{}，目标ID：{}，目标类型：{}", userId, targetId, targetType);
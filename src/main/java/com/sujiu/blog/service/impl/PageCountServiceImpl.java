@@ -0,0 +1,258 @@
+package com.sujiu.blog.service.impl;
+
+import cn.hutool.cache.Cache;
+import cn.hutool.cache.CacheUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.sujiu.blog.service.PageCountService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.Resource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 分页总数缓存服务实现
+ * 缓存键由表名、WHERE 条件（参数替换为 ?）和参数值组成，排序和页码不影响键；
+ * 每张表有一个写入代数，写入时加一，缓存项记录统计开始时的代数，代数不一致即视为失效。
+ * 事务中的写入在提交前对其他连接不可见，期间按旧数据统计的总数会以新代数写入缓存，因此提交后再加一次代数
+ *
+ * @author sujiu
+ */
+@Service
+@Slf4j
+public class PageCountServiceImpl implements PageCountService {
+
+    /**
+     * 条件中的参数占位符，如 #{ew.paramNameValuePairs.MPGENVAL1}
+     */
+    private static final Pattern PARAM_PLACEHOLDER = Pattern.compile("#\\{[^}]*paramNameValuePairs\\.(\\w+)[^}]*}");
+
+    @Resource
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${page-count.enabled:true}")
+    private boolean enabled;
+
+    @Value("${page-count.ttl:30000}")
+    private long ttl;
+
+    @Value("${page-count.capacity:1000}")
+    private int capacity;
+
+    @Value("${page-count.estimate-threshold:0}")
+    private long estimateThreshold;
+
+    private Cache<String, CachedCount> counts;
+
+    /**
+     * 表名到写入代数
+     */
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    /**
+     * 当前事务中写入过、提交后需要再次失效的表，以此为键绑定到事务
+     */
+    private final Object transactionKey = new Object();
+
+    @PostConstruct
+    public void init() {
+        counts = CacheUtil.newLRUCache(capacity, ttl);
+    }
+
+    @Override
+    public <T> Page<T> page(String table, Page<T> page, QueryWrapper<T> queryWrapper,
+                            BiFunction<Page<T>, QueryWrapper<T>, Page<T>> pager) {
+        if (!enabled) {
+            return pager.apply(page, queryWrapper);
+        }
+
+        // 1. 命中缓存时只查询当前页
+        Filter filter = new Filter(queryWrapper);
+        String key = table + ":" + filter.key();
+        long generation = generation(table).get();
+        CachedCount cached = counts.get(key);
+        if (cached != null && cached.generation == generation) {
+            return pageWithTotal(page, queryWrapper, pager, cached.total);
+        }
+
+        // 2. 估算模式下统计代价过高时使用估算值
+        Long estimate = estimate(table, filter);
+        if (estimate != null) {
+            counts.put(key, new CachedCount(estimate, generation));
+            return pageWithTotal(page, queryWrapper, pager, estimate);
+        }
+
+        // 3. 精确统计，代数取统计开始前的值，统计期间发生写入时下次重新统计
+        Page<T> result = pager.apply(page, queryWrapper);
+        counts.put(key, new CachedCount(result.getTotal(), generation));
+        return result;
+    }
+
+    @Override
+    public void invalidate(String table) {
+        if (table == null) {
+            return;
+        }
+        generation(table).incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateAfterCommit(table);
+        }
+    }
+
+    /**
+     * 记录到当前事务，提交后统一加一次代数，同一事务中多次写入同一张表只登记一次
+     */
+    @SuppressWarnings("unchecked")
+    private void invalidateAfterCommit(String table) {
+        Set<String> tables = (Set<String>) TransactionSynchronizationManager.getResource(transactionKey);
+        if (tables == null) {
+            Set<String> pendingTables = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(transactionKey, pendingTables);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResource(transactionKey);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(transactionKey, pendingTables);
+                }
+
+                @Override
+                public void afterCommit() {
+                    pendingTables.forEach(pendingTable -> generation(pendingTable).incrementAndGet());
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(transactionKey);
+                }
+            });
+            tables = pendingTables;
+        }
+        tables.add(table);
+    }
+
+    /**
+     * 已知总数时跳过 COUNT，页码超出总数时不再查询
+     */
+    private <T> Page<T> pageWithTotal(Page<T> page, QueryWrapper<T> queryWrapper,
+                                      BiFunction<Page<T>, QueryWrapper<T>, Page<T>> pager, long total) {
+        page.setTotal(total);
+        if (total <= page.offset()) {
+            page.setRecords(Collections.emptyList());
+            return page;
+        }
+        page.setSearchCount(false);
+        Page<T> result = pager.apply(page, queryWrapper);
+        result.setTotal(total);
+        return result;
+    }
+
+    /**
+     * 用 EXPLAIN 估算总数，未开启、估算扫描行数低于阈值或估算失败时返回 null
+     * 与分页查询一样带上表的逻辑删除条件，估算的是未删除的行
+     */
+    private Long estimate(String table, Filter filter) {
+        if (estimateThreshold <= 0) {
+            return null;
+        }
+        try {
+            List<String> conditions = new ArrayList<>(2);
+            TableInfo tableInfo = TableInfoHelper.getTableInfo(table);
+            if (tableInfo != null && tableInfo.isWithLogicDelete()) {
+                conditions.add(tableInfo.getLogicDeleteSql(false, true));
+            }
+            if (!filter.sql.isEmpty()) {
+                conditions.add(filter.sql);
+            }
+            String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+            List<Map<String, Object>> plan = jdbcTemplate.queryForList(
+                    "EXPLAIN SELECT COUNT(*) FROM " + table + where, filter.values.toArray());
+            if (plan.isEmpty() || !(plan.get(0).get("rows") instanceof Number)) {
+                return null;
+            }
+            long rows = ((Number) plan.get(0).get("rows")).longValue();
+            if (rows < estimateThreshold) {
+                return null;
+            }
+            Object filtered = plan.get(0).get("filtered");
+            double ratio = filtered instanceof Number ? ((Number) filtered).doubleValue() / 100 : 1;
+            return Math.round(rows * ratio);
+        } catch (Exception e) {
+            log.warn("估算分页总数失败，改为精确统计，表：{}", table, e);
+            return null;
+        }
+    }
+
+    private AtomicLong generation(String table) {
+        return generations.computeIfAbsent(table, key -> new AtomicLong());
+    }
+
+    /**
+     * 规范化后的筛选条件：WHERE 条件中的参数替换为 ?，参数值按出现顺序排列
+     */
+    private static final class Filter {
+
+        private final String sql;
+
+        private final List<Object> values = new ArrayList<>();
+
+        private Filter(QueryWrapper<?> queryWrapper) {
+            // 参数在生成 SQL 片段时才写入
+            String normal = queryWrapper.getExpression().getNormal().getSqlSegment();
+            Map<String, Object> params = queryWrapper.getParamNameValuePairs();
+            Matcher matcher = PARAM_PLACEHOLDER.matcher(normal);
+            StringBuffer buffer = new StringBuffer();
+            while (matcher.find()) {
+                values.add(params.get(matcher.group(1)));
+                matcher.appendReplacement(buffer, "?");
+            }
+            matcher.appendTail(buffer);
+            this.sql = buffer.toString();
+        }
+
+        private String key() {
+            StringBuilder key = new StringBuilder(sql);
+            for (Object value : values) {
+                key.append('|').append(value instanceof Date ? ((Date) value).getTime() : value);
+            }
+            return key.toString();
+        }
+    }
+
+    /**
+     * 缓存的总数及统计时的写入代数
+     */
+    private static final class CachedCount {
+
+        private final long total;
+
+        private final long generation;
+
+        private CachedCount(long total, long generation) {
+            this.total = total;
+            this.generation = generation;
+        }
+    }
+}
@@ -15,6 +15,7 @@ import com.sujiu.blog.model.entity.Tag;
 import com.sujiu.blog.model.entity.User;
 import com.sujiu.blog.model.vo.search.SearchResultVO;
 import com.sujiu.blog.service.SearchService;
+import com.sujiu.blog.utils.ArticleQueryUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.stereotype.Service;
@@ -23,6 +24,7 @@ import javax.annotation.Resource;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -34,6 +36,16 @@ import java.util.stream.Collectors;
 @Slf4j
 public class SearchServiceImpl implements SearchService {
 
+    /**
+     * 正文片段中关键词之前保留的字符数
+     */
+    private static final int SNIPPET_RADIUS = 60;
+
+    /**
+     * 正文片段最大长度
+     */
+    private static final int SNIPPET_MAX_LENGTH = 260;
+
     @Resource
     private ArticleMapper articleMapper;
 
@@ -141,7 +153,8 @@ public class SearchServiceImpl implements SearchService {
     private SearchResultVO.ArticleSearchResult searchArticles(String keyword, SearchRequest request) {
         Page<Article> page = new Page<>(request.getCurrent(), request.getSize());
         
-        QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+        // 只查询列表字段，正文片段单独截取
+        QueryWrapper<Article> queryWrapper = ArticleQueryUtils.listQueryWrapper();
         queryWrapper.eq("status", 2) // 只搜索已发布的文章
                    .and(wrapper -> wrapper
                            .like("title", keyword)
@@ -154,6 +167,7 @@ public class SearchServiceImpl implements SearchService {
         applySorting(queryWrapper, request.getSortField(), request.getSortOrder());
 
         Page<Article> articlePage = articleMapper.selectPage(page, queryWrapper);
+        fillContentSnippets(articlePage.getRecords(), keyword);
 
         SearchResultVO.ArticleSearchResult result = new SearchResultVO.ArticleSearchResult();
         result.setTotal(articlePage.getTotal());
@@ -166,6 +180,25 @@ public class SearchServiceImpl implements SearchService {
         return result;
     }
 
+    /**
+     * 为搜索结果填充关键词附近的正文片段
+     */
+    private void fillContentSnippets(List<Article> articles, String keyword) {
+        if (articles.isEmpty()) {
+            return;
+        }
+        List<Long> articleIds = articles.stream()
+                .map(Article::getId)
+                .collect(Collectors.toList());
+        Map<Long, String> snippets = articleMapper.selectContentSnippets(articleIds, keyword,
+                        SNIPPET_RADIUS, SNIPPET_MAX_LENGTH).stream()
+                .filter(article -> article.getContent() != null)
+                .collect(Collectors.toMap(Article::getId, Article::getContent));
+        for (Article article : articles) {
+            article.setContent(snippets.get(article.getId()));
+        }
+    }
+
     /**
      * 搜索用户
      */
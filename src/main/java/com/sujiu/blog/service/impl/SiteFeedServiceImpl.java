@@ -0,0 +1,775 @@
+package com.sujiu.blog.service.impl;
+
+import cn.hutool.core.date.DateUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.sujiu.blog.common.ErrorCode;
+import com.sujiu.blog.exception.BusinessException;
+import com.sujiu.blog.mapper.ArticleMapper;
+import com.sujiu.blog.mapper.CategoryMapper;
+import com.sujiu.blog.mapper.UserMapper;
+import com.sujiu.blog.model.entity.Article;
+import com.sujiu.blog.model.entity.Category;
+import com.sujiu.blog.model.entity.User;
+import com.sujiu.blog.service.SiteFeedService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 站点地图和订阅源服务实现
+ * 文章变更只记录受影响的分段、分类和作者，后台线程按固定间隔合并重写，短时间内的多次变更只写一次；
+ * 文件用 XMLStreamWriter 边查询边写入临时文件，写完后原子替换，读取方不会看到写了一半的文件。
+ * 分段站点地图按发布月份划分，单个分段远小于站点地图 50000 条的上限
+ *
+ * @author sujiu
+ */
+@Service
+@Slf4j
+public class SiteFeedServiceImpl implements SiteFeedService {
+
+    private static final String SEGMENT_FORMAT = "yyyy-MM";
+
+    private static final String SEGMENT_PREFIX = "articles-";
+
+    private static final String CATEGORY_DIR = "categories";
+
+    private static final String AUTHOR_DIR = "authors";
+
+    private static final String XML_SUFFIX = ".xml";
+
+    private static final String SITEMAP_NAMESPACE = "http://www.sitemaps.org/schemas/sitemap/0.9";
+
+    private static final String ATOM_NAMESPACE = "http://www.w3.org/2005/Atom";
+
+    private static final String DC_NAMESPACE = "http://purl.org/dc/elements/1.1/";
+
+    @Resource
+    private ArticleMapper articleMapper;
+
+    @Resource
+    private CategoryMapper categoryMapper;
+
+    @Resource
+    private UserMapper userMapper;
+
+    /**
+     * 静态文件的输出目录
+     */
+    @Value("${article.feed.path:feeds/}")
+    private String path;
+
+    /**
+     * 前台站点地址，文章链接为 {site-url}/article/{slug}
+     */
+    @Value("${article.feed.site-url:http://localhost:8101}")
+    private String siteUrl;
+
+    /**
+     * 本服务的访问地址（含上下文路径），用于站点地图索引和订阅源的自引用链接
+     */
+    @Value("${article.feed.base-url:http://localhost:8101/api}")
+    private String baseUrl;
+
+    @Value("${article.feed.title:博客}")
+    private String title;
+
+    @Value("${article.feed.description:最新文章}")
+    private String description;
+
+    /**
+     * 每个订阅源包含的文章数
+     */
+    @Value("${article.feed.item-count:20}")
+    private int itemCount;
+
+    /**
+     * 写分段站点地图时每批读取的文章数
+     */
+    @Value("${article.feed.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * 合并变更后重写文件的间隔（毫秒）
+     */
+    @Value("${article.feed.flush-interval:5000}")
+    private long flushInterval;
+
+    private final XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newInstance();
+
+    /**
+     * 已发布的公开文章所在的分段、分类和作者，文章变更后用来找到变更前所在的文件
+     */
+    private volatile Map<Long, FeedEntry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 已生成的分段及其最后修改时间，只在持有本对象锁时读写
+     */
+    private final Map<String, Date> segments = new TreeMap<>();
+
+    private final Set<String> dirtySegments = ConcurrentHashMap.newKeySet();
+
+    private final Set<Long> dirtyCategories = ConcurrentHashMap.newKeySet();
+
+    private final Set<Long> dirtyAuthors = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean siteDirty = new AtomicBoolean();
+
+    /**
+     * 站点地图索引是否需要重写，只在持有本对象锁时读写
+     */
+    private boolean indexDirty;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    /**
+     * 全量生成期间发生变更的文章，生成结束后重新标记
+     */
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private Path root;
+
+    private ScheduledExecutorService generator;
+
+    @PostConstruct
+    public void init() {
+        root = Paths.get(path).toAbsolutePath().normalize();
+        generator = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "site-feed-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        generator.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (Exception e) {
+                log.error("站点地图和订阅源重写失败", e);
+            }
+        }, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        generator.shutdownNow();
+    }
+
+    /**
+     * 应用启动后在后台全量生成，不阻塞启动
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            generator.execute(() -> {
+                try {
+                    rebuild();
+                } catch (Exception e) {
+                    log.error("站点地图和订阅源生成失败", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("站点地图生成线程已关闭");
+        }
+    }
+
+    @Override
+    public void markArticleChanged(Long articleId, Collection<Long> previousCategoryIds) {
+        if (articleId == null) {
+            return;
+        }
+        if (rebuilding.get()) {
+            changedDuringRebuild.add(articleId);
+        }
+        QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select("id", "user_id", "category_id", "status", "password", "published_time")
+                   .eq("id", articleId);
+        Article article = articleMapper.selectOne(queryWrapper);
+        FeedEntry current = isPublic(article) ? new FeedEntry(article) : null;
+        FeedEntry previous = current != null ? entries.put(articleId, current) : entries.remove(articleId);
+        if (previous == null && current == null) {
+            // 变更前后都不公开，不出现在任何文件中
+            return;
+        }
+        markDirty(previous);
+        markDirty(current);
+        if (previousCategoryIds != null) {
+            dirtyCategories.addAll(previousCategoryIds);
+        }
+        siteDirty.set(true);
+    }
+
+    @Override
+    public synchronized int flush() {
+        int count = rewrite(dirtySegments, "站点地图分段", this::writeSegment);
+        if (indexDirty) {
+            try {
+                writeIndex();
+                indexDirty = false;
+                count++;
+            } catch (Exception e) {
+                log.warn("重写站点地图索引失败，稍后重试", e);
+            }
+        }
+        if (siteDirty.getAndSet(false)) {
+            try {
+                writeSiteFeeds();
+                count += 2;
+            } catch (Exception e) {
+                siteDirty.set(true);
+                log.warn("重写全站订阅源失败，稍后重试", e);
+            }
+        }
+        count += rewrite(dirtyCategories, "分类订阅源", this::writeCategoryFeed);
+        count += rewrite(dirtyAuthors, "作者订阅源", this::writeAuthorFeed);
+        return count;
+    }
+
+    @Override
+    public int rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new BusinessException(ErrorCode.OPERATION_ERROR, "站点地图正在生成，请稍后再试");
+        }
+        long startTime = System.currentTimeMillis();
+        int count;
+        try {
+            changedDuringRebuild.clear();
+            Map<Long, FeedEntry> loaded = loadEntries();
+            Set<String> loadedSegments = new HashSet<>();
+            Set<Long> loadedCategories = new HashSet<>();
+            Set<Long> loadedAuthors = new HashSet<>();
+            for (FeedEntry entry : loaded.values()) {
+                loadedSegments.add(entry.segment);
+                if (entry.categoryId != null) {
+                    loadedCategories.add(entry.categoryId);
+                }
+                loadedAuthors.add(entry.authorId);
+            }
+
+            synchronized (this) {
+                entries = loaded;
+                segments.clear();
+                dirtySegments.addAll(loadedSegments);
+                dirtyCategories.addAll(loadedCategories);
+                dirtyAuthors.addAll(loadedAuthors);
+                siteDirty.set(true);
+                indexDirty = true;
+                count = flush();
+
+                // 删除停机期间失效的文件，写入失败仍待重试的保留
+                deleteStale(root.resolve(SITEMAP_DIR), name -> {
+                    String segment = StringUtils.removeStart(name, SEGMENT_PREFIX);
+                    return segments.containsKey(segment) || dirtySegments.contains(segment);
+                });
+                deleteStale(root.resolve(FEED_DIR).resolve(CATEGORY_DIR), name ->
+                        isLoaded(name, loadedCategories) || isLoaded(name, dirtyCategories));
+                deleteStale(root.resolve(FEED_DIR).resolve(AUTHOR_DIR), name ->
+                        isLoaded(name, loadedAuthors) || isLoaded(name, dirtyAuthors));
+            }
+        } finally {
+            rebuilding.set(false);
+        }
+
+        // 扫描之后才提交的变更可能没有进入新的文章表，重新标记
+        for (Long articleId : changedDuringRebuild) {
+            markArticleChanged(articleId, Collections.emptyList());
+        }
+        changedDuringRebuild.clear();
+        log.info("站点地图和订阅源生成完成，文章数：{}，文件数：{}，耗时：{}ms", entries.size(), count,
+                System.currentTimeMillis() - startTime);
+        return count;
+    }
+
+    /**
+     * 按主键分批读取所有公开文章的分段、分类和作者
+     */
+    private Map<Long, FeedEntry> loadEntries() {
+        Map<Long, FeedEntry> loaded = new ConcurrentHashMap<>();
+        long lastId = 0L;
+        while (true) {
+            QueryWrapper<Article> queryWrapper = publicQuery();
+            queryWrapper.select("id", "user_id", "category_id", "published_time")
+                       .gt("id", lastId)
+                       .orderByAsc("id")
+                       .last("LIMIT " + batchSize);
+            List<Article> articles = articleMapper.selectList(queryWrapper);
+            for (Article article : articles) {
+                loaded.put(article.getId(), new FeedEntry(article));
+            }
+            if (articles.size() < batchSize) {
+                return loaded;
+            }
+            lastId = articles.get(articles.size() - 1).getId();
+        }
+    }
+
+    private void markDirty(FeedEntry entry) {
+        if (entry == null) {
+            return;
+        }
+        dirtySegments.add(entry.segment);
+        if (entry.categoryId != null) {
+            dirtyCategories.add(entry.categoryId);
+        }
+        dirtyAuthors.add(entry.authorId);
+    }
+
+    /**
+     * 取出并重写已标记的文件，失败的重新标记，等下一轮重试
+     */
+    private <K> int rewrite(Set<K> dirty, String kind, KeyWriter<K> writer) {
+        // 先移除标记再查询，移除之后的变更会重新标记
+        List<K> keys = new ArrayList<>(dirty.size());
+        for (Iterator<K> iterator = dirty.iterator(); iterator.hasNext(); ) {
+            keys.add(iterator.next());
+            iterator.remove();
+        }
+        int count = 0;
+        for (K key : keys) {
+            try {
+                writer.write(key);
+                count++;
+            } catch (Exception e) {
+                dirty.add(key);
+                log.warn("重写{}失败，稍后重试：{}", kind, key, e);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 写一个月份的分段站点地图，没有公开文章时删除文件
+     */
+    private void writeSegment(String segment) throws IOException, XMLStreamException {
+        Date start = DateUtil.parse(segment, SEGMENT_FORMAT);
+        Date end = DateUtil.offsetMonth(start, 1);
+        Date[] lastModified = new Date[1];
+        Path target = root.resolve(SITEMAP_DIR).resolve(SEGMENT_PREFIX + segment + XML_SUFFIX);
+        boolean exists = writeXml(target, false, writer -> {
+            writer.writeStartElement("urlset");
+            writer.writeDefaultNamespace(SITEMAP_NAMESPACE);
+            int count = 0;
+            long lastId = 0L;
+            while (true) {
+                QueryWrapper<Article> queryWrapper = publicQuery();
+                queryWrapper.select("id", "slug", "published_time", "updated_time")
+                           .ge("published_time", start)
+                           .lt("published_time", end)
+                           .gt("id", lastId)
+                           .orderByAsc("id")
+                           .last("LIMIT " + batchSize);
+                List<Article> articles = articleMapper.selectList(queryWrapper);
+                for (Article article : articles) {
+                    Date modified = lastModified(article);
+                    writer.writeStartElement("url");
+                    writeElement(writer, "loc", articleUrl(article));
+                    writeElement(writer, "lastmod", formatW3c(modified));
+                    writer.writeEndElement();
+                    if (lastModified[0] == null || modified.after(lastModified[0])) {
+                        lastModified[0] = modified;
+                    }
+                }
+                count += articles.size();
+                if (articles.size() < batchSize) {
+                    break;
+                }
+                lastId = articles.get(articles.size() - 1).getId();
+            }
+            writer.writeEndElement();
+            return count;
+        });
+        // 分段增删或最后修改时间变化都要反映到索引
+        if (exists) {
+            segments.put(segment, lastModified[0]);
+        } else {
+            segments.remove(segment);
+        }
+        indexDirty = true;
+    }
+
+    private void writeIndex() throws IOException, XMLStreamException {
+        writeXml(root.resolve(SITEMAP_INDEX), true, writer -> {
+            writer.writeStartElement("sitemapindex");
+            writer.writeDefaultNamespace(SITEMAP_NAMESPACE);
+            for (Map.Entry<String, Date> segment : segments.entrySet()) {
+                writer.writeStartElement("sitemap");
+                writeElement(writer, "loc",
+                        baseUrl + "/" + SITEMAP_DIR + "/" + SEGMENT_PREFIX + segment.getKey() + XML_SUFFIX);
+                writeElement(writer, "lastmod", formatW3c(segment.getValue()));
+                writer.writeEndElement();
+            }
+            writer.writeEndElement();
+            return segments.size();
+        });
+    }
+
+    /**
+     * 全站 RSS 和 Atom，没有文章时也保留空的订阅源
+     */
+    private void writeSiteFeeds() throws IOException, XMLStreamException {
+        List<Article> articles = listLatest(publicQuery());
+        Map<Long, String> categoryNames = listCategoryNames(articles);
+        Map<Long, String> authorNames = listAuthorNames(articles);
+        Path feedDir = root.resolve(FEED_DIR);
+        writeXml(feedDir.resolve("rss.xml"), true, writer -> writeRss(writer, new Channel(title, siteUrl,
+                description, baseUrl + "/" + FEED_DIR + "/rss.xml"), articles, categoryNames, authorNames));
+        writeXml(feedDir.resolve("atom.xml"), true, writer -> writeAtom(writer, new Channel(title, siteUrl,
+                description, baseUrl + "/" + FEED_DIR + "/atom.xml"), articles, authorNames));
+    }
+
+    /**
+     * 分类 RSS，分类不存在、已禁用或没有公开文章时删除文件
+     */
+    private void writeCategoryFeed(Long categoryId) throws IOException, XMLStreamException {
+        String relativePath = FEED_DIR + "/" + CATEGORY_DIR + "/" + categoryId + XML_SUFFIX;
+        Path target = root.resolve(relativePath);
+        Category category = categoryMapper.selectById(categoryId);
+        if (category == null || !Integer.valueOf(1).equals(category.getStatus())) {
+            Files.deleteIfExists(target);
+            return;
+        }
+        QueryWrapper<Article> queryWrapper = publicQuery();
+        queryWrapper.eq("category_id", categoryId);
+        List<Article> articles = listLatest(queryWrapper);
+        Map<Long, String> authorNames = listAuthorNames(articles);
+        Channel channel = new Channel(category.getName() + " - " + title, siteUrl + "/category/" + category.getSlug(),
+                StringUtils.defaultIfBlank(category.getDescription(), description), baseUrl + "/" + relativePath);
+        writeXml(target, false, writer -> writeRss(writer, channel, articles,
+                Collections.singletonMap(categoryId, category.getName()), authorNames));
+    }
+
+    /**
+     * 作者 RSS，作者不存在或没有公开文章时删除文件
+     */
+    private void writeAuthorFeed(Long authorId) throws IOException, XMLStreamException {
+        String relativePath = FEED_DIR + "/" + AUTHOR_DIR + "/" + authorId + XML_SUFFIX;
+        Path target = root.resolve(relativePath);
+        User author = userMapper.selectById(authorId);
+        if (author == null) {
+            Files.deleteIfExists(target);
+            return;
+        }
+        QueryWrapper<Article> queryWrapper = publicQuery();
+        queryWrapper.eq("user_id", authorId);
+        List<Article> articles = listLatest(queryWrapper);
+        Map<Long, String> categoryNames = listCategoryNames(articles);
+        String authorName = StringUtils.defaultIfBlank(author.getNickname(), author.getUsername());
+        Channel channel = new Channel(authorName + " - " + title, siteUrl + "/user/" + authorId,
+                StringUtils.defaultIfBlank(author.getBio(), description), baseUrl + "/" + relativePath);
+        writeXml(target, false, writer -> writeRss(writer, channel, articles, categoryNames,
+                Collections.singletonMap(authorId, authorName)));
+    }
+
+    private int writeRss(XMLStreamWriter writer, Channel channel, List<Article> articles,
+                         Map<Long, String> categoryNames, Map<Long, String> authorNames) throws XMLStreamException {
+        writer.writeStartElement("rss");
+        writer.writeAttribute("version", "2.0");
+        writer.writeNamespace("atom", ATOM_NAMESPACE);
+        writer.writeNamespace("dc", DC_NAMESPACE);
+        writer.writeStartElement("channel");
+        writeElement(writer, "title", channel.title);
+        writeElement(writer, "link", channel.link);
+        writeElement(writer, "description", channel.description);
+        writeElement(writer, "language", "zh-CN");
+        if (!articles.isEmpty()) {
+            writeElement(writer, "lastBuildDate", formatRfc822(latestModified(articles)));
+        }
+        writer.writeEmptyElement("atom", "link", ATOM_NAMESPACE);
+        writer.writeAttribute("href", channel.selfLink);
+        writer.writeAttribute("rel", "self");
+        writer.writeAttribute("type", "application/rss+xml");
+
+        for (Article article : articles) {
+            String link = articleUrl(article);
+            writer.writeStartElement("item");
+            writeElement(writer, "title", article.getTitle());
+            writeElement(writer, "link", link);
+            writer.writeStartElement("guid");
+            writer.writeAttribute("isPermaLink", "true");
+            writer.writeCharacters(link);
+            writer.writeEndElement();
+            writeElement(writer, "description", article.getSummary());
+            writeElement(writer, "pubDate", formatRfc822(article.getPublishedTime()));
+            writeElement(writer, "category", categoryNames.get(article.getCategoryId()));
+            String author = authorNames.get(article.getAuthorId());
+            if (author != null) {
+                writer.writeStartElement("dc", "creator", DC_NAMESPACE);
+                writer.writeCharacters(author);
+                writer.writeEndElement();
+            }
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
+        writer.writeEndElement();
+        return articles.size();
+    }
+
+    private int writeAtom(XMLStreamWriter writer, Channel channel, List<Article> articles,
+                          Map<Long, String> authorNames) throws XMLStreamException {
+        writer.writeStartElement("feed");
+        writer.writeDefaultNamespace(ATOM_NAMESPACE);
+        writeElement(writer, "title", channel.title);
+        writeElement(writer, "subtitle", channel.description);
+        writeLink(writer, channel.link, "alternate");
+        writeLink(writer, channel.selfLink, "self");
+        writeElement(writer, "id", channel.selfLink);
+        // updated 是 Atom 的必填元素，没有文章时取生成时间
+        writeElement(writer, "updated", formatW3c(articles.isEmpty() ? new Date() : latestModified(articles)));
+
+        for (Article article : articles) {
+            String link = articleUrl(article);
+            writer.writeStartElement("entry");
+            writeElement(writer, "title", article.getTitle());
+            writeLink(writer, link, "alternate");
+            writeElement(writer, "id", link);
+            writeElement(writer, "published", formatW3c(article.getPublishedTime()));
+            writeElement(writer, "updated", formatW3c(lastModified(article)));
+            writeElement(writer, "summary", article.getSummary());
+            String author = authorNames.get(article.getAuthorId());
+            if (author != null) {
+                writer.writeStartElement("author");
+                writeElement(writer, "name", author);
+                writer.writeEndElement();
+            }
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
+        return articles.size();
+    }
+
+    /**
+     * 边生成边写入同目录下的临时文件，完成后原子替换目标文件
+     *
+     * @param target 目标文件
+     * @param keepEmpty 没有条目时是否保留文件，不保留时删除目标文件
+     * @param body 写入根元素并返回条目数
+     * @return 目标文件是否存在
+     */
+    private boolean writeXml(Path target, boolean keepEmpty, XmlBody body) throws IOException, XMLStreamException {
+        Path directory = target.getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            int count;
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                XMLStreamWriter writer = xmlOutputFactory.createXMLStreamWriter(outputStream, "UTF-8");
+                writer.writeStartDocument("UTF-8", "1.0");
+                count = body.write(writer);
+                writer.writeEndDocument();
+                writer.close();
+            }
+            if (count == 0 && !keepEmpty) {
+                Files.deleteIfExists(target);
+                return false;
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void deleteStale(Path directory, Predicate<String> keep) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(XML_SUFFIX) && !keep.test(StringUtils.removeEnd(name, XML_SUFFIX))) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("清理失效的订阅源文件失败：{}", directory, e);
+        }
+    }
+
+    private boolean isLoaded(String name, Set<Long> ids) {
+        return StringUtils.isNumeric(name) && name.length() < 19 && ids.contains(Long.parseLong(name));
+    }
+
+    /**
+     * 已发布、未加密且有发布时间的文章
+     */
+    private QueryWrapper<Article> publicQuery() {
+        QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+        queryWrapper.eq("status", 2)
+                   .isNotNull("published_time")
+                   .and(wrapper -> wrapper.isNull("password").or().eq("password", ""));
+        return queryWrapper;
+    }
+
+    private boolean isPublic(Article article) {
+        return article != null && Integer.valueOf(2).equals(article.getStatus())
+                && StringUtils.isEmpty(article.getPassword()) && article.getPublishedTime() != null;
+    }
+
+    private List<Article> listLatest(QueryWrapper<Article> queryWrapper) {
+        queryWrapper.select("id", "user_id", "category_id", "title", "slug", "summary", "published_time",
+                        "updated_time")
+                   .orderByDesc("published_time", "id")
+                   .last("LIMIT " + itemCount);
+        return articleMapper.selectList(queryWrapper);
+    }
+
+    private Map<Long, String> listCategoryNames(List<Article> articles) {
+        Set<Long> categoryIds = articles.stream().map(Article::getCategoryId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+        if (categoryIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return categoryMapper.selectBatchIds(categoryIds).stream()
+                .collect(Collectors.toMap(Category::getId, Category::getName));
+    }
+
+    private Map<Long, String> listAuthorNames(List<Article> articles) {
+        Set<Long> authorIds = articles.stream().map(Article::getAuthorId).collect(Collectors.toSet());
+        if (authorIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return userMapper.selectBatchIds(authorIds).stream().collect(Collectors.toMap(User::getId,
+                user -> StringUtils.defaultIfBlank(user.getNickname(), user.getUsername())));
+    }
+
+    private String articleUrl(Article article) {
+        return siteUrl + "/article/" + article.getSlug();
+    }
+
+    private Date lastModified(Article article) {
+        return article.getUpdateTime() != null ? article.getUpdateTime() : article.getPublishedTime();
+    }
+
+    private Date latestModified(List<Article> articles) {
+        Date latest = null;
+        for (Article article : articles) {
+            Date modified = lastModified(article);
+            if (latest == null || modified.after(latest)) {
+                latest = modified;
+            }
+        }
+        return latest;
+    }
+
+    private static void writeElement(XMLStreamWriter writer, String name, String text) throws XMLStreamException {
+        if (text == null) {
+            return;
+        }
+        writer.writeStartElement(name);
+        writer.writeCharacters(text);
+        writer.writeEndElement();
+    }
+
+    private static void writeLink(XMLStreamWriter writer, String href, String rel) throws XMLStreamException {
+        writer.writeEmptyElement("link");
+        writer.writeAttribute("href", href);
+        writer.writeAttribute("rel", rel);
+    }
+
+    private static ZonedDateTime toZoned(Date date) {
+        return date.toInstant().atZone(ZoneId.systemDefault()).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    /**
+     * 站点地图和 Atom 使用的 W3C 时间格式
+     */
+    static String formatW3c(Date date) {
+        return date == null ? null : DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(toZoned(date));
+    }
+
+    /**
+     * RSS 使用的 RFC 822 时间格式
+     */
+    static String formatRfc822(Date date) {
+        return date == null ? null : DateTimeFormatter.RFC_1123_DATE_TIME.format(toZoned(date));
+    }
+
+    @FunctionalInterface
+    private interface XmlBody {
+
+        int write(XMLStreamWriter writer) throws XMLStreamException;
+    }
+
+    @FunctionalInterface
+    private interface KeyWriter<K> {
+
+        void write(K key) throws IOException, XMLStreamException;
+    }
+
+    /**
+     * 订阅源的频道信息
+     */
+    private static final class Channel {
+
+        private final String title;
+
+        private final String link;
+
+        private final String description;
+
+        private final String selfLink;
+
+        private Channel(String title, String link, String description, String selfLink) {
+            this.title = title;
+            this.link = link;
+            this.description = description;
+            this.selfLink = selfLink;
+        }
+    }
+
+    /**
+     * 公开文章所在的文件
+     */
+    private static final class FeedEntry {
+
+        private final String segment;
+
+        private final Long categoryId;
+
+        private final Long authorId;
+
+        private FeedEntry(Article article) {
+            this.segment = DateUtil.format(article.getPublishedTime(), SEGMENT_FORMAT);
+            this.categoryId = article.getCategoryId();
+            this.authorId = article.getAuthorId();
+        }
+    }
+}
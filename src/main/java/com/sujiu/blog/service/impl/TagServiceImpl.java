@@ -4,16 +4,15 @@ import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.sujiu.blog.common.ErrorCode;
-import com.sujiu.blog.constant.UserConstant;
 import com.sujiu.blog.exception.BusinessException;
 import com.sujiu.blog.mapper.TagMapper;
-import com.sujiu.blog.mapper.UserMapper;
 import com.sujiu.blog.model.dto.tag.TagQueryRequest;
 import com.sujiu.blog.model.dto.tag.TagRequest;
 import com.sujiu.blog.model.entity.Tag;
 import com.sujiu.blog.model.entity.User;
 import com.sujiu.blog.model.vo.tag.TagVO;
 import com.sujiu.blog.service.TagService;
+import com.sujiu.blog.service.UserService;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.BeanUtils;
@@ -36,39 +35,7 @@ import java.util.stream.Collectors;
 public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagService {
 
     @Resource
-    private UserMapper userMapper;
-
-    /**
-     * 获取当前登录用户
-     */
-    private User getCurrentLoginUser(HttpServletRequest request) {
-        if (request == null) {
-            throw new BusinessException(ErrorCode.PARAMS_ERROR, "请求参数为空");
-        }
-
-        // 获取当前登录用户
-        Object userObj = request.getSession().getAttribute(UserConstant.USER_LOGIN_STATE);
-        User currentUser = (User) userObj;
-
-        if (currentUser == null || currentUser.getId() == null) {
-            throw new BusinessException(ErrorCode.NOT_LOGIN_ERROR, "用户未登录");
-        }
-
-        // 从数据库查询最新的用户信息
-        Long userId = currentUser.getId();
-        User user = userMapper.selectById(userId);
-
-        if (user == null) {
-            throw new BusinessException(ErrorCode.NOT_LOGIN_ERROR, "用户不存在");
-        }
-
-        // 检查用户状态
-        if (user.getStatus() != 1) {
-            throw new BusinessException(ErrorCode.FORBIDDEN_ERROR, "账号已被禁用");
-        }
-
-        return user;
-    }
+    private UserService userService;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -79,7 +46,7 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagSe
         }
 
         // 2. 获取当前登录用户（权限已通过@RequireAdmin验证）
-        User user = getCurrentLoginUser(request);
+        User user = userService.getCurrentLoginUser(request);
 
         // 3. 详细参数校验
         validateTagRequest(tagRequest, false);
@@ -129,7 +96,7 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagSe
         }
 
         // 2. 获取当前登录用户（权限已通过@RequireAdmin验证）
-        User user = getCurrentLoginUser(request);
+        User user = userService.getCurrentLoginUser(request);
 
         // 3. 检查标签是否存在
         Tag existingTag = this.getById(tagId);
@@ -183,7 +150,7 @@ public class TagServiceImpl extends ServiceImpl<TagMapper, Tag> implements TagSe
         }
 
         // 2. 获取当前登录用户（权限已通过@RequireAdmin验证）
-        User user = getCurrentLoginUser(request);
+        User user = userService.getCurrentLoginUser(request);
 
         // 3. 检查标签是否存在
         Tag tag = this.getById(tagId);
@@ -21,7 +21,9 @@ import com.sujiu.blog.model.vo.user.LoginUserVO;
 import com.sujiu.blog.model.vo.user.UserVO;
 import com.sujiu.blog.model.vo.common.PageVO;
 import com.sujiu.blog.service.FollowService;
+import com.sujiu.blog.service.PageCountService;
 import com.sujiu.blog.service.UserService;
+import com.sujiu.blog.utils.LoginUserHolder;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.BeanUtils;
@@ -75,6 +77,9 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
     @Resource
     private FollowService followService;
 
+    @Resource
+    private PageCountService pageCountService;
+
     @Override
     public Long userRegister(UserRegisterRequest userRegisterRequest, HttpServletRequest request) {
         // 1. 参数校验
@@ -202,6 +207,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         // 8. 记录登录状态到session
         HttpSession session = request.getSession();
         session.setAttribute(UserConstant.USER_LOGIN_STATE, user);
+        LoginUserHolder.set(request, user);
 
         // 9. 设置session过期时间（如果选择记住登录）
         if (rememberMe != null && rememberMe) {
@@ -234,6 +240,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
 
         // 移除登录状态
         request.getSession().removeAttribute(UserConstant.USER_LOGIN_STATE);
+        LoginUserHolder.clear(request);
 
         // 使session失效
         request.getSession().invalidate();
@@ -357,6 +364,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         if (!updateResult) {
             throw new BusinessException(ErrorCode.SYSTEM_ERROR, "更新失败，数据库异常");
         }
+        LoginUserHolder.clear(request);
 
         log.info("用户更新个人信息成功，用户ID：{}", userId);
         return true;
@@ -415,6 +423,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
         if (!updateResult) {
             throw new BusinessException(ErrorCode.SYSTEM_ERROR, "密码修改失败，数据库异常");
         }
+        LoginUserHolder.clear(request);
 
         log.info("用户修改密码成功，用户ID：{}", userId);
         return true;
@@ -454,19 +463,30 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
 
     @Override
     public User getLoginUserPermitNull(HttpServletRequest request) {
+        return resolveLoginUser(request);
+    }
+
+    /**
+     * 解析当前请求的登录用户，每个请求只查询一次数据库
+     *
+     * @param request HTTP请求对象
+     * @return 最新的用户信息，未登录或用户不存在时返回 null
+     */
+    private User resolveLoginUser(HttpServletRequest request) {
+        if (LoginUserHolder.isResolved(request)) {
+            return LoginUserHolder.get(request);
+        }
+
         // 先判断是否已登录
         Object userObj = request.getSession().getAttribute(UserConstant.USER_LOGIN_STATE);
         User currentUser = (User) userObj;
-        if (currentUser == null || currentUser.getId() == null) {
-            return null;
-        }
-        // 从数据库查询（追求性能的话可以注释，直接走缓存）
-        long userId = currentUser.getId();
-        currentUser = this.getById(userId);
-        if (currentUser == null) {
-            return null;
+        User user = null;
+        if (currentUser != null && currentUser.getId() != null) {
+            // 从数据库查询最新的用户信息
+            user = this.getById(currentUser.getId());
         }
-        return currentUser;
+        LoginUserHolder.set(request, user);
+        return user;
     }
 
     /**
@@ -505,19 +525,14 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
             throw new BusinessException(ErrorCode.PARAMS_ERROR, "请求参数为空");
         }
 
-        // 获取当前登录用户
-        Object userObj = request.getSession().getAttribute(UserConstant.USER_LOGIN_STATE);
-        User currentUser = (User) userObj;
-
-        if (currentUser == null || currentUser.getId() == null) {
-            throw new BusinessException(ErrorCode.NOT_LOGIN_ERROR, "用户未登录");
-        }
-
-        // 从数据库查询最新的用户信息
-        Long userId = currentUser.getId();
-        User user = this.getById(userId);
-
+        // 获取当前登录用户（同一请求内复用解析结果）
+        User user = resolveLoginUser(request);
         if (user == null) {
+            Object userObj = request.getSession().getAttribute(UserConstant.USER_LOGIN_STATE);
+            User currentUser = (User) userObj;
+            if (currentUser == null || currentUser.getId() == null) {
+                throw new BusinessException(ErrorCode.NOT_LOGIN_ERROR, "用户未登录");
+            }
             throw new BusinessException(ErrorCode.NOT_LOGIN_ERROR, "用户不存在");
         }
 
@@ -587,9 +602,9 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements Us
             queryWrapper.orderByDesc("created_time");
         }
 
-        // 3. 分页查询
+        // 3. 分页查询，总数按筛选条件缓存
         Page<User> page = new Page<>(userQueryRequest.getCurrent(), userQueryRequest.getSize());
-        Page<User> userPage = this.page(page, queryWrapper);
+        Page<User> userPage = pageCountService.page("sys_user", page, queryWrapper, this::page);
 
         // 4. 转换为VO
         List<AdminUserVO> adminUserVOList = userPage.getRecords().stream()
@@ -0,0 +1,101 @@
+package com.sujiu.blog.utils;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * 文章列表游标编解码工具类
+ * 游标记录上一页最后一篇文章的 (是否置顶, 发布时间, ID)，编码为 URL 安全的 Base64 字符串，对客户端不透明
+ *
+ * @author sujiu
+ */
+public class ArticleCursorUtils {
+
+    /**
+     * 游标格式版本
+     */
+    private static final byte VERSION = 1;
+
+    /**
+     * 编码后的字节长度：版本 + 置顶 + 发布时间 + ID
+     */
+    private static final int CURSOR_BYTES = 1 + 1 + Long.BYTES + Long.BYTES;
+
+    private ArticleCursorUtils() {
+    }
+
+    /**
+     * 编码游标
+     *
+     * @param isTop 是否置顶
+     * @param publishedTime 发布时间（毫秒）
+     * @param id 文章ID
+     * @return 游标字符串
+     */
+    public static String encode(boolean isTop, long publishedTime, long id) {
+        ByteBuffer buffer = ByteBuffer.allocate(CURSOR_BYTES);
+        buffer.put(VERSION);
+        buffer.put((byte) (isTop ? 1 : 0));
+        buffer.putLong(publishedTime);
+        buffer.putLong(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * 解码游标
+     *
+     * @param cursor 游标字符串
+     * @return 游标，格式不正确时返回 null
+     */
+    public static ArticleCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (bytes.length != CURSOR_BYTES || bytes[0] != VERSION || (bytes[1] != 0 && bytes[1] != 1)) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 2, Long.BYTES * 2);
+        long publishedTime = buffer.getLong();
+        long id = buffer.getLong();
+        if (id <= 0) {
+            return null;
+        }
+        return new ArticleCursor(bytes[1] == 1, publishedTime, id);
+    }
+
+    /**
+     * 文章列表游标
+     */
+    public static final class ArticleCursor {
+
+        private final boolean top;
+
+        private final long publishedTime;
+
+        private final long id;
+
+        public ArticleCursor(boolean top, long publishedTime, long id) {
+            this.top = top;
+            this.publishedTime = publishedTime;
+            this.id = id;
+        }
+
+        public boolean isTop() {
+            return top;
+        }
+
+        public long getPublishedTime() {
+            return publishedTime;
+        }
+
+        public long getId() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.sujiu.blog.utils;
+
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.sujiu.blog.model.entity.Article;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 文章查询工具类
+ * 列表类查询只选择摘要字段，content、content_html 等正文大字段只在详情查询中加载
+ *
+ * @author sujiu
+ */
+public class ArticleQueryUtils {
+
+    /**
+     * 正文列
+     */
+    private static final Set<String> BODY_COLUMNS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList("content", "content_html")));
+
+    private ArticleQueryUtils() {
+    }
+
+    /**
+     * 创建只查询列表字段的查询条件
+     *
+     * @return 查询条件
+     */
+    public static QueryWrapper<Article> listQueryWrapper() {
+        QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+        queryWrapper.select(Article.class, field -> !BODY_COLUMNS.contains(field.getColumn()));
+        return queryWrapper;
+    }
+}
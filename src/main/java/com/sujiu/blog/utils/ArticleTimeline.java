@@ -0,0 +1,149 @@
+package com.sujiu.blog.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * 按发布时间排序的文章时间线
+ * 红黑树按发布时间倒序、其次ID倒序保存文章，另用哈希表记录每篇文章的发布时间以便定位和移除；
+ * 增删、定位相邻文章都是 O(log n)，按时间范围分页是 O(log n + offset + limit)。非线程安全，由调用方加锁
+ *
+ * @author sujiu
+ */
+public class ArticleTimeline {
+
+    private final NavigableSet<Entry> entries = new TreeSet<>();
+
+    private final Map<Long, Long> publishedTimes = new HashMap<>();
+
+    /**
+     * 加入文章，已存在时按新的发布时间移动位置
+     *
+     * @param articleId 文章ID
+     * @param publishedTime 发布时间（毫秒）
+     * @return 原来的发布时间，不存在时返回 null
+     */
+    public Long put(long articleId, long publishedTime) {
+        Long previous = publishedTimes.put(articleId, publishedTime);
+        if (previous != null) {
+            if (previous == publishedTime) {
+                return previous;
+            }
+            entries.remove(new Entry(previous, articleId));
+        }
+        entries.add(new Entry(publishedTime, articleId));
+        return previous;
+    }
+
+    /**
+     * 移除文章
+     *
+     * @param articleId 文章ID
+     * @return 原来的发布时间，不存在时返回 null
+     */
+    public Long remove(long articleId) {
+        Long previous = publishedTimes.remove(articleId);
+        if (previous != null) {
+            entries.remove(new Entry(previous, articleId));
+        }
+        return previous;
+    }
+
+    /**
+     * 文章的发布时间
+     *
+     * @param articleId 文章ID
+     * @return 发布时间，不在时间线中时返回 null
+     */
+    public Long getPublishedTime(long articleId) {
+        return publishedTimes.get(articleId);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 比指定文章新的相邻文章
+     *
+     * @param articleId 文章ID
+     * @return 文章ID，指定文章不在时间线中或已是最新时返回 null
+     */
+    public Long newer(long articleId) {
+        Long publishedTime = publishedTimes.get(articleId);
+        if (publishedTime == null) {
+            return null;
+        }
+        Entry entry = entries.lower(new Entry(publishedTime, articleId));
+        return entry == null ? null : entry.articleId;
+    }
+
+    /**
+     * 比指定文章旧的相邻文章
+     *
+     * @param articleId 文章ID
+     * @return 文章ID，指定文章不在时间线中或已是最旧时返回 null
+     */
+    public Long older(long articleId) {
+        Long publishedTime = publishedTimes.get(articleId);
+        if (publishedTime == null) {
+            return null;
+        }
+        Entry entry = entries.higher(new Entry(publishedTime, articleId));
+        return entry == null ? null : entry.articleId;
+    }
+
+    /**
+     * 按发布时间倒序取 [fromTime, toTime) 范围内第 offset 条起的文章
+     *
+     * @param fromTime 起始时间（含）
+     * @param toTime 结束时间（不含）
+     * @param offset 跳过的文章数
+     * @param limit 最多返回的文章数
+     * @return 文章ID列表
+     */
+    public List<Long> list(long fromTime, long toTime, int offset, int limit) {
+        if (fromTime >= toTime || limit <= 0) {
+            return Collections.emptyList();
+        }
+        // 倒序排列中，toTime 之前最新的文章在前，fromTime 最旧的文章在后
+        NavigableSet<Entry> range = entries.subSet(new Entry(toTime - 1, Long.MAX_VALUE), true,
+                new Entry(fromTime, Long.MIN_VALUE), true);
+        List<Long> result = new ArrayList<>();
+        Iterator<Entry> iterator = range.iterator();
+        for (int skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        while (iterator.hasNext() && result.size() < limit) {
+            result.add(iterator.next().articleId);
+        }
+        return result;
+    }
+
+    /**
+     * 时间线中的一篇文章，按发布时间倒序、其次ID倒序
+     */
+    private static final class Entry implements Comparable<Entry> {
+
+        private final long publishedTime;
+
+        private final long articleId;
+
+        private Entry(long publishedTime, long articleId) {
+            this.publishedTime = publishedTime;
+            this.articleId = articleId;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int compare = Long.compare(other.publishedTime, publishedTime);
+            return compare != 0 ? compare : Long.compare(other.articleId, articleId);
+        }
+    }
+}
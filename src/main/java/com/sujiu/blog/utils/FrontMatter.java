@@ -0,0 +1,234 @@
+package com.sujiu.blog.utils;
+
+import cn.hutool.core.date.DateException;
+import cn.hutool.core.date.DateUtil;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Markdown front-matter 解析
+ * 文件以 --- 行开头时，到下一个 --- 或 ... 行之间的内容按 YAML 解析为属性，其余部分为正文；
+ * 没有 front-matter 时属性为空，整个文件为正文；{@link #format} 生成可以被本类重新解析的文本
+ *
+ * @author sujiu
+ */
+public class FrontMatter {
+
+    private static final String DELIMITER = "---";
+
+    private final Map<String, Object> attributes;
+
+    private final String body;
+
+    private FrontMatter(Map<String, Object> attributes, String body) {
+        this.attributes = attributes;
+        this.body = body;
+    }
+
+    /**
+     * 解析 Markdown 文本
+     *
+     * @param text 文件内容
+     * @return 解析结果
+     * @throws IllegalArgumentException front-matter 格式错误
+     */
+    public static FrontMatter parse(String text) {
+        if (text == null) {
+            return new FrontMatter(Collections.emptyMap(), "");
+        }
+        if (text.startsWith("\uFEFF")) {
+            text = text.substring(1);
+        }
+        int firstLineEnd = lineEnd(text, 0);
+        if (!DELIMITER.equals(text.substring(0, firstLineEnd).trim())) {
+            return new FrontMatter(Collections.emptyMap(), text);
+        }
+
+        int position = nextLine(text, firstLineEnd);
+        while (position < text.length()) {
+            int end = lineEnd(text, position);
+            String line = text.substring(position, end).trim();
+            if (DELIMITER.equals(line) || "...".equals(line)) {
+                Map<String, Object> attributes = parseYaml(text.substring(nextLine(text, firstLineEnd), position));
+                return new FrontMatter(attributes, text.substring(nextLine(text, end)));
+            }
+            position = nextLine(text, end);
+        }
+        throw new IllegalArgumentException("front-matter 缺少结束分隔符");
+    }
+
+    /**
+     * 生成带 front-matter 的 Markdown 文本，值为 null 的属性不输出
+     *
+     * @param attributes 属性，按迭代顺序输出
+     * @param body 正文
+     * @return Markdown 文本
+     */
+    public static String format(Map<String, Object> attributes, String body) {
+        Map<String, Object> present = new LinkedHashMap<>();
+        attributes.forEach((key, value) -> {
+            if (value != null) {
+                present.put(key, value);
+            }
+        });
+        DumperOptions options = new DumperOptions();
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        options.setAllowUnicode(true);
+        options.setWidth(Integer.MAX_VALUE);
+        StringBuilder text = new StringBuilder(DELIMITER).append('\n');
+        if (!present.isEmpty()) {
+            text.append(new Yaml(options).dump(present));
+        }
+        text.append(DELIMITER).append("\n\n");
+        if (body != null) {
+            text.append(body);
+        }
+        return text.toString();
+    }
+
+    /**
+     * 正文
+     */
+    public String getBody() {
+        return body;
+    }
+
+    /**
+     * 按顺序取第一个存在的属性，转为去掉首尾空白的字符串，空白时返回 null
+     *
+     * @param keys 属性名及其别名
+     * @return 属性值
+     */
+    public String getString(String... keys) {
+        Object value = get(keys);
+        if (value instanceof Collection) {
+            // 单值属性写成了列表，取第一个元素
+            Collection<?> values = (Collection<?>) value;
+            value = values.isEmpty() ? null : values.iterator().next();
+        }
+        if (value == null) {
+            return null;
+        }
+        String text = value.toString().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    /**
+     * 取字符串列表属性，列表和逗号分隔的字符串都可以
+     *
+     * @param keys 属性名及其别名
+     * @return 去重后的非空元素，属性不存在时为空列表
+     */
+    public List<String> getStringList(String... keys) {
+        Object value = get(keys);
+        if (value == null) {
+            return Collections.emptyList();
+        }
+        Collection<?> values = value instanceof Collection ? (Collection<?>) value
+                : Arrays.asList(value.toString().split(","));
+        List<String> result = new ArrayList<>(values.size());
+        for (Object element : values) {
+            if (element == null) {
+                continue;
+            }
+            String text = element.toString().trim();
+            if (!text.isEmpty() && !result.contains(text)) {
+                result.add(text);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 取布尔属性
+     *
+     * @param keys 属性名及其别名
+     * @return 属性值，不存在时返回 null
+     */
+    public Boolean getBoolean(String... keys) {
+        Object value = get(keys);
+        if (value == null || value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        String text = value.toString().trim().toLowerCase();
+        if ("true".equals(text) || "yes".equals(text) || "1".equals(text)) {
+            return true;
+        }
+        if ("false".equals(text) || "no".equals(text) || "0".equals(text)) {
+            return false;
+        }
+        throw new IllegalArgumentException("属性 " + keys[0] + " 不是布尔值：" + value);
+    }
+
+    /**
+     * 取日期属性，支持 YAML 时间戳和常见的日期字符串格式
+     *
+     * @param keys 属性名及其别名
+     * @return 属性值，不存在时返回 null
+     */
+    public Date getDate(String... keys) {
+        Object value = get(keys);
+        if (value == null || value instanceof Date) {
+            return (Date) value;
+        }
+        try {
+            return DateUtil.parse(value.toString().trim());
+        } catch (DateException e) {
+            throw new IllegalArgumentException("属性 " + keys[0] + " 不是有效日期：" + value);
+        }
+    }
+
+    private Object get(String... keys) {
+        for (String key : keys) {
+            Object value = attributes.get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, Object> parseYaml(String yaml) {
+        Object loaded;
+        try {
+            loaded = new Yaml(new SafeConstructor()).load(yaml);
+        } catch (YAMLException e) {
+            throw new IllegalArgumentException("front-matter 格式错误：" + e.getMessage());
+        }
+        if (loaded == null) {
+            return Collections.emptyMap();
+        }
+        if (!(loaded instanceof Map)) {
+            throw new IllegalArgumentException("front-matter 必须是键值对");
+        }
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        ((Map<?, ?>) loaded).forEach((key, value) -> attributes.put(String.valueOf(key), value));
+        return attributes;
+    }
+
+    /**
+     * 从 start 开始的行的结束位置（不含换行符）
+     */
+    private static int lineEnd(String text, int start) {
+        int end = text.indexOf('\n', start);
+        return end < 0 ? text.length() : end;
+    }
+
+    /**
+     * 行结束位置之后下一行的起始位置
+     */
+    private static int nextLine(String text, int lineEnd) {
+        return Math.min(text.length(), lineEnd + 1);
+    }
+}
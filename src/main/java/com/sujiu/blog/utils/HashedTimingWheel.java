@@ -0,0 +1,278 @@
+package com.sujiu.blog.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 哈希时间轮
+ * 按固定刻度推进的环形数组，每个槽位是一个双向链表。任务按到期时间散列到槽位，超过一圈的任务记录剩余圈数；
+ * 添加、取消都是 O(1) 的链表操作，每个刻度只处理当前槽位，与任务总数无关。
+ * 到期任务交给外部执行器运行，避免慢任务拖慢刻度推进
+ *
+ * @author sujiu
+ */
+@Slf4j
+public class HashedTimingWheel {
+
+    private final long tickMillis;
+
+    private final Bucket[] buckets;
+
+    private final int mask;
+
+    private final Executor executor;
+
+    private final Thread worker;
+
+    private final Object lock = new Object();
+
+    /**
+     * 时间轮起点（毫秒）
+     */
+    private final long startTime;
+
+    /**
+     * 已推进的刻度数，只在持有锁时读写
+     */
+    private long tick;
+
+    private int size;
+
+    private volatile boolean running;
+
+    /**
+     * @param tickMillis 刻度时长（毫秒）
+     * @param wheelSize 槽位数，向上取整为 2 的幂
+     * @param executor 到期任务的执行器
+     * @param threadName 推进线程名称
+     */
+    public HashedTimingWheel(long tickMillis, int wheelSize, Executor executor, String threadName) {
+        if (tickMillis <= 0 || wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("刻度时长和槽位数必须大于0");
+        }
+        int normalized = 1;
+        while (normalized < wheelSize) {
+            normalized <<= 1;
+        }
+        this.tickMillis = tickMillis;
+        this.buckets = new Bucket[normalized];
+        for (int i = 0; i < normalized; i++) {
+            buckets[i] = new Bucket();
+        }
+        this.mask = normalized - 1;
+        this.executor = executor;
+        this.startTime = System.currentTimeMillis();
+        this.worker = new Thread(this::run, threadName);
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * 启动推进线程
+     */
+    public void start() {
+        synchronized (lock) {
+            if (running) {
+                return;
+            }
+            running = true;
+        }
+        worker.start();
+    }
+
+    /**
+     * 停止推进线程，未到期的任务不再执行
+     */
+    public void stop() {
+        running = false;
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * 添加定时任务
+     *
+     * @param task 任务
+     * @param deadline 到期时间（毫秒时间戳），已过期的任务在下一个刻度执行
+     * @return 任务句柄，可用于取消
+     */
+    public Timeout schedule(Runnable task, long deadline) {
+        Timeout timeout = new Timeout(task, deadline);
+        synchronized (lock) {
+            long calculated = Math.max(0L, (deadline - startTime) / tickMillis);
+            long ticks = Math.max(calculated, tick);
+            timeout.remainingRounds = (ticks - tick) / buckets.length;
+            buckets[(int) (ticks & mask)].add(timeout);
+            size++;
+        }
+        return timeout;
+    }
+
+    /**
+     * 未到期的任务数
+     */
+    public int size() {
+        synchronized (lock) {
+            return size;
+        }
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = startTime + (tick + 1) * tickMillis;
+            if (!waitUntil(deadline)) {
+                break;
+            }
+            synchronized (lock) {
+                Timeout timeout = buckets[(int) (tick & mask)].head;
+                while (timeout != null) {
+                    Timeout next = timeout.next;
+                    if (timeout.remainingRounds <= 0) {
+                        timeout.bucket.remove(timeout);
+                        size--;
+                        timeout.state = Timeout.STATE_EXPIRED;
+                        fire(timeout);
+                    } else {
+                        timeout.remainingRounds--;
+                    }
+                    timeout = next;
+                }
+                tick++;
+            }
+        }
+    }
+
+    /**
+     * 等待到指定时间，被停止时返回 false
+     */
+    private boolean waitUntil(long deadline) {
+        synchronized (lock) {
+            long now = System.currentTimeMillis();
+            while (running && now < deadline) {
+                try {
+                    lock.wait(deadline - now);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                    return false;
+                }
+                now = System.currentTimeMillis();
+            }
+            return running;
+        }
+    }
+
+    private void fire(Timeout timeout) {
+        try {
+            executor.execute(timeout.task);
+        } catch (RejectedExecutionException e) {
+            log.error("时间轮任务提交失败，到期时间：{}", timeout.deadline, e);
+        } catch (RuntimeException e) {
+            // 同步执行器中任务抛出的异常不能中断刻度推进
+            log.error("时间轮任务执行失败，到期时间：{}", timeout.deadline, e);
+        }
+    }
+
+    /**
+     * 定时任务句柄
+     */
+    public final class Timeout {
+
+        private static final int STATE_PENDING = 0;
+
+        private static final int STATE_CANCELLED = 1;
+
+        private static final int STATE_EXPIRED = 2;
+
+        private final Runnable task;
+
+        private final long deadline;
+
+        private long remainingRounds;
+
+        private int state = STATE_PENDING;
+
+        private Bucket bucket;
+
+        private Timeout prev;
+
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * 取消任务
+         *
+         * @return 任务尚未执行时返回 true
+         */
+        public boolean cancel() {
+            synchronized (lock) {
+                if (state != STATE_PENDING) {
+                    return false;
+                }
+                state = STATE_CANCELLED;
+                bucket.remove(this);
+                size--;
+                return true;
+            }
+        }
+
+        public boolean isCancelled() {
+            synchronized (lock) {
+                return state == STATE_CANCELLED;
+            }
+        }
+
+        public boolean isExpired() {
+            synchronized (lock) {
+                return state == STATE_EXPIRED;
+            }
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+    }
+
+    /**
+     * 槽位：任务的双向链表
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.sujiu.blog.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 时间衰减热度排行
+ * 每个对象维护一个按半衰期指数衰减的分数，事件到来时增量累加；定期用容量为 K 的小顶堆选出前 K 名，
+ * 生成按分数倒序排列的快照，读取时只需遍历快照
+ *
+ * @author sujiu
+ */
+public class HotRanking {
+
+    /**
+     * 发布时间未知
+     */
+    public static final long UNKNOWN_TIME = -1L;
+
+    /**
+     * 低于该分数的对象在重建时移除
+     */
+    private static final double MIN_SCORE = 1e-3;
+
+    /**
+     * 每毫秒的衰减系数：ln2 / 半衰期
+     */
+    private final double decayRate;
+
+    /**
+     * 快照容量（K）
+     */
+    private final int capacity;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 最近一次重建的前 K 名，按分数倒序
+     */
+    private volatile List<RankedItem> snapshot = Collections.emptyList();
+
+    /**
+     * @param halfLifeMillis 半衰期（毫秒）
+     * @param capacity 快照容量
+     */
+    public HotRanking(long halfLifeMillis, int capacity) {
+        if (halfLifeMillis <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("半衰期和容量必须大于0");
+        }
+        this.decayRate = Math.log(2) / halfLifeMillis;
+        this.capacity = capacity;
+    }
+
+    /**
+     * 累加事件权重
+     *
+     * @param id 对象ID
+     * @param weight 权重，可以为负（如取消点赞）
+     * @param now 事件时间（毫秒）
+     */
+    public void add(long id, double weight, long now) {
+        entries.computeIfAbsent(id, key -> new Entry()).add(weight, now, decayRate);
+    }
+
+    /**
+     * 设置对象的发布时间，不存在时创建
+     *
+     * @param id 对象ID
+     * @param publishedTime 发布时间（毫秒）
+     */
+    public void setPublishedTime(long id, long publishedTime) {
+        entries.computeIfAbsent(id, key -> new Entry()).publishedTime = publishedTime;
+    }
+
+    /**
+     * 移除对象
+     *
+     * @param id 对象ID
+     */
+    public void remove(long id) {
+        entries.remove(id);
+        List<RankedItem> current = snapshot;
+        for (RankedItem item : current) {
+            if (item.id == id) {
+                List<RankedItem> copy = new ArrayList<>(current);
+                copy.remove(item);
+                snapshot = Collections.unmodifiableList(copy);
+                break;
+            }
+        }
+    }
+
+    /**
+     * 发布时间未知的对象ID
+     *
+     * @return 对象ID集合
+     */
+    public Set<Long> getUnresolvedIds() {
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        entries.forEach((id, entry) -> {
+            if (entry.publishedTime == UNKNOWN_TIME) {
+                ids.add(id);
+            }
+        });
+        return ids;
+    }
+
+    /**
+     * 重建前 K 名快照，同时清理窗口外和分数过低的对象
+     *
+     * @param now 当前时间（毫秒）
+     * @param windowStart 窗口起点，发布早于该时间的对象被移除
+     */
+    public void rebuild(long now, long windowStart) {
+        PriorityQueue<RankedItem> heap = new PriorityQueue<>(capacity + 1,
+                (a, b) -> Double.compare(a.score, b.score));
+        Iterator<Map.Entry<Long, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Entry> mapEntry = iterator.next();
+            Entry entry = mapEntry.getValue();
+            long publishedTime = entry.publishedTime;
+            double score = entry.scoreAt(now, decayRate);
+            if (publishedTime != UNKNOWN_TIME && (publishedTime < windowStart || score < MIN_SCORE)) {
+                iterator.remove();
+                continue;
+            }
+            if (publishedTime == UNKNOWN_TIME || score < MIN_SCORE) {
+                continue;
+            }
+            if (heap.size() < capacity) {
+                heap.offer(new RankedItem(mapEntry.getKey(), publishedTime, score));
+            } else if (score > heap.peek().score) {
+                heap.poll();
+                heap.offer(new RankedItem(mapEntry.getKey(), publishedTime, score));
+            }
+        }
+
+        List<RankedItem> ranked = new ArrayList<>(heap);
+        ranked.sort((a, b) -> Double.compare(b.score, a.score));
+        snapshot = Collections.unmodifiableList(ranked);
+    }
+
+    /**
+     * 获取排行前列的对象ID
+     *
+     * @param limit 数量
+     * @param publishedAfter 只返回在该时间之后发布的对象
+     * @return 按分数倒序的对象ID
+     */
+    public List<Long> top(int limit, long publishedAfter) {
+        List<Long> ids = new ArrayList<>(Math.min(limit, capacity));
+        for (RankedItem item : snapshot) {
+            if (ids.size() >= limit) {
+                break;
+            }
+            if (item.publishedTime >= publishedAfter) {
+                ids.add(item.id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 当前跟踪的对象数量
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 单个对象的衰减分数，记录的是 lastUpdate 时刻的值
+     */
+    private static final class Entry {
+
+        private volatile long publishedTime = UNKNOWN_TIME;
+
+        private double score;
+
+        private long lastUpdate;
+
+        synchronized void add(double weight, long now, double decayRate) {
+            if (lastUpdate == 0L) {
+                score = weight;
+                lastUpdate = now;
+            } else if (now >= lastUpdate) {
+                score = score * Math.exp(-decayRate * (now - lastUpdate)) + weight;
+                lastUpdate = now;
+            } else {
+                // 乱序到达的事件按其发生时间折算
+                score += weight * Math.exp(-decayRate * (lastUpdate - now));
+            }
+        }
+
+        synchronized double scoreAt(long now, double decayRate) {
+            if (lastUpdate == 0L) {
+                return 0D;
+            }
+            return now > lastUpdate ? score * Math.exp(-decayRate * (now - lastUpdate)) : score;
+        }
+    }
+
+    /**
+     * 快照中的排名项
+     */
+    private static final class RankedItem {
+
+        private final long id;
+
+        private final long publishedTime;
+
+        private final double score;
+
+        private RankedItem(long id, long publishedTime, double score) {
+            this.id = id;
+            this.publishedTime = publishedTime;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package com.sujiu.blog.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 行级差异工具
+ * 使用 Myers 差分算法计算两段文本的最短编辑脚本，并提供紧凑的增量编码、增量还原和统一差异格式输出。
+ * 增量格式每行一条指令：=n 复制源文本 n 行，-n 跳过源文本 n 行，+n 插入随后的 n 行
+ *
+ * @author sujiu
+ */
+public class LineDiff {
+
+    /**
+     * 编辑距离上限，超过后退化为整段替换，避免大改动时 O(D²) 的回溯内存
+     */
+    private static final int MAX_EDIT_DISTANCE = 1000;
+
+    private LineDiff() {
+    }
+
+    /**
+     * 编辑类型
+     */
+    public enum Type {
+        EQUAL, DELETE, INSERT
+    }
+
+    /**
+     * 连续的同类编辑
+     */
+    public static final class Edit {
+
+        private final Type type;
+
+        private final int count;
+
+        public Edit(Type type, int count) {
+            this.type = type;
+            this.count = count;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
+    /**
+     * 按换行符拆分文本，保留末尾空行，使 {@link #joinLines} 能还原原文
+     *
+     * @param text 文本，null 视为空文本
+     * @return 行列表
+     */
+    public static List<String> splitLines(String text) {
+        if (text == null) {
+            text = "";
+        }
+        return Arrays.asList(text.split("\n", -1));
+    }
+
+    /**
+     * 用换行符拼接行
+     *
+     * @param lines 行列表
+     * @return 文本
+     */
+    public static String joinLines(List<String> lines) {
+        return String.join("\n", lines);
+    }
+
+    /**
+     * 计算从源文本到目标文本的编辑脚本
+     *
+     * @param source 源文本行
+     * @param target 目标文本行
+     * @return 按顺序合并后的编辑列表
+     */
+    public static List<Edit> diff(List<String> source, List<String> target) {
+        // 行映射为整数，比较时只比较编号
+        Map<String, Integer> lineIds = new HashMap<>();
+        int[] a = toIds(source, lineIds);
+        int[] b = toIds(target, lineIds);
+
+        // 去掉公共前缀和后缀，只对中间部分运行差分
+        int prefix = 0;
+        while (prefix < a.length && prefix < b.length && a[prefix] == b[prefix]) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < a.length - prefix && suffix < b.length - prefix
+                && a[a.length - 1 - suffix] == b[b.length - 1 - suffix]) {
+            suffix++;
+        }
+
+        List<Edit> edits = new ArrayList<>();
+        append(edits, Type.EQUAL, prefix);
+        for (Edit edit : diffMiddle(a, prefix, a.length - suffix, b, prefix, b.length - suffix)) {
+            append(edits, edit.type, edit.count);
+        }
+        append(edits, Type.EQUAL, suffix);
+        return edits;
+    }
+
+    /**
+     * 将编辑脚本编码为增量文本
+     *
+     * @param edits 编辑列表
+     * @param target 目标文本行，提供插入的内容
+     * @return 增量文本，源和目标相同时为空串
+     */
+    public static String encodeDelta(List<Edit> edits, List<String> target) {
+        if (edits.size() == 1 && edits.get(0).type == Type.EQUAL) {
+            return "";
+        }
+        StringBuilder delta = new StringBuilder();
+        int targetIndex = 0;
+        for (Edit edit : edits) {
+            if (delta.length() > 0) {
+                delta.append('\n');
+            }
+            switch (edit.type) {
+                case EQUAL:
+                    delta.append('=').append(edit.count);
+                    targetIndex += edit.count;
+                    break;
+                case DELETE:
+                    delta.append('-').append(edit.count);
+                    break;
+                default:
+                    delta.append('+').append(edit.count);
+                    for (int i = 0; i < edit.count; i++) {
+                        delta.append('\n').append(target.get(targetIndex++));
+                    }
+                    break;
+            }
+        }
+        return delta.toString();
+    }
+
+    /**
+     * 在源文本上应用增量
+     *
+     * @param source 源文本行
+     * @param delta 增量文本
+     * @return 目标文本行
+     * @throws IllegalArgumentException 增量与源文本不匹配
+     */
+    public static List<String> applyDelta(List<String> source, String delta) {
+        if (delta == null || delta.isEmpty()) {
+            return new ArrayList<>(source);
+        }
+        String[] commands = delta.split("\n", -1);
+        List<String> target = new ArrayList<>(source.size());
+        int sourceIndex = 0;
+        int i = 0;
+        while (i < commands.length) {
+            String command = commands[i++];
+            if (command.length() < 2) {
+                throw new IllegalArgumentException("增量指令格式错误：" + command);
+            }
+            int count;
+            try {
+                count = Integer.parseInt(command.substring(1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("增量指令格式错误：" + command);
+            }
+            switch (command.charAt(0)) {
+                case '=':
+                    if (sourceIndex + count > source.size()) {
+                        throw new IllegalArgumentException("增量超出源文本范围");
+                    }
+                    target.addAll(source.subList(sourceIndex, sourceIndex + count));
+                    sourceIndex += count;
+                    break;
+                case '-':
+                    if (sourceIndex + count > source.size()) {
+                        throw new IllegalArgumentException("增量超出源文本范围");
+                    }
+                    sourceIndex += count;
+                    break;
+                case '+':
+                    if (i + count > commands.length) {
+                        throw new IllegalArgumentException("增量插入内容不完整");
+                    }
+                    target.addAll(Arrays.asList(commands).subList(i, i + count));
+                    i += count;
+                    break;
+                default:
+                    throw new IllegalArgumentException("增量指令格式错误：" + command);
+            }
+        }
+        if (sourceIndex != source.size()) {
+            throw new IllegalArgumentException("增量未覆盖完整源文本");
+        }
+        return target;
+    }
+
+    /**
+     * 输出统一差异格式（unified diff）的变更块
+     *
+     * @param edits 编辑列表
+     * @param source 源文本行
+     * @param target 目标文本行
+     * @param context 变更前后保留的上下文行数
+     * @return 差异文本，无变化时为空串
+     */
+    public static String toUnifiedDiff(List<Edit> edits, List<String> source, List<String> target, int context) {
+        // 展开为逐行记录：类型、记录前的源行号和目标行号
+        int total = 0;
+        for (Edit edit : edits) {
+            total += edit.count;
+        }
+        Type[] types = new Type[total];
+        int[] sourcePositions = new int[total + 1];
+        int[] targetPositions = new int[total + 1];
+        int index = 0;
+        int sourceIndex = 0;
+        int targetIndex = 0;
+        for (Edit edit : edits) {
+            for (int i = 0; i < edit.count; i++) {
+                types[index] = edit.type;
+                sourcePositions[index] = sourceIndex;
+                targetPositions[index] = targetIndex;
+                if (edit.type != Type.INSERT) {
+                    sourceIndex++;
+                }
+                if (edit.type != Type.DELETE) {
+                    targetIndex++;
+                }
+                index++;
+            }
+        }
+        sourcePositions[total] = sourceIndex;
+        targetPositions[total] = targetIndex;
+
+        StringBuilder diff = new StringBuilder();
+        int i = 0;
+        while (i < total) {
+            if (types[i] == Type.EQUAL) {
+                i++;
+                continue;
+            }
+            // 合并间隔不超过两倍上下文的变更
+            int start = Math.max(0, i - context);
+            int lastChange = i;
+            int j = i + 1;
+            while (j < total && j <= lastChange + 2 * context + 1) {
+                if (types[j] != Type.EQUAL) {
+                    lastChange = j;
+                }
+                j++;
+            }
+            int end = Math.min(total, lastChange + context + 1);
+
+            int sourceCount = sourcePositions[end] - sourcePositions[start];
+            int targetCount = targetPositions[end] - targetPositions[start];
+            diff.append("@@ -").append(sourceCount > 0 ? sourcePositions[start] + 1 : sourcePositions[start])
+                    .append(',').append(sourceCount)
+                    .append(" +").append(targetCount > 0 ? targetPositions[start] + 1 : targetPositions[start])
+                    .append(',').append(targetCount).append(" @@\n");
+            for (int k = start; k < end; k++) {
+                switch (types[k]) {
+                    case EQUAL:
+                        diff.append(' ').append(source.get(sourcePositions[k]));
+                        break;
+                    case DELETE:
+                        diff.append('-').append(source.get(sourcePositions[k]));
+                        break;
+                    default:
+                        diff.append('+').append(target.get(targetPositions[k]));
+                        break;
+                }
+                diff.append('\n');
+            }
+            i = end;
+        }
+        return diff.toString();
+    }
+
+    /**
+     * Myers 差分，a[aStart, aEnd) 到 b[bStart, bEnd)
+     */
+    private static List<Edit> diffMiddle(int[] a, int aStart, int aEnd, int[] b, int bStart, int bEnd) {
+        int n = aEnd - aStart;
+        int m = bEnd - bStart;
+        if (n == 0 || m == 0) {
+            List<Edit> edits = new ArrayList<>(2);
+            append(edits, Type.DELETE, n);
+            append(edits, Type.INSERT, m);
+            return edits;
+        }
+
+        int max = Math.min(n + m, MAX_EDIT_DISTANCE);
+        int offset = max + 1;
+        int[] v = new int[2 * max + 3];
+        // trace.get(d) 保存第 d 步结束时 k ∈ [-d, d] 的最远 x
+        List<int[]> trace = new ArrayList<>();
+        for (int d = 0; d <= max; d++) {
+            for (int k = -d; k <= d; k += 2) {
+                int x;
+                if (k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1])) {
+                    x = v[offset + k + 1];
+                } else {
+                    x = v[offset + k - 1] + 1;
+                }
+                int y = x - k;
+                while (x < n && y < m && a[aStart + x] == b[bStart + y]) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                if (x >= n && y >= m) {
+                    return backtrack(trace, d, n, m);
+                }
+            }
+            trace.add(Arrays.copyOfRange(v, offset - d, offset + d + 1));
+        }
+
+        // 改动过大，整段替换
+        List<Edit> edits = new ArrayList<>(2);
+        append(edits, Type.DELETE, n);
+        append(edits, Type.INSERT, m);
+        return edits;
+    }
+
+    /**
+     * 从终点沿 trace 回溯出编辑路径
+     */
+    private static List<Edit> backtrack(List<int[]> trace, int distance, int n, int m) {
+        List<Edit> reversed = new ArrayList<>();
+        int x = n;
+        int y = m;
+        for (int d = distance; d > 0; d--) {
+            int[] previous = trace.get(d - 1);
+            int k = x - y;
+            int previousK;
+            if (k == -d || (k != d && previous[k - 1 + d - 1] < previous[k + 1 + d - 1])) {
+                previousK = k + 1;
+            } else {
+                previousK = k - 1;
+            }
+            int previousX = previous[previousK + d - 1];
+            int previousY = previousX - previousK;
+            // 向下移动为插入一行，向右移动为删除一行，之后沿对角线是相同的行
+            boolean insert = previousK == k + 1;
+            int snake = insert ? x - previousX : y - previousY;
+            append(reversed, Type.EQUAL, snake);
+            append(reversed, insert ? Type.INSERT : Type.DELETE, 1);
+            x = previousX;
+            y = previousY;
+        }
+        append(reversed, Type.EQUAL, x);
+        Collections.reverse(reversed);
+        return reversed;
+    }
+
+    private static int[] toIds(List<String> lines, Map<String, Integer> lineIds) {
+        int[] ids = new int[lines.size()];
+        for (int i = 0; i < ids.length; i++) {
+            Integer id = lineIds.get(lines.get(i));
+            if (id == null) {
+                id = lineIds.size();
+                lineIds.put(lines.get(i), id);
+            }
+            ids[i] = id;
+        }
+        return ids;
+    }
+
+    private static void append(List<Edit> edits, Type type, int count) {
+        if (count <= 0) {
+            return;
+        }
+        int last = edits.size() - 1;
+        if (last >= 0 && edits.get(last).type == type) {
+            edits.set(last, new Edit(type, edits.get(last).count + count));
+        } else {
+            edits.add(new Edit(type, count));
+        }
+    }
+}
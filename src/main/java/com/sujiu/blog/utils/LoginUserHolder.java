@@ -0,0 +1,68 @@
+package com.sujiu.blog.utils;
+
+import com.sujiu.blog.model.entity.User;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * 请求级登录用户缓存
+ * 同一请求内权限切面和各业务服务都要读取当前登录用户，第一次解析的结果保存在请求属性中，
+ * 后续直接复用；请求结束后随请求对象一起释放，不会跨请求使用过期数据
+ *
+ * @author sujiu
+ */
+public class LoginUserHolder {
+
+    /**
+     * 请求属性键
+     */
+    private static final String LOGIN_USER_ATTRIBUTE = LoginUserHolder.class.getName() + ".LOGIN_USER";
+
+    /**
+     * 已解析但未登录的占位值
+     */
+    private static final Object ANONYMOUS = new Object();
+
+    private LoginUserHolder() {
+    }
+
+    /**
+     * 当前请求是否已解析过登录用户
+     *
+     * @param request HTTP请求对象
+     * @return 是否已解析
+     */
+    public static boolean isResolved(HttpServletRequest request) {
+        return request.getAttribute(LOGIN_USER_ATTRIBUTE) != null;
+    }
+
+    /**
+     * 获取已解析的登录用户
+     *
+     * @param request HTTP请求对象
+     * @return 登录用户，未解析或未登录时返回 null
+     */
+    public static User get(HttpServletRequest request) {
+        Object value = request.getAttribute(LOGIN_USER_ATTRIBUTE);
+        return value instanceof User ? (User) value : null;
+    }
+
+    /**
+     * 保存解析结果
+     *
+     * @param request HTTP请求对象
+     * @param user 登录用户，未登录时为 null
+     */
+    public static void set(HttpServletRequest request, User user) {
+        request.setAttribute(LOGIN_USER_ATTRIBUTE, user != null ? user : ANONYMOUS);
+    }
+
+    /**
+     * 清除解析结果，登录态或用户信息变化后调用
+     *
+     * @param request HTTP请求对象
+     */
+    public static void clear(HttpServletRequest request) {
+        request.removeAttribute(LOGIN_USER_ATTRIBUTE);
+    }
+}
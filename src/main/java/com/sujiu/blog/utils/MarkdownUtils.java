@@ -0,0 +1,980 @@
+package com.sujiu.blog.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Markdown 渲染工具类
+ * 单遍扫描：按行识别块级结构，行内元素按字符区间递归渲染，全部输出写入同一个 StringBuilder
+ *
+ * 支持：ATX 标题、围栏代码块、引用、有序/无序列表（含缩进嵌套）、分隔线、段落，
+ * 以及行内代码、粗体、斜体、删除线、链接、图片、自动链接和反斜杠转义。
+ * 行内分隔符的闭合查找按区间缓存，任意输入的渲染时间都与长度成线性关系
+ *
+ * @author sujiu
+ */
+public class MarkdownUtils {
+
+    /**
+     * 标题最大级别
+     */
+    private static final int MAX_HEADING_LEVEL = 6;
+
+    /**
+     * 行内元素最大嵌套层数，更深的内容按纯文本输出
+     */
+    private static final int MAX_INLINE_DEPTH = 32;
+
+    private MarkdownUtils() {
+    }
+
+    /**
+     * 将Markdown渲染为HTML
+     *
+     * @param markdown Markdown内容
+     * @return HTML内容
+     */
+    public static String toHtml(String markdown) {
+        if (markdown == null || markdown.isEmpty()) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(markdown.length() + (markdown.length() >> 2));
+        new BlockRenderer(markdown, out).render();
+        return out.toString();
+    }
+
+    /**
+     * 块级渲染器，保存单次渲染的状态
+     */
+    private static final class BlockRenderer {
+
+        private final String src;
+
+        private final StringBuilder out;
+
+        /**
+         * 已打开的列表，栈顶为最内层
+         */
+        private final Deque<ListState> lists = new ArrayDeque<>();
+
+        private boolean paragraphOpen;
+
+        private boolean blockquoteOpen;
+
+        /**
+         * 当前列表项是否仍可接续下一行文本
+         */
+        private boolean listItemOpen;
+
+        /**
+         * 上一行是否为空行
+         */
+        private boolean afterBlank;
+
+        private char fenceChar;
+
+        private int fenceLength;
+
+        BlockRenderer(String src, StringBuilder out) {
+            this.src = src;
+            this.out = out;
+        }
+
+        void render() {
+            int length = src.length();
+            int lineStart = 0;
+            while (lineStart <= length) {
+                int lineEnd = src.indexOf('\n', lineStart);
+                if (lineEnd < 0) {
+                    lineEnd = length;
+                }
+                int contentEnd = lineEnd;
+                if (contentEnd > lineStart && src.charAt(contentEnd - 1) == '\r') {
+                    contentEnd--;
+                }
+                renderLine(lineStart, contentEnd);
+                lineStart = lineEnd + 1;
+            }
+            if (fenceLength > 0) {
+                out.append("</code></pre>\n");
+                fenceLength = 0;
+            }
+            closeAll();
+        }
+
+        private void renderLine(int start, int end) {
+            // 1. 围栏代码块内部
+            if (fenceLength > 0) {
+                if (isFenceClose(start, end)) {
+                    out.append("</code></pre>\n");
+                    fenceLength = 0;
+                } else {
+                    escapeHtml(start, end);
+                    out.append('\n');
+                }
+                return;
+            }
+
+            int indent = countIndent(start, end);
+            int first = start + indent;
+
+            // 2. 空行
+            if (first >= end) {
+                closeParagraph();
+                closeBlockquote();
+                listItemOpen = false;
+                afterBlank = true;
+                return;
+            }
+
+            char c = src.charAt(first);
+
+            // 3. 围栏代码块开始
+            if ((c == '`' || c == '~') && indent < 4) {
+                int run = countRun(first, end, c);
+                // 反引号围栏的信息串中不能再出现反引号
+                if (run >= 3 && (c == '~' || indexOf('`', first + run, end) < 0)) {
+                    closeAll();
+                    fenceChar = c;
+                    fenceLength = run;
+                    int langStart = skipSpaces(first + run, end);
+                    int langEnd = langStart;
+                    while (langEnd < end && !Character.isWhitespace(src.charAt(langEnd))) {
+                        langEnd++;
+                    }
+                    out.append("<pre><code");
+                    if (langEnd > langStart) {
+                        out.append(" class=\"language-");
+                        escapeHtml(langStart, langEnd);
+                        out.append('"');
+                    }
+                    out.append('>');
+                    afterBlank = false;
+                    return;
+                }
+            }
+
+            // 4. ATX 标题
+            if (c == '#' && indent < 4) {
+                int level = countRun(first, end, '#');
+                if (level <= MAX_HEADING_LEVEL && (first + level == end || src.charAt(first + level) == ' ')) {
+                    closeAll();
+                    int textStart = skipSpaces(first + level, end);
+                    int textEnd = trimTrailingHashes(textStart, end);
+                    out.append("<h").append(level).append('>');
+                    renderInline(textStart, textEnd);
+                    out.append("</h").append(level).append(">\n");
+                    afterBlank = false;
+                    return;
+                }
+            }
+
+            // 5. 分隔线
+            if ((c == '-' || c == '*' || c == '_') && indent < 4 && isThematicBreak(first, end, c)) {
+                closeAll();
+                out.append("<hr>\n");
+                afterBlank = false;
+                return;
+            }
+
+            // 6. 引用
+            if (c == '>' && indent < 4) {
+                if (!blockquoteOpen) {
+                    closeParagraph();
+                    closeLists();
+                    out.append("<blockquote>\n");
+                    blockquoteOpen = true;
+                }
+                int textStart = first + 1;
+                if (textStart < end && src.charAt(textStart) == ' ') {
+                    textStart++;
+                }
+                appendParagraphLine(textStart, end);
+                afterBlank = false;
+                return;
+            }
+
+            // 7. 列表项
+            int markerEnd = listMarkerEnd(first, end);
+            if (markerEnd > 0) {
+                closeParagraph();
+                closeBlockquote();
+                boolean ordered = Character.isDigit(c);
+                openListItem(indent, ordered, ordered ? parseStart(first) : 1);
+                renderInline(skipSpaces(markerEnd, end), end);
+                listItemOpen = true;
+                afterBlank = false;
+                return;
+            }
+
+            // 8. 普通文本：接续列表项、引用或段落
+            if (listItemOpen && !afterBlank) {
+                out.append("<br>\n");
+                renderInline(first, end);
+                return;
+            }
+            if (!lists.isEmpty() && afterBlank && indent > lists.peek().indent) {
+                // 空行后缩进的文本属于当前列表项的新段落
+                out.append("<p>");
+                renderInline(first, end);
+                out.append("</p>");
+                listItemOpen = true;
+                afterBlank = false;
+                return;
+            }
+            if (blockquoteOpen && !afterBlank) {
+                appendParagraphLine(first, end);
+                return;
+            }
+            closeLists();
+            closeBlockquote();
+            appendParagraphLine(first, end);
+            afterBlank = false;
+        }
+
+        /**
+         * 追加段落中的一行，行间换行渲染为 br
+         */
+        private void appendParagraphLine(int start, int end) {
+            if (paragraphOpen) {
+                out.append("<br>\n");
+            } else {
+                out.append("<p>");
+                paragraphOpen = true;
+            }
+            renderInline(start, end);
+        }
+
+        private void openListItem(int indent, boolean ordered, int startNumber) {
+            // 关闭比当前缩进更深的列表
+            while (!lists.isEmpty() && lists.peek().indent > indent) {
+                ListState closed = lists.pop();
+                out.append("</li>\n").append(closed.ordered ? "</ol>\n" : "</ul>\n");
+            }
+            ListState top = lists.peek();
+            if (top != null && top.indent == indent && top.ordered != ordered) {
+                lists.pop();
+                out.append("</li>\n").append(top.ordered ? "</ol>\n" : "</ul>\n");
+                top = lists.peek();
+            }
+            if (top == null || indent > top.indent) {
+                // 新列表（嵌套时位于上层列表项内部）
+                if (top != null) {
+                    out.append('\n');
+                }
+                if (ordered) {
+                    out.append("<ol");
+                    if (startNumber != 1) {
+                        out.append(" start=\"").append(startNumber).append('"');
+                    }
+                    out.append(">\n");
+                } else {
+                    out.append("<ul>\n");
+                }
+                lists.push(new ListState(indent, ordered));
+            } else {
+                out.append("</li>\n");
+            }
+            out.append("<li>");
+        }
+
+        private void closeAll() {
+            closeParagraph();
+            closeLists();
+            closeBlockquote();
+            afterBlank = false;
+        }
+
+        private void closeParagraph() {
+            if (paragraphOpen) {
+                out.append("</p>\n");
+                paragraphOpen = false;
+            }
+        }
+
+        private void closeLists() {
+            while (!lists.isEmpty()) {
+                ListState closed = lists.pop();
+                out.append("</li>\n").append(closed.ordered ? "</ol>\n" : "</ul>\n");
+            }
+            listItemOpen = false;
+        }
+
+        private void closeBlockquote() {
+            if (blockquoteOpen) {
+                closeParagraph();
+                out.append("</blockquote>\n");
+                blockquoteOpen = false;
+            }
+        }
+
+        // ==================== 块级识别辅助方法 ====================
+
+        private boolean isFenceClose(int start, int end) {
+            int first = start + countIndent(start, end);
+            int run = countRun(first, end, fenceChar);
+            return run >= fenceLength && skipSpaces(first + run, end) == end;
+        }
+
+        private boolean isThematicBreak(int start, int end, char c) {
+            int count = 0;
+            for (int i = start; i < end; i++) {
+                char ch = src.charAt(i);
+                if (ch == c) {
+                    count++;
+                } else if (ch != ' ' && ch != '\t') {
+                    return false;
+                }
+            }
+            return count >= 3;
+        }
+
+        /**
+         * 返回列表标记之后的位置，不是列表项时返回 -1
+         */
+        private int listMarkerEnd(int start, int end) {
+            char c = src.charAt(start);
+            if (c == '-' || c == '*' || c == '+') {
+                if (start + 1 == end || src.charAt(start + 1) == ' ' || src.charAt(start + 1) == '\t') {
+                    return start + 1;
+                }
+                return -1;
+            }
+            int i = start;
+            while (i < end && i - start < 9 && Character.isDigit(src.charAt(i))) {
+                i++;
+            }
+            if (i == start || i >= end) {
+                return -1;
+            }
+            char delimiter = src.charAt(i);
+            if ((delimiter == '.' || delimiter == ')')
+                    && (i + 1 == end || src.charAt(i + 1) == ' ' || src.charAt(i + 1) == '\t')) {
+                return i + 1;
+            }
+            return -1;
+        }
+
+        private int parseStart(int start) {
+            int value = 0;
+            for (int i = start; Character.isDigit(src.charAt(i)); i++) {
+                value = value * 10 + (src.charAt(i) - '0');
+            }
+            return value;
+        }
+
+        private int trimTrailingHashes(int start, int end) {
+            int e = end;
+            while (e > start && src.charAt(e - 1) == ' ') {
+                e--;
+            }
+            int hashEnd = e;
+            while (e > start && src.charAt(e - 1) == '#') {
+                e--;
+            }
+            if (e == start || (e < hashEnd && src.charAt(e - 1) == ' ')) {
+                while (e > start && src.charAt(e - 1) == ' ') {
+                    e--;
+                }
+                return e;
+            }
+            return hashEnd;
+        }
+
+        private int countIndent(int start, int end) {
+            int i = start;
+            while (i < end && (src.charAt(i) == ' ' || src.charAt(i) == '\t')) {
+                i++;
+            }
+            return i - start;
+        }
+
+        private int countRun(int start, int end, char c) {
+            int i = start;
+            while (i < end && src.charAt(i) == c) {
+                i++;
+            }
+            return i - start;
+        }
+
+        private int skipSpaces(int start, int end) {
+            int i = start;
+            while (i < end && (src.charAt(i) == ' ' || src.charAt(i) == '\t')) {
+                i++;
+            }
+            return i;
+        }
+
+        // ==================== 行内渲染 ====================
+
+        /**
+         * 渲染 [start, end) 区间内的行内元素
+         */
+        private void renderInline(int start, int end) {
+            renderInline(new InlineRange(start, end, 0, null));
+        }
+
+        private void renderInline(InlineRange range) {
+            int end = range.end;
+            // 嵌套过深的内容按纯文本输出，避免恶意输入耗尽调用栈
+            if (range.depth > MAX_INLINE_DEPTH) {
+                escapeHtml(range.start, end);
+                return;
+            }
+            int i = range.start;
+            while (i < end) {
+                char c = src.charAt(i);
+                switch (c) {
+                    case '\\':
+                        if (i + 1 < end && isAsciiPunctuation(src.charAt(i + 1))) {
+                            escapeChar(src.charAt(i + 1));
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    case '`': {
+                        int next = renderCodeSpan(range, i);
+                        if (next > 0) {
+                            i = next;
+                            continue;
+                        }
+                        int run = countRun(i, end, '`');
+                        out.append(src, i, i + run);
+                        i += run;
+                        continue;
+                    }
+                    case '!':
+                        if (i + 1 < end && src.charAt(i + 1) == '[') {
+                            int next = renderLink(range, i + 1, true);
+                            if (next > 0) {
+                                i = next;
+                                continue;
+                            }
+                        }
+                        break;
+                    case '[': {
+                        int next = renderLink(range, i, false);
+                        if (next > 0) {
+                            i = next;
+                            continue;
+                        }
+                        break;
+                    }
+                    case '<': {
+                        int next = renderAutolink(range, i);
+                        if (next > 0) {
+                            i = next;
+                            continue;
+                        }
+                        break;
+                    }
+                    case '*':
+                    case '_': {
+                        int next = renderEmphasis(range, i, c);
+                        if (next > 0) {
+                            i = next;
+                            continue;
+                        }
+                        int run = countRun(i, end, c);
+                        out.append(src, i, i + run);
+                        i += run;
+                        continue;
+                    }
+                    case '~':
+                        if (i + 1 < end && src.charAt(i + 1) == '~') {
+                            int close = findCloser(range, i + 2, "~~");
+                            if (close > 0) {
+                                out.append("<del>");
+                                renderInline(range.child(i + 2, close));
+                                out.append("</del>");
+                                i = close + 2;
+                                continue;
+                            }
+                        }
+                        break;
+                    default:
+                        break;
+                }
+                escapeChar(c);
+                i++;
+            }
+        }
+
+        /**
+         * 渲染行内代码，成功时返回结束位置，否则返回 -1
+         */
+        private int renderCodeSpan(InlineRange range, int start) {
+            int run = countRun(start, range.end, '`');
+            int close = range.backtickRun(start + run, run);
+            if (close < 0) {
+                return -1;
+            }
+            int codeStart = start + run;
+            int codeEnd = close;
+            if (codeEnd - codeStart >= 2 && src.charAt(codeStart) == ' ' && src.charAt(codeEnd - 1) == ' ') {
+                codeStart++;
+                codeEnd--;
+            }
+            out.append("<code>");
+            escapeHtml(codeStart, codeEnd);
+            out.append("</code>");
+            return close + run;
+        }
+
+        /**
+         * 渲染链接或图片，start 指向 '['，成功时返回结束位置，否则返回 -1
+         */
+        private int renderLink(InlineRange range, int start, boolean image) {
+            int end = range.end;
+            int textEnd = range.bracketClose(start);
+            if (textEnd < 0 || textEnd + 1 >= end || src.charAt(textEnd + 1) != '(') {
+                return -1;
+            }
+            int destStart = skipSpaces(textEnd + 2, end);
+            int destEnd = destStart;
+            while (destEnd < end) {
+                char c = src.charAt(destEnd);
+                if (c == '\\' && destEnd + 1 < end) {
+                    destEnd += 2;
+                    continue;
+                }
+                if (c == '(') {
+                    // 成对的括号整体跳过，没有配对时地址不会闭合
+                    int match = range.parenClose(destEnd);
+                    if (match < 0) {
+                        return -1;
+                    }
+                    destEnd = match + 1;
+                    continue;
+                }
+                if (c == ')' || c == ' ') {
+                    break;
+                }
+                destEnd++;
+            }
+            // 可选标题 "title"
+            int titleStart = -1;
+            int titleEnd = -1;
+            int close = skipSpaces(destEnd, end);
+            if (close < end && (src.charAt(close) == '"' || src.charAt(close) == '\'')) {
+                int q = range.indexOf(src.charAt(close), close + 1);
+                if (q < 0) {
+                    return -1;
+                }
+                titleStart = close + 1;
+                titleEnd = q;
+                close = skipSpaces(q + 1, end);
+            }
+            if (close >= end || src.charAt(close) != ')') {
+                return -1;
+            }
+
+            if (image) {
+                out.append("<img src=\"");
+                appendUrl(destStart, destEnd);
+                out.append("\" alt=\"");
+                escapeHtml(start + 1, textEnd);
+                out.append('"');
+                if (titleStart >= 0) {
+                    out.append(" title=\"");
+                    escapeHtml(titleStart, titleEnd);
+                    out.append('"');
+                }
+                out.append('>');
+            } else {
+                out.append("<a href=\"");
+                appendUrl(destStart, destEnd);
+                out.append('"');
+                if (titleStart >= 0) {
+                    out.append(" title=\"");
+                    escapeHtml(titleStart, titleEnd);
+                    out.append('"');
+                }
+                out.append('>');
+                renderInline(range.child(start + 1, textEnd));
+                out.append("</a>");
+            }
+            return close + 1;
+        }
+
+        /**
+         * 渲染 &lt;http://...&gt; 形式的自动链接
+         */
+        private int renderAutolink(InlineRange range, int start) {
+            if (!src.startsWith("http://", start + 1) && !src.startsWith("https://", start + 1)
+                    && !src.startsWith("mailto:", start + 1)) {
+                return -1;
+            }
+            int close = range.indexOf('>', start + 1);
+            if (close < 0) {
+                return -1;
+            }
+            for (int i = start + 1; i < close; i++) {
+                char c = src.charAt(i);
+                if (c == ' ' || c == '<') {
+                    return -1;
+                }
+            }
+            out.append("<a href=\"");
+            escapeHtml(start + 1, close);
+            out.append("\">");
+            escapeHtml(start + 1, close);
+            out.append("</a>");
+            return close + 1;
+        }
+
+        /**
+         * 渲染粗体/斜体，成功时返回结束位置，否则返回 -1
+         */
+        private int renderEmphasis(InlineRange range, int start, char c) {
+            int end = range.end;
+            int run = countRun(start, end, c);
+            int contentStart = start + run;
+            if (contentStart >= end || Character.isWhitespace(src.charAt(contentStart))) {
+                return -1;
+            }
+            // 下划线不处理单词内部的强调，例如 snake_case_name
+            if (c == '_' && start > 0 && Character.isLetterOrDigit(src.charAt(start - 1))) {
+                return -1;
+            }
+            if (run >= 3) {
+                int close = findCloser(range, contentStart, c == '*' ? "***" : "___");
+                if (close > 0) {
+                    out.append("<strong><em>");
+                    renderInline(range.child(contentStart, close));
+                    out.append("</em></strong>");
+                    return close + 3;
+                }
+                run = 2;
+                contentStart = start + 2;
+            }
+            if (run == 2) {
+                int close = findCloser(range, contentStart, c == '*' ? "**" : "__");
+                if (close > 0) {
+                    out.append("<strong>");
+                    renderInline(range.child(contentStart, close));
+                    out.append("</strong>");
+                    return close + 2;
+                }
+                return -1;
+            }
+            int close = findSingleCloser(range, contentStart, c);
+            if (close > 0) {
+                out.append("<em>");
+                renderInline(range.child(contentStart, close));
+                out.append("</em>");
+                return close + 1;
+            }
+            return -1;
+        }
+
+        /**
+         * 查找闭合分隔符，要求其前一个字符不是空白
+         */
+        private int findCloser(InlineRange range, int from, String delimiter) {
+            int last = range.end - delimiter.length();
+            return range.closers.computeIfAbsent(delimiter, key -> new InlineSearch(range.end,
+                    close -> close <= last && src.startsWith(delimiter, close)
+                            && !Character.isWhitespace(src.charAt(close - 1)) && src.charAt(close - 1) != '\\'))
+                    .next(from + 1);
+        }
+
+        /**
+         * 查找单个强调分隔符的闭合位置：不在转义或更长的分隔符串中，前一个字符不是空白
+         */
+        private int findSingleCloser(InlineRange range, int from, char c) {
+            int end = range.end;
+            int start = range.start;
+            return range.singleClosers.computeIfAbsent(c, key -> new InlineSearch(end,
+                    i -> src.charAt(i) == c && !isEscaped(start, i)
+                            && (src.charAt(i - 1) != c || isEscaped(start, i - 1))
+                            && (i + 1 >= end || src.charAt(i + 1) != c)
+                            && !Character.isWhitespace(src.charAt(i - 1))
+                            && (c == '*' || i + 1 >= end || !Character.isLetterOrDigit(src.charAt(i + 1)))))
+                    .next(from);
+        }
+
+        /**
+         * 位置 i 的字符前是否有奇数个反斜杠
+         */
+        private boolean isEscaped(int start, int i) {
+            int backslashes = 0;
+            for (int j = i - 1; j >= start && src.charAt(j) == '\\'; j--) {
+                backslashes++;
+            }
+            return (backslashes & 1) == 1;
+        }
+
+        /**
+         * 在 [from, end) 区间内查找字符，不会越过当前行
+         */
+        private int indexOf(char c, int from, int end) {
+            for (int i = from; i < end; i++) {
+                if (src.charAt(i) == c) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * 一次行内渲染的区间及其查找缓存
+         * 区间内的查找起点随渲染单调递增：方括号和圆括号用栈一次配对，反引号串按长度记录起点，
+         * 两者在最外层区间求出后由嵌套区间共用（嵌套区间的边界都是分隔符，配对结果只需按边界截断）；
+         * 其他分隔符缓存上一次的查找结果（包括"之后没有闭合"），每种分隔符在区间内只扫描一遍
+         */
+        private final class InlineRange {
+
+            private final int start;
+
+            private final int end;
+
+            private final int depth;
+
+            /**
+             * 最外层区间，保存共用的配对结果
+             */
+            private final InlineRange root;
+
+            /**
+             * 左括号位置到配对的右括号位置，没有配对的不记录
+             */
+            private Map<Integer, Integer> brackets;
+
+            private Map<Integer, Integer> parens;
+
+            /**
+             * 反引号串长度到各串起点（升序）及查找游标
+             */
+            private Map<Integer, List<Integer>> backtickRuns;
+
+            private Map<Integer, Integer> backtickCursors;
+
+            private final Map<String, InlineSearch> closers = new HashMap<>();
+
+            private final Map<Character, InlineSearch> singleClosers = new HashMap<>();
+
+            private final Map<Character, InlineSearch> chars = new HashMap<>();
+
+            InlineRange(int start, int end, int depth, InlineRange root) {
+                this.start = start;
+                this.end = end;
+                this.depth = depth;
+                this.root = root != null ? root : this;
+            }
+
+            InlineRange child(int childStart, int childEnd) {
+                return new InlineRange(childStart, childEnd, depth + 1, root);
+            }
+
+            int bracketClose(int open) {
+                if (root.brackets == null) {
+                    root.matchBrackets();
+                }
+                return withinEnd(root.brackets.getOrDefault(open, -1));
+            }
+
+            int parenClose(int open) {
+                if (root.parens == null) {
+                    root.matchBrackets();
+                }
+                return withinEnd(root.parens.getOrDefault(open, -1));
+            }
+
+            /**
+             * 起点不小于 from、长度恰好为 length 的第一个反引号串
+             */
+            int backtickRun(int from, int length) {
+                if (root.backtickRuns == null) {
+                    root.collectBacktickRuns();
+                }
+                List<Integer> runs = root.backtickRuns.get(length);
+                if (runs == null) {
+                    return -1;
+                }
+                int cursor = root.backtickCursors.getOrDefault(length, 0);
+                if (cursor > 0 && runs.get(cursor - 1) >= from) {
+                    cursor = 0;
+                }
+                while (cursor < runs.size() && runs.get(cursor) < from) {
+                    cursor++;
+                }
+                root.backtickCursors.put(length, cursor);
+                return cursor < runs.size() ? withinEnd(runs.get(cursor)) : -1;
+            }
+
+            int indexOf(char c, int from) {
+                return chars.computeIfAbsent(c, key -> new InlineSearch(end, i -> src.charAt(i) == c)).next(from);
+            }
+
+            private int withinEnd(int position) {
+                return position < end ? position : -1;
+            }
+
+            private void matchBrackets() {
+                brackets = new HashMap<>();
+                parens = new HashMap<>();
+                Deque<Integer> openBrackets = new ArrayDeque<>();
+                Deque<Integer> openParens = new ArrayDeque<>();
+                for (int i = start; i < end; i++) {
+                    char c = src.charAt(i);
+                    if (c == '\\') {
+                        i++;
+                    } else if (c == '[') {
+                        openBrackets.push(i);
+                    } else if (c == ']' && !openBrackets.isEmpty()) {
+                        brackets.put(openBrackets.pop(), i);
+                    } else if (c == '(') {
+                        openParens.push(i);
+                    } else if (c == ')' && !openParens.isEmpty()) {
+                        parens.put(openParens.pop(), i);
+                    }
+                }
+            }
+
+            private void collectBacktickRuns() {
+                backtickRuns = new HashMap<>();
+                backtickCursors = new HashMap<>();
+                int i = start;
+                while (i < end) {
+                    if (src.charAt(i) != '`') {
+                        i++;
+                        continue;
+                    }
+                    int run = countRun(i, end, '`');
+                    backtickRuns.computeIfAbsent(run, key -> new ArrayList<>()).add(i);
+                    i += run;
+                }
+            }
+        }
+
+        /**
+         * 区间内按条件向后查找，缓存上一次的起点和结果
+         * 结果之前的位置都不满足条件，之后从 [起点, 结果] 内开始的查找直接返回上次的结果
+         */
+        private final class InlineSearch {
+
+            private final int end;
+
+            private final IntPredicate matcher;
+
+            private int from = Integer.MAX_VALUE;
+
+            private int found = -1;
+
+            InlineSearch(int end, IntPredicate matcher) {
+                this.end = end;
+                this.matcher = matcher;
+            }
+
+            int next(int position) {
+                if (position < from || (found >= 0 && position > found)) {
+                    from = position;
+                    found = -1;
+                    for (int i = position; i < end; i++) {
+                        if (matcher.test(i)) {
+                            found = i;
+                            break;
+                        }
+                    }
+                }
+                return found;
+            }
+        }
+
+        // ==================== 输出辅助方法 ====================
+
+        /**
+         * 输出链接地址，只允许 http、https、mailto 协议以及相对链接和页内锚点，其他协议输出为 #
+         * 浏览器解析链接时会去掉其中的制表符、换行等字符，这里先去掉空白和控制字符再判断协议，避免 java\tscript: 这类写法绕过
+         */
+        private void appendUrl(int start, int end) {
+            if (start < end && src.charAt(start) == '<' && src.charAt(end - 1) == '>') {
+                start++;
+                end--;
+            }
+            StringBuilder url = new StringBuilder(end - start);
+            for (int i = start; i < end; i++) {
+                char c = src.charAt(i);
+                if (c > ' ' && c != 0x7F) {
+                    url.append(c);
+                }
+            }
+            if (!isSafeUrl(url)) {
+                out.append('#');
+                return;
+            }
+            for (int i = 0; i < url.length(); i++) {
+                escapeChar(url.charAt(i));
+            }
+        }
+
+        /**
+         * 没有协议（第一个 / ? # 之前没有冒号）视为相对链接
+         */
+        private static boolean isSafeUrl(CharSequence url) {
+            for (int i = 0; i < url.length(); i++) {
+                char c = url.charAt(i);
+                if (c == ':') {
+                    String scheme = url.subSequence(0, i).toString().toLowerCase(Locale.ROOT);
+                    return "http".equals(scheme) || "https".equals(scheme) || "mailto".equals(scheme);
+                }
+                if (c == '/' || c == '?' || c == '#') {
+                    return true;
+                }
+            }
+            return true;
+        }
+
+        private void escapeHtml(int start, int end) {
+            for (int i = start; i < end; i++) {
+                escapeChar(src.charAt(i));
+            }
+        }
+
+        private void escapeChar(char c) {
+            switch (c) {
+                case '&':
+                    out.append("&amp;");
+                    break;
+                case '<':
+                    out.append("&lt;");
+                    break;
+                case '>':
+                    out.append("&gt;");
+                    break;
+                case '"':
+                    out.append("&quot;");
+                    break;
+                default:
+                    out.append(c);
+                    break;
+            }
+        }
+
+        private static boolean isAsciiPunctuation(char c) {
+            return (c >= '!' && c <= '/') || (c >= ':' && c <= '@') || (c >= '[' && c <= '`') || (c >= '{' && c <= '~');
+        }
+    }
+
+    /**
+     * 列表状态
+     */
+    private static final class ListState {
+
+        private final int indent;
+
+        private final boolean ordered;
+
+        ListState(int indent, boolean ordered) {
+            this.indent = indent;
+            this.ordered = ordered;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.sujiu.blog.utils;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash 签名
+ * 用 numHashes 个 multiply-shift 哈希函数对特征集合取最小值，两个签名中相等分量的比例是 Jaccard 相似度的无偏估计；
+ * 签名按行分段（LSH banding）后，相似的集合大概率在某一段上完全相同，可用段哈希作为桶键快速召回候选
+ *
+ * @author sujiu
+ */
+public class MinHash {
+
+    private final long[] multipliers;
+
+    private final long[] increments;
+
+    /**
+     * @param numHashes 哈希函数个数（签名长度）
+     * @param seed 随机种子，相同种子生成的签名可以互相比较
+     */
+    public MinHash(int numHashes, long seed) {
+        if (numHashes <= 0) {
+            throw new IllegalArgumentException("哈希函数个数必须大于0");
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        multipliers = new long[numHashes];
+        increments = new long[numHashes];
+        for (int i = 0; i < numHashes; i++) {
+            // 奇数乘数保证乘法是 64 位整数上的双射
+            multipliers[i] = random.nextLong() | 1L;
+            increments[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * 签名长度
+     */
+    public int size() {
+        return multipliers.length;
+    }
+
+    /**
+     * 创建空集合的签名
+     */
+    public int[] newSignature() {
+        int[] signature = new int[multipliers.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        return signature;
+    }
+
+    /**
+     * 向签名中加入一个特征
+     *
+     * @param signature 签名
+     * @param featureHash 特征的 64 位哈希
+     */
+    public void add(int[] signature, long featureHash) {
+        for (int i = 0; i < multipliers.length; i++) {
+            // 取高 31 位，结果非负，便于按有符号整数比较
+            int value = (int) ((multipliers[i] * featureHash + increments[i]) >>> 33);
+            if (value < signature[i]) {
+                signature[i] = value;
+            }
+        }
+    }
+
+    /**
+     * 估算两个签名对应集合的 Jaccard 相似度
+     *
+     * @param a 签名
+     * @param b 签名
+     * @return 0~1
+     */
+    public static double similarity(int[] a, int[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("签名长度不一致");
+        }
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    /**
+     * 计算签名每一段的桶键
+     *
+     * @param signature 签名
+     * @param rowsPerBand 每段的行数，需整除签名长度
+     * @param bandOffset 段编号的起始值，不同签名共用桶时用于区分
+     * @return 每段一个桶键
+     */
+    public static long[] bandKeys(int[] signature, int rowsPerBand, int bandOffset) {
+        if (rowsPerBand <= 0 || signature.length % rowsPerBand != 0) {
+            throw new IllegalArgumentException("每段行数必须整除签名长度");
+        }
+        long[] keys = new long[signature.length / rowsPerBand];
+        for (int band = 0; band < keys.length; band++) {
+            long hash = mix(bandOffset + band);
+            for (int row = band * rowsPerBand; row < (band + 1) * rowsPerBand; row++) {
+                hash = mix(hash * 31 + signature[row]);
+            }
+            keys[band] = hash;
+        }
+        return keys;
+    }
+
+    /**
+     * 字符序列片段的 64 位哈希（FNV-1a 后再混合）
+     *
+     * @param text 文本
+     * @param start 起始位置（含）
+     * @param end 结束位置（不含）
+     * @return 哈希值
+     */
+    public static long hash(CharSequence text, int start, int end) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = start; i < end; i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * 64 位整数混合（SplitMix64 终结函数）
+     */
+    public static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+}
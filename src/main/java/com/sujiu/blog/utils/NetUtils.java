@@ -1,6 +1,7 @@
 package com.sujiu.blog.utils;
 
 import java.net.InetAddress;
+import java.util.regex.Pattern;
 import javax.servlet.http.HttpServletRequest;
 
 /**
@@ -11,6 +12,21 @@ import javax.servlet.http.HttpServletRequest;
  */
 public class NetUtils {
 
+    /**
+     * http 或 https 链接
+     */
+    private static final Pattern HTTP_URL_PATTERN = Pattern.compile("^https?://\\S+$", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * 是否为 http 或 https 链接，用于拒绝 javascript:、data: 等可执行脚本的协议
+     *
+     * @param url 链接
+     * @return 是否为 http 或 https 链接
+     */
+    public static boolean isHttpUrl(String url) {
+        return url != null && HTTP_URL_PATTERN.matcher(url).matches();
+    }
+
     /**
      * 获取客户端 IP 地址
      *
@@ -0,0 +1,341 @@
+package com.sujiu.blog.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文章字数统计工具类
+ * 单遍扫描 Markdown 原文，跳过代码块、行内代码、图片和链接，同时统计中文字符与英文单词，不生成中间字符串
+ *
+ * 统计口径与原先的正则实现保持一致：
+ * 1. 移除 ```代码块```、`行内代码`、![图片](地址)、[链接](地址)
+ * 2. 移除 # * _ ~ ` > - 等标记字符（移除后两侧字符视为相邻）
+ * 3. 中文字符按 \u4e00-\u9fa5 逐字计数；英文单词为两侧都是单词边界的连续 [A-Za-z0-9] 串
+ * 链接和图片的匹配通过预先建立的位置表二分查找，每个 '[' 不再各自扫描到行尾
+ *
+ * @author sujiu
+ */
+public class WordCountUtils {
+
+    private WordCountUtils() {
+    }
+
+    /**
+     * 统计字数
+     *
+     * @param content Markdown内容
+     * @return 中文字符数 + 英文单词数
+     */
+    public static int countWords(String content) {
+        if (content == null || content.isEmpty()) {
+            return 0;
+        }
+        Counter counter = new Counter();
+        LinkMatcher links = null;
+        int length = content.length();
+        int i = 0;
+        while (i < length) {
+            char c = content.charAt(i);
+
+            // 代码块
+            if (c == '`' && content.startsWith("```", i)) {
+                int close = content.indexOf("```", i + 3);
+                if (close >= 0) {
+                    i = close + 3;
+                    continue;
+                }
+            }
+
+            // 行内代码
+            if (c == '`') {
+                int close = findInlineCodeClose(content, i + 1);
+                i = close >= 0 ? close + 1 : i + 1;
+                continue;
+            }
+
+            // 图片
+            if (c == '!' && i + 1 < length && content.charAt(i + 1) == '[') {
+                links = links != null ? links : new LinkMatcher(content);
+                int end = links.imageEnd(i + 1);
+                if (end >= 0) {
+                    i = end;
+                    continue;
+                }
+            }
+
+            // 链接
+            if (c == '[') {
+                links = links != null ? links : new LinkMatcher(content);
+                int end = links.linkEnd(i);
+                if (end >= 0) {
+                    i = end;
+                    continue;
+                }
+            }
+
+            // 其他标记字符
+            if (isMarkupChar(c)) {
+                i++;
+                continue;
+            }
+
+            int codePoint = Character.codePointAt(content, i);
+            counter.accept(codePoint);
+            i += Character.charCount(codePoint);
+        }
+        return counter.finish();
+    }
+
+    /**
+     * 查找行内代码的闭合反引号，期间出现的完整代码块整体跳过
+     */
+    private static int findInlineCodeClose(String content, int from) {
+        int length = content.length();
+        int i = from;
+        while (i < length) {
+            char c = content.charAt(i);
+            if (c == '`') {
+                if (content.startsWith("```", i)) {
+                    int close = content.indexOf("```", i + 3);
+                    if (close >= 0) {
+                        i = close + 3;
+                        continue;
+                    }
+                }
+                return i;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /**
+     * 链接和图片匹配
+     * 图片 ![文本](地址) 为其后同一行第一个 "](" 之后的第一个 ')'；链接 [文本](地址) 同理，但链接内部能匹配的图片整体跳过。
+     * 需要的 "](" ')' "![" 和换行位置在构造时一次扫描记录，查找时二分；链接中跳过图片形成的链按位置缓存结果，
+     * 多个 '[' 经过同一串图片时只计算一次
+     */
+    private static final class LinkMatcher {
+
+        private final Positions lineBreaks = new Positions();
+
+        /**
+         * "](" 中 ']' 的位置
+         */
+        private final Positions bracketParens = new Positions();
+
+        private final Positions closeParens = new Positions();
+
+        /**
+         * "![" 中 '!' 的位置
+         */
+        private final Positions imageOpens = new Positions();
+
+        /**
+         * 扫描位置到匹配结果，地址部分的位置取反存放
+         */
+        private final Map<Integer, Integer> results = new HashMap<>();
+
+        private final int length;
+
+        LinkMatcher(String content) {
+            length = content.length();
+            for (int i = 0; i < length; i++) {
+                char c = content.charAt(i);
+                if (isLineTerminator(c)) {
+                    lineBreaks.add(i);
+                } else if (c == ')') {
+                    closeParens.add(i);
+                } else if (i + 1 < length) {
+                    char next = content.charAt(i + 1);
+                    if (c == ']' && next == '(') {
+                        bracketParens.add(i);
+                    } else if (c == '!' && next == '[') {
+                        imageOpens.add(i);
+                    }
+                }
+            }
+        }
+
+        /**
+         * 图片的结束位置（不含），start 指向 '['，不匹配时返回 -1
+         */
+        int imageEnd(int start) {
+            int lineEnd = lineEnd(start);
+            int bracket = bracketParens.next(start + 1, lineEnd);
+            int paren = bracket < 0 ? -1 : closeParens.next(bracket + 2, lineEnd);
+            return paren < 0 ? -1 : paren + 1;
+        }
+
+        /**
+         * 链接的结束位置（不含），start 指向 '['，不匹配时返回 -1
+         */
+        int linkEnd(int start) {
+            int lineEnd = lineEnd(start);
+            int position = start + 1;
+            boolean destination = false;
+            List<Integer> visited = new ArrayList<>();
+            int result;
+            while (true) {
+                int key = destination ? ~position : position;
+                Integer known = results.get(key);
+                if (known != null) {
+                    result = known;
+                    break;
+                }
+                visited.add(key);
+                if (!destination) {
+                    int bracket = bracketParens.next(position, lineEnd);
+                    if (bracket < 0) {
+                        result = -1;
+                        break;
+                    }
+                    if (imageOpens.next(position, bracket - 1) < 0) {
+                        destination = true;
+                        position = bracket + 2;
+                        continue;
+                    }
+                    // 文本中的图片用的是同一个 "]("，跳过图片后继续找；图片不匹配时链接也不会匹配
+                    int paren = closeParens.next(bracket + 2, lineEnd);
+                    if (paren < 0) {
+                        result = -1;
+                        break;
+                    }
+                    position = paren + 1;
+                } else {
+                    int paren = closeParens.next(position, lineEnd);
+                    if (paren < 0) {
+                        result = -1;
+                        break;
+                    }
+                    // ')' 之前的第一张图片匹配时跳过，不匹配时之后的图片也不会匹配
+                    int image = imageOpens.next(position, paren);
+                    int bracket = image < 0 ? -1 : bracketParens.next(image + 2, lineEnd);
+                    int imageParen = bracket < 0 ? -1 : closeParens.next(bracket + 2, lineEnd);
+                    if (imageParen < 0) {
+                        result = paren + 1;
+                        break;
+                    }
+                    position = imageParen + 1;
+                }
+            }
+            for (Integer key : visited) {
+                results.put(key, result);
+            }
+            return result;
+        }
+
+        private int lineEnd(int from) {
+            int lineBreak = lineBreaks.next(from, length);
+            return lineBreak < 0 ? length : lineBreak;
+        }
+    }
+
+    /**
+     * 递增的位置列表
+     */
+    private static final class Positions {
+
+        private int[] values = new int[16];
+
+        private int size;
+
+        void add(int position) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = position;
+        }
+
+        /**
+         * [from, limit) 内的第一个位置，没有时返回 -1
+         */
+        int next(int from, int limit) {
+            int index = Arrays.binarySearch(values, 0, size, from);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return index < size && values[index] < limit ? values[index] : -1;
+        }
+    }
+
+    private static boolean isMarkupChar(char c) {
+        return c == '#' || c == '*' || c == '_' || c == '~' || c == '`' || c == '>' || c == '-';
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /**
+     * 对去除标记后的字符流计数
+     */
+    private static final class Counter {
+
+        private int count;
+
+        /**
+         * 是否处于连续的 ASCII 单词字符中
+         */
+        private boolean inWord;
+
+        /**
+         * 当前单词左侧是否为单词边界
+         */
+        private boolean wordStartsAtBoundary;
+
+        /**
+         * 上一个字符是否为单词字符（按正则 \b 的判定）
+         */
+        private boolean previousIsWord;
+
+        /**
+         * 上一个非组合标记字符是否为字母或数字
+         */
+        private boolean previousBaseIsLetterOrDigit;
+
+        void accept(int codePoint) {
+            boolean isWord;
+            if (Character.getType(codePoint) == Character.NON_SPACING_MARK) {
+                // 组合标记随前面的基字符判定
+                isWord = previousBaseIsLetterOrDigit;
+            } else {
+                isWord = codePoint == '_' || Character.isLetterOrDigit(codePoint);
+                previousBaseIsLetterOrDigit = Character.isLetterOrDigit(codePoint);
+            }
+
+            if (isAsciiWordChar(codePoint)) {
+                if (!inWord) {
+                    inWord = true;
+                    wordStartsAtBoundary = !previousIsWord;
+                }
+            } else {
+                if (inWord) {
+                    if (wordStartsAtBoundary && !isWord) {
+                        count++;
+                    }
+                    inWord = false;
+                }
+                if (codePoint >= '\u4e00' && codePoint <= '\u9fa5') {
+                    count++;
+                }
+            }
+            previousIsWord = isWord;
+        }
+
+        int finish() {
+            if (inWord && wordStartsAtBoundary) {
+                count++;
+            }
+            return count;
+        }
+
+        private static boolean isAsciiWordChar(int codePoint) {
+            return (codePoint >= 'a' && codePoint <= 'z') || (codePoint >= 'A' && codePoint <= 'Z')
+                    || (codePoint >= '0' && codePoint <= '9') || codePoint == '_';
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.sujiu.blog.benchmark;
+
+/**
+ * 基准测试用的文章样本
+ *
+ * @author sujiu
+ */
+public class BenchmarkArticles {
+
+    /**
+     * 一段典型的中英文混排 Markdown，重复拼接到目标大小
+     */
+    private static final String SECTION = "## Spring Boot 启动流程\n"
+            + "\n"
+            + "本文介绍 **Spring Boot** 的启动流程，以及 *自动配置* 是如何生效的。参见[官方文档](https://spring.io/projects/spring-boot)。\n"
+            + "\n"
+            + "- 创建 `SpringApplication` 实例\n"
+            + "- 加载 ApplicationContextInitializer 和 ApplicationListener\n"
+            + "  - 通过 spring.factories 发现扩展点\n"
+            + "- 刷新上下文\n"
+            + "\n"
+            + "```java\n"
+            + "public static void main(String[] args) {\n"
+            + "    SpringApplication.run(BlogApplication.class, args);\n"
+            + "}\n"
+            + "```\n"
+            + "\n"
+            + "> 提示：可以通过 `--debug` 参数查看自动配置报告。\n"
+            + "\n"
+            + "![启动流程图](https://example.com/images/boot-startup.png)\n"
+            + "\n"
+            + "1. 准备环境 Environment\n"
+            + "2. 打印 Banner\n"
+            + "3. 创建并刷新 ApplicationContext\n"
+            + "\n"
+            + "---\n"
+            + "\n";
+
+    private BenchmarkArticles() {
+    }
+
+    /**
+     * 生成约指定大小的 Markdown 文章
+     *
+     * @param sizeKb 目标大小（KB，按字符数估算）
+     * @return Markdown 内容
+     */
+    public static String markdownOfSize(int sizeKb) {
+        int target = sizeKb * 1024;
+        StringBuilder builder = new StringBuilder(target + SECTION.length());
+        while (builder.length() < target) {
+            builder.append(SECTION);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,70 @@
+package com.sujiu.blog.benchmark;
+
+import com.sujiu.blog.utils.MarkdownUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Markdown 渲染基准测试：原正则链 vs 单遍渲染器
+ *
+ * 运行方式：mvn test-compile 后以测试类路径执行本类的 main 方法
+ *
+ * @author sujiu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MarkdownRenderBenchmark {
+
+    @Param({"5", "50", "500"})
+    private int sizeKb;
+
+    private String markdown;
+
+    @Setup
+    public void setUp() {
+        markdown = BenchmarkArticles.markdownOfSize(sizeKb);
+    }
+
+    @Benchmark
+    public String regexChain() {
+        return markdown
+                .replaceAll("### (.*)", "<h3>$1</h3>")
+                .replaceAll("## (.*)", "<h2>$1</h2>")
+                .replaceAll("# (.*)", "<h1>$1</h1>")
+                .replaceAll("\\*\\*(.*?)\\*\\*", "<strong>$1</strong>")
+                .replaceAll("\\*(.*?)\\*", "<em>$1</em>")
+                .replaceAll("`(.*?)`", "<code>$1</code>")
+                .replaceAll("\\n", "<br>");
+    }
+
+    @Benchmark
+    public String singlePass() {
+        return MarkdownUtils.toHtml(markdown);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MarkdownRenderBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
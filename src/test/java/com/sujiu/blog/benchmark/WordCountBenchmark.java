@@ -0,0 +1,86 @@
+package com.sujiu.blog.benchmark;
+
+import com.sujiu.blog.utils.WordCountUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 字数统计基准测试：原正则流水线 vs 单遍扫描
+ *
+ * 运行方式：mvn test-compile 后以测试类路径执行本类的 main 方法
+ *
+ * @author sujiu
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordCountBenchmark {
+
+    private static final Pattern CHINESE_PATTERN = Pattern.compile("[\\u4e00-\\u9fa5]");
+
+    private static final Pattern WORD_PATTERN = Pattern.compile("\\b\\w+\\b");
+
+    @Param({"5", "50", "500"})
+    private int sizeKb;
+
+    private String markdown;
+
+    @Setup
+    public void setUp() {
+        markdown = BenchmarkArticles.markdownOfSize(sizeKb);
+    }
+
+    @Benchmark
+    public int regexPipeline() {
+        String plainText = markdown
+                .replaceAll("```[\\s\\S]*?```", "")
+                .replaceAll("`[^`]*`", "")
+                .replaceAll("!\\[.*?\\]\\(.*?\\)", "")
+                .replaceAll("\\[.*?\\]\\(.*?\\)", "")
+                .replaceAll("[#*_~`>-]", "")
+                .replaceAll("\\s+", " ")
+                .trim();
+        int count = 0;
+        Matcher chineseMatcher = CHINESE_PATTERN.matcher(plainText);
+        while (chineseMatcher.find()) {
+            count++;
+        }
+        Matcher wordMatcher = WORD_PATTERN.matcher(plainText);
+        while (wordMatcher.find()) {
+            count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int singlePass() {
+        return WordCountUtils.countWords(markdown);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(WordCountBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
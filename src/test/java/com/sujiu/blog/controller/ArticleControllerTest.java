@@ -0,0 +1,121 @@
+package com.sujiu.blog.controller;
+
+import com.sujiu.blog.model.dto.article.ArticleVersion;
+import com.sujiu.blog.model.vo.article.ArticleVO;
+import com.sujiu.blog.service.ArticleService;
+import com.sujiu.blog.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.util.StreamUtils;
+
+import javax.annotation.Resource;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 文章控制器测试
+ *
+ * @author sujiu
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ArticleControllerTest {
+
+    private static final String ETAG = "\"1-1700000000000-10-2-1\"";
+
+    @Resource
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ArticleService articleService;
+
+    @MockBean
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        when(userService.getLoginUserPermitNull(any())).thenReturn(null);
+
+        ArticleVersion version = new ArticleVersion();
+        version.setArticleId(1L);
+        version.setETag(ETAG);
+        version.setLastModified(1700000000000L);
+        when(articleService.getPublicArticleVersion(anyLong())).thenReturn(version);
+
+        ArticleVO articleVO = new ArticleVO();
+        articleVO.setId(1L);
+        articleVO.setTitle("条件请求测试");
+        when(articleService.getArticleDetail(anyLong(), any(), any())).thenReturn(articleVO);
+        when(articleService.getTopArticles()).thenReturn(Collections.singletonList(articleVO));
+    }
+
+    @Test
+    void testArticleDetailNotModified() throws Exception {
+        // 首次请求返回完整内容和校验头
+        mockMvc.perform(MockMvcRequestBuilders.get("/articles/1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.data.title").value("条件请求测试"));
+
+        // 携带 If-None-Match 时返回 304，不再组装文章详情
+        mockMvc.perform(MockMvcRequestBuilders.get("/articles/2")
+                        .header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+        verify(articleService, never()).getArticleDetail(eq(2L), any(), any());
+    }
+
+    @Test
+    void testArticleDetailServedFromCache() throws Exception {
+        // 使用单独的文章ID，避免与其他用例共享缓存
+        mockMvc.perform(MockMvcRequestBuilders.get("/articles/3"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        // 同一版本的第二次请求直接输出缓存的压缩字节
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/articles/3")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+        verify(articleService, times(1)).getArticleDetail(eq(3L), any(), any());
+
+        byte[] body = result.getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            String json = new String(StreamUtils.copyToByteArray(in), StandardCharsets.UTF_8);
+            assertTrue(json.contains("条件请求测试"));
+        }
+    }
+
+    @Test
+    void testArticleListNotModified() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/articles/top"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+                .andReturn();
+        String eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/articles/top")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+    }
+}
@@ -0,0 +1,95 @@
+package com.sujiu.blog.service;
+
+import cn.hutool.core.date.DateUtil;
+import com.sujiu.blog.mapper.ArticleMapper;
+import com.sujiu.blog.model.entity.Article;
+import com.sujiu.blog.model.vo.article.ArticleArchiveVO;
+import com.sujiu.blog.model.vo.common.PageVO;
+import com.sujiu.blog.service.impl.ArticleArchiveServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 文章归档索引测试
+ *
+ * @author sujiu
+ */
+public class ArticleArchiveServiceTest {
+
+    private ArticleMapper articleMapper;
+
+    private ArticleArchiveServiceImpl articleArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        articleMapper = mock(ArticleMapper.class);
+        when(articleMapper.selectList(any())).thenReturn(Arrays.asList(
+                article(1L, 2, "2024-05-01 08:00:00"),
+                article(2L, 2, "2024-05-20 08:00:00"),
+                article(3L, 2, "2024-05-31 23:00:00"),
+                article(4L, 2, "2024-06-01 00:00:00")));
+
+        articleArchiveService = new ArticleArchiveServiceImpl();
+        ReflectionTestUtils.setField(articleArchiveService, "articleMapper", articleMapper);
+        articleArchiveService.load();
+    }
+
+    @Test
+    void testListArchivesAndPage() {
+        assertTrue(articleArchiveService.isReady());
+        List<ArticleArchiveVO> archives = articleArchiveService.listArchives();
+        assertEquals(2, archives.size());
+        assertArchive(archives.get(0), 2024, 6, 1);
+        assertArchive(archives.get(1), 2024, 5, 3);
+
+        PageVO<Long> page = articleArchiveService.pageArticleIds(2024, 5, 1, 2);
+        assertEquals(3L, page.getTotal());
+        assertEquals(Arrays.asList(3L, 2L), page.getRecords());
+        assertEquals(Collections.singletonList(1L), articleArchiveService.pageArticleIds(2024, 5, 2, 2).getRecords());
+        assertTrue(articleArchiveService.pageArticleIds(2024, 5, 3, 2).getRecords().isEmpty());
+        assertEquals(0L, articleArchiveService.pageArticleIds(2023, 1, 1, 2).getTotal());
+    }
+
+    @Test
+    void testRefreshMovesArticles() {
+        // 文章4下线，文章1改到七月发布
+        when(articleMapper.selectList(any())).thenReturn(Arrays.asList(
+                article(4L, 4, "2024-06-01 00:00:00"),
+                article(1L, 2, "2024-07-02 08:00:00")));
+        articleArchiveService.refreshArticles(Arrays.asList(1L, 4L));
+
+        List<ArticleArchiveVO> archives = articleArchiveService.listArchives();
+        assertEquals(2, archives.size());
+        assertArchive(archives.get(0), 2024, 7, 1);
+        assertArchive(archives.get(1), 2024, 5, 2);
+
+        // 已删除的文章查询不到，移出归档
+        when(articleMapper.selectList(any())).thenReturn(Collections.emptyList());
+        articleArchiveService.refreshArticle(1L);
+        assertEquals(1, articleArchiveService.listArchives().size());
+        assertEquals(Arrays.asList(3L, 2L), articleArchiveService.pageArticleIds(2024, 5, 1, 10).getRecords());
+    }
+
+    private void assertArchive(ArticleArchiveVO archive, int year, int month, int count) {
+        assertEquals(year, archive.getYear());
+        assertEquals(month, archive.getMonth());
+        assertEquals(count, archive.getCount());
+    }
+
+    private Article article(Long id, int status, String publishedTime) {
+        Article article = new Article();
+        article.setId(id);
+        article.setStatus(status);
+        article.setPublishedTime(DateUtil.parse(publishedTime));
+        return article;
+    }
+}
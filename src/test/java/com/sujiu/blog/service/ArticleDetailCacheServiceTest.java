@@ -0,0 +1,79 @@
+package com.sujiu.blog.service;
+
+import com.sujiu.blog.service.impl.ArticleDetailCacheServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 文章详情响应缓存测试
+ *
+ * @author sujiu
+ */
+public class ArticleDetailCacheServiceTest {
+
+    private ArticleDetailCacheServiceImpl cacheService;
+
+    @BeforeEach
+    void setUp() {
+        cacheService = new ArticleDetailCacheServiceImpl();
+        ReflectionTestUtils.setField(cacheService, "maxBytes", 5000L);
+        ReflectionTestUtils.setField(cacheService, "maxEntryBytes", 4000L);
+    }
+
+    @Test
+    void testEncodingsAndVersion() throws IOException {
+        byte[] body = json(200);
+        cacheService.put(1L, "\"v1\"", body, ArticleDetailCacheService.ENCODING_IDENTITY);
+
+        assertArrayEquals(body, cacheService.get(1L, "\"v1\"", ArticleDetailCacheService.ENCODING_IDENTITY));
+        assertArrayEquals(body, new GZIPInputStream(new ByteArrayInputStream(
+                cacheService.get(1L, "\"v1\"", ArticleDetailCacheService.ENCODING_GZIP))).readAllBytes());
+        assertArrayEquals(body, new InflaterInputStream(new ByteArrayInputStream(
+                cacheService.get(1L, "\"v1\"", ArticleDetailCacheService.ENCODING_DEFLATE))).readAllBytes());
+
+        // 版本不一致或已失效时不命中
+        assertNull(cacheService.get(1L, "\"v2\"", ArticleDetailCacheService.ENCODING_IDENTITY));
+        cacheService.evict(1L);
+        assertNull(cacheService.get(1L, "\"v1\"", ArticleDetailCacheService.ENCODING_IDENTITY));
+    }
+
+    @Test
+    void testByteWeightedEviction() {
+        // 每条为约 1000 字节原文加两份约 600 字节的压缩版本，总上限 5000 字节只能容纳两条
+        cacheService.put(1L, "\"v\"", json(1000), ArticleDetailCacheService.ENCODING_IDENTITY);
+        cacheService.put(2L, "\"v\"", json(1000), ArticleDetailCacheService.ENCODING_IDENTITY);
+        cacheService.get(1L, "\"v\"", ArticleDetailCacheService.ENCODING_IDENTITY);
+        cacheService.put(3L, "\"v\"", json(1000), ArticleDetailCacheService.ENCODING_IDENTITY);
+
+        // 最近最少使用的文章2被淘汰
+        assertNotNull(cacheService.get(1L, "\"v\"", ArticleDetailCacheService.ENCODING_IDENTITY));
+        assertNull(cacheService.get(2L, "\"v\"", ArticleDetailCacheService.ENCODING_IDENTITY));
+        assertNotNull(cacheService.get(3L, "\"v\"", ArticleDetailCacheService.ENCODING_IDENTITY));
+
+        // 超过单条上限的响应照常返回但不缓存
+        byte[] large = json(5000);
+        assertArrayEquals(large, cacheService.put(4L, "\"v\"", large, ArticleDetailCacheService.ENCODING_IDENTITY));
+        assertNull(cacheService.get(4L, "\"v\"", ArticleDetailCacheService.ENCODING_IDENTITY));
+    }
+
+    /**
+     * 生成指定长度、压缩率较低的 JSON 内容
+     */
+    private static byte[] json(int length) {
+        StringBuilder builder = new StringBuilder("{\"data\":\"");
+        java.util.Random random = new java.util.Random(length);
+        while (builder.length() < length - 2) {
+            builder.append((char) ('a' + random.nextInt(26)));
+        }
+        return builder.append("\"}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
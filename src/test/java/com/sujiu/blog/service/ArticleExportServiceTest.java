@@ -0,0 +1,117 @@
+package com.sujiu.blog.service;
+
+import com.sujiu.blog.mapper.ArticleMapper;
+import com.sujiu.blog.mapper.ArticleTagMapper;
+import com.sujiu.blog.mapper.CategoryMapper;
+import com.sujiu.blog.mapper.TagMapper;
+import com.sujiu.blog.mapper.UserMapper;
+import com.sujiu.blog.model.entity.Article;
+import com.sujiu.blog.model.entity.ArticleTag;
+import com.sujiu.blog.model.entity.Category;
+import com.sujiu.blog.model.entity.Tag;
+import com.sujiu.blog.model.entity.User;
+import com.sujiu.blog.service.impl.ArticleExportServiceImpl;
+import com.sujiu.blog.utils.FrontMatter;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * 文章导出测试
+ *
+ * @author sujiu
+ */
+public class ArticleExportServiceTest {
+
+    @Test
+    void testExportZipInBatches() throws Exception {
+        ArticleMapper articleMapper = mock(ArticleMapper.class);
+        ArticleTagMapper articleTagMapper = mock(ArticleTagMapper.class);
+        TagMapper tagMapper = mock(TagMapper.class);
+        CategoryMapper categoryMapper = mock(CategoryMapper.class);
+        UserMapper userMapper = mock(UserMapper.class);
+
+        Tag tag = new Tag();
+        tag.setId(1L);
+        tag.setName("Java");
+        Category category = new Category();
+        category.setId(10L);
+        category.setName("后端");
+        User user = new User();
+        user.setId(100L);
+        user.setUsername("sujiu");
+        when(tagMapper.selectList(isNull())).thenReturn(Collections.singletonList(tag));
+        when(categoryMapper.selectList(isNull())).thenReturn(Collections.singletonList(category));
+        when(userMapper.selectList(any())).thenReturn(Collections.singletonList(user));
+        ArticleTag relation = new ArticleTag();
+        relation.setArticleId(1L);
+        relation.setTagId(1L);
+        when(articleTagMapper.selectList(any())).thenReturn(Collections.singletonList(relation),
+                Collections.emptyList());
+        // 批大小为 2：第一批满，第二批不足一批后结束
+        when(articleMapper.selectList(any())).thenReturn(
+                Arrays.asList(article(1L, "first", 2, 10L), article(2L, "second", 0, null)),
+                Collections.singletonList(article(3L, "third", 2, null)));
+
+        ArticleExportServiceImpl articleExportService = new ArticleExportServiceImpl();
+        ReflectionTestUtils.setField(articleExportService, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(articleExportService, "articleTagMapper", articleTagMapper);
+        ReflectionTestUtils.setField(articleExportService, "tagMapper", tagMapper);
+        ReflectionTestUtils.setField(articleExportService, "categoryMapper", categoryMapper);
+        ReflectionTestUtils.setField(articleExportService, "userMapper", userMapper);
+        ReflectionTestUtils.setField(articleExportService, "batchSize", 2);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertEquals(3, articleExportService.exportZip(output));
+        verify(articleMapper, times(2)).selectList(any());
+
+        Map<String, FrontMatter> files = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                files.put(entry.getName(), FrontMatter.parse(new String(zip.readAllBytes(), StandardCharsets.UTF_8)));
+            }
+        }
+        assertEquals(Arrays.asList("articles/first.md", "articles/second.md", "articles/third.md"),
+                Arrays.asList(files.keySet().toArray()));
+
+        FrontMatter first = files.get("articles/first.md");
+        assertEquals("标题 first", first.getString("title"));
+        assertEquals("后端", first.getString("category"));
+        assertEquals(Collections.singletonList("Java"), first.getStringList("tags"));
+        assertEquals("sujiu", first.getString("author"));
+        assertNull(first.getBoolean("draft"));
+        assertEquals("# first\n\n正文", first.getBody().trim());
+        assertTrue(files.get("articles/second.md").getBoolean("draft"));
+        assertTrue(files.get("articles/third.md").getStringList("tags").isEmpty());
+    }
+
+    private static Article article(Long id, String slug, int status, Long categoryId) {
+        Article article = new Article();
+        article.setId(id);
+        article.setSlug(slug);
+        article.setTitle("标题 " + slug);
+        article.setContent("# " + slug + "\n\n正文");
+        article.setStatus(status);
+        article.setCategoryId(categoryId);
+        article.setAuthorId(100L);
+        article.setCreateTime(new Date());
+        article.setUpdateTime(new Date());
+        return article;
+    }
+}
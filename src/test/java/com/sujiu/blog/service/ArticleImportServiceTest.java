@@ -0,0 +1,207 @@
+package com.sujiu.blog.service;
+
+import com.sujiu.blog.exception.BusinessException;
+import com.sujiu.blog.mapper.CategoryMapper;
+import com.sujiu.blog.mapper.TagMapper;
+import com.sujiu.blog.model.entity.Tag;
+import com.sujiu.blog.model.entity.User;
+import com.sujiu.blog.model.vo.article.ArticleImportFailureVO;
+import com.sujiu.blog.model.vo.article.ArticleImportVO;
+import com.sujiu.blog.service.impl.ArticleImportServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * 文章批量导入测试
+ *
+ * @author sujiu
+ */
+public class ArticleImportServiceTest {
+
+    private ArticleImportServiceImpl articleImportService;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TagMapper tagMapper;
+
+    private CategoryMapper categoryMapper;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        tagMapper = mock(TagMapper.class);
+        categoryMapper = mock(CategoryMapper.class);
+        ArticleService articleService = mock(ArticleService.class);
+        UserService userService = mock(UserService.class);
+        ArticleSlugIndexService articleSlugIndexService = mock(ArticleSlugIndexService.class);
+
+        Tag java = new Tag();
+        java.setId(1L);
+        java.setName("Java");
+        java.setSlug("java");
+        java.setStatus(1);
+        when(tagMapper.selectList(isNull())).thenReturn(Collections.singletonList(java));
+        User admin = new User();
+        admin.setId(100L);
+        when(userService.getCurrentLoginUser(any())).thenReturn(admin);
+        when(articleService.generateSlug(anyString())).thenReturn("hello-world");
+        when(articleService.markdownToHtml(anyString())).thenReturn("<p></p>");
+        when(articleService.calculateWordCount(anyString())).thenReturn(10);
+        when(articleService.calculateReadingTime(anyInt())).thenReturn(1);
+        when(articleSlugIndexService.isAvailable(anyString(), isNull()))
+                .thenAnswer(invocation -> !"taken".equals(invocation.getArgument(0)));
+
+        articleImportService = new ArticleImportServiceImpl();
+        ReflectionTestUtils.setField(articleImportService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(articleImportService, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(articleImportService, "tagMapper", tagMapper);
+        ReflectionTestUtils.setField(articleImportService, "categoryMapper", categoryMapper);
+        ReflectionTestUtils.setField(articleImportService, "articleService", articleService);
+        ReflectionTestUtils.setField(articleImportService, "userService", userService);
+        ReflectionTestUtils.setField(articleImportService, "articleSlugIndexService", articleSlugIndexService);
+        ReflectionTestUtils.setField(articleImportService, "articleTagIndexService", mock(ArticleTagIndexService.class));
+        ReflectionTestUtils.setField(articleImportService, "articleRelatedService", mock(ArticleRelatedService.class));
+        ReflectionTestUtils.setField(articleImportService, "articleArchiveService", mock(ArticleArchiveService.class));
+        ReflectionTestUtils.setField(articleImportService, "articleNavigationService", mock(ArticleNavigationService.class));
+        ReflectionTestUtils.setField(articleImportService, "pageCountService", mock(PageCountService.class));
+        ReflectionTestUtils.setField(articleImportService, "siteFeedService", mock(SiteFeedService.class));
+        ReflectionTestUtils.setField(articleImportService, "articlePageService", mock(ArticlePageService.class));
+        ReflectionTestUtils.setField(articleImportService, "batchSize", 2);
+        ReflectionTestUtils.setField(articleImportService, "batchBytes", 1024L * 1024);
+        ReflectionTestUtils.setField(articleImportService, "workers", 2);
+        ReflectionTestUtils.setField(articleImportService, "maxInFlight", 4);
+        ReflectionTestUtils.setField(articleImportService, "maxFileBytes", 1024L);
+        ReflectionTestUtils.setField(articleImportService, "maxArchiveBytes", 1024L * 1024);
+        ReflectionTestUtils.setField(articleImportService, "maxFailures", 10);
+        ReflectionTestUtils.setField(articleImportService, "baseDir", "");
+        ReflectionTestUtils.setField(articleImportService, "progressCapacity", 5);
+        articleImportService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        articleImportService.shutdown();
+    }
+
+    @Test
+    void testImportZip() throws Exception {
+        byte[] archive = zip(
+                "posts/a.md", "---\ntitle: Hello World\ntags: [Java, Spring]\ncategory: 后端\ndate: 2023-01-02\n---\n正文",
+                "posts/b.md", "# Hello World\n\n正文",
+                "posts/c.md", "---\ntitle: [unclosed\n---\n正文",
+                "posts/d.md", new String(new char[2000]).replace('\0', 'x'),
+                "posts/e.md", "---\nslug: taken\n---\n正文",
+                "posts/f.md", "---\noriginal: false\nsource: javascript:alert(1)\n---\n正文",
+                "posts/notes.txt", "ignored",
+                "__MACOSX/posts/._a.md", "ignored");
+        ArticleImportVO started = articleImportService.importZip(new ByteArrayInputStream(archive), "posts.zip",
+                new MockHttpServletRequest());
+        ArticleImportVO progress = awaitCompletion(started.getJobId());
+
+        assertEquals(ArticleImportServiceImpl.STATUS_COMPLETED, progress.getStatus());
+        assertEquals(6, progress.getReadCount());
+        assertEquals(6, progress.getProcessedCount());
+        assertEquals(2, progress.getSuccessCount());
+        assertEquals(4, progress.getFailureCount());
+        Map<String, String> failures = progress.getFailures().stream()
+                .collect(Collectors.toMap(ArticleImportFailureVO::getPath, ArticleImportFailureVO::getReason));
+        assertTrue(failures.get("posts/c.md").contains("front-matter"));
+        assertEquals("文件超过大小限制", failures.get("posts/d.md"));
+        assertTrue(failures.get("posts/e.md").contains("已存在"));
+        assertTrue(failures.get("posts/f.md").contains("http"));
+
+        // 两篇文章写入文章表，只有 a.md 有标签关联；已有的 Java 标签不重复创建
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ArgumentCaptor<Collection<?>> batches = ArgumentCaptor.forClass((Class) Collection.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(argThat(sql -> sql.startsWith("INSERT INTO blog_article (")),
+                batches.capture(), anyInt(), any());
+        assertEquals(2, batches.getAllValues().stream().mapToInt(Collection::size).sum());
+        verify(jdbcTemplate).batchUpdate(argThat(sql -> sql.startsWith("INSERT INTO blog_article_tag")),
+                argThat(relations -> relations.size() == 2), eq(2), any());
+        verify(tagMapper, times(1)).insert(argThat((Tag tag) -> "Spring".equals(tag.getName())));
+        verify(categoryMapper, times(1)).insert(any());
+    }
+
+    @Test
+    void testBatchLimitedByBytes() throws Exception {
+        // 每篇文章都超过字节上限，虽然批大小为 2，仍逐篇写入
+        ReflectionTestUtils.setField(articleImportService, "batchBytes", 16L);
+        byte[] archive = zip(
+                "posts/a.md", "---\ntitle: First\nslug: first\n---\n正文",
+                "posts/b.md", "---\ntitle: Second\nslug: second\n---\n正文");
+
+        ArticleImportVO started = articleImportService.importZip(new ByteArrayInputStream(archive), "posts.zip",
+                new MockHttpServletRequest());
+        ArticleImportVO progress = awaitCompletion(started.getJobId());
+
+        assertEquals(2, progress.getSuccessCount());
+        verify(jdbcTemplate, times(2)).batchUpdate(argThat(sql -> sql.startsWith("INSERT INTO blog_article (")),
+                argThat(articles -> articles.size() == 1), eq(1), any());
+    }
+
+    @Test
+    void testRejectInvalidRequests() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        assertThrows(BusinessException.class, () -> articleImportService.importZip(
+                new ByteArrayInputStream(new byte[0]), "posts.zip", request));
+        // 请求体或声明的长度超过压缩包大小限制
+        ReflectionTestUtils.setField(articleImportService, "maxArchiveBytes", 4L);
+        assertThrows(BusinessException.class, () -> articleImportService.importZip(
+                new ByteArrayInputStream(new byte[8]), "posts.zip", request));
+        request.setContent(new byte[8]);
+        assertThrows(BusinessException.class, () -> articleImportService.importZip(
+                new ByteArrayInputStream(new byte[0]), "posts.zip", request));
+        assertThrows(BusinessException.class, () -> articleImportService.getProgress("missing"));
+    }
+
+    private ArticleImportVO awaitCompletion(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        ArticleImportVO progress = articleImportService.getProgress(jobId);
+        while (ArticleImportServiceImpl.STATUS_PROCESSING.equals(progress.getStatus())
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            progress = articleImportService.getProgress(jobId);
+        }
+        return progress;
+    }
+
+    private static byte[] zip(String... entries) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(output, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < entries.length; i += 2) {
+                zip.putNextEntry(new ZipEntry(entries[i]));
+                zip.write(entries[i + 1].getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return output.toByteArray();
+    }
+}
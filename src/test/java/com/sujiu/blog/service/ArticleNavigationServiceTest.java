@@ -0,0 +1,106 @@
+package com.sujiu.blog.service;
+
+import cn.hutool.core.date.DateUtil;
+import com.sujiu.blog.mapper.ArticleMapper;
+import com.sujiu.blog.model.entity.Article;
+import com.sujiu.blog.model.vo.article.ArticleVO;
+import com.sujiu.blog.service.impl.ArticleNavigationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 文章上下篇导航索引测试
+ *
+ * @author sujiu
+ */
+public class ArticleNavigationServiceTest {
+
+    private ArticleMapper articleMapper;
+
+    private ArticleNavigationServiceImpl articleNavigationService;
+
+    @BeforeEach
+    void setUp() {
+        articleMapper = mock(ArticleMapper.class);
+        // 发布顺序：1(分类10)、2(分类20)、3(分类10)、4(分类20)
+        when(articleMapper.selectList(any())).thenReturn(Arrays.asList(
+                article(1L, 2, 10L, "2024-05-01 08:00:00"),
+                article(2L, 2, 20L, "2024-05-02 08:00:00"),
+                article(3L, 2, 10L, "2024-05-03 08:00:00"),
+                article(4L, 2, 20L, "2024-05-04 08:00:00")));
+
+        articleNavigationService = new ArticleNavigationServiceImpl();
+        ReflectionTestUtils.setField(articleNavigationService, "articleMapper", articleMapper);
+        articleNavigationService.load();
+    }
+
+    @Test
+    void testFillNavigation() {
+        ArticleVO articleVO = navigation(2L);
+        assertEquals(1L, articleVO.getPrev().getId());
+        assertEquals("文章1", articleVO.getPrev().getTitle());
+        assertEquals("article-1", articleVO.getPrev().getSlug());
+        assertEquals(3L, articleVO.getNext().getId());
+        assertNull(articleVO.getCategoryPrev());
+        assertEquals(4L, articleVO.getCategoryNext().getId());
+
+        articleVO = navigation(3L);
+        assertEquals(1L, articleVO.getCategoryPrev().getId());
+        assertNull(articleVO.getCategoryNext());
+
+        // 不在索引中的文章不填充
+        articleVO = navigation(99L);
+        assertNull(articleVO.getPrev());
+        assertNull(articleVO.getNext());
+    }
+
+    @Test
+    void testRefreshUpdatesNeighbors() {
+        String tag = articleNavigationService.getNavigationTag(2L);
+
+        // 文章3下线，文章4改到分类10
+        when(articleMapper.selectList(any())).thenReturn(Arrays.asList(
+                article(3L, 4, 10L, "2024-05-03 08:00:00"),
+                article(4L, 2, 10L, "2024-05-04 08:00:00")));
+        articleNavigationService.refreshArticles(Arrays.asList(3L, 4L));
+
+        ArticleVO articleVO = navigation(2L);
+        assertEquals(4L, articleVO.getNext().getId());
+        assertNull(articleVO.getCategoryNext());
+        assertEquals(1L, navigation(4L).getCategoryPrev().getId());
+        assertNotEquals(tag, articleNavigationService.getNavigationTag(2L));
+
+        // 已删除的文章查询不到，移出索引
+        when(articleMapper.selectList(any())).thenReturn(Collections.emptyList());
+        articleNavigationService.refreshArticle(1L);
+        assertNull(navigation(2L).getPrev());
+        assertNull(navigation(4L).getCategoryPrev());
+    }
+
+    private ArticleVO navigation(Long articleId) {
+        ArticleVO articleVO = new ArticleVO();
+        articleVO.setId(articleId);
+        articleNavigationService.fillNavigation(articleVO);
+        return articleVO;
+    }
+
+    private Article article(Long id, int status, Long categoryId, String publishedTime) {
+        Article article = new Article();
+        article.setId(id);
+        article.setStatus(status);
+        article.setCategoryId(categoryId);
+        article.setTitle("文章" + id);
+        article.setSlug("article-" + id);
+        article.setPublishedTime(DateUtil.parse(publishedTime));
+        article.setUpdateTime(DateUtil.parse(publishedTime));
+        return article;
+    }
+}
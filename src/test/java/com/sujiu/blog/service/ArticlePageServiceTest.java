@@ -0,0 +1,186 @@
+package com.sujiu.blog.service;
+
+import cn.hutool.core.date.DateUtil;
+import com.sujiu.blog.mapper.ArticleMapper;
+import com.sujiu.blog.mapper.ArticleTagMapper;
+import com.sujiu.blog.mapper.CategoryMapper;
+import com.sujiu.blog.mapper.TagMapper;
+import com.sujiu.blog.mapper.UserMapper;
+import com.sujiu.blog.model.entity.Article;
+import com.sujiu.blog.model.entity.ArticleTag;
+import com.sujiu.blog.model.entity.Category;
+import com.sujiu.blog.model.entity.Tag;
+import com.sujiu.blog.model.entity.User;
+import com.sujiu.blog.service.impl.ArticlePageServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 文章静态页测试
+ *
+ * @author sujiu
+ */
+public class ArticlePageServiceTest {
+
+    @TempDir
+    Path root;
+
+    private ArticleMapper articleMapper;
+
+    private ArticlePageServiceImpl articlePageService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        articleMapper = mock(ArticleMapper.class);
+        ArticleTagMapper articleTagMapper = mock(ArticleTagMapper.class);
+        ArticleTag relation = new ArticleTag();
+        relation.setArticleId(1L);
+        relation.setTagId(3L);
+        when(articleTagMapper.selectList(any())).thenReturn(Collections.singletonList(relation));
+        Tag tag = new Tag();
+        tag.setId(3L);
+        tag.setName("Java");
+        tag.setSlug("java");
+        TagMapper tagMapper = mock(TagMapper.class);
+        when(tagMapper.selectBatchIds(any())).thenReturn(Collections.singletonList(tag));
+        Category category = new Category();
+        category.setId(2L);
+        category.setName("后端");
+        category.setSlug("backend");
+        CategoryMapper categoryMapper = mock(CategoryMapper.class);
+        when(categoryMapper.selectBatchIds(any())).thenReturn(Collections.singletonList(category));
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("sujiu");
+        user.setNickname("苏九");
+        UserMapper userMapper = mock(UserMapper.class);
+        when(userMapper.selectBatchIds(any())).thenReturn(Collections.singletonList(user));
+        ArticleSlugIndexService articleSlugIndexService = mock(ArticleSlugIndexService.class);
+        when(articleSlugIndexService.getArticleId("hello")).thenReturn(1L);
+
+        articlePageService = new ArticlePageServiceImpl();
+        ReflectionTestUtils.setField(articlePageService, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(articlePageService, "articleTagMapper", articleTagMapper);
+        ReflectionTestUtils.setField(articlePageService, "tagMapper", tagMapper);
+        ReflectionTestUtils.setField(articlePageService, "categoryMapper", categoryMapper);
+        ReflectionTestUtils.setField(articlePageService, "userMapper", userMapper);
+        ReflectionTestUtils.setField(articlePageService, "articleSlugIndexService", articleSlugIndexService);
+        ReflectionTestUtils.setField(articlePageService, "enabled", true);
+        ReflectionTestUtils.setField(articlePageService, "path", root.toString());
+        ReflectionTestUtils.setField(articlePageService, "batchSize", 2);
+        ReflectionTestUtils.setField(articlePageService, "siteUrl", "https://blog.example.com");
+        ReflectionTestUtils.setField(articlePageService, "siteTitle", "博客");
+        articlePageService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        articlePageService.shutdown();
+    }
+
+    @Test
+    void testRefreshRendersAndDeletesPage() throws Exception {
+        Article article = article();
+        when(articleMapper.selectOne(any())).thenReturn(article);
+
+        articlePageService.refreshArticle(1L);
+
+        Path page = articlePageService.getPageFile("hello");
+        assertEquals(root.resolve("articles/1.html").toAbsolutePath(), page);
+        String html = new String(Files.readAllBytes(page), StandardCharsets.UTF_8);
+        // 标题按 HTML 转义，正文原样输出
+        assertTrue(html.contains("<h1>Java &amp; &lt;Spring&gt;</h1>"));
+        assertTrue(html.contains("<section class=\"content\"><p>正文</p></section>"));
+        assertTrue(html.contains("<link rel=\"canonical\" href=\"https://blog.example.com/article/hello\">"));
+        assertTrue(html.contains("苏九"));
+        assertTrue(html.contains("href=\"https://blog.example.com/tag/java\""));
+        assertTrue(html.contains("'../../articles/1/view'"));
+
+        // 下线后删除静态页
+        article.setStatus(4);
+        articlePageService.refreshArticle(1L);
+        assertFalse(Files.exists(page));
+
+        // 加密文章不生成静态页
+        article.setStatus(2);
+        article.setPassword("secret");
+        articlePageService.refreshArticle(1L);
+        assertFalse(Files.exists(page));
+    }
+
+    @Test
+    void testUnsafeLinksNotRendered() throws Exception {
+        Article article = article();
+        article.setIsOriginal(false);
+        article.setSourceUrl("javascript:alert(1)");
+        article.setCoverImage("https://img.example.com/cover.png");
+        when(articleMapper.selectOne(any())).thenReturn(article);
+
+        articlePageService.refreshArticle(1L);
+
+        String html = new String(Files.readAllBytes(articlePageService.getPageFile("hello")), StandardCharsets.UTF_8);
+        assertFalse(html.contains("javascript:"));
+        assertFalse(html.contains("class=\"source\""));
+        assertTrue(html.contains("src=\"https://img.example.com/cover.png\""));
+
+        article.setSourceUrl("https://example.com/origin");
+        article.setCoverImage("data:image/svg+xml,<svg onload=alert(1)>");
+        articlePageService.refreshArticle(1L);
+
+        html = new String(Files.readAllBytes(articlePageService.getPageFile("hello")), StandardCharsets.UTF_8);
+        assertTrue(html.contains("<a href=\"https://example.com/origin\" rel=\"nofollow noopener\">"));
+        assertFalse(html.contains("data:image"));
+    }
+
+    @Test
+    void testRebuildDeletesStalePages() throws Exception {
+        Files.createDirectories(root.resolve("articles"));
+        Files.write(root.resolve("articles/99.html"), new byte[]{1});
+        when(articleMapper.selectList(any())).thenReturn(Collections.singletonList(article()));
+
+        assertEquals(1, articlePageService.rebuild());
+
+        assertTrue(Files.exists(root.resolve("articles/1.html")));
+        assertFalse(Files.exists(root.resolve("articles/99.html")));
+    }
+
+    @Test
+    void testDisabled() {
+        ReflectionTestUtils.setField(articlePageService, "enabled", false);
+
+        articlePageService.refreshArticle(1L);
+
+        assertNull(articlePageService.getPageFile("hello"));
+        assertEquals(0, articlePageService.rebuild());
+        verifyNoInteractions(articleMapper);
+    }
+
+    private Article article() {
+        Article article = new Article();
+        article.setId(1L);
+        article.setAuthorId(7L);
+        article.setCategoryId(2L);
+        article.setTitle("Java & <Spring>");
+        article.setSlug("hello");
+        article.setSummary("摘要");
+        article.setContentHtml("<p>正文</p>");
+        article.setWordCount(2);
+        article.setReadingTime(1);
+        article.setIsOriginal(true);
+        article.setStatus(2);
+        article.setPublishedTime(DateUtil.parse("2024-05-10 08:00:00"));
+        return article;
+    }
+}
@@ -0,0 +1,219 @@
+package com.sujiu.blog.service;
+
+import com.baomidou.mybatisplus.core.conditions.update.UpdateWrapper;
+import com.sujiu.blog.mapper.ArticleMapper;
+import com.sujiu.blog.mapper.ArticleTagMapper;
+import com.sujiu.blog.mapper.CategoryMapper;
+import com.sujiu.blog.mapper.TagMapper;
+import com.sujiu.blog.model.entity.Article;
+import com.sujiu.blog.model.vo.article.ArticleProcessVO;
+import com.sujiu.blog.service.impl.ArticleProcessServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * 文章发布后处理服务测试
+ *
+ * @author sujiu
+ */
+public class ArticleProcessServiceTest {
+
+    private ArticleProcessServiceImpl articleProcessService;
+
+    private ArticleMapper articleMapper;
+
+    private TagMapper tagMapper;
+
+    private CategoryMapper categoryMapper;
+
+    private ArticleDetailCacheService articleDetailCacheService;
+
+    private ArticleService articleService;
+
+    private ArticleTagIndexService articleTagIndexService;
+
+    @BeforeEach
+    void setUp() {
+        articleMapper = mock(ArticleMapper.class);
+        ArticleTagMapper articleTagMapper = mock(ArticleTagMapper.class);
+        tagMapper = mock(TagMapper.class);
+        categoryMapper = mock(CategoryMapper.class);
+        articleDetailCacheService = mock(ArticleDetailCacheService.class);
+        articleService = mock(ArticleService.class);
+        articleTagIndexService = mock(ArticleTagIndexService.class);
+
+        Article article = new Article();
+        article.setId(1L);
+        article.setContent("# 标题\n\n正文内容");
+        article.setCategoryId(10L);
+        when(articleMapper.selectOne(any())).thenReturn(article);
+        when(articleTagMapper.selectObjs(any())).thenReturn(Collections.singletonList(100L));
+        when(articleService.calculateWordCount(anyString())).thenReturn(4);
+        when(articleService.calculateReadingTime(any())).thenReturn(1);
+        when(articleService.markdownToHtml(anyString())).thenReturn("<h1>标题</h1>");
+
+        articleProcessService = new ArticleProcessServiceImpl();
+        ReflectionTestUtils.setField(articleProcessService, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(articleProcessService, "articleTagMapper", articleTagMapper);
+        ReflectionTestUtils.setField(articleProcessService, "tagMapper", tagMapper);
+        ReflectionTestUtils.setField(articleProcessService, "categoryMapper", categoryMapper);
+        ReflectionTestUtils.setField(articleProcessService, "articleDetailCacheService", articleDetailCacheService);
+        ReflectionTestUtils.setField(articleProcessService, "articleService", articleService);
+        ReflectionTestUtils.setField(articleProcessService, "articleTagIndexService", articleTagIndexService);
+        ReflectionTestUtils.setField(articleProcessService, "articleRelatedService", mock(ArticleRelatedService.class));
+        ReflectionTestUtils.setField(articleProcessService, "articleArchiveService", mock(ArticleArchiveService.class));
+        ReflectionTestUtils.setField(articleProcessService, "articleNavigationService", mock(ArticleNavigationService.class));
+        ReflectionTestUtils.setField(articleProcessService, "siteFeedService", mock(SiteFeedService.class));
+        ReflectionTestUtils.setField(articleProcessService, "articlePageService", mock(ArticlePageService.class));
+        ReflectionTestUtils.setField(articleProcessService, "coreSize", 2);
+        ReflectionTestUtils.setField(articleProcessService, "maxSize", 2);
+        ReflectionTestUtils.setField(articleProcessService, "queueCapacity", 10);
+        ReflectionTestUtils.setField(articleProcessService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(articleProcessService, "retryDelay", 10L);
+        ReflectionTestUtils.setField(articleProcessService, "progressCapacity", 10);
+        articleProcessService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        articleProcessService.shutdown();
+    }
+
+    @Test
+    void testStagesCompleted() throws InterruptedException {
+        articleProcessService.submit(1L, true, Arrays.asList(100L, 200L), 20L);
+
+        ArticleProcessVO progress = awaitFinished(1L);
+        assertEquals(ArticleProcessService.STATUS_COMPLETED, progress.getStatus());
+        assertEquals(Arrays.asList(ArticleProcessServiceImpl.STAGE_RENDER, ArticleProcessServiceImpl.STAGE_COUNTER,
+                ArticleProcessServiceImpl.STAGE_INDEX, ArticleProcessServiceImpl.STAGE_CACHE),
+                progress.getCompletedStages());
+
+        // 渲染只写回派生字段，不推进更新时间
+        verify(articleMapper).update(argThat((Article article) -> article.getContentHtml() != null
+                && article.getUpdateTime() == null),
+                argThat((UpdateWrapper<Article> wrapper) -> wrapper.getSqlSet().contains("updated_time = updated_time")));
+        // 当前标签、已移除的标签、当前分类和原分类都重新计数
+        verify(tagMapper).refreshArticleCount(100L);
+        verify(tagMapper).refreshArticleCount(200L);
+        verify(categoryMapper).refreshArticleCount(10L);
+        verify(categoryMapper).refreshArticleCount(20L);
+        verify(articleTagIndexService).refreshArticle(1L);
+        verify(articleDetailCacheService).evict(1L);
+        verify(articleService).refreshHomepageSnapshot();
+    }
+
+    @Test
+    void testFailedStageRetried() throws InterruptedException {
+        doThrow(new RuntimeException("缓存不可用")).doNothing().when(articleDetailCacheService).evict(1L);
+
+        articleProcessService.submit(1L, false, null, null);
+
+        ArticleProcessVO progress = awaitFinished(1L);
+        assertEquals(ArticleProcessService.STATUS_COMPLETED, progress.getStatus());
+        // 已完成的计数阶段不随重试重复执行
+        verify(tagMapper, times(1)).refreshArticleCount(100L);
+        verify(articleDetailCacheService, times(2)).evict(1L);
+        verify(articleMapper, never()).update(any(Article.class), any());
+    }
+
+    @Test
+    void testFailedAfterMaxAttempts() throws InterruptedException {
+        doThrow(new RuntimeException("缓存不可用")).when(articleDetailCacheService).evict(1L);
+
+        articleProcessService.submit(1L, false, null, null);
+
+        ArticleProcessVO progress = awaitFinished(1L);
+        assertEquals(ArticleProcessService.STATUS_FAILED, progress.getStatus());
+        assertEquals(ArticleProcessServiceImpl.STAGE_CACHE, progress.getStage());
+        assertEquals(3, progress.getAttempt());
+        assertEquals("缓存不可用", progress.getErrorMessage());
+        verify(articleDetailCacheService, times(3)).evict(1L);
+    }
+
+    @Test
+    void testRepairResubmitsFailedAndUnrenderedArticles() throws InterruptedException {
+        doThrow(new RuntimeException("渲染失败")).when(articleService).markdownToHtml(anyString());
+        articleProcessService.submit(1L, true, Collections.singletonList(200L), null);
+        assertEquals(ArticleProcessService.STATUS_FAILED, awaitFinished(1L).getStatus());
+        verify(tagMapper, never()).refreshArticleCount(any());
+
+        // 恢复后补偿：失败的文章从渲染阶段重新处理，已发布未渲染的文章重新渲染
+        doReturn("<h1>标题</h1>").when(articleService).markdownToHtml(anyString());
+        Article unrendered = new Article();
+        unrendered.setId(2L);
+        when(articleMapper.selectList(any())).thenReturn(Collections.singletonList(unrendered));
+        articleProcessService.repair();
+
+        assertEquals(ArticleProcessService.STATUS_COMPLETED, awaitFinished(1L).getStatus());
+        assertEquals(ArticleProcessService.STATUS_COMPLETED, awaitFinished(2L).getStatus());
+        verify(articleMapper, times(2)).update(any(Article.class), any());
+        verify(tagMapper).refreshArticleCount(200L);
+        verify(articleDetailCacheService).evict(2L);
+    }
+
+    @Test
+    void testRejectedTaskLeftToRepair() throws InterruptedException {
+        // 单线程、队列容量 1：文章 1 占用线程，文章 2 排队，文章 3 被拒绝
+        articleProcessService.shutdown();
+        ReflectionTestUtils.setField(articleProcessService, "coreSize", 1);
+        ReflectionTestUtils.setField(articleProcessService, "maxSize", 1);
+        ReflectionTestUtils.setField(articleProcessService, "queueCapacity", 1);
+        articleProcessService.init();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return null;
+        }).when(articleDetailCacheService).evict(1L);
+
+        articleProcessService.submit(1L, false, null, null);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        articleProcessService.submit(2L, false, null, null);
+        articleProcessService.submit(3L, true, null, null);
+
+        // 被拒绝的任务不在提交线程中执行
+        ArticleProcessVO rejected = articleProcessService.getProgress(3L);
+        assertEquals(ArticleProcessService.STATUS_FAILED, rejected.getStatus());
+        assertTrue(rejected.getCompletedStages().isEmpty());
+        verify(articleMapper, never()).update(any(Article.class), any());
+
+        release.countDown();
+        assertEquals(ArticleProcessService.STATUS_COMPLETED, awaitFinished(1L).getStatus());
+        assertEquals(ArticleProcessService.STATUS_COMPLETED, awaitFinished(2L).getStatus());
+
+        // 补偿任务按原处理内容重新提交，包括渲染阶段
+        articleProcessService.repair();
+        ArticleProcessVO progress = awaitFinished(3L);
+        assertEquals(ArticleProcessService.STATUS_COMPLETED, progress.getStatus());
+        assertEquals(ArticleProcessServiceImpl.STAGE_RENDER, progress.getCompletedStages().get(0));
+        verify(articleMapper).update(any(Article.class), any());
+        verify(articleDetailCacheService).evict(3L);
+    }
+
+    private ArticleProcessVO awaitFinished(Long articleId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            ArticleProcessVO progress = articleProcessService.getProgress(articleId);
+            if (progress != null && (ArticleProcessService.STATUS_COMPLETED.equals(progress.getStatus())
+                    || ArticleProcessService.STATUS_FAILED.equals(progress.getStatus()))) {
+                return progress;
+            }
+            Thread.sleep(10);
+        }
+        return fail("文章后处理未在 5 秒内结束");
+    }
+}
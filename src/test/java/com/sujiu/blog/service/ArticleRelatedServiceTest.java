@@ -0,0 +1,125 @@
+package com.sujiu.blog.service;
+
+import com.sujiu.blog.mapper.ArticleMapper;
+import com.sujiu.blog.mapper.ArticleTagMapper;
+import com.sujiu.blog.model.entity.Article;
+import com.sujiu.blog.model.entity.ArticleTag;
+import com.sujiu.blog.service.impl.ArticleRelatedServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 相关文章索引测试
+ *
+ * @author sujiu
+ */
+public class ArticleRelatedServiceTest {
+
+    private static final long TAG_JAVA = 1L;
+
+    private static final long TAG_SPRING = 2L;
+
+    private static final long TAG_PYTHON = 3L;
+
+    private static final String SPRING_CONTENT = "Spring Boot 通过自动配置简化了应用的搭建，"
+            + "starter 依赖把常用组件打包在一起，配置文件中的属性会绑定到配置类上，"
+            + "内嵌的 Tomcat 让应用可以直接以 jar 包运行。";
+
+    private ArticleRelatedServiceImpl articleRelatedService;
+
+    private ArticleMapper articleMapper;
+
+    private ArticleTagMapper articleTagMapper;
+
+    @BeforeEach
+    void setUp() {
+        articleMapper = mock(ArticleMapper.class);
+        articleTagMapper = mock(ArticleTagMapper.class);
+
+        // 101 与 102 标签相同、正文相近；103 只有标签相同；104 标签和正文都无关
+        List<Article> articles = Arrays.asList(
+                article(101L, 2, "Spring Boot 入门", SPRING_CONTENT),
+                article(102L, 2, "Spring Boot 入门（第二版）", SPRING_CONTENT + "本版补充了 Actuator 监控。"),
+                article(103L, 2, "JVM 垃圾回收", "分代收集把堆分为新生代和老年代，G1 按区域回收。"),
+                article(104L, 2, "Python 装饰器", "装饰器本质上是接收函数并返回新函数的高阶函数。"));
+        List<ArticleTag> relations = new ArrayList<>();
+        relations.add(relation(101L, TAG_JAVA));
+        relations.add(relation(101L, TAG_SPRING));
+        relations.add(relation(102L, TAG_JAVA));
+        relations.add(relation(102L, TAG_SPRING));
+        relations.add(relation(103L, TAG_JAVA));
+        relations.add(relation(103L, TAG_SPRING));
+        relations.add(relation(104L, TAG_PYTHON));
+        when(articleMapper.selectList(any())).thenReturn(articles);
+        when(articleTagMapper.selectList(any())).thenReturn(relations);
+
+        articleRelatedService = new ArticleRelatedServiceImpl();
+        ReflectionTestUtils.setField(articleRelatedService, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(articleRelatedService, "articleTagMapper", articleTagMapper);
+        ReflectionTestUtils.setField(articleRelatedService, "tagWeight", 0.5);
+        ReflectionTestUtils.setField(articleRelatedService, "maxCandidates", 100);
+        ReflectionTestUtils.setField(articleRelatedService, "parallelism", 2);
+        articleRelatedService.init();
+        articleRelatedService.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        articleRelatedService.shutdown();
+    }
+
+    @Test
+    void testRelatedOrderedBySimilarity() {
+        assertTrue(articleRelatedService.isReady());
+
+        // 标签和正文都相近的文章在前，只有标签相同的在后，无关文章不出现
+        assertEquals(Arrays.asList(102L, 103L), articleRelatedService.listRelatedArticleIds(101L, 5));
+        assertEquals(Collections.singletonList(102L), articleRelatedService.listRelatedArticleIds(101L, 1));
+        assertTrue(articleRelatedService.listRelatedArticleIds(104L, 5).isEmpty());
+        assertTrue(articleRelatedService.listRelatedArticleIds(999L, 5).isEmpty());
+    }
+
+    @Test
+    void testRefreshArticle() {
+        // 文章 103 改为 Python 标签和内容
+        when(articleMapper.selectOne(any())).thenReturn(article(103L, 2, "Python 装饰器进阶",
+                "装饰器本质上是接收函数并返回新函数的高阶函数，带参数的装饰器需要再包一层。"));
+        when(articleTagMapper.selectObjs(any())).thenReturn(Collections.singletonList(TAG_PYTHON));
+        articleRelatedService.refreshArticle(103L);
+        assertEquals(Collections.singletonList(102L), articleRelatedService.listRelatedArticleIds(101L, 5));
+        assertEquals(Collections.singletonList(103L), articleRelatedService.listRelatedArticleIds(104L, 5));
+
+        // 文章 102 下线后移出索引
+        when(articleMapper.selectOne(any())).thenReturn(article(102L, 4, "Spring Boot 入门（第二版）", SPRING_CONTENT));
+        articleRelatedService.refreshArticle(102L);
+        assertTrue(articleRelatedService.listRelatedArticleIds(101L, 5).isEmpty());
+        assertTrue(articleRelatedService.listRelatedArticleIds(102L, 5).isEmpty());
+    }
+
+    private static Article article(Long id, int status, String title, String content) {
+        Article article = new Article();
+        article.setId(id);
+        article.setStatus(status);
+        article.setTitle(title);
+        article.setContent(content);
+        return article;
+    }
+
+    private static ArticleTag relation(Long articleId, Long tagId) {
+        ArticleTag articleTag = new ArticleTag();
+        articleTag.setArticleId(articleId);
+        articleTag.setTagId(tagId);
+        return articleTag;
+    }
+}
@@ -1,19 +1,29 @@
 package com.sujiu.blog.service;
 
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.sujiu.blog.exception.BusinessException;
+import com.sujiu.blog.mapper.ArticleTagMapper;
+import com.sujiu.blog.mapper.TagMapper;
 import com.sujiu.blog.model.dto.article.ArticleQueryRequest;
 import com.sujiu.blog.model.dto.article.ArticleRequest;
 import com.sujiu.blog.model.dto.user.UserLoginRequest;
 import com.sujiu.blog.model.dto.user.UserRegisterRequest;
+import com.sujiu.blog.model.entity.ArticleTag;
+import com.sujiu.blog.model.entity.Tag;
+import com.sujiu.blog.model.vo.article.ArticleProcessVO;
 import com.sujiu.blog.model.vo.article.ArticleVO;
+import com.sujiu.blog.model.vo.common.CursorPageVO;
 import com.sujiu.blog.model.vo.common.PageVO;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.mock.web.MockHttpServletRequest;
 
 import javax.annotation.Resource;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -31,6 +41,18 @@ public class ArticleServiceTest {
     @Resource
     private UserService userService;
 
+    @Resource
+    private ArticleViewService articleViewService;
+
+    @Resource
+    private ArticleProcessService articleProcessService;
+
+    @Resource
+    private TagMapper tagMapper;
+
+    @Resource
+    private ArticleTagMapper articleTagMapper;
+
     @Test
     public void testPublishArticle() {
         MockHttpServletRequest httpRequest = new MockHttpServletRequest();
@@ -67,13 +89,37 @@ public class ArticleServiceTest {
         assertEquals("测试文章标题", result.getTitle());
         assertEquals("这是一篇测试文章的摘要", result.getSummary());
         assertNotNull(result.getSlug());
-        assertTrue(result.getWordCount() > 0);
-        assertTrue(result.getReadingTime() > 0);
-        assertNotNull(result.getContentHtml());
         assertEquals(Integer.valueOf(2), result.getStatus());
         assertNotNull(result.getPublishedTime());
         assertNotNull(result.getAuthor());
         assertEquals("articleauthor", result.getAuthor().getUsername());
+
+        // 渲染和字数统计在提交后异步完成
+        awaitProcessed(result.getId());
+        ArticleVO processedArticle = articleService.getArticleDetail(result.getId(), null, httpRequest);
+        assertTrue(processedArticle.getWordCount() > 0);
+        assertTrue(processedArticle.getReadingTime() > 0);
+        assertNotNull(processedArticle.getContentHtml());
+    }
+
+    /**
+     * 等待文章发布后处理完成
+     */
+    private void awaitProcessed(Long articleId) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            ArticleProcessVO progress = articleProcessService.getProgress(articleId);
+            if (progress != null && ArticleProcessService.STATUS_COMPLETED.equals(progress.getStatus())) {
+                return;
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        fail("文章后处理未在 5 秒内完成");
     }
 
     @Test
@@ -178,7 +224,69 @@ public class ArticleServiceTest {
         assertEquals("更新后的标题", updatedArticle.getTitle());
         assertEquals("更新后的内容，包含更多信息。", updatedArticle.getContent());
         assertEquals("更新后的摘要", updatedArticle.getSummary());
-        assertTrue(updatedArticle.getWordCount() > 0);
+
+        awaitProcessed(createdArticle.getId());
+        ArticleVO processedArticle = articleService.getArticleDetail(createdArticle.getId(), null, httpRequest);
+        assertTrue(processedArticle.getWordCount() > 0);
+        assertTrue(processedArticle.getContentHtml().contains("更新后的内容"));
+    }
+
+    @Test
+    public void testUpdateArticleTags() {
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+
+        // 先注册并登录用户
+        UserRegisterRequest registerRequest = new UserRegisterRequest();
+        registerRequest.setUsername("articletagger");
+        registerRequest.setEmail("articletagger@example.com");
+        registerRequest.setPassword("password123");
+        registerRequest.setConfirmPassword("password123");
+
+        userService.userRegister(registerRequest, httpRequest);
+
+        UserLoginRequest loginRequest = new UserLoginRequest();
+        loginRequest.setAccount("articletagger");
+        loginRequest.setPassword("password123");
+
+        userService.userLogin(loginRequest, httpRequest);
+
+        // 准备三个标签
+        List<Long> tagIds = new ArrayList<>();
+        for (String name : Arrays.asList("标签差量A", "标签差量B", "标签差量C")) {
+            Tag tag = new Tag();
+            tag.setName(name + System.currentTimeMillis());
+            tag.setSlug("tag-diff-" + System.nanoTime());
+            tag.setStatus(1);
+            tagMapper.insert(tag);
+            tagIds.add(tag.getId());
+        }
+
+        // 发布时关联 A、B
+        ArticleRequest createRequest = new ArticleRequest();
+        createRequest.setTitle("标签差量更新");
+        createRequest.setContent("标签差量更新测试内容");
+        createRequest.setStatus(2);
+        createRequest.setTagIds(Arrays.asList(tagIds.get(0), tagIds.get(1)));
+
+        ArticleVO createdArticle = articleService.publishArticle(createRequest, httpRequest);
+        Long articleId = createdArticle.getId();
+        ArticleTag keptArticleTag = articleTagMapper.selectOne(new QueryWrapper<ArticleTag>()
+                .eq("article_id", articleId).eq("tag_id", tagIds.get(1)));
+        assertNotNull(keptArticleTag);
+
+        // 更新为 B、C：只删除 A、插入 C，B 的关联行保持不变
+        ArticleRequest updateRequest = new ArticleRequest();
+        updateRequest.setTagIds(Arrays.asList(tagIds.get(1), tagIds.get(2)));
+        ArticleVO updatedArticle = articleService.updateArticle(articleId, updateRequest, httpRequest);
+
+        Set<Long> updatedTagIds = new HashSet<>();
+        updatedArticle.getTags().forEach(tagInfo -> updatedTagIds.add(tagInfo.getId()));
+        assertEquals(new HashSet<>(Arrays.asList(tagIds.get(1), tagIds.get(2))), updatedTagIds);
+
+        List<ArticleTag> articleTags = articleTagMapper.selectList(new QueryWrapper<ArticleTag>()
+                .eq("article_id", articleId));
+        assertEquals(2, articleTags.size());
+        assertTrue(articleTags.stream().anyMatch(articleTag -> articleTag.getId().equals(keptArticleTag.getId())));
     }
 
     @Test
@@ -256,6 +364,56 @@ public class ArticleServiceTest {
         assertEquals(Integer.valueOf(1), articleDetail.getViewCount()); // 浏览量应该增加1
     }
 
+    @Test
+    public void testGetArticleDetailBySlug() {
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+
+        // 先注册并登录用户
+        UserRegisterRequest registerRequest = new UserRegisterRequest();
+        registerRequest.setUsername("articleslugger");
+        registerRequest.setEmail("articleslugger@example.com");
+        registerRequest.setPassword("password123");
+        registerRequest.setConfirmPassword("password123");
+
+        userService.userRegister(registerRequest, httpRequest);
+
+        UserLoginRequest loginRequest = new UserLoginRequest();
+        loginRequest.setAccount("articleslugger");
+        loginRequest.setPassword("password123");
+
+        userService.userLogin(loginRequest, httpRequest);
+
+        // 相同标题连续发布两次，第二篇的别名追加数字后缀
+        String title = "Slug Collision " + System.currentTimeMillis();
+        ArticleRequest firstRequest = new ArticleRequest();
+        firstRequest.setTitle(title);
+        firstRequest.setContent("别名冲突测试内容");
+        firstRequest.setStatus(2);
+        ArticleVO firstArticle = articleService.publishArticle(firstRequest, httpRequest);
+
+        ArticleRequest secondRequest = new ArticleRequest();
+        secondRequest.setTitle(title);
+        secondRequest.setContent("别名冲突测试内容");
+        secondRequest.setStatus(2);
+        ArticleVO secondArticle = articleService.publishArticle(secondRequest, httpRequest);
+
+        assertEquals(firstArticle.getSlug() + "-2", secondArticle.getSlug());
+
+        // 按别名获取文章详情
+        ArticleVO articleBySlug = articleService.getArticleDetailBySlug(secondArticle.getSlug(), null, httpRequest);
+        assertEquals(secondArticle.getId(), articleBySlug.getId());
+
+        // 显式指定已占用的别名时报错
+        ArticleRequest duplicateRequest = new ArticleRequest();
+        duplicateRequest.setTitle("别名重复");
+        duplicateRequest.setSlug(firstArticle.getSlug());
+        duplicateRequest.setContent("别名冲突测试内容");
+        assertThrows(BusinessException.class, () -> articleService.publishArticle(duplicateRequest, httpRequest));
+
+        assertThrows(BusinessException.class, () ->
+                articleService.getArticleDetailBySlug("slug-not-exists-" + System.currentTimeMillis(), null, httpRequest));
+    }
+
     @Test
     public void testGetArticleDetailWithPassword() {
         MockHttpServletRequest httpRequest = new MockHttpServletRequest();
@@ -318,6 +476,77 @@ public class ArticleServiceTest {
         assertEquals(Integer.valueOf(10), result.getSize().intValue());
     }
 
+    @Test
+    public void testGetArticleListAssemblesAuthor() {
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+
+        // 先注册并登录用户
+        UserRegisterRequest registerRequest = new UserRegisterRequest();
+        registerRequest.setUsername("articlelister");
+        registerRequest.setEmail("articlelister@example.com");
+        registerRequest.setPassword("password123");
+        registerRequest.setConfirmPassword("password123");
+
+        userService.userRegister(registerRequest, httpRequest);
+
+        UserLoginRequest loginRequest = new UserLoginRequest();
+        loginRequest.setAccount("articlelister");
+        loginRequest.setPassword("password123");
+
+        userService.userLogin(loginRequest, httpRequest);
+
+        // 发布两篇文章
+        for (int i = 0; i < 2; i++) {
+            ArticleRequest articleRequest = new ArticleRequest();
+            articleRequest.setTitle("批量组装测试文章" + i);
+            articleRequest.setContent("批量组装测试内容" + i);
+            articleRequest.setStatus(2);
+            articleService.publishArticle(articleRequest, httpRequest);
+        }
+
+        // 列表中的每篇文章都应带有作者信息
+        ArticleQueryRequest queryRequest = new ArticleQueryRequest();
+        queryRequest.setKeyword("批量组装测试");
+
+        PageVO<ArticleVO> result = articleService.getArticleList(queryRequest);
+
+        assertNotNull(result);
+        assertTrue(result.getRecords().size() >= 2);
+        for (ArticleVO article : result.getRecords()) {
+            assertNotNull(article.getAuthor());
+            assertNotNull(article.getAuthor().getUsername());
+        }
+    }
+
+    @Test
+    public void testGetArticleListByCursor() {
+        // 逐页滚动，页与页之间不应重复
+        ArticleQueryRequest queryRequest = new ArticleQueryRequest();
+        queryRequest.setSize(2);
+
+        Set<Long> seenIds = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            CursorPageVO<ArticleVO> result = articleService.getArticleListByCursor(queryRequest);
+
+            assertNotNull(result);
+            assertNotNull(result.getRecords());
+            assertTrue(result.getRecords().size() <= 2);
+            for (ArticleVO article : result.getRecords()) {
+                assertTrue(seenIds.add(article.getId()));
+            }
+
+            if (!result.getHasMore()) {
+                assertNull(result.getNextCursor());
+                break;
+            }
+            queryRequest.setCursor(result.getNextCursor());
+        }
+
+        // 无效游标
+        queryRequest.setCursor("invalid");
+        assertThrows(BusinessException.class, () -> articleService.getArticleListByCursor(queryRequest));
+    }
+
     @Test
     public void testGetArticleListWithKeyword() {
         // 测试关键词搜索
@@ -383,6 +612,45 @@ public class ArticleServiceTest {
         }
     }
 
+    @Test
+    public void testTopArticlesRefreshedAfterPublish() throws InterruptedException {
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+
+        // 先注册并登录用户
+        UserRegisterRequest registerRequest = new UserRegisterRequest();
+        registerRequest.setUsername("homepagetester");
+        registerRequest.setEmail("homepagetester@example.com");
+        registerRequest.setPassword("password123");
+        registerRequest.setConfirmPassword("password123");
+
+        userService.userRegister(registerRequest, httpRequest);
+
+        UserLoginRequest loginRequest = new UserLoginRequest();
+        loginRequest.setAccount("homepagetester");
+        loginRequest.setPassword("password123");
+
+        userService.userLogin(loginRequest, httpRequest);
+
+        // 发布一篇置顶文章
+        ArticleRequest articleRequest = new ArticleRequest();
+        articleRequest.setTitle("首页快照测试文章");
+        articleRequest.setContent("首页快照测试内容");
+        articleRequest.setStatus(2);
+        articleRequest.setIsTop(true);
+        ArticleVO published = articleService.publishArticle(articleRequest, httpRequest);
+
+        // 快照在事务提交后异步重建
+        boolean found = false;
+        for (int i = 0; i < 50 && !found; i++) {
+            found = articleService.getTopArticles().stream()
+                .anyMatch(article -> article.getId().equals(published.getId()));
+            if (!found) {
+                Thread.sleep(100);
+            }
+        }
+        assertTrue(found);
+    }
+
     @Test
     public void testGetArticleListWithSorting() {
         // 测试排序功能
@@ -532,4 +800,47 @@ public class ArticleServiceTest {
         assertNotNull(updatedArticle);
         assertEquals(Integer.valueOf(2), updatedArticle.getViewCount());
     }
+
+    @Test
+    public void testArticleViewFlush() {
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+
+        // 先注册并登录用户
+        UserRegisterRequest registerRequest = new UserRegisterRequest();
+        registerRequest.setUsername("viewflusher");
+        registerRequest.setEmail("viewflusher@example.com");
+        registerRequest.setPassword("password123");
+        registerRequest.setConfirmPassword("password123");
+
+        userService.userRegister(registerRequest, httpRequest);
+
+        UserLoginRequest loginRequest = new UserLoginRequest();
+        loginRequest.setAccount("viewflusher");
+        loginRequest.setPassword("password123");
+
+        userService.userLogin(loginRequest, httpRequest);
+
+        // 发布一篇文章
+        ArticleRequest articleRequest = new ArticleRequest();
+        articleRequest.setTitle("浏览量写回测试文章");
+        articleRequest.setContent("这是一篇用于测试浏览量写回的文章");
+        articleRequest.setStatus(2);
+
+        ArticleVO article = articleService.publishArticle(articleRequest, httpRequest);
+        Long articleId = article.getId();
+
+        // 浏览三次，此时增量还在内存中
+        for (int i = 0; i < 3; i++) {
+            articleService.addArticleView(articleId, httpRequest);
+        }
+        assertEquals(3L, articleViewService.getPendingCount(articleId));
+
+        // 写回后增量清零，数据库中的浏览量与详情接口一致
+        assertTrue(articleViewService.flush() >= 1);
+        assertEquals(0L, articleViewService.getPendingCount(articleId));
+        // 没有新的浏览时再次写回不产生任何更新
+        assertEquals(0, articleViewService.flush());
+        assertEquals(Integer.valueOf(3), articleService.getById(articleId).getViewCount());
+        assertEquals(Integer.valueOf(3), articleService.getArticleDetail(articleId, null, httpRequest).getViewCount());
+    }
 }
@@ -0,0 +1,83 @@
+package com.sujiu.blog.service;
+
+import com.sujiu.blog.mapper.ArticleMapper;
+import com.sujiu.blog.model.entity.Article;
+import com.sujiu.blog.service.impl.ArticleSlugIndexServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * 文章别名索引测试
+ *
+ * @author sujiu
+ */
+public class ArticleSlugIndexServiceTest {
+
+    private ArticleMapper articleMapper;
+
+    private ArticleSlugIndexServiceImpl articleSlugIndexService;
+
+    @BeforeEach
+    void setUp() {
+        articleMapper = mock(ArticleMapper.class);
+        articleSlugIndexService = new ArticleSlugIndexServiceImpl();
+        ReflectionTestUtils.setField(articleSlugIndexService, "articleMapper", articleMapper);
+    }
+
+    @Test
+    void testLoad() {
+        when(articleMapper.selectSlugsAfter(anyLong(), anyInt()))
+                .thenReturn(Arrays.asList(article(1L, "hello"), article(2L, "world")));
+
+        // 加载前回退到数据库查询
+        when(articleMapper.selectIdBySlug("hello")).thenReturn(1L);
+        assertEquals(1L, articleSlugIndexService.getArticleId("hello"));
+
+        articleSlugIndexService.load();
+
+        assertEquals(2L, articleSlugIndexService.getArticleId("world"));
+        assertTrue(articleSlugIndexService.isAvailable("hello", 1L));
+        assertFalse(articleSlugIndexService.isAvailable("hello", 2L));
+        verify(articleMapper, times(1)).selectIdBySlug(anyString());
+    }
+
+    @Test
+    void testRenameDuringLoad() {
+        // 读取批次后、登记到索引前，文章 1 的别名被修改
+        when(articleMapper.selectSlugsAfter(anyLong(), anyInt())).thenAnswer(invocation -> {
+            articleSlugIndexService.register("hello-new", "hello", 1L);
+            return Arrays.asList(article(1L, "hello"), article(2L, "world"));
+        });
+        when(articleMapper.selectSlugsByIds(Collections.singletonList(1L)))
+                .thenReturn(Collections.singletonList(article(1L, "hello-new")));
+
+        articleSlugIndexService.load();
+
+        assertNull(articleSlugIndexService.getArticleId("hello"));
+        assertEquals(1L, articleSlugIndexService.getArticleId("hello-new"));
+        assertEquals(2L, articleSlugIndexService.getArticleId("world"));
+
+        // 加载完成后直接修改索引，不再重新读取
+        articleSlugIndexService.register("world-new", "world", 2L);
+        assertNull(articleSlugIndexService.getArticleId("world"));
+        assertEquals(2L, articleSlugIndexService.getArticleId("world-new"));
+        verify(articleMapper, times(1)).selectSlugsByIds(any());
+    }
+
+    private static Article article(Long id, String slug) {
+        Article article = new Article();
+        article.setId(id);
+        article.setSlug(slug);
+        return article;
+    }
+}
@@ -0,0 +1,130 @@
+package com.sujiu.blog.service;
+
+import com.sujiu.blog.mapper.ArticleMapper;
+import com.sujiu.blog.mapper.ArticleTagMapper;
+import com.sujiu.blog.model.entity.Article;
+import com.sujiu.blog.model.entity.ArticleTag;
+import com.sujiu.blog.model.vo.common.PageVO;
+import com.sujiu.blog.service.impl.ArticleTagIndexServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 文章标签位图索引测试
+ *
+ * @author sujiu
+ */
+public class ArticleTagIndexServiceTest {
+
+    private static final long TAG_JAVA = 1L;
+
+    private static final long TAG_SPRING = 2L;
+
+    private ArticleTagIndexServiceImpl articleTagIndexService;
+
+    private ArticleMapper articleMapper;
+
+    private ArticleTagMapper articleTagMapper;
+
+    @BeforeEach
+    void setUp() {
+        articleMapper = mock(ArticleMapper.class);
+        articleTagMapper = mock(ArticleTagMapper.class);
+
+        // 文章 101-105：103 置顶，104 为草稿，105 属于分类 20
+        List<Article> articles = Arrays.asList(
+                article(101L, 2, 10L, false, 1000L),
+                article(102L, 2, 10L, false, 3000L),
+                article(103L, 2, 10L, true, 500L),
+                article(104L, 0, 10L, false, null),
+                article(105L, 2, 20L, false, 2000L));
+        List<ArticleTag> relations = new ArrayList<>();
+        for (long articleId : new long[]{101L, 102L, 103L, 104L, 105L}) {
+            relations.add(relation(relations.size() + 1L, articleId, TAG_JAVA));
+        }
+        relations.add(relation(10L, 102L, TAG_SPRING));
+        relations.add(relation(11L, 105L, TAG_SPRING));
+        when(articleMapper.selectList(any())).thenReturn(articles);
+        when(articleTagMapper.selectList(any())).thenReturn(relations);
+
+        articleTagIndexService = new ArticleTagIndexServiceImpl();
+        ReflectionTestUtils.setField(articleTagIndexService, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(articleTagIndexService, "articleTagMapper", articleTagMapper);
+        articleTagIndexService.load();
+    }
+
+    @Test
+    void testPageOrderedByTopAndPublishedTime() {
+        assertTrue(articleTagIndexService.isReady());
+
+        PageVO<Long> firstPage = articleTagIndexService.pageArticleIds(
+                Collections.singletonList(TAG_JAVA), false, null, null, 1, 3);
+        // 草稿不计入，置顶在前，其余按发布时间倒序
+        assertEquals(4L, firstPage.getTotal());
+        assertEquals(Arrays.asList(103L, 102L, 105L), firstPage.getRecords());
+
+        PageVO<Long> secondPage = articleTagIndexService.pageArticleIds(
+                Collections.singletonList(TAG_JAVA), false, null, null, 2, 3);
+        assertEquals(Collections.singletonList(101L), secondPage.getRecords());
+
+        PageVO<Long> notTop = articleTagIndexService.pageArticleIds(
+                Collections.singletonList(TAG_JAVA), false, null, false, 1, 10);
+        assertEquals(Arrays.asList(102L, 105L, 101L), notTop.getRecords());
+    }
+
+    @Test
+    void testMatchAllAnyAndCategory() {
+        List<Long> tags = Arrays.asList(TAG_JAVA, TAG_SPRING);
+        assertEquals(Arrays.asList(102L, 105L), articleTagIndexService.listArticleIds(tags, true, null));
+        assertEquals(4, articleTagIndexService.listArticleIds(tags, false, null).size());
+        assertEquals(Collections.singletonList(105L), articleTagIndexService.listArticleIds(tags, true, 20L));
+        assertTrue(articleTagIndexService.listArticleIds(Collections.singletonList(99L), false, null).isEmpty());
+    }
+
+    @Test
+    void testRefreshArticle() {
+        // 文章 102 移除 spring 标签并改到分类 20
+        when(articleMapper.selectOne(any())).thenReturn(article(102L, 2, 20L, false, 3000L));
+        when(articleTagMapper.selectObjs(any())).thenReturn(Collections.singletonList(TAG_JAVA));
+        articleTagIndexService.refreshArticle(102L);
+
+        assertEquals(Collections.singletonList(105L),
+                articleTagIndexService.listArticleIds(Collections.singletonList(TAG_SPRING), false, null));
+        assertEquals(Arrays.asList(102L, 105L),
+                articleTagIndexService.listArticleIds(Collections.singletonList(TAG_JAVA), false, 20L));
+
+        // 文章已删除
+        when(articleMapper.selectOne(any())).thenReturn(null);
+        articleTagIndexService.refreshArticle(105L);
+        assertTrue(articleTagIndexService.listArticleIds(Collections.singletonList(TAG_SPRING), false, null).isEmpty());
+    }
+
+    private static Article article(Long id, int status, Long categoryId, boolean isTop, Long publishedTime) {
+        Article article = new Article();
+        article.setId(id);
+        article.setStatus(status);
+        article.setCategoryId(categoryId);
+        article.setIsTop(isTop);
+        article.setPublishedTime(publishedTime == null ? null : new Date(publishedTime));
+        return article;
+    }
+
+    private static ArticleTag relation(Long id, Long articleId, Long tagId) {
+        ArticleTag articleTag = new ArticleTag();
+        articleTag.setId(id);
+        articleTag.setArticleId(articleId);
+        articleTag.setTagId(tagId);
+        return articleTag;
+    }
+}
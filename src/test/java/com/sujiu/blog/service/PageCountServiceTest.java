@@ -0,0 +1,158 @@
+package com.sujiu.blog.service;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.sujiu.blog.model.entity.Article;
+import com.sujiu.blog.service.impl.PageCountServiceImpl;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 分页总数缓存测试
+ *
+ * @author sujiu
+ */
+public class PageCountServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private PageCountServiceImpl pageCountService;
+
+    /**
+     * 模拟分页查询执行的 COUNT 次数
+     */
+    private int countQueries;
+
+    private int pageQueries;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        pageCountService = new PageCountServiceImpl();
+        ReflectionTestUtils.setField(pageCountService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(pageCountService, "enabled", true);
+        ReflectionTestUtils.setField(pageCountService, "ttl", 60000L);
+        ReflectionTestUtils.setField(pageCountService, "capacity", 100);
+        ReflectionTestUtils.setField(pageCountService, "estimateThreshold", 0L);
+        pageCountService.init();
+    }
+
+    @Test
+    void testCachedByNormalizedFilter() {
+        assertEquals(42L, page(wrapper("java", "created_time"), 1).getTotal());
+        assertEquals(1, countQueries);
+
+        // 排序和页码不同，筛选条件相同时命中缓存
+        Page<Article> result = page(wrapper("java", "view_count"), 2);
+        assertEquals(42L, result.getTotal());
+        assertEquals(1, countQueries);
+        assertEquals(2, pageQueries);
+
+        // 关键词不同重新统计
+        page(wrapper("spring", "created_time"), 1);
+        assertEquals(2, countQueries);
+
+        // 页码超出总数时不再查询
+        page(wrapper("java", "created_time"), 100);
+        assertEquals(3, pageQueries);
+    }
+
+    @Test
+    void testInvalidateOnWrite() {
+        page(wrapper("java", "created_time"), 1);
+        pageCountService.invalidate("blog_comment");
+        page(wrapper("java", "created_time"), 1);
+        assertEquals(1, countQueries);
+
+        pageCountService.invalidate("blog_article");
+        page(wrapper("java", "created_time"), 1);
+        assertEquals(2, countQueries);
+    }
+
+    @Test
+    void testInvalidateAgainAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // 事务中写入后、提交前，其他请求按旧数据统计并缓存
+            pageCountService.invalidate("blog_article");
+            pageCountService.invalidate("blog_article");
+            page(wrapper("java", "created_time"), 1);
+            page(wrapper("java", "created_time"), 1);
+            assertEquals(1, countQueries);
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            assertEquals(1, synchronizations.size());
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // 提交后，提交前缓存的总数失效
+        page(wrapper("java", "created_time"), 1);
+        assertEquals(2, countQueries);
+        assertTrue(TransactionSynchronizationManager.getResourceMap().isEmpty());
+    }
+
+    @Test
+    void testEstimateMode() {
+        // 与启动时一样注册实体的表信息，估算语句带上逻辑删除条件
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), Article.class);
+        ReflectionTestUtils.setField(pageCountService, "estimateThreshold", 1000L);
+        Map<String, Object> plan = new HashMap<>();
+        plan.put("rows", 50000L);
+        plan.put("filtered", 11.11);
+        when(jdbcTemplate.queryForList(anyString(), (Object[]) any()))
+                .thenReturn(Collections.singletonList(plan));
+
+        Page<Article> result = page(wrapper("java", "created_time"), 1);
+
+        assertEquals(5555L, result.getTotal());
+        assertEquals(0, countQueries);
+        verify(jdbcTemplate).queryForList(
+                eq("EXPLAIN SELECT COUNT(*) FROM blog_article WHERE deleted=0"
+                        + " AND (status = ? AND (title LIKE ? OR summary LIKE ?))"),
+                eq(2), eq("%java%"), eq("%java%"));
+
+        // 估算扫描行数低于阈值时精确统计
+        plan.put("rows", 10L);
+        assertEquals(42L, page(wrapper("spring", "created_time"), 1).getTotal());
+        assertEquals(1, countQueries);
+    }
+
+    private QueryWrapper<Article> wrapper(String keyword, String sortField) {
+        QueryWrapper<Article> queryWrapper = new QueryWrapper<>();
+        queryWrapper.eq("status", 2)
+                   .and(wrapper -> wrapper.like("title", keyword).or().like("summary", keyword))
+                   .orderByDesc(sortField);
+        return queryWrapper;
+    }
+
+    private Page<Article> page(QueryWrapper<Article> queryWrapper, int current) {
+        return pageCountService.page("blog_article", new Page<>(current, 10), queryWrapper, (page, wrapper) -> {
+            pageQueries++;
+            if (page.searchCount()) {
+                countQueries++;
+                page.setTotal(42L);
+            }
+            return page;
+        });
+    }
+}
@@ -0,0 +1,223 @@
+package com.sujiu.blog.service;
+
+import cn.hutool.core.date.DateUtil;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.sujiu.blog.mapper.ArticleMapper;
+import com.sujiu.blog.mapper.CategoryMapper;
+import com.sujiu.blog.mapper.UserMapper;
+import com.sujiu.blog.model.entity.Article;
+import com.sujiu.blog.model.entity.Category;
+import com.sujiu.blog.model.entity.User;
+import com.sujiu.blog.service.impl.SiteFeedServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * 站点地图和订阅源测试
+ *
+ * @author sujiu
+ */
+public class SiteFeedServiceTest {
+
+    @TempDir
+    Path root;
+
+    /**
+     * 模拟的文章表
+     */
+    private final Map<Long, Article> articles = new ConcurrentHashMap<>();
+
+    private SiteFeedServiceImpl siteFeedService;
+
+    @BeforeEach
+    void setUp() {
+        ArticleMapper articleMapper = mock(ArticleMapper.class);
+        when(articleMapper.selectList(any())).thenAnswer(invocation -> query(invocation.getArgument(0)));
+        when(articleMapper.selectOne(any())).thenAnswer(invocation -> {
+            QueryWrapper<Article> queryWrapper = invocation.getArgument(0);
+            // 条件参数在生成 SQL 片段时才写入
+            queryWrapper.getSqlSegment();
+            return queryWrapper.getParamNameValuePairs().values().stream()
+                    .map(articles::get).filter(Objects::nonNull).findFirst().orElse(null);
+        });
+
+        Category category = new Category();
+        category.setId(1L);
+        category.setName("后端");
+        category.setSlug("backend");
+        category.setStatus(1);
+        CategoryMapper categoryMapper = mock(CategoryMapper.class);
+        when(categoryMapper.selectById(1L)).thenReturn(category);
+        when(categoryMapper.selectBatchIds(any())).thenReturn(Collections.singletonList(category));
+
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("sujiu");
+        UserMapper userMapper = mock(UserMapper.class);
+        when(userMapper.selectById(7L)).thenReturn(user);
+        when(userMapper.selectBatchIds(any())).thenReturn(Collections.singletonList(user));
+
+        siteFeedService = new SiteFeedServiceImpl();
+        ReflectionTestUtils.setField(siteFeedService, "articleMapper", articleMapper);
+        ReflectionTestUtils.setField(siteFeedService, "categoryMapper", categoryMapper);
+        ReflectionTestUtils.setField(siteFeedService, "userMapper", userMapper);
+        ReflectionTestUtils.setField(siteFeedService, "path", root.toString());
+        ReflectionTestUtils.setField(siteFeedService, "siteUrl", "https://blog.example.com");
+        ReflectionTestUtils.setField(siteFeedService, "baseUrl", "https://blog.example.com/api");
+        ReflectionTestUtils.setField(siteFeedService, "title", "博客");
+        ReflectionTestUtils.setField(siteFeedService, "description", "最新文章");
+        ReflectionTestUtils.setField(siteFeedService, "itemCount", 20);
+        ReflectionTestUtils.setField(siteFeedService, "batchSize", 100);
+        // 测试中手动调用 flush
+        ReflectionTestUtils.setField(siteFeedService, "flushInterval", 3600000L);
+        siteFeedService.init();
+
+        put(article(1L, "first", "Java & Spring", "2024-05-10 08:00:00"));
+        put(article(2L, "second", "MySQL 索引", "2024-06-02 09:30:00"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        siteFeedService.shutdown();
+    }
+
+    @Test
+    void testRebuildWritesAllFiles() throws Exception {
+        Files.createDirectories(root.resolve("feed/categories"));
+        Files.write(root.resolve("feed/categories/99.xml"), new byte[]{1});
+
+        assertEquals(7, siteFeedService.rebuild());
+
+        String index = read("sitemap.xml");
+        assertTrue(index.contains("<loc>https://blog.example.com/api/sitemaps/articles-2024-05.xml</loc>"));
+        assertTrue(index.contains("<loc>https://blog.example.com/api/sitemaps/articles-2024-06.xml</loc>"));
+        String segment = read("sitemaps/articles-2024-05.xml");
+        assertTrue(segment.contains("<loc>https://blog.example.com/article/first</loc>"));
+        assertFalse(segment.contains("second"));
+
+        String rss = read("feed/rss.xml");
+        assertTrue(rss.contains("<title>Java &amp; Spring</title>"));
+        assertTrue(rss.contains("<pubDate>"));
+        assertTrue(rss.indexOf("second") < rss.indexOf("first"), "最新发布的文章在前");
+        assertTrue(read("feed/atom.xml").contains("<name>sujiu</name>"));
+        assertTrue(read("feed/categories/1.xml").contains("<title>后端 - 博客</title>"));
+        assertTrue(Files.exists(root.resolve("feed/authors/7.xml")));
+        // 已不存在的分类的订阅源被删除
+        assertFalse(Files.exists(root.resolve("feed/categories/99.xml")));
+    }
+
+    @Test
+    void testFlushRewritesOnlyAffectedFiles() throws Exception {
+        siteFeedService.rebuild();
+        FileTime old = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(root.resolve("sitemaps/articles-2024-05.xml"), old);
+        Files.setLastModifiedTime(root.resolve("feed/categories/1.xml"), old);
+
+        // 没有变更时不写任何文件
+        assertEquals(0, siteFeedService.flush());
+
+        // 六月的文章下线：分段被删除，索引、全站、分类和作者订阅源重写，五月分段不动
+        articles.get(2L).setStatus(4);
+        siteFeedService.markArticleChanged(2L, Collections.emptyList());
+        siteFeedService.markArticleChanged(2L, Collections.emptyList());
+        assertEquals(6, siteFeedService.flush());
+
+        assertFalse(Files.exists(root.resolve("sitemaps/articles-2024-06.xml")));
+        assertFalse(read("sitemap.xml").contains("articles-2024-06"));
+        assertFalse(read("feed/rss.xml").contains("second"));
+        assertEquals(old, Files.getLastModifiedTime(root.resolve("sitemaps/articles-2024-05.xml")));
+        assertNotEquals(old, Files.getLastModifiedTime(root.resolve("feed/categories/1.xml")));
+
+        // 草稿的变更不影响任何文件
+        Article draft = article(3L, "draft", "草稿", "2024-07-01 00:00:00");
+        draft.setStatus(0);
+        put(draft);
+        siteFeedService.markArticleChanged(3L, Collections.emptyList());
+        assertEquals(0, siteFeedService.flush());
+    }
+
+    @Test
+    void testMovedArticleRewritesBothSegments() throws Exception {
+        siteFeedService.rebuild();
+
+        articles.get(2L).setPublishedTime(DateUtil.parse("2024-05-20 10:00:00"));
+        siteFeedService.markArticleChanged(2L, Collections.emptyList());
+        siteFeedService.flush();
+
+        assertFalse(Files.exists(root.resolve("sitemaps/articles-2024-06.xml")));
+        assertTrue(read("sitemaps/articles-2024-05.xml").contains("/article/second"));
+        assertFalse(read("sitemap.xml").contains("articles-2024-06"));
+    }
+
+    private String read(String file) throws Exception {
+        return new String(Files.readAllBytes(root.resolve(file)), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 按查询的列和条件模拟站点地图分段、订阅源和全量加载三种查询
+     */
+    private List<Article> query(QueryWrapper<Article> queryWrapper) {
+        String select = queryWrapper.getSqlSelect();
+        String condition = queryWrapper.getSqlSegment();
+        List<Object> values = new ArrayList<>(queryWrapper.getParamNameValuePairs().values());
+        Stream<Article> stream = articles.values().stream()
+                .filter(article -> article.getStatus() == 2)
+                .sorted(Comparator.comparing(Article::getId));
+        if (condition.contains("published_time >=")) {
+            List<Date> range = values.stream().filter(value -> value instanceof Date)
+                    .map(value -> (Date) value).sorted().collect(Collectors.toList());
+            stream = stream.filter(article -> !article.getPublishedTime().before(range.get(0))
+                    && article.getPublishedTime().before(range.get(1)));
+        }
+        if (condition.contains("category_id =")) {
+            stream = stream.filter(article -> values.contains(article.getCategoryId()));
+        }
+        if (condition.contains("user_id =")) {
+            stream = stream.filter(article -> values.contains(article.getAuthorId()));
+        }
+        if (select.contains("title")) {
+            stream = stream.sorted(Comparator.comparing(Article::getPublishedTime).reversed());
+        }
+        return stream.collect(Collectors.toList());
+    }
+
+    private void put(Article article) {
+        articles.put(article.getId(), article);
+    }
+
+    private Article article(Long id, String slug, String title, String publishedTime) {
+        Article article = new Article();
+        article.setId(id);
+        article.setSlug(slug);
+        article.setTitle(title);
+        article.setSummary(title + " 摘要");
+        article.setAuthorId(7L);
+        article.setCategoryId(1L);
+        article.setStatus(2);
+        article.setPublishedTime(DateUtil.parse(publishedTime));
+        article.setUpdateTime(DateUtil.parse(publishedTime));
+        return article;
+    }
+}
@@ -0,0 +1,36 @@
+package com.sujiu.blog.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 文章列表游标工具测试
+ *
+ * @author sujiu
+ */
+public class ArticleCursorUtilsTest {
+
+    @Test
+    public void testRoundTrip() {
+        String cursor = ArticleCursorUtils.encode(true, 1717200000000L, 1798765432109876543L);
+        ArticleCursorUtils.ArticleCursor decoded = ArticleCursorUtils.decode(cursor);
+
+        assertNotNull(decoded);
+        assertTrue(decoded.isTop());
+        assertEquals(1717200000000L, decoded.getPublishedTime());
+        assertEquals(1798765432109876543L, decoded.getId());
+
+        // URL 安全，无需转义
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    public void testInvalidCursor() {
+        assertNull(ArticleCursorUtils.decode(null));
+        assertNull(ArticleCursorUtils.decode(""));
+        assertNull(ArticleCursorUtils.decode("不是游标"));
+        assertNull(ArticleCursorUtils.decode("AAAA"));
+        assertNull(ArticleCursorUtils.decode(ArticleCursorUtils.encode(false, 0L, 0L)));
+    }
+}
@@ -0,0 +1,56 @@
+package com.sujiu.blog.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 文章时间线测试
+ *
+ * @author sujiu
+ */
+public class ArticleTimelineTest {
+
+    @Test
+    public void testNeighborsAndMove() {
+        ArticleTimeline timeline = new ArticleTimeline();
+        timeline.put(1L, 100L);
+        timeline.put(2L, 200L);
+        timeline.put(3L, 200L);
+        timeline.put(4L, 300L);
+
+        // 发布时间相同时ID大的排在前面：4, 3, 2, 1
+        assertEquals(4L, timeline.newer(3L));
+        assertEquals(2L, timeline.older(3L));
+        assertNull(timeline.newer(4L));
+        assertNull(timeline.older(1L));
+        assertNull(timeline.older(99L));
+
+        // 修改发布时间后移动位置：1, 4, 3, 2
+        assertEquals(100L, timeline.put(1L, 400L));
+        assertEquals(1L, timeline.newer(4L));
+        assertNull(timeline.older(2L));
+
+        assertEquals(200L, timeline.remove(3L));
+        assertNull(timeline.remove(3L));
+        assertEquals(2L, timeline.older(4L));
+        assertEquals(3, timeline.size());
+    }
+
+    @Test
+    public void testListRange() {
+        ArticleTimeline timeline = new ArticleTimeline();
+        for (long id = 1; id <= 10; id++) {
+            timeline.put(id, id * 10);
+        }
+
+        // [30, 80) 范围内倒序为 7, 6, 5, 4, 3
+        assertEquals(Arrays.asList(7L, 6L, 5L, 4L, 3L), timeline.list(30L, 80L, 0, 10));
+        assertEquals(Arrays.asList(5L, 4L), timeline.list(30L, 80L, 2, 2));
+        assertEquals(Collections.emptyList(), timeline.list(30L, 80L, 5, 2));
+        assertEquals(Collections.emptyList(), timeline.list(80L, 30L, 0, 10));
+    }
+}
@@ -0,0 +1,97 @@
+package com.sujiu.blog.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 压缩位图测试
+ *
+ * @author sujiu
+ */
+public class CompressedBitmapTest {
+
+    @Test
+    public void testAddRemoveContains() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        bitmap.add(3);
+        bitmap.add(70000);
+        bitmap.add(3);
+        assertEquals(2, bitmap.cardinality());
+        assertTrue(bitmap.contains(70000));
+        assertFalse(bitmap.contains(4));
+
+        bitmap.remove(3);
+        bitmap.remove(70000);
+        assertTrue(bitmap.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> bitmap.add(-1));
+    }
+
+    @Test
+    public void testArrayAndBitmapContainers() {
+        // 覆盖数组容器与位图容器之间的相互转换
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int i = 0; i < 10000; i++) {
+            bitmap.add(i * 2);
+        }
+        assertEquals(10000, bitmap.cardinality());
+        for (int i = 0; i < 9000; i++) {
+            bitmap.remove(i * 2);
+        }
+        assertEquals(1000, bitmap.cardinality());
+        assertArrayEquals(expected(18000, 20000, 2), bitmap.toArray());
+        bitmap.add(1);
+        assertTrue(bitmap.contains(1));
+        assertEquals(1001, bitmap.cardinality());
+    }
+
+    @Test
+    public void testSetOperationsAgainstBitSet() {
+        Random random = new Random(20240701L);
+        for (int round = 0; round < 50; round++) {
+            // 稀疏和稠密两种密度，值域跨多个高位分块
+            int range = 300000;
+            int countA = random.nextBoolean() ? 500 : 60000;
+            int countB = random.nextBoolean() ? 500 : 60000;
+            BitSet expectedA = new BitSet();
+            BitSet expectedB = new BitSet();
+            CompressedBitmap a = new CompressedBitmap();
+            CompressedBitmap b = new CompressedBitmap();
+            for (int i = 0; i < countA; i++) {
+                int value = random.nextInt(range);
+                a.add(value);
+                expectedA.set(value);
+            }
+            for (int i = 0; i < countB; i++) {
+                int value = random.nextInt(range);
+                b.add(value);
+                expectedB.set(value);
+            }
+
+            BitSet and = (BitSet) expectedA.clone();
+            and.and(expectedB);
+            BitSet or = (BitSet) expectedA.clone();
+            or.or(expectedB);
+            BitSet andNot = (BitSet) expectedA.clone();
+            andNot.andNot(expectedB);
+
+            assertArrayEquals(and.stream().toArray(), a.and(b).toArray());
+            assertArrayEquals(or.stream().toArray(), a.or(b).toArray());
+            assertArrayEquals(andNot.stream().toArray(), a.andNot(b).toArray());
+            assertEquals(and.cardinality(), a.and(b).cardinality());
+            // 运算不修改原位图
+            assertArrayEquals(expectedA.stream().toArray(), a.toArray());
+        }
+    }
+
+    private static int[] expected(int from, int to, int step) {
+        int[] values = new int[(to - from) / step];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = from + i * step;
+        }
+        return values;
+    }
+}
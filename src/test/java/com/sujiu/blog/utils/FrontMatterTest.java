@@ -0,0 +1,86 @@
+package com.sujiu.blog.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Markdown front-matter 解析测试
+ *
+ * @author sujiu
+ */
+public class FrontMatterTest {
+
+    @Test
+    public void testParseAttributes() {
+        String text = "\uFEFF---\r\n"
+                + "title: \"Hello: World\"\n"
+                + "tags: [Java, Spring, Java]\n"
+                + "categories:\n"
+                + "  - 后端\n"
+                + "draft: yes\n"
+                + "date: 2023-01-02 10:20:30\n"
+                + "---\n"
+                + "# 正文\n";
+        FrontMatter frontMatter = FrontMatter.parse(text);
+
+        assertEquals("Hello: World", frontMatter.getString("title"));
+        assertEquals(Arrays.asList("Java", "Spring"), frontMatter.getStringList("tags"));
+        // 列表写法的单值属性取第一个元素
+        assertEquals("后端", frontMatter.getString("category", "categories"));
+        assertTrue(frontMatter.getBoolean("draft"));
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(frontMatter.getDate("date"));
+        assertEquals(2023, calendar.get(Calendar.YEAR));
+        assertEquals("# 正文\n", frontMatter.getBody());
+        assertNull(frontMatter.getString("slug"));
+    }
+
+    @Test
+    public void testStringValuesAndMissingFrontMatter() {
+        FrontMatter frontMatter = FrontMatter.parse("---\ntags: a, b ,\ndate: 2023/03/04\ntop: \"false\"\n...\nbody");
+        assertEquals(Arrays.asList("a", "b"), frontMatter.getStringList("tags"));
+        assertTrue(frontMatter.getDate("date").before(new Date()));
+        assertFalse(frontMatter.getBoolean("top"));
+        assertEquals("body", frontMatter.getBody());
+
+        FrontMatter plain = FrontMatter.parse("# 标题\n---\n正文");
+        assertEquals("# 标题\n---\n正文", plain.getBody());
+        assertEquals(Collections.emptyList(), plain.getStringList("tags"));
+    }
+
+    @Test
+    public void testFormatRoundTrip() {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("title", "Hello: \"World\"");
+        attributes.put("date", "2023-01-02 10:20:30");
+        attributes.put("tags", Arrays.asList("Java", "中文"));
+        attributes.put("summary", null);
+        attributes.put("draft", true);
+        String text = FrontMatter.format(attributes, "---\n正文");
+
+        FrontMatter parsed = FrontMatter.parse(text);
+        assertEquals("Hello: \"World\"", parsed.getString("title"));
+        assertEquals("2023-01-02 10:20:30", parsed.getString("date"));
+        assertEquals(Arrays.asList("Java", "中文"), parsed.getStringList("tags"));
+        assertNull(parsed.getString("summary"));
+        assertTrue(parsed.getBoolean("draft"));
+        assertEquals("\n---\n正文", parsed.getBody());
+    }
+
+    @Test
+    public void testInvalidFrontMatter() {
+        assertThrows(IllegalArgumentException.class, () -> FrontMatter.parse("---\ntitle: x\n"));
+        assertThrows(IllegalArgumentException.class, () -> FrontMatter.parse("---\ntitle: [x\n---\n"));
+        assertThrows(IllegalArgumentException.class, () -> FrontMatter.parse("---\n- a\n---\n"));
+        assertThrows(IllegalArgumentException.class,
+                () -> FrontMatter.parse("---\ndraft: maybe\n---\n").getBoolean("draft"));
+    }
+}
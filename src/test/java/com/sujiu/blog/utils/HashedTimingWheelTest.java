@@ -0,0 +1,74 @@
+package com.sujiu.blog.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 哈希时间轮测试
+ *
+ * @author sujiu
+ */
+public class HashedTimingWheelTest {
+
+    private HashedTimingWheel timingWheel;
+
+    @BeforeEach
+    void setUp() {
+        // 8 个槽位 × 10 毫秒，一圈 80 毫秒，便于覆盖多圈任务
+        timingWheel = new HashedTimingWheel(10, 8, Runnable::run, "test-timing-wheel");
+        timingWheel.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        timingWheel.stop();
+    }
+
+    @Test
+    void testFireAfterDeadline() throws InterruptedException {
+        List<Long> fired = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(3);
+        long now = System.currentTimeMillis();
+        long[] deadlines = {now + 250, now + 30, now - 100};
+        for (long deadline : deadlines) {
+            timingWheel.schedule(() -> {
+                if (System.currentTimeMillis() >= deadline) {
+                    fired.add(deadline);
+                }
+                latch.countDown();
+            }, deadline);
+        }
+        assertEquals(3, timingWheel.size());
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertEquals(List.of(deadlines[2], deadlines[1], deadlines[0]), fired);
+        assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    void testCancel() throws InterruptedException {
+        CountDownLatch cancelledLatch = new CountDownLatch(1);
+        CountDownLatch latch = new CountDownLatch(1);
+        long now = System.currentTimeMillis();
+        HashedTimingWheel.Timeout cancelled = timingWheel.schedule(cancelledLatch::countDown, now + 50);
+        HashedTimingWheel.Timeout kept = timingWheel.schedule(latch::countDown, now + 100);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertTrue(cancelled.isCancelled());
+        assertEquals(1, timingWheel.size());
+
+        assertTrue(latch.await(2, TimeUnit.SECONDS));
+        assertFalse(cancelledLatch.await(100, TimeUnit.MILLISECONDS));
+        assertTrue(kept.isExpired());
+        assertFalse(kept.cancel());
+    }
+}
@@ -0,0 +1,76 @@
+package com.sujiu.blog.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 热度排行测试
+ *
+ * @author sujiu
+ */
+public class HotRankingTest {
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    public void testDecayFavorsRecentEvents() {
+        HotRanking ranking = new HotRanking(24 * HOUR, 10);
+        ranking.setPublishedTime(1L, NOW - 72 * HOUR);
+        ranking.setPublishedTime(2L, NOW - 72 * HOUR);
+
+        // 文章1三天前有 100 次浏览，衰减到 12.5；文章2刚刚有 20 次浏览
+        ranking.add(1L, 100, NOW - 72 * HOUR);
+        for (int i = 0; i < 20; i++) {
+            ranking.add(2L, 1, NOW - i * 1000L);
+        }
+        ranking.rebuild(NOW, NOW - 7 * 24 * HOUR);
+
+        assertEquals(Arrays.asList(2L, 1L), ranking.top(10, 0L));
+        assertEquals(Arrays.asList(2L), ranking.top(1, 0L));
+    }
+
+    @Test
+    public void testTopKAndFilters() {
+        HotRanking ranking = new HotRanking(24 * HOUR, 3);
+        for (long id = 1; id <= 10; id++) {
+            ranking.setPublishedTime(id, NOW - id * HOUR);
+            ranking.add(id, id, NOW);
+        }
+        // 发布时间未知的文章不参与排行
+        ranking.add(99L, 1000, NOW);
+        ranking.rebuild(NOW, NOW - 7 * 24 * HOUR);
+
+        assertEquals(Arrays.asList(10L, 9L, 8L), ranking.top(10, 0L));
+        assertEquals(Arrays.asList(8L), ranking.top(10, NOW - 8 * HOUR));
+        assertTrue(ranking.getUnresolvedIds().contains(99L));
+
+        ranking.remove(9L);
+        assertEquals(Arrays.asList(10L, 8L), ranking.top(10, 0L));
+    }
+
+    @Test
+    public void testWindowEviction() {
+        HotRanking ranking = new HotRanking(24 * HOUR, 10);
+        ranking.setPublishedTime(1L, NOW - 8 * 24 * HOUR);
+        ranking.add(1L, 500, NOW);
+        ranking.setPublishedTime(2L, NOW - HOUR);
+        ranking.add(2L, 1, NOW);
+        // 取消点赞后分数降为 0
+        ranking.setPublishedTime(3L, NOW - HOUR);
+        ranking.add(3L, 5, NOW);
+        ranking.add(3L, -5, NOW);
+
+        ranking.rebuild(NOW, NOW - 7 * 24 * HOUR);
+
+        List<Long> top = ranking.top(10, 0L);
+        assertEquals(Arrays.asList(2L), top);
+        assertEquals(1, ranking.size());
+    }
+}
@@ -0,0 +1,87 @@
+package com.sujiu.blog.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 行级差异工具测试
+ *
+ * @author sujiu
+ */
+public class LineDiffTest {
+
+    @Test
+    void testDeltaRoundTrip() {
+        String source = "# 标题\n\n第一段\n第二段\n第三段\n";
+        String target = "# 新标题\n\n第一段\n第三段\n补充内容\n";
+
+        List<String> sourceLines = LineDiff.splitLines(source);
+        List<String> targetLines = LineDiff.splitLines(target);
+        String delta = LineDiff.encodeDelta(LineDiff.diff(sourceLines, targetLines), targetLines);
+        assertEquals(target, LineDiff.joinLines(LineDiff.applyDelta(sourceLines, delta)));
+        // 增量只包含改动的行
+        assertFalse(delta.contains("第一段"));
+
+        assertEquals("", LineDiff.encodeDelta(LineDiff.diff(sourceLines, sourceLines), sourceLines));
+        assertEquals(source, LineDiff.joinLines(LineDiff.applyDelta(sourceLines, "")));
+        assertThrows(IllegalArgumentException.class, () -> LineDiff.applyDelta(sourceLines, "=100"));
+    }
+
+    @Test
+    void testRandomEdits() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            List<String> source = randomLines(random, random.nextInt(60));
+            List<String> target = new ArrayList<>(source);
+            int edits = random.nextInt(10);
+            for (int i = 0; i < edits; i++) {
+                int position = target.isEmpty() ? 0 : random.nextInt(target.size());
+                if (random.nextBoolean() && !target.isEmpty()) {
+                    target.remove(position);
+                } else {
+                    target.add(position, "line" + random.nextInt(8));
+                }
+            }
+
+            List<LineDiff.Edit> diff = LineDiff.diff(source, target);
+            String delta = LineDiff.encodeDelta(diff, target);
+            assertEquals(target, LineDiff.applyDelta(source, delta));
+
+            int sourceCount = 0;
+            int targetCount = 0;
+            for (LineDiff.Edit edit : diff) {
+                if (edit.getType() != LineDiff.Type.INSERT) {
+                    sourceCount += edit.getCount();
+                }
+                if (edit.getType() != LineDiff.Type.DELETE) {
+                    targetCount += edit.getCount();
+                }
+            }
+            assertEquals(source.size(), sourceCount);
+            assertEquals(target.size(), targetCount);
+        }
+    }
+
+    @Test
+    void testUnifiedDiff() {
+        List<String> source = LineDiff.splitLines("a\nb\nc\nd\ne\nf\ng\nh\ni\nj");
+        List<String> target = LineDiff.splitLines("a\nb\nc\nD\ne\nf\ng\nh\ni\nj\nk");
+
+        String diff = LineDiff.toUnifiedDiff(LineDiff.diff(source, target), source, target, 1);
+        assertEquals("@@ -3,3 +3,3 @@\n c\n-d\n+D\n e\n@@ -10,1 +10,2 @@\n j\n+k\n", diff);
+        assertEquals("", LineDiff.toUnifiedDiff(LineDiff.diff(source, source), source, source, 3));
+    }
+
+    private List<String> randomLines(Random random, int count) {
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add("line" + random.nextInt(8));
+        }
+        return lines;
+    }
+}
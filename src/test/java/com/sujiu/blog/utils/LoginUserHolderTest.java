@@ -0,0 +1,99 @@
+package com.sujiu.blog.utils;
+
+import com.sujiu.blog.common.ErrorCode;
+import com.sujiu.blog.constant.UserConstant;
+import com.sujiu.blog.exception.BusinessException;
+import com.sujiu.blog.mapper.UserMapper;
+import com.sujiu.blog.model.entity.User;
+import com.sujiu.blog.service.impl.UserServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 请求级登录用户缓存测试
+ *
+ * @author sujiu
+ */
+public class LoginUserHolderTest {
+
+    private UserServiceImpl userService;
+
+    private UserMapper userMapper;
+
+    @BeforeEach
+    void setUp() {
+        userMapper = mock(UserMapper.class);
+        userService = new UserServiceImpl();
+        ReflectionTestUtils.setField(userService, "baseMapper", userMapper);
+    }
+
+    @Test
+    void testResolveOncePerRequest() {
+        User user = new User();
+        user.setId(1L);
+        user.setStatus(1);
+        user.setRole(UserConstant.DEFAULT_ROLE);
+        when(userMapper.selectById(1L)).thenReturn(user);
+
+        MockHttpServletRequest request = loginRequest(1L);
+        assertSame(user, userService.getLoginUserPermitNull(request));
+        assertSame(user, userService.getCurrentLoginUser(request));
+        assertSame(user, userService.getCurrentLoginUser(request));
+        verify(userMapper, times(1)).selectById(1L);
+
+        // 新请求重新查询
+        userService.getCurrentLoginUser(loginRequest(1L));
+        verify(userMapper, times(2)).selectById(1L);
+
+        // 清除后重新查询
+        LoginUserHolder.clear(request);
+        userService.getCurrentLoginUser(request);
+        verify(userMapper, times(3)).selectById(1L);
+    }
+
+    @Test
+    void testAnonymousResolved() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        assertNull(userService.getLoginUserPermitNull(request));
+        assertTrue(LoginUserHolder.isResolved(request));
+
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> userService.getCurrentLoginUser(request));
+        assertEquals(ErrorCode.NOT_LOGIN_ERROR.getCode(), exception.getCode());
+        assertEquals("用户未登录", exception.getMessage());
+        verify(userMapper, never()).selectById(any());
+    }
+
+    @Test
+    void testMissingAndDisabledUser() {
+        MockHttpServletRequest request = loginRequest(2L);
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> userService.getCurrentLoginUser(request));
+        assertEquals("用户不存在", exception.getMessage());
+        assertThrows(BusinessException.class, () -> userService.getCurrentLoginUser(request));
+        verify(userMapper, times(1)).selectById(2L);
+
+        User disabled = new User();
+        disabled.setId(3L);
+        disabled.setStatus(0);
+        when(userMapper.selectById(3L)).thenReturn(disabled);
+        MockHttpServletRequest disabledRequest = loginRequest(3L);
+        // 可选登录仍返回用户，由调用方检查状态
+        assertSame(disabled, userService.getLoginUserPermitNull(disabledRequest));
+        exception = assertThrows(BusinessException.class, () -> userService.getCurrentLoginUser(disabledRequest));
+        assertEquals(ErrorCode.FORBIDDEN_ERROR.getCode(), exception.getCode());
+    }
+
+    private MockHttpServletRequest loginRequest(Long userId) {
+        User sessionUser = new User();
+        sessionUser.setId(userId);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.getSession().setAttribute(UserConstant.USER_LOGIN_STATE, sessionUser);
+        return request;
+    }
+}
@@ -0,0 +1,136 @@
+package com.sujiu.blog.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Markdown 渲染工具测试
+ *
+ * @author sujiu
+ */
+public class MarkdownUtilsTest {
+
+    @Test
+    public void testHeadingAndParagraph() {
+        String html = MarkdownUtils.toHtml("# 标题\n\n这是**粗体**和*斜体*文字。\n第二行");
+        assertEquals("<h1>标题</h1>\n<p>这是<strong>粗体</strong>和<em>斜体</em>文字。<br>\n第二行</p>\n", html);
+
+        assertEquals("", MarkdownUtils.toHtml(""));
+        assertEquals("", MarkdownUtils.toHtml(null));
+    }
+
+    @Test
+    public void testCodeFence() {
+        String html = MarkdownUtils.toHtml("```java\nint a = 1 < 2 ? 1 : 0;\n// **不是粗体**\n```\n正文");
+        assertEquals("<pre><code class=\"language-java\">int a = 1 &lt; 2 ? 1 : 0;\n// **不是粗体**\n</code></pre>\n"
+                + "<p>正文</p>\n", html);
+    }
+
+    @Test
+    public void testLists() {
+        String html = MarkdownUtils.toHtml("- 一\n- 二\n  - 二点一\n- 三\n\n1. 甲\n2. 乙");
+        assertEquals("<ul>\n<li>一</li>\n<li>二\n<ul>\n<li>二点一</li>\n</ul>\n</li>\n<li>三</li>\n</ul>\n"
+                + "<ol>\n<li>甲</li>\n<li>乙</li>\n</ol>\n", html);
+    }
+
+    @Test
+    public void testLinksAndImages() {
+        String html = MarkdownUtils.toHtml("见[官网](https://example.com \"首页\")和![图](/a.png)");
+        assertEquals("<p>见<a href=\"https://example.com\" title=\"首页\">官网</a>和<img src=\"/a.png\" alt=\"图\"></p>\n", html);
+
+        // 脚本协议会被屏蔽
+        assertEquals("<p><a href=\"#\">x</a></p>\n", MarkdownUtils.toHtml("[x](javascript:alert(1))"));
+        assertEquals("<p><a href=\"https://a.com\">https://a.com</a></p>\n", MarkdownUtils.toHtml("<https://a.com>"));
+    }
+
+    @Test
+    public void testUnsafeLinkProtocols() {
+        // 浏览器会去掉链接中的制表符和换行，换行时不构成链接
+        assertNoScriptUrl("[x](java\tscript:alert(1))");
+        assertNoScriptUrl("[x](java\nscript:alert(1))");
+        assertNoScriptUrl("[x](java\r\nscript:alert(1))");
+        assertNoScriptUrl("[x](\u0001javascript:alert(1))");
+        assertNoScriptUrl("[x](<java\tscript:alert(1)>)");
+        assertNoScriptUrl("[x](JavaScript:alert(1))");
+        assertNoScriptUrl("[x](vbscript:msgbox(1))");
+        assertNoScriptUrl("[x](data:text/html;base64,PHNjcmlwdD4=)");
+        assertNoScriptUrl("![x](java\tscript:alert(1))");
+        assertEquals("<p><a href=\"#\">x</a></p>\n", MarkdownUtils.toHtml("[x](java\tscript:alert(1))"));
+
+        // 实体编码不会被解码，& 转义后浏览器看到的是相对链接
+        assertEquals("<p><a href=\"&amp;#106;avascript:alert(1)\">x</a></p>\n",
+                MarkdownUtils.toHtml("[x](&#106;avascript:alert(1))"));
+        assertNoScriptUrl("[x](javascript&#58;alert(1))");
+        assertNoScriptUrl("[x](javascript&colon;alert(1))");
+
+        // 允许的协议、相对链接和页内锚点原样输出
+        assertEquals("<p><a href=\"mailto:a@b.com\">x</a></p>\n", MarkdownUtils.toHtml("[x](mailto:a@b.com)"));
+        assertEquals("<p><a href=\"/a/b?c=d:e\">x</a></p>\n", MarkdownUtils.toHtml("[x](/a/b?c=d:e)"));
+        assertEquals("<p><a href=\"#top\">x</a></p>\n", MarkdownUtils.toHtml("[x](#top)"));
+    }
+
+    /**
+     * 按浏览器的方式还原链接地址（解码属性中的字符引用，去掉空白和控制字符），地址不能是脚本协议
+     */
+    private static void assertNoScriptUrl(String markdown) {
+        String html = MarkdownUtils.toHtml(markdown);
+        Matcher matcher = Pattern.compile("(?:href|src)=\"([^\"]*)\"").matcher(html);
+        while (matcher.find()) {
+            String url = matcher.group(1).replace("&quot;", "\"").replace("&lt;", "<").replace("&gt;", ">")
+                    .replace("&amp;", "&").replaceAll("[\\x00-\\x20\\x7F]", "").toLowerCase();
+            assertFalse(url.startsWith("javascript:") || url.startsWith("vbscript:") || url.startsWith("data:"), html);
+        }
+    }
+
+    @Test
+    public void testInlineCodeAndEscaping() {
+        assertEquals("<p><code>a*b*c</code> &lt;script&gt; *字面量*</p>\n",
+                MarkdownUtils.toHtml("`a*b*c` <script> \\*字面量\\*"));
+        assertEquals("<p>snake_case_name <del>删除</del></p>\n",
+                MarkdownUtils.toHtml("snake_case_name ~~删除~~"));
+    }
+
+    @Test
+    public void testBlockquoteAndRule() {
+        String html = MarkdownUtils.toHtml("> 引用一\n> 引用二\n\n---\n");
+        assertEquals("<blockquote>\n<p>引用一<br>\n引用二</p>\n</blockquote>\n<hr>\n", html);
+    }
+
+    @Test
+    public void testPathologicalInputRendersInLinearTime() {
+        StringBuilder backticks = new StringBuilder();
+        for (int i = 1; i <= 450; i++) {
+            backticks.append("`".repeat(i)).append(" a ");
+        }
+        String[] inputs = {
+                "[".repeat(100000),
+                "[a](".repeat(20000),
+                backticks.toString(),
+                "**a ".repeat(25000),
+                "*a ".repeat(30000),
+                "_a ".repeat(30000),
+                "~~a ".repeat(25000),
+                "<http://a ".repeat(10000),
+                "[a](b \"".repeat(20000),
+                "[".repeat(50000) + "a" + "](u)".repeat(50000)
+        };
+        // 逐个分隔符向后重扫时每个输入需要数秒
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            for (String input : inputs) {
+                assertFalse(MarkdownUtils.toHtml(input).isEmpty());
+            }
+        });
+    }
+
+    @Test
+    public void testDeepNestingFallsBackToText() {
+        String html = MarkdownUtils.toHtml("[".repeat(100) + "a" + "](u)".repeat(100));
+        assertTrue(html.startsWith("<p><a href=\"u\"><a href=\"u\">"));
+        assertTrue(html.contains("[[[a](u)"));
+    }
+}
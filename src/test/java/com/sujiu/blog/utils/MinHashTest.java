@@ -0,0 +1,51 @@
+package com.sujiu.blog.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MinHash 签名测试
+ *
+ * @author sujiu
+ */
+public class MinHashTest {
+
+    @Test
+    public void testSimilarityEstimatesJaccard() {
+        MinHash minHash = new MinHash(256, 42L);
+        // 集合 a = [0, 1000)，b = [500, 1500)，Jaccard 相似度为 1/3
+        int[] a = minHash.newSignature();
+        int[] b = minHash.newSignature();
+        for (long i = 0; i < 1000; i++) {
+            minHash.add(a, MinHash.mix(i));
+            minHash.add(b, MinHash.mix(i + 500));
+        }
+        assertEquals(1.0 / 3, MinHash.similarity(a, b), 0.1);
+
+        // 重复添加不改变签名
+        int[] copy = a.clone();
+        minHash.add(a, MinHash.mix(10L));
+        assertArrayEquals(copy, a);
+        assertEquals(1.0, MinHash.similarity(a, copy));
+    }
+
+    @Test
+    public void testBandKeys() {
+        MinHash minHash = new MinHash(8, 7L);
+        int[] a = minHash.newSignature();
+        minHash.add(a, MinHash.hash("hello", 0, 5));
+        int[] b = a.clone();
+        b[7]++;
+
+        long[] aKeys = MinHash.bandKeys(a, 2, 0);
+        long[] bKeys = MinHash.bandKeys(b, 2, 0);
+        assertEquals(4, aKeys.length);
+        // 只有最后一段不同
+        assertEquals(aKeys[0], bKeys[0]);
+        assertNotEquals(aKeys[3], bKeys[3]);
+        // 段编号起始值不同时桶键不同
+        assertNotEquals(aKeys[0], MinHash.bandKeys(a, 2, 100)[0]);
+        assertThrows(IllegalArgumentException.class, () -> MinHash.bandKeys(a, 3, 0));
+    }
+}
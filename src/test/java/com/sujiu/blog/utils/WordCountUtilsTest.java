@@ -0,0 +1,136 @@
+package com.sujiu.blog.utils;
+
+import com.sujiu.blog.benchmark.BenchmarkArticles;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 字数统计工具测试
+ *
+ * @author sujiu
+ */
+public class WordCountUtilsTest {
+
+    private static final Pattern CHINESE_PATTERN = Pattern.compile("[\\u4e00-\\u9fa5]");
+
+    private static final Pattern WORD_PATTERN = Pattern.compile("\\b\\w+\\b");
+
+    /**
+     * 黄金语料：覆盖常见的 Markdown 写法和中英文混排
+     */
+    private static final List<String> GOLDEN_CORPUS = Arrays.asList(
+            "这是一篇测试文章，包含中文和English words。\n\n## 标题\n\n更多内容...",
+            "# 测试文章\n\n这是文章内容，包含**粗体**和*斜体*文字。\n\n## 二级标题\n\n更多内容...",
+            "Hello World",
+            "foo-bar snake_case ~~删除~~ > 引用",
+            "中文English混排123数字",
+            "café naïve résumé",
+            "```java\nint a = 1;\n```\n代码块之后的文字 after code",
+            "行内代码 `System.out.println()` 不计入",
+            "未闭合的 `反引号 plus words",
+            "```\n未闭合的代码块 with text",
+            "图片 ![alt text](https://example.com/a.png) 和链接 [Spring](https://spring.io) 都不计入",
+            "[![Build](https://img.shields.io/badge/build-passing-green.svg)](https://ci.example.com) 徽章",
+            "[链接文字\n跨行](不是链接)",
+            "带标题的链接 [docs](https://example.com \"title\") end",
+            "Windows\r\n换行\r\n- 列表项 one\r\n- 列表项 two\r\n",
+            "emoji 😀 smile 🎉 party",
+            "1. first\n2. second\n3. third\n\n* a\n* b",
+            "数学公式 a*b*c 和 2^10 = 1024",
+            "URL 裸链接 https://example.com/path?query=1&b=2",
+            "全角标点：你好，世界！（括号）【方括号】",
+            "> 引用中的 **粗体** 和 `code`\n> 第二行",
+            "嵌套 [外层 ![内图](i.png) 文字](u) 之后",
+            "tab\t分隔\t的\twords",
+            "   \n\n  \t ",
+            "___下划线强调___ and __bold__ and _em_"
+    );
+
+    @Test
+    public void testGoldenCorpus() {
+        for (String content : GOLDEN_CORPUS) {
+            assertEquals(legacyCount(content), WordCountUtils.countWords(content), content);
+        }
+    }
+
+    @Test
+    public void testGeneratedArticles() {
+        for (int sizeKb : new int[]{1, 5, 50}) {
+            String content = BenchmarkArticles.markdownOfSize(sizeKb);
+            assertEquals(legacyCount(content), WordCountUtils.countWords(content));
+        }
+
+        // 用语料片段随机拼接，覆盖片段之间的衔接
+        Random random = new Random(20240601L);
+        for (int round = 0; round < 500; round++) {
+            StringBuilder builder = new StringBuilder();
+            int pieces = 1 + random.nextInt(6);
+            for (int i = 0; i < pieces; i++) {
+                builder.append(GOLDEN_CORPUS.get(random.nextInt(GOLDEN_CORPUS.size())));
+                builder.append(random.nextBoolean() ? "\n\n" : " ");
+            }
+            String content = builder.toString();
+            assertEquals(legacyCount(content), WordCountUtils.countWords(content), content);
+        }
+    }
+
+    @Test
+    public void testPathologicalBracketsCountedInLinearTime() {
+        String[] inputs = {
+                "[".repeat(80000),
+                "[](".repeat(30000),
+                "[".repeat(40000) + "![a](b)".repeat(20000),
+                "![".repeat(40000),
+                "[](" + "![](".repeat(30000)
+        };
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            for (String content : inputs) {
+                WordCountUtils.countWords(content);
+            }
+        });
+        // 与基准口径一致
+        String small = "[".repeat(50) + "![a](b)".repeat(20) + " word";
+        assertEquals(legacyCount(small), WordCountUtils.countWords(small));
+    }
+
+    @Test
+    public void testEmpty() {
+        assertEquals(0, WordCountUtils.countWords(""));
+        assertEquals(0, WordCountUtils.countWords(null));
+    }
+
+    /**
+     * 原正则实现，作为统计口径的基准
+     */
+    private static int legacyCount(String content) {
+        if (content == null || content.trim().isEmpty()) {
+            return 0;
+        }
+        String plainText = content
+                .replaceAll("```[\\s\\S]*?```", "")
+                .replaceAll("`[^`]*`", "")
+                .replaceAll("!\\[.*?\\]\\(.*?\\)", "")
+                .replaceAll("\\[.*?\\]\\(.*?\\)", "")
+                .replaceAll("[#*_~`>-]", "")
+                .replaceAll("\\s+", " ")
+                .trim();
+        int count = 0;
+        Matcher chineseMatcher = CHINESE_PATTERN.matcher(plainText);
+        while (chineseMatcher.find()) {
+            count++;
+        }
+        Matcher wordMatcher = WORD_PATTERN.matcher(plainText);
+        while (wordMatcher.find()) {
+            count++;
+        }
+        return count;
+    }
+}